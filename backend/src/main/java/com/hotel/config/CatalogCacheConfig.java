@@ -0,0 +1,80 @@
+package com.hotel.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache for the catalog entities (hotels, room types,
+ * rooms, airlines, discount policies) and their collections, held in local
+ * Caffeine caches behind JCache.
+ * <p>
+ * Every region named in an entity's {@code @Cache} must be configured under
+ * {@code hotel.catalog-cache.regions}; Hibernate refuses to start otherwise.
+ * Each region is bounded by {@code max-size} entries and
+ * {@code ttl-minutes}. The caches are per node, so the TTL bounds how long a
+ * change made on another node goes unseen. Hits, misses, puts and evictions
+ * are published as the {@code cache.*} meters, tagged with the region.
+ * <p>
+ * Native {@code @Modifying} queries must declare their table with
+ * {@link org.hibernate.jpa.HibernateHints#HINT_NATIVE_SPACES}, or each one
+ * clears every region.
+ */
+@Configuration
+@EnableConfigurationProperties(CatalogCacheConfig.CatalogCacheProperties.class)
+public class CatalogCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager catalogCacheManager(CatalogCacheProperties properties, MeterRegistry meterRegistry) {
+        // A manager of its own, so application contexts sharing the JVM do not share regions
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hotel-catalog-" + UUID.randomUUID()), getClass().getClassLoader());
+        properties.regions().forEach((name, region) -> {
+            Cache<Object, Object> cache = cacheManager.createCache(name, region.toConfiguration());
+            JCacheMetrics.monitor(meterRegistry, cache);
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer catalogCacheCustomizer(CacheManager catalogCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, catalogCacheManager);
+    }
+
+    @ConfigurationProperties("hotel.catalog-cache")
+    public record CatalogCacheProperties(Map<String, Region> regions) {
+
+        public CatalogCacheProperties {
+            regions = regions != null ? regions : Map.of();
+        }
+    }
+
+    public record Region(long maxSize, long ttlMinutes) {
+
+        CaffeineConfiguration<Object, Object> toConfiguration() {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            // Hibernate caches disassembled state, so entries need not be copied
+            configuration.setStoreByValue(false);
+            configuration.setStatisticsEnabled(true);
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MINUTES.toNanos(ttlMinutes)));
+            return configuration;
+        }
+    }
+}
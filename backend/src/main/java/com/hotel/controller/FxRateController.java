@@ -0,0 +1,27 @@
+package com.hotel.controller;
+
+import com.hotel.dto.FxRateDto;
+import com.hotel.service.FxRateService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/fx-rates")
+@RequiredArgsConstructor
+public class FxRateController {
+
+    private final FxRateService fxRateService;
+
+    @GetMapping
+    public ResponseEntity<List<FxRateDto>> getRates() {
+        return ResponseEntity.ok(fxRateService.getRates());
+    }
+
+    @PutMapping("/{currency}")
+    public ResponseEntity<FxRateDto> updateRate(@PathVariable String currency, @RequestBody FxRateDto dto) {
+        return ResponseEntity.ok(fxRateService.updateRate(currency, dto));
+    }
+}
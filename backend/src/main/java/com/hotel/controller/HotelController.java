@@ -3,11 +3,13 @@ package com.hotel.controller;
 import com.hotel.dto.HotelDto;
 import com.hotel.service.HotelService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -67,4 +69,21 @@ public class HotelController {
             @AuthenticationPrincipal UserDetails userDetails) {
         return ResponseEntity.ok(hotelService.updateRoom(roomId, request, userDetails.getUsername()));
     }
+
+    @GetMapping("/room-types/{roomTypeId}/rates")
+    public ResponseEntity<List<HotelDto.NightlyRateResponse>> getRates(
+            @PathVariable Long roomTypeId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(hotelService.getRates(roomTypeId, from, to, userDetails.getUsername()));
+    }
+
+    @PutMapping("/room-types/{roomTypeId}/rates")
+    public ResponseEntity<List<HotelDto.NightlyRateResponse>> updateRates(
+            @PathVariable Long roomTypeId,
+            @RequestBody HotelDto.RateRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(hotelService.updateRates(roomTypeId, request, userDetails.getUsername()));
+    }
 }
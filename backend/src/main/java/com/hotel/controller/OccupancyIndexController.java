@@ -0,0 +1,29 @@
+package com.hotel.controller;
+
+import com.hotel.dto.OccupancyIndexDto;
+import com.hotel.service.OccupancyIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/occupancy-index")
+@RequiredArgsConstructor
+public class OccupancyIndexController {
+
+    private final OccupancyIndex occupancyIndex;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<OccupancyIndexDto.Stats> getStats() {
+        return ResponseEntity.ok(occupancyIndex.stats());
+    }
+
+    @PostMapping("/verify")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<OccupancyIndexDto.DriftReport> verify(
+            @RequestParam(defaultValue = "false") boolean repair) {
+        return ResponseEntity.ok(occupancyIndex.verify(repair));
+    }
+}
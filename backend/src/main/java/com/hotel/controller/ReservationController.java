@@ -1,13 +1,23 @@
 package com.hotel.controller;
 
 import com.hotel.dto.ReservationDto;
+import com.hotel.service.BookingSequencer;
+import com.hotel.service.IdempotencyService;
+import com.hotel.service.QuoteService;
 import com.hotel.service.ReservationService;
+import com.hotel.service.RoomHoldService;
+import com.hotel.service.SettlementExportService;
+import com.hotel.service.WaitlistService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -18,20 +28,103 @@ import java.util.List;
 public class ReservationController {
 
     private final ReservationService reservationService;
+    private final RoomHoldService roomHoldService;
+    private final IdempotencyService idempotencyService;
+    private final BookingSequencer bookingSequencer;
+    private final QuoteService quoteService;
+    private final WaitlistService waitlistService;
+    private final SettlementExportService settlementExportService;
 
     @GetMapping("/search")
     public ResponseEntity<List<ReservationDto.AvailableRoomResponse>> searchRooms(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) java.time.LocalDateTime checkInTime,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) java.time.LocalDateTime checkOutTime,
-            @RequestParam Integer guestCount) {
-        return ResponseEntity.ok(reservationService.searchAvailableRooms(checkInTime, checkOutTime, guestCount));
+            @RequestParam Integer guestCount,
+            @RequestParam(required = false) String currency) {
+        return ResponseEntity
+                .ok(reservationService.searchAvailableRooms(checkInTime, checkOutTime, guestCount, currency));
+    }
+
+    @GetMapping("/search/room-types")
+    public ResponseEntity<List<ReservationDto.AvailableRoomTypeResponse>> searchRoomTypes(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) java.time.LocalDateTime checkInTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) java.time.LocalDateTime checkOutTime,
+            @RequestParam Integer guestCount,
+            @RequestParam(required = false) String currency) {
+        return ResponseEntity
+                .ok(reservationService.searchAvailableRoomTypes(checkInTime, checkOutTime, guestCount, currency));
+    }
+
+    @GetMapping("/quote")
+    public ResponseEntity<ReservationDto.QuoteResponse> quote(
+            @RequestParam List<Long> roomIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) java.time.LocalDateTime checkInTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) java.time.LocalDateTime checkOutTime,
+            @RequestParam(required = false) String currency) {
+        return ResponseEntity.ok(quoteService.quote(roomIds, checkInTime, checkOutTime, currency));
     }
 
     @PostMapping
     public ResponseEntity<ReservationDto.ReservationResponse> createReservation(
             @RequestBody ReservationDto.CreateReservationRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        String username = userDetails.getUsername();
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(book(request, username));
+        }
+        // The key is claimed in the booking's transaction, so the booking must run on this thread: through the
+        // sequencer it would commit in the writer's batch while the claim could still roll back
+        return ResponseEntity.ok(idempotencyService.createReservation(username, idempotencyKey, request,
+                () -> reservationService.createReservation(request, username)));
+    }
+
+    private ReservationDto.ReservationResponse book(ReservationDto.CreateReservationRequest request,
+            String username) {
+        if (bookingSequencer.isEnabled())
+            return bookingSequencer.createReservation(request, username);
+        return reservationService.createReservation(request, username);
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<ReservationDto.BulkReservationResponse> createReservations(
+            @RequestBody ReservationDto.BulkReservationRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(reservationService.createReservations(request, userDetails.getUsername()));
+    }
+
+    @PostMapping("/holds")
+    public ResponseEntity<ReservationDto.HoldResponse> holdRooms(
+            @RequestBody ReservationDto.CreateHoldRequest request,
             @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(reservationService.createReservation(request, userDetails.getUsername()));
+        return ResponseEntity.ok(roomHoldService.hold(request, userDetails.getUsername()));
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<Void> releaseHold(@PathVariable String holdId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        roomHoldService.release(holdId, userDetails.getUsername());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/waitlist")
+    public ResponseEntity<ReservationDto.WaitlistResponse> joinWaitlist(
+            @RequestBody ReservationDto.WaitlistRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(waitlistService.join(request, userDetails.getUsername()));
+    }
+
+    @GetMapping("/waitlist")
+    public ResponseEntity<List<ReservationDto.WaitlistResponse>> getMyWaitlist(
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(waitlistService.getMyEntries(userDetails.getUsername()));
+    }
+
+    @DeleteMapping("/waitlist/{entryId}")
+    public ResponseEntity<Void> leaveWaitlist(@PathVariable Long entryId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        waitlistService.leave(entryId, userDetails.getUsername());
+        return ResponseEntity.noContent().build();
     }
 
     @GetMapping
@@ -40,6 +133,27 @@ public class ReservationController {
         return ResponseEntity.ok(reservationService.getMyReservations(userDetails.getUsername()));
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<ReservationDto.ReservationPage> getMyReservationPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(reservationService.getMyReservations(userDetails.getUsername(), cursor, size));
+    }
+
+    @PutMapping("/{id}/cancel")
+    public ResponseEntity<ReservationDto.ReservationResponse> cancel(@PathVariable Long id,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(reservationService.cancel(id, userDetails.getUsername()));
+    }
+
+    @PutMapping("/{id}/confirm")
+    @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN') or hasRole('OWNER')")
+    public ResponseEntity<ReservationDto.ReservationResponse> confirm(@PathVariable Long id,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(reservationService.confirm(id, userDetails.getUsername()));
+    }
+
     @PutMapping("/{id}/check-in")
     @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN') or hasRole('OWNER')")
     public ResponseEntity<ReservationDto.ReservationResponse> checkIn(@PathVariable Long id,
@@ -65,6 +179,45 @@ public class ReservationController {
                 .ok(reservationService.getSettlement(hotelId, startDate, endDate, userDetails.getUsername()));
     }
 
+    @GetMapping("/settlement/summary")
+    @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN') or hasRole('OWNER')")
+    public ResponseEntity<ReservationDto.SettlementSummary> getSettlementSummary(
+            @RequestParam Long hotelId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(
+                reservationService.getSettlementSummary(hotelId, startDate, endDate, userDetails.getUsername()));
+    }
+
+    @GetMapping("/settlement/totals")
+    @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN') or hasRole('OWNER')")
+    public ResponseEntity<ReservationDto.SettlementTotals> getSettlementTotals(
+            @RequestParam Long hotelId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(
+                reservationService.getSettlementTotals(hotelId, startDate, endDate, userDetails.getUsername()));
+    }
+
+    @GetMapping("/settlement/export")
+    @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN') or hasRole('OWNER')")
+    public ResponseEntity<StreamingResponseBody> exportSettlement(
+            @RequestParam Long hotelId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "csv") String format,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        SettlementExportService.Format exportFormat = SettlementExportService.Format.of(format);
+        settlementExportService.validate(hotelId, startDate, endDate, userDetails.getUsername());
+        String filename = "settlement-" + hotelId + "-" + startDate + "-" + endDate + "." + exportFormat.extension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(out -> settlementExportService.write(hotelId, startDate, endDate, exportFormat, out));
+    }
+
     @GetMapping("/manager")
     @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN') or hasRole('OWNER')")
     public ResponseEntity<List<ReservationDto.ReservationResponse>> getManagerReservations(
@@ -73,4 +226,24 @@ public class ReservationController {
             @AuthenticationPrincipal UserDetails userDetails) {
         return ResponseEntity.ok(reservationService.getManagerReservations(hotelId, date, userDetails.getUsername()));
     }
+
+    @GetMapping("/manager/page")
+    @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN') or hasRole('OWNER')")
+    public ResponseEntity<ReservationDto.ReservationPage> getManagerReservationPage(
+            @RequestParam Long hotelId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(
+                reservationService.getManagerReservations(hotelId, date, userDetails.getUsername(), cursor, size));
+    }
+
+    @GetMapping(value = "/manager/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN') or hasRole('OWNER')")
+    public SseEmitter streamManagerEvents(
+            @RequestParam Long hotelId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return reservationService.subscribeManagerEvents(hotelId, userDetails.getUsername());
+    }
 }
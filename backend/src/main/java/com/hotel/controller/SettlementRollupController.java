@@ -0,0 +1,27 @@
+package com.hotel.controller;
+
+import com.hotel.dto.ReservationDto;
+import com.hotel.service.SettlementRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/admin/settlement-rollup")
+@RequiredArgsConstructor
+public class SettlementRollupController {
+
+    private final SettlementRollupService settlementRollupService;
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ReservationDto.SettlementRebuildResponse> rebuild(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(settlementRollupService.rebuild(startDate, endDate));
+    }
+}
@@ -0,0 +1,14 @@
+package com.hotel.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+public class FxRateDto {
+    private String currency;
+    private BigDecimal unitsPerBase; // Per 1 USD
+    private LocalDateTime updatedAt;
+    private String updatedBy;
+}
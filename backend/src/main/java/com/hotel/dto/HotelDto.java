@@ -6,6 +6,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.util.List;
 
 public class HotelDto {
@@ -85,4 +87,29 @@ public class HotelDto {
         private String roomNumber;
         private HotelResponse hotel;
     }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RateRequest {
+        private LocalDate from;
+        private LocalDate to; // Exclusive
+        private List<DayOfWeek> daysOfWeek; // Optional, every day when empty
+        // A null price leaves that currency as it was; all null resets the nights to the standard price
+        private BigDecimal priceKrw;
+        private BigDecimal priceUsd;
+        private BigDecimal pricePhp;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class NightlyRateResponse {
+        private LocalDate date;
+        private BigDecimal priceKrw;
+        private BigDecimal priceUsd;
+        private BigDecimal pricePhp;
+    }
 }
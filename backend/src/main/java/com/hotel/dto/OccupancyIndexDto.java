@@ -0,0 +1,40 @@
+package com.hotel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class OccupancyIndexDto {
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Stats {
+        private boolean enabled;
+        private boolean ready;
+        private int rooms;
+        private long intervals;
+        private long estimatedBytes;
+        private LocalDateTime horizon;
+        private LocalDateTime builtAt;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DriftReport {
+        private int checkedRooms;
+        private int driftedRooms;
+        private long missingIntervals; // In DB but not in the index
+        private long staleIntervals; // In the index but not in DB
+        private List<Long> driftedRoomIds; // Sample, capped
+        private boolean repaired;
+        private LocalDateTime checkedAt;
+    }
+}
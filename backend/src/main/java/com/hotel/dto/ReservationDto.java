@@ -31,6 +31,59 @@ public class ReservationDto {
         private java.time.LocalDateTime checkOutTime;
         private boolean isLateCheckout;
         private String currency; // KRW, USD, PHP
+        private String holdId; // Optional, from POST /api/reservations/holds
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BulkReservationRequest {
+        private List<CreateReservationRequest> reservations;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BulkReservationResponse {
+        private int succeeded;
+        private int failed;
+        private List<BulkReservationResult> results;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BulkReservationResult {
+        private int index; // Position in BulkReservationRequest.reservations
+        private boolean success;
+        private List<Long> reservationIds; // One per hotel
+        private BigDecimal totalPrice;
+        private String error;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CreateHoldRequest {
+        private List<Long> roomIds;
+        private java.time.LocalDateTime checkInTime;
+        private java.time.LocalDateTime checkOutTime;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class HoldResponse {
+        private String holdId;
+        private List<Long> roomIds;
+        private java.time.LocalDateTime checkInTime;
+        private java.time.LocalDateTime checkOutTime;
+        private java.time.LocalDateTime expiresAt;
     }
 
     @Data
@@ -54,6 +107,31 @@ public class ReservationDto {
         private String discountPolicyName;
     }
 
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ReservationPage {
+        private List<ReservationResponse> content;
+        private String nextCursor; // Null on the last page
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ReservationEvent {
+        private String type; // CREATED, CONFIRMED, CANCELLED, CHECKED_IN or CHECKED_OUT
+        private Long hotelId;
+        private Long reservationId;
+        private String status;
+        private java.time.LocalDateTime checkInTime;
+        private java.time.LocalDateTime checkOutTime;
+        private java.time.LocalDateTime actualCheckInTime;
+        private java.time.LocalDateTime actualCheckOutTime;
+        private List<String> roomNumbers; // Only the rooms of this hotel
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -63,11 +141,189 @@ public class ReservationDto {
         private String hotelName;
         private Long roomId;
         private String roomNumber;
+        private Long roomTypeId;
         private String roomType;
         private Integer capacity;
         private BigDecimal price; // Deprecated or default
         private BigDecimal priceKrw;
         private BigDecimal priceUsd;
         private BigDecimal pricePhp;
+        private BigDecimal stayPriceKrw; // Whole stay, nightly rate calendar applied
+        private BigDecimal stayPriceUsd;
+        private BigDecimal stayPricePhp;
+        private String currency; // Requested currency of stayPrice
+        private BigDecimal stayPrice;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AvailableRoomTypeResponse {
+        private Long hotelId;
+        private String hotelName;
+        private Long roomTypeId;
+        private String roomType;
+        private Integer capacity;
+        private Long availableCount;
+        private BigDecimal price; // Deprecated or default
+        private BigDecimal priceKrw;
+        private BigDecimal priceUsd;
+        private BigDecimal pricePhp;
+        private BigDecimal stayPriceKrw; // Whole stay, nightly rate calendar applied
+        private BigDecimal stayPriceUsd;
+        private BigDecimal stayPricePhp;
+        private String currency; // Requested currency of stayPrice
+        private BigDecimal stayPrice;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class QuoteResponse {
+        private String currency;
+        private java.time.LocalDateTime checkInTime;
+        private java.time.LocalDateTime checkOutTime;
+        private long nights;
+        private List<HotelQuote> hotels; // One reservation is created per hotel
+        private BigDecimal totalPrice;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class HotelQuote {
+        private Long hotelId;
+        private List<RoomQuote> rooms;
+        private List<NightlyQuote> nightly;
+        private BigDecimal subtotal;
+        private String discountPolicyName;
+        private BigDecimal discountPrice;
+        private BigDecimal totalPrice;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RoomQuote {
+        private Long roomId;
+        private String roomNumber;
+        private BigDecimal nightlyRate;
+        private BigDecimal amount;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class NightlyQuote {
+        private LocalDate date;
+        private BigDecimal amount;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class WaitlistRequest {
+        private Long roomTypeId;
+        private java.time.LocalDateTime checkInTime;
+        private java.time.LocalDateTime checkOutTime;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class WaitlistResponse {
+        private Long id;
+        private Long roomTypeId;
+        private String roomType;
+        private java.time.LocalDateTime checkInTime;
+        private java.time.LocalDateTime checkOutTime;
+        private String status;
+        private Long offeredRoomId; // Book it with holdId before the hold expires
+        private String holdId;
+        private java.time.LocalDateTime offeredAt;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SettlementRow {
+        private Long id;
+        private java.time.LocalDateTime checkInTime;
+        private java.time.LocalDateTime checkOutTime;
+        private java.time.LocalDateTime actualCheckInTime;
+        private java.time.LocalDateTime actualCheckOutTime;
+        private boolean lateCheckout;
+        private String guestName;
+        private String guestEmail;
+        private String roomNumbers; // Space separated, in room number order
+        private String currency;
+        private BigDecimal totalPrice;
+        private BigDecimal discountPrice;
+        private String discountPolicyName;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SettlementTotals {
+        private LocalDate startDate;
+        private LocalDate endDate;
+        private List<SettlementTotal> totals; // Per currency over the whole range
+        private List<SettlementTotal> days; // Per day and currency, days without check-outs left out
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SettlementTotal {
+        private LocalDate date;
+        private String currency;
+        private BigDecimal gross;
+        private BigDecimal discount;
+        private int count;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SettlementSummary {
+        private LocalDate startDate;
+        private LocalDate endDate;
+        private List<SettlementTotal> byCurrency;
+        private List<SettlementPolicyTotal> byDiscountPolicy; // discountPolicyName null: no discount
+        private List<SettlementTotal> byDay;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SettlementPolicyTotal {
+        private String currency;
+        private String discountPolicyName;
+        private BigDecimal gross;
+        private BigDecimal discount;
+        private int count;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SettlementRebuildResponse {
+        private LocalDate startDate;
+        private LocalDate endDate;
+        private int rows;
     }
 }
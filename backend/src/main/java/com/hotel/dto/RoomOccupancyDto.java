@@ -0,0 +1,17 @@
+package com.hotel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomOccupancyDto {
+    private Long roomId;
+    private Long reservationId;
+    private LocalDateTime checkInTime;
+    private LocalDateTime checkOutTime;
+}
@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class AccessLog {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "access_logs_seq")
+    @SequenceGenerator(name = "access_logs_seq", sequenceName = "access_logs_seq", allocationSize = 50)
     private Long id;
 
     private String method;
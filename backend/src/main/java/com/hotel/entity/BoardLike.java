@@ -13,7 +13,8 @@ import lombok.Setter;
 public class BoardLike extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "board_likes_seq")
+    @SequenceGenerator(name = "board_likes_seq", sequenceName = "board_likes_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,25 @@
+package com.hotel.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * Units of {@link #currency} per one unit of the base currency (USD), the
+ * currency of {@link RoomType#getBasePrice()}.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "fx_rates")
+public class FxRate extends BaseEntity {
+
+    @Id
+    @Column(length = 3)
+    private String currency;
+
+    @Column(name = "units_per_base", nullable = false)
+    private BigDecimal unitsPerBase;
+}
@@ -5,10 +5,14 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "hotels")
 @Table(name = "hotels")
 @Data
 @Builder
@@ -35,5 +39,6 @@ public class Hotel extends BaseEntity {
     private String accountNumber;
 
     @OneToMany(mappedBy = "hotel", cascade = CascadeType.ALL)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "hotel-room-types")
     private List<RoomType> roomTypes;
 }
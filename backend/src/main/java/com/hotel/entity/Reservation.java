@@ -14,14 +14,23 @@ import java.util.List;
 
 @Entity
 @Table(name = "reservations")
+@NamedEntityGraph(name = Reservation.WITH_GUEST_AND_ROOMS, attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode(value = "rooms", subgraph = "rooms") }, subgraphs = {
+        @NamedSubgraph(name = "rooms", attributeNodes = @NamedAttributeNode(value = "roomType", subgraph = "roomType")),
+        @NamedSubgraph(name = "roomType", attributeNodes = @NamedAttributeNode("hotel")) })
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 public class Reservation extends BaseEntity {
+    /** Guest, rooms, room types and hotels: everything a reservation response shows. */
+    public static final String WITH_GUEST_AND_ROOMS = "Reservation.withGuestAndRooms";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservations_seq")
+    @SequenceGenerator(name = "reservations_seq", sequenceName = "reservations_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -5,11 +5,15 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "room-types")
 @Table(name = "room_types")
 @Data
 @Builder
@@ -48,5 +52,6 @@ public class RoomType extends BaseEntity {
     private BigDecimal basePrice;
 
     @OneToMany(mappedBy = "roomType", cascade = CascadeType.ALL)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "room-type-rooms")
     private List<Room> rooms;
 }
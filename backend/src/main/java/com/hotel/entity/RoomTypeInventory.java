@@ -0,0 +1,47 @@
+package com.hotel.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Rooms of one type sold per night. Maintained by
+ * {@link com.hotel.service.RoomTypeInventoryService}.
+ */
+@Entity
+@Table(name = "room_type_inventory")
+@IdClass(RoomTypeInventory.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomTypeInventory {
+    @Id
+    @Column(name = "room_type_id")
+    private Long roomTypeId;
+
+    @Id
+    @Column(name = "stay_date")
+    private LocalDate stayDate;
+
+    @Column(nullable = false)
+    private Integer total;
+
+    @Column(nullable = false)
+    private Integer booked;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long roomTypeId;
+        private LocalDate stayDate;
+    }
+}
@@ -0,0 +1,49 @@
+package com.hotel.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Nightly rate of one room type on one date, overriding the type's standard
+ * price per currency. A {@code null} price keeps the standard price for that
+ * currency.
+ */
+@Entity
+@Table(name = "room_type_rates")
+@IdClass(RoomTypeRate.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomTypeRate {
+    @Id
+    @Column(name = "room_type_id")
+    private Long roomTypeId;
+
+    @Id
+    @Column(name = "stay_date")
+    private LocalDate stayDate;
+
+    private BigDecimal priceKrw;
+
+    private BigDecimal priceUsd;
+
+    private BigDecimal pricePhp;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long roomTypeId;
+        private LocalDate stayDate;
+    }
+}
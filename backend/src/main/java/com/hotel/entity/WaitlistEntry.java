@@ -0,0 +1,61 @@
+package com.hotel.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A guest waiting for a room of a sold-out type. When a cancellation frees
+ * a matching stay the guest is given a room hold and the entry becomes
+ * OFFERED, then BOOKED once the hold is converted or EXPIRED if it is not.
+ */
+@Entity
+@Table(name = "waitlist_entries")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class WaitlistEntry extends BaseEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_type_id", nullable = false)
+    private RoomType roomType;
+
+    @Column(nullable = false)
+    private LocalDateTime checkInTime;
+
+    @Column(nullable = false)
+    private LocalDateTime checkOutTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    /** The room held for the guest once OFFERED. */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "offered_room_id")
+    private Room offeredRoom;
+
+    @Column
+    private String holdId;
+
+    @Column
+    private LocalDateTime offeredAt;
+
+    public enum Status {
+        WAITING, OFFERED, BOOKED, EXPIRED, CANCELLED
+    }
+}
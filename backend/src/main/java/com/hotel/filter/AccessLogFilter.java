@@ -1,7 +1,7 @@
 package com.hotel.filter;
 
 import com.hotel.entity.AccessLog;
-import com.hotel.repository.AccessLogRepository;
+import com.hotel.service.AccessLogWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
@@ -20,7 +20,7 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class AccessLogFilter extends OncePerRequestFilter {
 
-    private final AccessLogRepository accessLogRepository;
+    private final AccessLogWriter accessLogWriter;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -70,7 +70,7 @@ public class AccessLogFilter extends OncePerRequestFilter {
                         .timestamp(LocalDateTime.now())
                         .build();
 
-                accessLogRepository.save(accessLog);
+                accessLogWriter.append(accessLog);
             } catch (Exception e) {
                 log.error("Failed to save access log", e);
             }
@@ -0,0 +1,7 @@
+package com.hotel.repository;
+
+import com.hotel.entity.FxRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface FxRateRepository extends JpaRepository<FxRate, String> {
+}
@@ -0,0 +1,43 @@
+package com.hotel.repository;
+
+import com.hotel.entity.IdempotencyKey;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, IdempotencyKey.Key> {
+
+    /**
+     * Claims the key for this request. Returns 0 when the key already exists;
+     * if another transaction is still inserting it, PostgreSQL waits for that
+     * transaction to finish first.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(value = """
+            INSERT INTO idempotency_keys (username, idempotency_key, request_hash, created_at)
+            VALUES (:username, :key, :requestHash, :createdAt)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int claim(@Param("username") String username, @Param("key") String key,
+            @Param("requestHash") String requestHash, @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(value = """
+            UPDATE idempotency_keys SET reservation_id = :reservationId, response_body = :responseBody
+            WHERE username = :username AND idempotency_key = :key
+            """, nativeQuery = true)
+    int complete(@Param("username") String username, @Param("key") String key,
+            @Param("reservationId") Long reservationId, @Param("responseBody") String responseBody);
+
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
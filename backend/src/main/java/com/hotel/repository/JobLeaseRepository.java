@@ -0,0 +1,44 @@
+package com.hotel.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+
+/**
+ * Named leases in {@code job_leases} that let one node at a time run a
+ * scheduled job. Lease times use the database clock, so nodes with skewed
+ * clocks still agree on when a lease has run out.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JobLeaseRepository {
+
+    private static final String ACQUIRE = """
+            INSERT INTO job_leases (name, owner, lease_until)
+            VALUES (?, ?, LOCALTIMESTAMP + ? * INTERVAL '1 millisecond')
+            ON CONFLICT (name) DO UPDATE SET owner = EXCLUDED.owner, lease_until = EXCLUDED.lease_until
+            WHERE job_leases.owner = EXCLUDED.owner OR job_leases.lease_until < LOCALTIMESTAMP
+            """;
+
+    private static final String RELEASE =
+            "UPDATE job_leases SET lease_until = LOCALTIMESTAMP WHERE name = ? AND owner = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Takes or extends the lease on {@code name} for {@code duration} unless
+     * another owner holds it and it has not run out yet.
+     *
+     * @return whether {@code owner} now holds the lease
+     */
+    public boolean tryAcquire(String name, String owner, Duration duration) {
+        return jdbcTemplate.update(ACQUIRE, name, owner, duration.toMillis()) == 1;
+    }
+
+    /** Lets the lease run out now, if {@code owner} still holds it. */
+    public void release(String name, String owner) {
+        jdbcTemplate.update(RELEASE, name, owner);
+    }
+}
@@ -0,0 +1,347 @@
+package com.hotel.repository;
+
+import com.hotel.dto.ReservationDto;
+import com.hotel.entity.Reservation;
+import com.hotel.entity.Room;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Set-based reservation reads and batched writes for bulk booking and
+ * expiry, and the cursor read behind the settlement export, on plain JDBC.
+ * Inserted reservations take their ids from Hibernate's pooled generator, so
+ * they share its in-memory block of {@code reservations_seq} instead of
+ * burning a block of 50 per row through the column default.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReservationJdbcRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private static final String FIND_CONFLICTS = """
+            SELECT DISTINCT q.stay, rr.room_id
+            FROM unnest(?, ?, ?, ?) AS q(stay, room_id, check_in, check_out)
+            JOIN reservation_rooms rr ON rr.room_id = q.room_id
+            JOIN reservations r ON r.id = rr.reservation_id
+            WHERE r.stay_period && tsrange(q.check_in, q.check_out, '[)')
+              AND r.status <> 'CANCELLED'
+            """;
+
+    private static final String INSERT_RESERVATION = """
+            INSERT INTO reservations (id, user_id, check_in_time, check_out_time, is_late_checkout, status,
+                                      total_price, currency, discount_price, discount_policy_name,
+                                      use_yn, created_by, created_at, updated_by, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_RESERVATION_ROOM =
+            "INSERT INTO reservation_rooms (reservation_id, room_id) VALUES (?, ?)";
+
+    private static final String EXPIRE_PENDING = """
+            WITH expired AS (
+                SELECT id FROM reservations
+                WHERE status = 'PENDING' AND created_at < ?
+                ORDER BY created_at, id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE reservations r
+            SET status = 'CANCELLED', updated_by = ?, updated_at = ?
+            FROM expired
+            WHERE r.id = expired.id AND r.status = 'PENDING'
+            RETURNING r.id, r.check_in_time, r.check_out_time,
+                      ARRAY(SELECT rm.id FROM reservation_rooms rr JOIN rooms rm ON rm.id = rr.room_id
+                            WHERE rr.reservation_id = r.id ORDER BY rm.id),
+                      ARRAY(SELECT rm.room_type_id FROM reservation_rooms rr JOIN rooms rm ON rm.id = rr.room_id
+                            WHERE rr.reservation_id = r.id ORDER BY rm.id),
+                      ARRAY(SELECT rm.room_number FROM reservation_rooms rr JOIN rooms rm ON rm.id = rr.room_id
+                            WHERE rr.reservation_id = r.id ORDER BY rm.id),
+                      ARRAY(SELECT rt.hotel_id FROM reservation_rooms rr JOIN rooms rm ON rm.id = rr.room_id
+                            JOIN room_types rt ON rt.id = rm.room_type_id
+                            WHERE rr.reservation_id = r.id ORDER BY rm.id)
+            """;
+
+    private static final String SETTLEMENT_ROWS = """
+            SELECT r.id, r.check_in_time, r.check_out_time, r.actual_check_in_time, r.actual_check_out_time,
+                   r.is_late_checkout, u.full_name, u.email,
+                   string_agg(rm.room_number, ' ' ORDER BY rm.room_number),
+                   r.currency, r.total_price, r.discount_price, r.discount_policy_name
+            FROM reservations r
+            JOIN users u ON u.id = r.user_id
+            JOIN reservation_rooms rr ON rr.reservation_id = r.id
+            JOIN rooms rm ON rm.id = rr.room_id
+            JOIN room_types rt ON rt.id = rm.room_type_id
+            WHERE rt.hotel_id = ? AND r.status = 'CHECKED_OUT'
+              AND r.actual_check_out_time BETWEEN ? AND ?
+            GROUP BY r.id, u.full_name, u.email
+            ORDER BY r.actual_check_out_time, r.id
+            """;
+
+    // One pass over the range; GROUPING() tells the three breakdowns apart
+    private static final String SUMMARIZE_SETTLEMENT = """
+            SELECT GROUPING(s.policy, s.day), s.currency, s.policy, s.day,
+                   SUM(s.total_price), SUM(s.discount_price), COUNT(*)
+            FROM (SELECT COALESCE(r.currency, 'USD') AS currency, r.discount_policy_name AS policy,
+                         CAST(r.actual_check_out_time AS DATE) AS day,
+                         COALESCE(r.total_price, 0) AS total_price, COALESCE(r.discount_price, 0) AS discount_price
+                  FROM reservations r
+                  WHERE r.status = 'CHECKED_OUT'
+                    AND r.actual_check_out_time >= ? AND r.actual_check_out_time < ?
+                    AND EXISTS (SELECT 1 FROM reservation_rooms rr
+                                JOIN rooms rm ON rm.id = rr.room_id
+                                JOIN room_types rt ON rt.id = rm.room_type_id
+                                WHERE rr.reservation_id = r.id AND rt.hotel_id = ?)) s
+            GROUP BY GROUPING SETS ((s.currency), (s.currency, s.policy), (s.currency, s.day))
+            ORDER BY 1 DESC, s.currency, s.day, s.policy NULLS FIRST
+            """;
+
+    /** A reservation cancelled by {@link #expirePending}, with its rooms. */
+    public record ExpiredReservation(Long id, LocalDateTime checkInTime, LocalDateTime checkOutTime,
+            List<ExpiredRoom> rooms) {
+    }
+
+    public record ExpiredRoom(Long id, String roomNumber, Long roomTypeId, Long hotelId) {
+    }
+
+    /**
+     * One row of {@link #summarizeSettlement}: a total per currency, per
+     * currency and discount policy, or per currency and day.
+     */
+    public record SettlementGroup(Grouping grouping, String currency, String discountPolicyName, LocalDate date,
+            BigDecimal gross, BigDecimal discount, int count) {
+
+        public enum Grouping {
+            CURRENCY, POLICY, DAY
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Checks many stays in one query. Each stay is a set of rooms for
+     * {@code [checkIn, checkOut)}.
+     *
+     * @return per stay position, the rooms that already have an overlapping
+     *         non-cancelled reservation; stays without conflicts are absent
+     */
+    public Map<Integer, Set<Long>> findConflictingRoomIds(List<? extends Collection<Long>> roomIds,
+            List<LocalDateTime> checkIns, List<LocalDateTime> checkOuts) {
+        List<Integer> stays = new ArrayList<>();
+        List<Long> rooms = new ArrayList<>();
+        List<Timestamp> ins = new ArrayList<>();
+        List<Timestamp> outs = new ArrayList<>();
+        for (int i = 0; i < roomIds.size(); i++) {
+            for (Long roomId : roomIds.get(i)) {
+                stays.add(i);
+                rooms.add(roomId);
+                ins.add(Timestamp.valueOf(checkIns.get(i)));
+                outs.add(Timestamp.valueOf(checkOuts.get(i)));
+            }
+        }
+        Map<Integer, Set<Long>> conflicts = new HashMap<>();
+        if (stays.isEmpty())
+            return conflicts;
+
+        return jdbcTemplate.execute((ConnectionCallback<Map<Integer, Set<Long>>>) con -> {
+            try (PreparedStatement ps = con.prepareStatement(FIND_CONFLICTS)) {
+                ps.setArray(1, con.createArrayOf("int4", stays.toArray()));
+                ps.setArray(2, con.createArrayOf("int8", rooms.toArray()));
+                ps.setArray(3, con.createArrayOf("timestamp", ins.toArray()));
+                ps.setArray(4, con.createArrayOf("timestamp", outs.toArray()));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        conflicts.computeIfAbsent(rs.getInt(1), stay -> new HashSet<>()).add(rs.getLong(2));
+                    }
+                }
+            }
+            return conflicts;
+        });
+    }
+
+    /**
+     * Inserts the reservations and their room links as two JDBC batches and
+     * sets the generated ids on the given entities. Audit columns are set to
+     * each reservation's guest.
+     */
+    public void insertAll(List<Reservation> reservations) {
+        if (reservations.isEmpty())
+            return;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        assignIds(reservations);
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            try (PreparedStatement ps = con.prepareStatement(INSERT_RESERVATION)) {
+                for (Reservation reservation : reservations) {
+                    String username = reservation.getUser().getUsername();
+                    ps.setLong(1, reservation.getId());
+                    ps.setLong(2, reservation.getUser().getId());
+                    ps.setTimestamp(3, Timestamp.valueOf(reservation.getCheckInTime()));
+                    ps.setTimestamp(4, Timestamp.valueOf(reservation.getCheckOutTime()));
+                    ps.setBoolean(5, reservation.isLateCheckout());
+                    ps.setString(6, reservation.getStatus().name());
+                    ps.setBigDecimal(7, reservation.getTotalPrice());
+                    ps.setString(8, reservation.getCurrency());
+                    ps.setBigDecimal(9, reservation.getDiscountPrice());
+                    ps.setString(10, reservation.getDiscountPolicyName());
+                    ps.setString(11, reservation.getUseYn());
+                    ps.setString(12, username);
+                    ps.setTimestamp(13, now);
+                    ps.setString(14, username);
+                    ps.setTimestamp(15, now);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+
+            try (PreparedStatement ps = con.prepareStatement(INSERT_RESERVATION_ROOM)) {
+                for (Reservation reservation : reservations) {
+                    for (Room room : reservation.getRooms()) {
+                        ps.setLong(1, reservation.getId());
+                        ps.setLong(2, room.getId());
+                        ps.addBatch();
+                    }
+                }
+                ps.executeBatch();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Cancels up to {@code limit} of the oldest reservations still PENDING
+     * that were created before {@code createdBefore}, in one statement.
+     * Rows locked by a running check-in or confirmation are skipped and
+     * picked up by a later batch.
+     */
+    public List<ExpiredReservation> expirePending(LocalDateTime createdBefore, int limit, String updatedBy) {
+        return jdbcTemplate.execute((ConnectionCallback<List<ExpiredReservation>>) con -> {
+            List<ExpiredReservation> expired = new ArrayList<>();
+            try (PreparedStatement ps = con.prepareStatement(EXPIRE_PENDING)) {
+                ps.setTimestamp(1, Timestamp.valueOf(createdBefore));
+                ps.setInt(2, limit);
+                ps.setString(3, updatedBy);
+                ps.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        Long[] roomIds = (Long[]) rs.getArray(4).getArray();
+                        Long[] roomTypeIds = (Long[]) rs.getArray(5).getArray();
+                        String[] roomNumbers = (String[]) rs.getArray(6).getArray();
+                        Long[] hotelIds = (Long[]) rs.getArray(7).getArray();
+                        List<ExpiredRoom> rooms = new ArrayList<>(roomIds.length);
+                        for (int i = 0; i < roomIds.length; i++)
+                            rooms.add(new ExpiredRoom(roomIds[i], roomNumbers[i], roomTypeIds[i], hotelIds[i]));
+                        expired.add(new ExpiredReservation(rs.getLong(1), rs.getTimestamp(2).toLocalDateTime(),
+                                rs.getTimestamp(3).toLocalDateTime(), rooms));
+                    }
+                }
+            }
+            return expired;
+        });
+    }
+
+    /**
+     * Hands the hotel's CHECKED_OUT reservations with an actual check-out in
+     * {@code [from, to]} to {@code handler} one row at a time, by check-out.
+     * Rows are pulled from a server-side cursor {@code fetchSize} at a time,
+     * which PostgreSQL only opens inside a transaction; outside of one the
+     * driver reads the whole result into memory first.
+     */
+    public void streamSettlement(Long hotelId, LocalDateTime from, LocalDateTime to, int fetchSize,
+            Consumer<ReservationDto.SettlementRow> handler) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            try (PreparedStatement ps = con.prepareStatement(SETTLEMENT_ROWS, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY)) {
+                ps.setFetchSize(fetchSize);
+                ps.setLong(1, hotelId);
+                ps.setTimestamp(2, Timestamp.valueOf(from));
+                ps.setTimestamp(3, Timestamp.valueOf(to));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        handler.accept(ReservationDto.SettlementRow.builder()
+                                .id(rs.getLong(1))
+                                .checkInTime(toLocalDateTime(rs.getTimestamp(2)))
+                                .checkOutTime(toLocalDateTime(rs.getTimestamp(3)))
+                                .actualCheckInTime(toLocalDateTime(rs.getTimestamp(4)))
+                                .actualCheckOutTime(toLocalDateTime(rs.getTimestamp(5)))
+                                .lateCheckout(rs.getBoolean(6))
+                                .guestName(rs.getString(7))
+                                .guestEmail(rs.getString(8))
+                                .roomNumbers(rs.getString(9))
+                                .currency(rs.getString(10))
+                                .totalPrice(rs.getBigDecimal(11))
+                                .discountPrice(rs.getBigDecimal(12))
+                                .discountPolicyName(rs.getString(13))
+                                .build());
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Sums the hotel's CHECKED_OUT reservations with an actual check-out in
+     * {@code [from, to)} by currency, by discount policy and by day in one
+     * query.
+     */
+    public List<SettlementGroup> summarizeSettlement(Long hotelId, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(SUMMARIZE_SETTLEMENT, (rs, rowNum) -> {
+            Date day = rs.getDate(4);
+            return new SettlementGroup(
+                    grouping(rs.getInt(1)),
+                    rs.getString(2),
+                    rs.getString(3),
+                    day != null ? day.toLocalDate() : null,
+                    rs.getBigDecimal(5),
+                    rs.getBigDecimal(6),
+                    rs.getInt(7));
+        }, Timestamp.valueOf(from), Timestamp.valueOf(to), hotelId);
+    }
+
+    /** Decodes {@code GROUPING(policy, day)}: a bit is set for each column left out of the row's set. */
+    private static SettlementGroup.Grouping grouping(int bits) {
+        return switch (bits) {
+            case 1 -> SettlementGroup.Grouping.POLICY;
+            case 2 -> SettlementGroup.Grouping.DAY;
+            default -> SettlementGroup.Grouping.CURRENCY;
+        };
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    /** Draws ids from the {@link Reservation} entity's generator, the same pool Hibernate inserts use. */
+    private void assignIds(List<Reservation> reservations) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator generator = (IdentifierGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(Reservation.class)
+                .getGenerator();
+        for (Reservation reservation : reservations)
+            reservation.setId((Long) generator.generate(session, reservation));
+    }
+}
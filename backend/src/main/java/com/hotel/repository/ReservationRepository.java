@@ -1,39 +1,115 @@
 package com.hotel.repository;
 
+import com.hotel.dto.RoomOccupancyDto;
 import com.hotel.entity.Reservation;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+       /**
+        * Overlap of {@code reservations.stay_period} with the half-open stay
+        * {@code [:checkInTime, :checkOutTime)}; served by the partial GiST index
+        * on non-cancelled reservations.
+        */
+       String STAY_OVERLAPS = "r.stay_period && tsrange(CAST(:checkInTime AS timestamp), " +
+                     "CAST(:checkOutTime AS timestamp), '[)')";
+
+       /*
+        * The list reads below load each reservation with its guest, rooms, room
+        * types and hotels in the same query, so mapping them to responses does
+        * not go back to the database per row.
+        */
+       @EntityGraph(Reservation.WITH_GUEST_AND_ROOMS)
        List<Reservation> findByUserId(Long userId);
 
-       @Query("SELECT r FROM Reservation r JOIN r.rooms rm WHERE rm.id = :roomId AND " +
-                     "((r.checkInTime < :checkOutTime AND r.checkOutTime > :checkInTime)) AND " +
-                     "r.status <> 'CANCELLED'")
+       /**
+        * Loads a reservation for a status change. The row lock makes the
+        * expiry job skip it, and a reservation it has just cancelled is seen
+        * as CANCELLED.
+        */
+       @Lock(LockModeType.PESSIMISTIC_WRITE)
+       @Query("SELECT r FROM Reservation r WHERE r.id = :id")
+       Optional<Reservation> findByIdForUpdate(@Param("id") Long id);
+
+       @Query(value = "SELECT r.* FROM reservations r JOIN reservation_rooms rr ON rr.reservation_id = r.id " +
+                     "WHERE rr.room_id = :roomId AND " + STAY_OVERLAPS + " AND r.status <> 'CANCELLED'",
+                     nativeQuery = true)
        List<Reservation> findConflictingReservations(@Param("roomId") Long roomId,
                      @Param("checkInTime") java.time.LocalDateTime checkInTime,
                      @Param("checkOutTime") java.time.LocalDateTime checkOutTime);
 
+       @Query(value = "SELECT DISTINCT rr.room_id FROM reservations r JOIN reservation_rooms rr ON rr.reservation_id = r.id " +
+                     "WHERE rr.room_id IN (:roomIds) AND " + STAY_OVERLAPS + " AND r.status <> 'CANCELLED'",
+                     nativeQuery = true)
+       List<Long> findConflictingRoomIds(@Param("roomIds") java.util.Collection<Long> roomIds,
+                     @Param("checkInTime") java.time.LocalDateTime checkInTime,
+                     @Param("checkOutTime") java.time.LocalDateTime checkOutTime);
+
+       @Query("SELECT new com.hotel.dto.RoomOccupancyDto(rm.id, r.id, r.checkInTime, r.checkOutTime) " +
+                     "FROM Reservation r JOIN r.rooms rm WHERE r.checkOutTime > :since AND r.status <> 'CANCELLED'")
+       List<RoomOccupancyDto> findRoomOccupancySince(@Param("since") java.time.LocalDateTime since);
+
+       @EntityGraph(Reservation.WITH_GUEST_AND_ROOMS)
        @Query("SELECT DISTINCT r FROM Reservation r JOIN r.rooms rm WHERE rm.roomType.hotel.id = :hotelId AND " +
                      "r.status = 'CHECKED_OUT' AND r.actualCheckOutTime BETWEEN :start AND :end")
        List<Reservation> findSettlementReservations(@Param("hotelId") Long hotelId,
                      @Param("start") java.time.LocalDateTime start,
                      @Param("end") java.time.LocalDateTime end);
 
-       @Query("""
-                            SELECT DISTINCT r FROM Reservation r JOIN r.rooms rm
-                            WHERE rm.roomType.hotel.id = :hotelId
-                            AND (
-                                   r.checkInTime >= :start
-                                   OR r.checkOutTime <= :end
-                            )
-                     """)
-       List<Reservation> findManagerReservations(@Param("hotelId") Long hotelId,
-                     @Param("start") java.time.LocalDateTime start,
-                     @Param("end") java.time.LocalDateTime end);
+       /*
+        * Keyset pages: ids of the next reservations after a (checkInTime, id)
+        * position, so a deep page reads as few rows as the first one. The
+        * entities are then loaded by id with the full graph, because a limit
+        * on a query that fetches the rooms collection is applied in memory.
+        */
+       @Query("SELECT r.id FROM Reservation r WHERE r.user.id = :userId ORDER BY r.checkInTime DESC, r.id DESC")
+       List<Long> findPageIdsByUserId(@Param("userId") Long userId, Limit limit);
+
+       @Query("SELECT r.id FROM Reservation r WHERE r.user.id = :userId " +
+                     "AND (r.checkInTime, r.id) < (:checkInTime, :id) ORDER BY r.checkInTime DESC, r.id DESC")
+       List<Long> findPageIdsByUserIdBefore(@Param("userId") Long userId,
+                     @Param("checkInTime") LocalDateTime checkInTime, @Param("id") Long id, Limit limit);
+
+       /*
+        * The manager's day: non-cancelled stays of the hotel overlapping the
+        * day, found through the stay period GiST index rather than a scan of
+        * the hotel's whole history.
+        */
+       String MANAGER_DAY = "FROM reservations r WHERE " + STAY_OVERLAPS + " AND r.status <> 'CANCELLED' " +
+                     "AND EXISTS (SELECT 1 FROM reservation_rooms rr JOIN rooms rm ON rm.id = rr.room_id " +
+                     "JOIN room_types rt ON rt.id = rm.room_type_id " +
+                     "WHERE rr.reservation_id = r.id AND rt.hotel_id = :hotelId) ";
+
+       @Query(value = "SELECT r.id " + MANAGER_DAY + "ORDER BY r.check_in_time, r.id", nativeQuery = true)
+       List<Long> findManagerDayIds(@Param("hotelId") Long hotelId,
+                     @Param("checkInTime") LocalDateTime dayStart, @Param("checkOutTime") LocalDateTime dayEnd);
+
+       @Query(value = "SELECT r.id " + MANAGER_DAY + "ORDER BY r.check_in_time, r.id LIMIT :limit",
+                     nativeQuery = true)
+       List<Long> findManagerDayPageIds(@Param("hotelId") Long hotelId,
+                     @Param("checkInTime") LocalDateTime dayStart, @Param("checkOutTime") LocalDateTime dayEnd,
+                     @Param("limit") int limit);
+
+       @Query(value = "SELECT r.id " + MANAGER_DAY +
+                     "AND (r.check_in_time, r.id) > (CAST(:afterCheckInTime AS timestamp), :afterId) " +
+                     "ORDER BY r.check_in_time, r.id LIMIT :limit", nativeQuery = true)
+       List<Long> findManagerDayPageIdsAfter(@Param("hotelId") Long hotelId,
+                     @Param("checkInTime") LocalDateTime dayStart, @Param("checkOutTime") LocalDateTime dayEnd,
+                     @Param("afterCheckInTime") LocalDateTime afterCheckInTime, @Param("afterId") Long afterId,
+                     @Param("limit") int limit);
+
+       @EntityGraph(Reservation.WITH_GUEST_AND_ROOMS)
+       @Query("SELECT r FROM Reservation r WHERE r.id IN :ids")
+       List<Reservation> findWithGuestAndRoomsByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -1,17 +1,25 @@
 package com.hotel.repository;
 
 import com.hotel.dto.HotelRoomDto;
-import com.hotel.dto.ReservationDto;
 import com.hotel.entity.Room;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface RoomRepository extends JpaRepository<Room, Long> {
     List<Room> findByRoomTypeId(Long roomTypeId);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from Room r where r.id in :roomIds order by r.id")
+    List<Room> lockAllById(@Param("roomIds") Collection<Long> roomIds);
+
     @Query("""
             select new com.hotel.dto.HotelRoomDto(
                 r.roomType.hotel,
@@ -21,4 +29,155 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
             where r.id in :roomIds
             """)
     List<HotelRoomDto> findHotelRoomsAllById(@Param("roomIds") List<Long> roomIds);
+
+    /**
+     * Rooms with everything needed to price them, as detached snapshots for
+     * {@link com.hotel.service.RoomPriceCache}.
+     */
+    @Query("""
+            select r.id as roomId, r.roomNumber as roomNumber, rt.id as roomTypeId, rt.hotel.id as hotelId,
+                   rt.basePrice as basePrice, rt.priceKrw as priceKrw, rt.priceUsd as priceUsd,
+                   rt.pricePhp as pricePhp
+            from Room r
+            join r.roomType rt
+            where r.id in :roomIds
+            """)
+    List<RoomPriceRow> findRoomPrices(@Param("roomIds") Collection<Long> roomIds);
+
+    @Query("select distinct r.roomType.hotel.id from Room r where r.id in :roomIds")
+    List<Long> findHotelIdsByRoomIds(@Param("roomIds") Collection<Long> roomIds);
+
+    @Query("""
+            select h.id as hotelId, h.name as hotelName, r.id as roomId, r.roomNumber as roomNumber,
+                   rt.id as roomTypeId, rt.name as roomType, rt.capacity as capacity,
+                   rt.basePrice as price, rt.priceKrw as priceKrw, rt.priceUsd as priceUsd,
+                   rt.pricePhp as pricePhp
+            from Room r
+            join r.roomType rt
+            join rt.hotel h
+            order by h.id, r.id
+            """)
+    List<AvailableRoomRow> findRoomCatalog();
+
+    /**
+     * Rooms without a non-cancelled reservation overlapping
+     * {@code [checkInTime, checkOutTime)}. Native so the overlap can be
+     * answered from the GiST index on {@code reservations.stay_period}.
+     */
+    @Query(value = """
+            SELECT h.id AS "hotelId", h.name AS "hotelName", r.id AS "roomId",
+                   r.room_number AS "roomNumber", rt.id AS "roomTypeId", rt.name AS "roomType",
+                   rt.capacity AS "capacity",
+                   rt.base_price AS "price", rt.price_krw AS "priceKrw",
+                   rt.price_usd AS "priceUsd", rt.price_php AS "pricePhp"
+            FROM rooms r
+            JOIN room_types rt ON rt.id = r.room_type_id
+            JOIN hotels h ON h.id = rt.hotel_id
+            WHERE NOT EXISTS (
+                SELECT 1 FROM reservation_rooms rr
+                JOIN reservations res ON res.id = rr.reservation_id
+                WHERE rr.room_id = r.id
+                AND res.stay_period && tsrange(CAST(:checkInTime AS timestamp), CAST(:checkOutTime AS timestamp), '[)')
+                AND res.status <> 'CANCELLED'
+            )
+            ORDER BY h.id, r.id
+            """, nativeQuery = true)
+    List<AvailableRoomRow> findAvailableRooms(
+            @Param("checkInTime") LocalDateTime checkInTime,
+            @Param("checkOutTime") LocalDateTime checkOutTime);
+
+    /**
+     * Rooms per type free for the whole of {@code [checkInTime, checkOutTime)},
+     * with the same overlap check as {@link #findAvailableRooms}. A type with
+     * one room booked on the first night and another on the second has
+     * capacity left every night but no bookable room, so this counts rooms
+     * rather than subtracting {@code room_type_inventory}. Types without a
+     * free room are absent.
+     */
+    @Query(value = """
+            SELECT h.id AS "hotelId", h.name AS "hotelName", rt.id AS "roomTypeId", rt.name AS "roomType",
+                   rt.capacity AS "capacity", COUNT(*) AS "availableCount",
+                   rt.base_price AS "price", rt.price_krw AS "priceKrw",
+                   rt.price_usd AS "priceUsd", rt.price_php AS "pricePhp"
+            FROM rooms r
+            JOIN room_types rt ON rt.id = r.room_type_id
+            JOIN hotels h ON h.id = rt.hotel_id
+            WHERE NOT EXISTS (
+                SELECT 1 FROM reservation_rooms rr
+                JOIN reservations res ON res.id = rr.reservation_id
+                WHERE rr.room_id = r.id
+                AND res.stay_period && tsrange(CAST(:checkInTime AS timestamp), CAST(:checkOutTime AS timestamp), '[)')
+                AND res.status <> 'CANCELLED'
+            )
+            GROUP BY h.id, h.name, rt.id, rt.name, rt.capacity,
+                rt.base_price, rt.price_krw, rt.price_usd, rt.price_php
+            ORDER BY h.id, rt.id
+            """, nativeQuery = true)
+    List<AvailableRoomTypeRow> countAvailableRoomsByType(
+            @Param("checkInTime") LocalDateTime checkInTime,
+            @Param("checkOutTime") LocalDateTime checkOutTime);
+
+    interface AvailableRoomRow {
+        Long getHotelId();
+
+        String getHotelName();
+
+        Long getRoomId();
+
+        String getRoomNumber();
+
+        Long getRoomTypeId();
+
+        String getRoomType();
+
+        Integer getCapacity();
+
+        BigDecimal getPrice();
+
+        BigDecimal getPriceKrw();
+
+        BigDecimal getPriceUsd();
+
+        BigDecimal getPricePhp();
+    }
+
+    interface AvailableRoomTypeRow {
+        Long getHotelId();
+
+        String getHotelName();
+
+        Long getRoomTypeId();
+
+        String getRoomType();
+
+        Integer getCapacity();
+
+        Long getAvailableCount();
+
+        BigDecimal getPrice();
+
+        BigDecimal getPriceKrw();
+
+        BigDecimal getPriceUsd();
+
+        BigDecimal getPricePhp();
+    }
+
+    interface RoomPriceRow {
+        Long getRoomId();
+
+        String getRoomNumber();
+
+        Long getRoomTypeId();
+
+        Long getHotelId();
+
+        BigDecimal getBasePrice();
+
+        BigDecimal getPriceKrw();
+
+        BigDecimal getPriceUsd();
+
+        BigDecimal getPricePhp();
+    }
 }
@@ -0,0 +1,157 @@
+package com.hotel.repository;
+
+import com.hotel.entity.RoomTypeInventory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The native writes below name the table they touch. Without that,
+ * Hibernate cannot tell what a native statement changed and empties the
+ * whole second-level cache on every booking.
+ */
+public interface RoomTypeInventoryRepository extends JpaRepository<RoomTypeInventory, RoomTypeInventory.Key> {
+
+    /**
+     * Expected booked count per room type and night, derived from
+     * reservations. Nights run from the check-in date up to (excluding) the
+     * check-out date, at least one.
+     */
+    String EXPECTED_BOOKED = """
+            SELECT rm.room_type_id, d.stay_date, COUNT(*) AS booked
+            FROM reservations r
+            JOIN reservation_rooms rr ON rr.reservation_id = r.id
+            JOIN rooms rm ON rm.id = rr.room_id
+            CROSS JOIN LATERAL generate_series(
+                    CAST(r.check_in_time AS DATE),
+                    GREATEST(CAST(r.check_out_time AS DATE) - 1, CAST(r.check_in_time AS DATE)),
+                    INTERVAL '1 day') AS g(d)
+            CROSS JOIN LATERAL (SELECT CAST(g.d AS DATE) AS stay_date) d
+            WHERE r.status <> 'CANCELLED'
+              AND d.stay_date >= :from
+            GROUP BY rm.room_type_id, d.stay_date
+            """;
+
+    List<RoomTypeInventory> findByRoomTypeIdAndStayDateBetweenOrderByStayDate(Long roomTypeId, LocalDate from,
+            LocalDate to);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "room_type_inventory"))
+    @Query(value = """
+            INSERT INTO room_type_inventory (room_type_id, stay_date, total, booked)
+            SELECT :roomTypeId, CAST(g.d AS DATE),
+                   (SELECT COUNT(*) FROM rooms x WHERE x.room_type_id = :roomTypeId), 0
+            FROM generate_series(CAST(:from AS DATE), CAST(:to AS DATE) - 1, INTERVAL '1 day') AS g(d)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertMissingNights(@Param("roomTypeId") Long roomTypeId, @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    /**
+     * Books {@code count} rooms for every night in {@code [from, to)}. Nights
+     * without enough capacity are left untouched, so the caller compares the
+     * result with the number of nights.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "room_type_inventory"))
+    @Query(value = """
+            UPDATE room_type_inventory SET booked = booked + :count
+            WHERE room_type_id = :roomTypeId
+              AND stay_date >= :from AND stay_date < :to
+              AND booked + :count <= total
+            """, nativeQuery = true)
+    int reserve(@Param("roomTypeId") Long roomTypeId, @Param("from") LocalDate from, @Param("to") LocalDate to,
+            @Param("count") int count);
+
+    /**
+     * Row-locks every tracked night of the given types in {@code [from, to)}
+     * in (type, night) order.
+     */
+    @Query(value = """
+            SELECT 1 FROM room_type_inventory
+            WHERE room_type_id IN (:roomTypeIds)
+              AND stay_date >= :from AND stay_date < :to
+            ORDER BY room_type_id, stay_date
+            FOR UPDATE
+            """, nativeQuery = true)
+    List<Integer> lockNights(@Param("roomTypeIds") Collection<Long> roomTypeIds, @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    /**
+     * Row-locks every tracked night from {@code from} on, in the same order
+     * as {@link #lockNights}.
+     */
+    @Query(value = """
+            SELECT 1 FROM room_type_inventory
+            WHERE stay_date >= :from
+            ORDER BY room_type_id, stay_date
+            FOR UPDATE
+            """, nativeQuery = true)
+    List<Integer> lockNightsFrom(@Param("from") LocalDate from);
+
+    @Query(value = """
+            SELECT COUNT(*) FROM room_type_inventory
+            WHERE room_type_id = :roomTypeId
+              AND stay_date >= :from AND stay_date < :to
+              AND booked + :count <= total
+            """, nativeQuery = true)
+    long countNightsWithCapacity(@Param("roomTypeId") Long roomTypeId, @Param("from") LocalDate from,
+            @Param("to") LocalDate to, @Param("count") int count);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "room_type_inventory"))
+    @Query(value = """
+            UPDATE room_type_inventory SET booked = GREATEST(booked - :count, 0)
+            WHERE room_type_id = :roomTypeId
+              AND stay_date >= :from AND stay_date < :to
+            """, nativeQuery = true)
+    int release(@Param("roomTypeId") Long roomTypeId, @Param("from") LocalDate from, @Param("to") LocalDate to,
+            @Param("count") int count);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "room_type_inventory"))
+    @Query(value = """
+            UPDATE room_type_inventory SET total = total + :delta
+            WHERE room_type_id = :roomTypeId AND stay_date >= :from
+            """, nativeQuery = true)
+    int adjustTotal(@Param("roomTypeId") Long roomTypeId, @Param("from") LocalDate from,
+            @Param("delta") int delta);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "room_type_inventory"))
+    @Query(value = "INSERT INTO room_type_inventory (room_type_id, stay_date, total, booked) " +
+            "SELECT e.room_type_id, e.stay_date, " +
+            "(SELECT COUNT(*) FROM rooms x WHERE x.room_type_id = e.room_type_id), e.booked " +
+            "FROM (" + EXPECTED_BOOKED + ") e " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertMissingFromReservations(@Param("from") LocalDate from);
+
+    /**
+     * Resets {@code booked} and {@code total} from reservations and rooms for
+     * every night from {@code from} on, returning the number of rows that
+     * had drifted. The rows must already be locked by
+     * {@link #lockNightsFrom}: the expected counts come from this
+     * statement's snapshot, and a booking still in flight would otherwise
+     * have its increment overwritten once it commits.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "room_type_inventory"))
+    @Query(value = "UPDATE room_type_inventory i SET booked = s.booked, total = s.total " +
+            "FROM (SELECT inv.room_type_id, inv.stay_date, COALESCE(e.booked, 0) AS booked, " +
+            "      (SELECT COUNT(*) FROM rooms x WHERE x.room_type_id = inv.room_type_id) AS total " +
+            "      FROM room_type_inventory inv " +
+            "      LEFT JOIN (" + EXPECTED_BOOKED + ") e " +
+            "        ON e.room_type_id = inv.room_type_id AND e.stay_date = inv.stay_date " +
+            "      WHERE inv.stay_date >= :from) s " +
+            "WHERE i.room_type_id = s.room_type_id AND i.stay_date = s.stay_date " +
+            "AND (i.booked <> s.booked OR i.total <> s.total)", nativeQuery = true)
+    int correctDrift(@Param("from") LocalDate from);
+}
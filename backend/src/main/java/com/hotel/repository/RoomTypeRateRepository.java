@@ -0,0 +1,54 @@
+package com.hotel.repository;
+
+import com.hotel.entity.RoomTypeRate;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface RoomTypeRateRepository extends JpaRepository<RoomTypeRate, RoomTypeRate.Key> {
+
+    List<RoomTypeRate> findByRoomTypeIdIn(Collection<Long> roomTypeIds);
+
+    /**
+     * Sets the rate of every night in {@code [from, to)} falling on one of
+     * {@code isoDaysOfWeek} (1 = Monday) in a single statement. A
+     * {@code null} price leaves that currency as it was.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "room_type_rates"))
+    @Query(value = """
+            INSERT INTO room_type_rates (room_type_id, stay_date, price_krw, price_usd, price_php)
+            SELECT :roomTypeId, CAST(g.d AS DATE),
+                   CAST(:priceKrw AS NUMERIC), CAST(:priceUsd AS NUMERIC), CAST(:pricePhp AS NUMERIC)
+            FROM generate_series(CAST(:from AS DATE), CAST(:to AS DATE) - 1, INTERVAL '1 day') AS g(d)
+            WHERE EXTRACT(ISODOW FROM g.d) IN (:isoDaysOfWeek)
+            ON CONFLICT (room_type_id, stay_date) DO UPDATE SET
+                price_krw = COALESCE(EXCLUDED.price_krw, room_type_rates.price_krw),
+                price_usd = COALESCE(EXCLUDED.price_usd, room_type_rates.price_usd),
+                price_php = COALESCE(EXCLUDED.price_php, room_type_rates.price_php)
+            """, nativeQuery = true)
+    int upsertRange(@Param("roomTypeId") Long roomTypeId, @Param("from") LocalDate from, @Param("to") LocalDate to,
+            @Param("isoDaysOfWeek") Collection<Integer> isoDaysOfWeek, @Param("priceKrw") BigDecimal priceKrw,
+            @Param("priceUsd") BigDecimal priceUsd, @Param("pricePhp") BigDecimal pricePhp);
+
+    /** Reverts the matching nights in {@code [from, to)} to the standard price. */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "room_type_rates"))
+    @Query(value = """
+            DELETE FROM room_type_rates
+            WHERE room_type_id = :roomTypeId
+              AND stay_date >= :from AND stay_date < :to
+              AND EXTRACT(ISODOW FROM stay_date) IN (:isoDaysOfWeek)
+            """, nativeQuery = true)
+    int deleteRange(@Param("roomTypeId") Long roomTypeId, @Param("from") LocalDate from, @Param("to") LocalDate to,
+            @Param("isoDaysOfWeek") Collection<Integer> isoDaysOfWeek);
+}
@@ -0,0 +1,98 @@
+package com.hotel.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The {@code settlement_daily} rollup: checked-out reservations summed per
+ * hotel, day of actual check-out and currency. A reservation with rooms in
+ * several hotels counts fully towards each, like the raw settlement query.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SettlementDailyRepository {
+
+    private static final String ADD = """
+            INSERT INTO settlement_daily (hotel_id, settlement_date, currency, gross, discount, reservation_count)
+            VALUES (?, ?, ?, ?, ?, 1)
+            ON CONFLICT (hotel_id, settlement_date, currency) DO UPDATE
+            SET gross = settlement_daily.gross + EXCLUDED.gross,
+                discount = settlement_daily.discount + EXCLUDED.discount,
+                reservation_count = settlement_daily.reservation_count + 1
+            """;
+
+    // Waits for check-outs writing to the table and holds off new ones, so none is counted twice or lost
+    private static final String LOCK = "LOCK TABLE settlement_daily IN SHARE ROW EXCLUSIVE MODE";
+
+    private static final String DELETE_RANGE =
+            "DELETE FROM settlement_daily WHERE settlement_date BETWEEN ? AND ?";
+
+    private static final String INSERT_RANGE = """
+            INSERT INTO settlement_daily (hotel_id, settlement_date, currency, gross, discount, reservation_count)
+            SELECT s.hotel_id, s.settlement_date, s.currency, SUM(s.total_price), SUM(s.discount_price), COUNT(*)
+            FROM (SELECT DISTINCT r.id, rt.hotel_id, CAST(r.actual_check_out_time AS DATE) AS settlement_date,
+                         COALESCE(r.currency, 'USD') AS currency, COALESCE(r.total_price, 0) AS total_price,
+                         COALESCE(r.discount_price, 0) AS discount_price
+                  FROM reservations r
+                  JOIN reservation_rooms rr ON rr.reservation_id = r.id
+                  JOIN rooms rm ON rm.id = rr.room_id
+                  JOIN room_types rt ON rt.id = rm.room_type_id
+                  WHERE r.status = 'CHECKED_OUT'
+                    AND r.actual_check_out_time >= ? AND r.actual_check_out_time < ?) s
+            GROUP BY s.hotel_id, s.settlement_date, s.currency
+            """;
+
+    private static final String FIND_BY_HOTEL = """
+            SELECT settlement_date, currency, gross, discount, reservation_count
+            FROM settlement_daily
+            WHERE hotel_id = ? AND settlement_date BETWEEN ? AND ?
+            ORDER BY settlement_date, currency
+            """;
+
+    /** One rollup row. */
+    public record Day(LocalDate date, String currency, BigDecimal gross, BigDecimal discount, int count) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Adds one checked-out reservation to the day of each of its hotels. */
+    public void add(Collection<Long> hotelIds, LocalDate date, String currency, BigDecimal gross,
+            BigDecimal discount) {
+        Date day = Date.valueOf(date);
+        jdbcTemplate.batchUpdate(ADD, hotelIds.stream()
+                .sorted()
+                .map(hotelId -> new Object[] { hotelId, day, currency, gross, discount })
+                .toList());
+    }
+
+    /**
+     * Recomputes the days {@code [from, to]} of every hotel from the raw
+     * reservations. Must run inside a transaction, which keeps the table
+     * locked against check-outs until it commits.
+     *
+     * @return number of rollup rows written
+     */
+    public int rebuild(LocalDate from, LocalDate to) {
+        jdbcTemplate.execute(LOCK);
+        jdbcTemplate.update(DELETE_RANGE, Date.valueOf(from), Date.valueOf(to));
+        return jdbcTemplate.update(INSERT_RANGE, Timestamp.valueOf(from.atStartOfDay()),
+                Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+    }
+
+    public List<Day> findByHotel(Long hotelId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(FIND_BY_HOTEL, (rs, rowNum) -> new Day(
+                rs.getDate(1).toLocalDate(),
+                rs.getString(2),
+                rs.getBigDecimal(3),
+                rs.getBigDecimal(4),
+                rs.getInt(5)), hotelId, Date.valueOf(from), Date.valueOf(to));
+    }
+}
@@ -0,0 +1,33 @@
+package com.hotel.repository;
+
+import com.hotel.entity.WaitlistEntry;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    @Query("SELECT w FROM WaitlistEntry w JOIN FETCH w.roomType WHERE w.user.id = :userId ORDER BY w.id DESC")
+    List<WaitlistEntry> findByUserId(@Param("userId") Long userId);
+
+    /** Entries still waiting for stays that have not started yet, to build the waitlist index. */
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.status = 'WAITING' AND w.checkInTime > :since")
+    List<WaitlistEntry> findWaitingSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT w.id FROM WaitlistEntry w WHERE w.status = 'OFFERED' ORDER BY w.id")
+    List<Long> findOfferedIds();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.holdId = :holdId")
+    Optional<WaitlistEntry> findByHoldIdForUpdate(@Param("holdId") String holdId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM WaitlistEntry w JOIN FETCH w.user WHERE w.id = :id")
+    Optional<WaitlistEntry> findByIdForUpdate(@Param("id") Long id);
+}
@@ -24,12 +24,12 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final CustomUserDetailsService userDetailsService;
-    private final com.hotel.repository.AccessLogRepository accessLogRepository;
+    private final com.hotel.service.AccessLogWriter accessLogWriter;
     private final com.hotel.filter.IpBlockFilter ipBlockFilter;
 
     @Bean
     public com.hotel.filter.AccessLogFilter accessLogFilter() {
-        return new com.hotel.filter.AccessLogFilter(accessLogRepository);
+        return new com.hotel.filter.AccessLogFilter(accessLogWriter);
     }
 
     @Bean
@@ -41,6 +41,8 @@ public class SecurityConfig {
                         .requestMatchers(
                                 "/api/auth/**",
                                 "/api/reservations/search",
+                                "/api/reservations/search/room-types",
+                                "/api/reservations/quote",
                                 "/api/airlines/**",
                                 "/api/flights/**",
                                 "/swagger-ui/**",
@@ -49,6 +51,8 @@ public class SecurityConfig {
                         .permitAll()
                         .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/boards/**").permitAll()
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/api/owner/**").hasAnyRole("OWNER", "ADMIN")
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session
@@ -0,0 +1,82 @@
+package com.hotel.service;
+
+import com.hotel.entity.AccessLog;
+import com.hotel.repository.AccessLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Buffers access logs and writes them every {@code flush-ms} in one
+ * transaction, which Hibernate sends as JDBC batches, instead of one insert
+ * per request. When the buffer holds {@code buffer-size} entries, new ones
+ * are dropped and counted rather than slowing requests down. Entries still
+ * buffered on shutdown are written before the context closes.
+ */
+@Slf4j
+@Component
+public class AccessLogWriter {
+
+    private final AccessLogRepository accessLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<AccessLog> buffer;
+
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+
+    public AccessLogWriter(AccessLogRepository accessLogRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${hotel.access-log.buffer-size:10000}") int bufferSize) {
+        this.accessLogRepository = accessLogRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.writtenCounter = Counter.builder("hotel.access.logs.written")
+                .description("Access logs written to the database")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("hotel.access.logs.dropped")
+                .description("Access logs dropped because the buffer was full or the write failed")
+                .register(meterRegistry);
+        Gauge.builder("hotel.access.logs.buffered", buffer, BlockingQueue::size)
+                .description("Access logs waiting to be written")
+                .register(meterRegistry);
+    }
+
+    public void append(AccessLog accessLog) {
+        if (!buffer.offer(accessLog))
+            droppedCounter.increment();
+    }
+
+    /**
+     * @return number of access logs written
+     */
+    @Scheduled(fixedDelayString = "${hotel.access-log.flush-ms:1000}")
+    @PreDestroy
+    public synchronized int flush() {
+        List<AccessLog> batch = new ArrayList<>(buffer.size());
+        buffer.drainTo(batch);
+        if (batch.isEmpty())
+            return 0;
+        try {
+            transactionTemplate.executeWithoutResult(status -> accessLogRepository.saveAll(batch));
+        } catch (RuntimeException e) {
+            log.error("Failed to save {} access logs", batch.size(), e);
+            droppedCounter.increment(batch.size());
+            return 0;
+        }
+        writtenCounter.increment(batch.size());
+        return batch.size();
+    }
+}
@@ -0,0 +1,131 @@
+package com.hotel.service;
+
+import com.hotel.dto.ReservationDto;
+import com.hotel.repository.ReservationJdbcRepository;
+import com.hotel.repository.ReservationRepository;
+import com.hotel.repository.RoomRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Answers availability questions with set-based queries: a whole search or a
+ * whole booking is resolved in one round trip instead of one conflict query
+ * per room. When the {@link OccupancyIndex} covers the requested range the
+ * overlap check is answered in memory instead.
+ */
+@Service
+@RequiredArgsConstructor
+public class AvailabilityService {
+
+    private final RoomRepository roomRepository;
+    private final ReservationRepository reservationRepository;
+    private final ReservationJdbcRepository reservationJdbcRepository;
+    private final OccupancyIndex occupancyIndex;
+
+    @Transactional(readOnly = true)
+    public List<ReservationDto.AvailableRoomResponse> searchAvailableRooms(LocalDateTime checkIn,
+            LocalDateTime checkOut) {
+        if (occupancyIndex.covers(checkIn)) {
+            return roomRepository.findRoomCatalog().stream()
+                    .filter(room -> !occupancyIndex.isOccupied(room.getRoomId(), checkIn, checkOut))
+                    .map(AvailabilityService::toAvailableRoom)
+                    .toList();
+        }
+        return roomRepository.findAvailableRooms(checkIn, checkOut).stream()
+                .map(AvailabilityService::toAvailableRoom)
+                .toList();
+    }
+
+    /**
+     * Bookable rooms per room type, counted by PostgreSQL so no per-room rows
+     * leave it. Sold-out types are omitted.
+     */
+    @Transactional(readOnly = true)
+    public List<ReservationDto.AvailableRoomTypeResponse> searchAvailableRoomTypes(LocalDateTime checkIn,
+            LocalDateTime checkOut) {
+        return roomRepository.countAvailableRoomsByType(checkIn, checkOut).stream()
+                .map(type -> ReservationDto.AvailableRoomTypeResponse.builder()
+                        .hotelId(type.getHotelId())
+                        .hotelName(type.getHotelName())
+                        .roomTypeId(type.getRoomTypeId())
+                        .roomType(type.getRoomType())
+                        .capacity(type.getCapacity())
+                        .availableCount(type.getAvailableCount())
+                        .price(type.getPrice())
+                        .priceKrw(type.getPriceKrw())
+                        .priceUsd(type.getPriceUsd())
+                        .pricePhp(type.getPricePhp())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Returns the subset of {@code roomIds} that already has an overlapping,
+     * non-cancelled reservation.
+     */
+    @Transactional(readOnly = true)
+    public Set<Long> findUnavailableRoomIds(Collection<Long> roomIds, LocalDateTime checkIn,
+            LocalDateTime checkOut) {
+        if (roomIds == null || roomIds.isEmpty())
+            return Set.of();
+        if (occupancyIndex.covers(checkIn)) {
+            return roomIds.stream()
+                    .filter(roomId -> occupancyIndex.isOccupied(roomId, checkIn, checkOut))
+                    .collect(Collectors.toSet());
+        }
+        return new HashSet<>(reservationRepository.findConflictingRoomIds(roomIds, checkIn, checkOut));
+    }
+
+    /**
+     * Bulk form of {@link #findUnavailableRoomIds(Collection, LocalDateTime, LocalDateTime)}:
+     * checks every stay in a single query.
+     *
+     * @return per stay position, its unavailable rooms; stays without
+     *         conflicts are absent
+     */
+    @Transactional(readOnly = true)
+    public Map<Integer, Set<Long>> findUnavailableRoomIds(List<ReservationDto.CreateReservationRequest> stays) {
+        if (stays.stream().allMatch(stay -> occupancyIndex.covers(stay.getCheckInTime()))) {
+            Map<Integer, Set<Long>> conflicts = new HashMap<>();
+            for (int i = 0; i < stays.size(); i++) {
+                Set<Long> unavailable = findUnavailableRoomIds(stays.get(i).getRoomIds(),
+                        stays.get(i).getCheckInTime(), stays.get(i).getCheckOutTime());
+                if (!unavailable.isEmpty())
+                    conflicts.put(i, unavailable);
+            }
+            return conflicts;
+        }
+        // Plain JDBC does not trigger Hibernate's auto-flush
+        reservationRepository.flush();
+        return reservationJdbcRepository.findConflictingRoomIds(
+                stays.stream().map(ReservationDto.CreateReservationRequest::getRoomIds).toList(),
+                stays.stream().map(ReservationDto.CreateReservationRequest::getCheckInTime).toList(),
+                stays.stream().map(ReservationDto.CreateReservationRequest::getCheckOutTime).toList());
+    }
+
+    private static ReservationDto.AvailableRoomResponse toAvailableRoom(RoomRepository.AvailableRoomRow row) {
+        return ReservationDto.AvailableRoomResponse.builder()
+                .hotelId(row.getHotelId())
+                .hotelName(row.getHotelName())
+                .roomId(row.getRoomId())
+                .roomNumber(row.getRoomNumber())
+                .roomTypeId(row.getRoomTypeId())
+                .roomType(row.getRoomType())
+                .capacity(row.getCapacity())
+                .price(row.getPrice())
+                .priceKrw(row.getPriceKrw())
+                .priceUsd(row.getPriceUsd())
+                .pricePhp(row.getPricePhp())
+                .build();
+    }
+}
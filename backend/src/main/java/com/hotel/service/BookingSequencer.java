@@ -0,0 +1,246 @@
+package com.hotel.service;
+
+import com.hotel.dto.ReservationDto;
+import com.hotel.repository.RoomRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Optional booking mode for flash sales: bookings are queued per hotel and a
+ * single writer per hotel applies them in small batches, one transaction per
+ * batch, instead of every request thread contending for the same room and
+ * inventory locks.
+ * <p>
+ * Batches go through {@link ReservationService#createReservations(List, List)},
+ * so locking and conflict checks are unchanged and other nodes or booking
+ * paths stay safe; the queue only removes the contention. A booking whose
+ * rooms span several hotels is queued on the lowest hotel id. Bookings sent
+ * with an {@code Idempotency-Key} bypass the queue, since the key has to be
+ * claimed in the transaction that creates the reservation.
+ * <p>
+ * A hotel's queue and its meters are dropped once it has been idle for
+ * {@code hotel.booking.sequencer.idle-ms}, so hotels booked only now and
+ * then do not pile up for the life of the process.
+ */
+@Slf4j
+@Component
+public class BookingSequencer {
+
+    private final ReservationService reservationService;
+    private final RoomRepository roomRepository;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long timeoutMillis;
+    private final long idleNanos;
+
+    private final ConcurrentHashMap<Long, HotelQueue> queues = new ConcurrentHashMap<>();
+    private final ExecutorService writers;
+
+    public BookingSequencer(ReservationService reservationService,
+            RoomRepository roomRepository,
+            MeterRegistry meterRegistry,
+            @Value("${hotel.booking.sequencer.enabled:false}") boolean enabled,
+            @Value("${hotel.booking.sequencer.batch-size:16}") int batchSize,
+            @Value("${hotel.booking.sequencer.timeout-ms:10000}") long timeoutMillis,
+            @Value("${hotel.booking.sequencer.idle-ms:300000}") long idleMillis) {
+        this.reservationService = reservationService;
+        this.roomRepository = roomRepository;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.timeoutMillis = timeoutMillis;
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleMillis);
+        AtomicInteger threads = new AtomicInteger();
+        this.writers = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "booking-sequencer-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues the booking on its hotel and waits for the writer to apply it.
+     * A timed-out booking that the writer has not picked up yet is dropped;
+     * one already in a batch may still be saved.
+     */
+    public ReservationDto.ReservationResponse createReservation(ReservationDto.CreateReservationRequest request,
+            String username) {
+        if (request.getRoomIds() == null || request.getRoomIds().isEmpty()) {
+            throw new RuntimeException("At least one room is required.");
+        }
+        Long hotelId = roomRepository.findHotelIdsByRoomIds(request.getRoomIds()).stream()
+                .min(Long::compareTo)
+                .orElseThrow(() -> new RuntimeException("Room not found"));
+
+        Booking booking = new Booking(request, username, System.nanoTime(), new CompletableFuture<>());
+        // Queued inside the map operation, so an idle eviction cannot drop the queue in between
+        HotelQueue queue = queues.compute(hotelId, (id, current) -> {
+            HotelQueue hotelQueue = current == null ? new HotelQueue(id) : current;
+            hotelQueue.bookings.add(booking);
+            hotelQueue.lastUsed = booking.queuedAt();
+            return hotelQueue;
+        });
+        queue.schedule();
+
+        Long reservationId;
+        try {
+            reservationId = booking.result().get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            booking.result().cancel(false);
+            throw new RuntimeException("Booking is taking too long, please check your reservations.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the booking");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw new IllegalStateException("Booking failed", e.getCause());
+        }
+        return reservationService.getReservation(reservationId);
+    }
+
+    /**
+     * Drops the queues and meters of hotels with nothing queued or being
+     * written for the idle time.
+     *
+     * @return number of hotel queues dropped
+     */
+    @Scheduled(fixedDelayString = "${hotel.booking.sequencer.idle-ms:300000}")
+    public int evictIdleQueues() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (Long hotelId : queues.keySet()) {
+            AtomicBoolean removed = new AtomicBoolean();
+            queues.computeIfPresent(hotelId, (id, queue) -> {
+                if (!queue.isIdle(now))
+                    return queue;
+                queue.removeMeters();
+                removed.set(true);
+                return null;
+            });
+            if (removed.get())
+                evicted++;
+        }
+        return evicted;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        writers.shutdown();
+    }
+
+    private record Booking(ReservationDto.CreateReservationRequest request, String username, long queuedAt,
+            CompletableFuture<Long> result) {
+    }
+
+    private final class HotelQueue {
+
+        private final Queue<Booking> bookings = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final Gauge depth;
+        private final DistributionSummary batchSizes;
+        private final Timer waitTime;
+        private volatile long lastUsed;
+
+        HotelQueue(Long hotelId) {
+            String hotel = String.valueOf(hotelId);
+            depth = Gauge.builder("hotel.booking.queue.depth", bookings, Queue::size)
+                    .tag("hotel", hotel)
+                    .register(meterRegistry);
+            batchSizes = DistributionSummary.builder("hotel.booking.batch.size")
+                    .tag("hotel", hotel)
+                    .register(meterRegistry);
+            waitTime = Timer.builder("hotel.booking.queue.wait")
+                    .tag("hotel", hotel)
+                    .register(meterRegistry);
+        }
+
+        boolean isIdle(long now) {
+            return bookings.isEmpty() && !draining.get() && now - lastUsed >= idleNanos;
+        }
+
+        void removeMeters() {
+            meterRegistry.remove(depth);
+            meterRegistry.remove(batchSizes);
+            meterRegistry.remove(waitTime);
+        }
+
+        /** Starts the writer unless one is already draining this hotel. */
+        void schedule() {
+            if (draining.compareAndSet(false, true))
+                writers.execute(this::drain);
+        }
+
+        private void drain() {
+            try {
+                List<Booking> batch;
+                while (!(batch = nextBatch()).isEmpty()) {
+                    apply(batch);
+                }
+            } finally {
+                draining.set(false);
+                // A booking queued after the last poll but before the flag was cleared
+                if (!bookings.isEmpty())
+                    schedule();
+            }
+        }
+
+        private List<Booking> nextBatch() {
+            List<Booking> batch = new ArrayList<>(batchSize);
+            Booking booking;
+            while (batch.size() < batchSize && (booking = bookings.poll()) != null) {
+                if (!booking.result().isDone())
+                    batch.add(booking);
+            }
+            return batch;
+        }
+
+        private void apply(List<Booking> batch) {
+            long started = System.nanoTime();
+            batchSizes.record(batch.size());
+            batch.forEach(booking -> waitTime.record(started - booking.queuedAt(), TimeUnit.NANOSECONDS));
+
+            try {
+                List<ReservationDto.BulkReservationResult> results = reservationService.createReservations(
+                        batch.stream().map(Booking::request).toList(),
+                        batch.stream().map(Booking::username).toList());
+                for (int i = 0; i < batch.size(); i++) {
+                    ReservationDto.BulkReservationResult result = results.get(i);
+                    if (result.isSuccess())
+                        batch.get(i).result().complete(result.getReservationIds().get(0));
+                    else
+                        batch.get(i).result().completeExceptionally(new RuntimeException(result.getError()));
+                }
+            } catch (RuntimeException e) {
+                log.warn("Booking batch of {} failed", batch.size(), e);
+                batch.forEach(booking -> booking.result().completeExceptionally(e));
+            }
+        }
+    }
+}
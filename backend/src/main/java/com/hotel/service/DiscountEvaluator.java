@@ -0,0 +1,144 @@
+package com.hotel.service;
+
+import com.hotel.entity.DiscountPolicy;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A hotel's discount policies compiled for pricing. Policies are sorted by
+ * {@code minDays}, and for every prefix the best percentage and the best
+ * fixed-amount policy are precomputed, so picking the discount for a stay is
+ * a binary search plus one comparison.
+ * <p>
+ * Selection matches the original rule: the largest discount wins, ties go to
+ * the policy listed first, and a discount must be positive to apply.
+ * Immutable and safe to share.
+ */
+public final class DiscountEvaluator {
+
+    /** Discounts are compared in 1/10000 of a minor unit, so percentages stay exact. */
+    static final long SCALE = 10_000;
+
+    public static final DiscountEvaluator NONE = compile(List.of());
+
+    private final int[] minDays;
+    private final Candidate[] bestPercentage;
+    private final Candidate[] bestFixedAmount;
+
+    private DiscountEvaluator(int[] minDays, Candidate[] bestPercentage, Candidate[] bestFixedAmount) {
+        this.minDays = minDays;
+        this.bestPercentage = bestPercentage;
+        this.bestFixedAmount = bestFixedAmount;
+    }
+
+    public static DiscountEvaluator compile(List<DiscountPolicy> policies) {
+        List<Candidate> candidates = new ArrayList<>();
+        for (int i = 0; i < policies.size(); i++) {
+            Candidate candidate = Candidate.of(policies.get(i), i);
+            if (candidate != null)
+                candidates.add(candidate);
+        }
+        candidates.sort(Comparator.comparingInt(Candidate::minDays));
+
+        int size = candidates.size();
+        int[] minDays = new int[size];
+        Candidate[] bestPercentage = new Candidate[size];
+        Candidate[] bestFixedAmount = new Candidate[size];
+        Candidate percentage = null;
+        Candidate fixedAmount = null;
+        for (int i = 0; i < size; i++) {
+            Candidate candidate = candidates.get(i);
+            minDays[i] = candidate.minDays();
+            if (candidate.percentage())
+                percentage = candidate.beats(percentage) ? candidate : percentage;
+            else
+                fixedAmount = candidate.beats(fixedAmount) ? candidate : fixedAmount;
+            bestPercentage[i] = percentage;
+            bestFixedAmount[i] = fixedAmount;
+        }
+        return new DiscountEvaluator(minDays, bestPercentage, bestFixedAmount);
+    }
+
+    public boolean isEmpty() {
+        return minDays.length == 0;
+    }
+
+    /**
+     * Picks the best discount for a stay.
+     *
+     * @param subtotal room total in minor units of {@code currency}
+     * @return the applied policy, or {@code null} if none gives a discount
+     */
+    public AppliedDiscount evaluate(long subtotal, long nights, PricingCurrency currency) {
+        int eligible = eligibleCount(nights);
+        if (eligible == 0)
+            return null;
+
+        Candidate percentage = bestPercentage[eligible - 1];
+        Candidate fixedAmount = bestFixedAmount[eligible - 1];
+        long percentageValue = percentage == null ? 0 : Math.multiplyExact(subtotal, percentage.value());
+        long fixedAmountValue = fixedAmount == null ? 0
+                : Math.multiplyExact(Math.multiplyExact(currency.fromHundredths(fixedAmount.value()), nights), SCALE);
+
+        Candidate best;
+        long value;
+        if (percentageValue > fixedAmountValue
+                || (percentageValue == fixedAmountValue && percentage != null
+                        && (fixedAmount == null || percentage.order() < fixedAmount.order()))) {
+            best = percentage;
+            value = percentageValue;
+        } else {
+            best = fixedAmount;
+            value = fixedAmountValue;
+        }
+        return value > 0 ? new AppliedDiscount(best.name(), value) : null;
+    }
+
+    /** Number of policies whose {@code minDays} the stay reaches. */
+    private int eligibleCount(long nights) {
+        int low = 0;
+        int high = minDays.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (minDays[mid] <= nights)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * @param scaledAmount discount in 1/10000 of a minor unit, before rounding
+     */
+    public record AppliedDiscount(String policyName, long scaledAmount) {
+    }
+
+    /**
+     * @param value basis points for a percentage, hundredths of the currency
+     *              unit per night for a fixed amount
+     */
+    private record Candidate(String name, int minDays, boolean percentage, long value, int order) {
+
+        static Candidate of(DiscountPolicy policy, int order) {
+            int minDays = policy.getMinDays() != null ? policy.getMinDays() : 0;
+            if (policy.getType() == DiscountPolicy.DiscountType.PERCENTAGE && policy.getDiscountRate() != null)
+                return new Candidate(policy.getName(), minDays, true, hundredths(policy.getDiscountRate()), order);
+            if (policy.getType() == DiscountPolicy.DiscountType.FIXED_AMOUNT && policy.getDiscountAmount() != null)
+                return new Candidate(policy.getName(), minDays, false, hundredths(policy.getDiscountAmount()), order);
+            return null;
+        }
+
+        private static long hundredths(BigDecimal amount) {
+            return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        }
+
+        boolean beats(Candidate other) {
+            return other == null || value > other.value || (value == other.value && order < other.order);
+        }
+    }
+}
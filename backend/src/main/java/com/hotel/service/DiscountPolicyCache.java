@@ -0,0 +1,41 @@
+package com.hotel.service;
+
+import com.hotel.repository.DiscountPolicyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compiled discount policies per hotel, so bookings and quotes do not query
+ * {@code discount_policies} on every request.
+ * <p>
+ * {@link DiscountService} invalidates a hotel when its transaction completes.
+ * Inside that transaction the hotel bypasses the cache, so uncommitted
+ * policies are never shared. Entries also expire after {@code ttl-minutes},
+ * which bounds staleness when another node changed the policies.
+ */
+@Component
+public class DiscountPolicyCache {
+
+    private final DiscountPolicyRepository discountPolicyRepository;
+    private final TransactionAwareCache<Long, DiscountEvaluator> cache;
+
+    public DiscountPolicyCache(DiscountPolicyRepository discountPolicyRepository,
+            MeterRegistry meterRegistry,
+            @Value("${hotel.discount.cache-ttl-minutes:10}") long ttlMinutes) {
+        this.discountPolicyRepository = discountPolicyRepository;
+        this.cache = new TransactionAwareCache<>(meterRegistry, "hotel.discount.cache", ttlMinutes);
+    }
+
+    public DiscountEvaluator get(Long hotelId) {
+        return cache.get(hotelId, id -> DiscountEvaluator.compile(discountPolicyRepository.findByHotelId(id)));
+    }
+
+    /**
+     * Drops the hotel's policies once the current transaction commits or
+     * rolls back, or right away when there is none.
+     */
+    public void invalidateAfterCompletion(Long hotelId) {
+        cache.invalidateAfterCompletion(hotelId);
+    }
+}
@@ -21,6 +21,7 @@ public class DiscountService {
     private final DiscountPolicyRepository discountPolicyRepository;
     private final HotelRepository hotelRepository;
     private final UserRepository userRepository;
+    private final DiscountPolicyCache discountPolicyCache;
 
     @Transactional(readOnly = true)
     public List<DiscountPolicyDto> getPolicies(Long hotelId, String username) {
@@ -46,7 +47,9 @@ public class DiscountService {
                 .hotel(hotel)
                 .build();
 
-        return DiscountPolicyDto.from(discountPolicyRepository.save(policy));
+        DiscountPolicy saved = discountPolicyRepository.save(policy);
+        discountPolicyCache.invalidateAfterCompletion(hotel.getId());
+        return DiscountPolicyDto.from(saved);
     }
 
     @Transactional
@@ -57,6 +60,7 @@ public class DiscountService {
         validateHotelAccess(policy.getHotel().getId(), username);
 
         discountPolicyRepository.delete(policy);
+        discountPolicyCache.invalidateAfterCompletion(policy.getHotel().getId());
     }
 
     private void validateHotelAccess(Long hotelId, String username) {
@@ -0,0 +1,98 @@
+package com.hotel.service;
+
+import com.hotel.dto.FxRateDto;
+import com.hotel.entity.FxRate;
+import com.hotel.repository.FxRateRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link FxRates} snapshot. The {@code fx_rates} table is
+ * read on startup, every {@code refresh-ms} and after a rate change commits;
+ * each read builds a new snapshot and swaps it in atomically, so pricing
+ * never sees a half-updated set of rates.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FxRateService {
+
+    private final FxRateRepository fxRateRepository;
+
+    private final AtomicReference<FxRates> snapshot = new AtomicReference<>(FxRates.BASE_ONLY);
+
+    public FxRates current() {
+        return snapshot.get();
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${hotel.fx.refresh-ms:60000}",
+            initialDelayString = "${hotel.fx.refresh-ms:60000}")
+    public void refresh() {
+        Map<String, BigDecimal> unitsPerBase = new HashMap<>();
+        for (FxRate rate : fxRateRepository.findAll())
+            unitsPerBase.put(rate.getCurrency(), rate.getUnitsPerBase());
+        snapshot.set(FxRates.of(unitsPerBase));
+        log.debug("FX rates refreshed: {}", unitsPerBase);
+    }
+
+    @Transactional(readOnly = true)
+    public List<FxRateDto> getRates() {
+        return fxRateRepository.findAll().stream()
+                .sorted(Comparator.comparing(FxRate::getCurrency))
+                .map(this::convertToDto)
+                .toList();
+    }
+
+    @Transactional
+    public FxRateDto updateRate(String code, FxRateDto dto) {
+        PricingCurrency currency = PricingCurrency.of(code);
+        if (!currency.code().equalsIgnoreCase(code.trim())) {
+            throw new RuntimeException("Unknown currency: " + code);
+        }
+        if (currency == FxRates.BASE) {
+            throw new RuntimeException(FxRates.BASE + " is the base currency; its rate is always 1");
+        }
+        if (dto.getUnitsPerBase() == null || dto.getUnitsPerBase().signum() <= 0) {
+            throw new RuntimeException("The rate must be positive");
+        }
+
+        FxRate rate = fxRateRepository.findById(currency.code()).orElseGet(() -> {
+            FxRate created = new FxRate();
+            created.setCurrency(currency.code());
+            return created;
+        });
+        rate.setUnitsPerBase(dto.getUnitsPerBase());
+        FxRate saved = fxRateRepository.saveAndFlush(rate);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh();
+            }
+        });
+        return convertToDto(saved);
+    }
+
+    private FxRateDto convertToDto(FxRate e) {
+        FxRateDto dto = new FxRateDto();
+        dto.setCurrency(e.getCurrency());
+        dto.setUnitsPerBase(e.getUnitsPerBase());
+        dto.setUpdatedAt(e.getUpdatedAt() != null ? e.getUpdatedAt() : e.getCreatedAt());
+        dto.setUpdatedBy(e.getUpdatedBy() != null ? e.getUpdatedBy() : e.getCreatedBy());
+        return dto;
+    }
+}
@@ -0,0 +1,128 @@
+package com.hotel.service;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of exchange rates from the {@link #BASE base
+ * currency}, the currency of {@code RoomType.basePrice}. Each rate is
+ * precompiled to a reduced fraction between minor units, so converting an
+ * amount is a multiplication and a rounded division on {@code long}s with no
+ * {@link BigDecimal} in between. {@link FxRateService} swaps snapshots
+ * atomically; a pricing call should read one snapshot and use it throughout.
+ */
+public final class FxRates {
+
+    public static final PricingCurrency BASE = PricingCurrency.USD;
+
+    static final long[] POWERS_OF_TEN = { 1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L,
+            100_000_000L, 1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L };
+
+    /** Only the identity rate of the base currency. */
+    public static final FxRates BASE_ONLY = of(Map.of());
+
+    private final Map<PricingCurrency, Rate> rates;
+
+    private FxRates(Map<PricingCurrency, Rate> rates) {
+        this.rates = rates;
+    }
+
+    /**
+     * @param unitsPerBase units of each currency per unit of the base
+     *                     currency, keyed by ISO code; unknown codes and
+     *                     non-positive rates are skipped, and the base
+     *                     currency is always 1
+     */
+    public static FxRates of(Map<String, BigDecimal> unitsPerBase) {
+        Map<PricingCurrency, Rate> rates = new HashMap<>();
+        unitsPerBase.forEach((code, units) -> {
+            PricingCurrency currency = PricingCurrency.of(code);
+            if (currency != BASE && units != null && units.signum() > 0)
+                rates.put(currency, Rate.of(currency, units));
+        });
+        rates.put(BASE, Rate.of(BASE, BigDecimal.ONE));
+        return new FxRates(Map.copyOf(rates));
+    }
+
+    /**
+     * The currency to price a request in: the requested one if it has its
+     * own price columns or a rate, USD otherwise.
+     */
+    public PricingCurrency resolve(String code) {
+        PricingCurrency currency = PricingCurrency.of(code);
+        return currency.hasColumns() || rates.containsKey(currency) ? currency : BASE;
+    }
+
+    /** @return the rate to {@code currency}, or {@code null} if there is none */
+    public Rate rate(PricingCurrency currency) {
+        return rates.get(currency);
+    }
+
+    public Map<PricingCurrency, Rate> rates() {
+        return rates;
+    }
+
+    /** Rounds {@code dividend / divisor} half away from zero; {@code divisor} must be positive. */
+    static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (Math.abs(remainder) * 2 >= divisor)
+            quotient += Long.signum(dividend);
+        return quotient;
+    }
+
+    /**
+     * Converts base currency minor units to minor units of {@link #currency()},
+     * as {@code amount * numerator / denominator} rounded half up.
+     */
+    public static final class Rate {
+        private final PricingCurrency currency;
+        private final BigDecimal unitsPerBase;
+        private final long numerator;
+        private final long denominator;
+
+        private Rate(PricingCurrency currency, BigDecimal unitsPerBase, long numerator, long denominator) {
+            this.currency = currency;
+            this.unitsPerBase = unitsPerBase;
+            this.numerator = numerator;
+            this.denominator = denominator;
+        }
+
+        static Rate of(PricingCurrency currency, BigDecimal unitsPerBase) {
+            // units/base * 10^digits(currency) / 10^digits(base), as an exact fraction
+            BigDecimal factor = unitsPerBase.stripTrailingZeros()
+                    .movePointRight(currency.fractionDigits() - BASE.fractionDigits());
+            BigInteger numerator = factor.scale() < 0
+                    ? factor.unscaledValue().multiply(BigInteger.TEN.pow(-factor.scale()))
+                    : factor.unscaledValue();
+            BigInteger denominator = factor.scale() > 0 ? BigInteger.TEN.pow(factor.scale()) : BigInteger.ONE;
+            BigInteger gcd = numerator.gcd(denominator);
+            return new Rate(currency, unitsPerBase, numerator.divide(gcd).longValueExact(),
+                    denominator.divide(gcd).longValueExact());
+        }
+
+        public PricingCurrency currency() {
+            return currency;
+        }
+
+        public BigDecimal unitsPerBase() {
+            return unitsPerBase;
+        }
+
+        public long convert(long baseMinor) {
+            long product;
+            try {
+                product = Math.multiplyExact(baseMinor, numerator);
+            } catch (ArithmeticException e) {
+                // Beyond any real price; exact but slow
+                return BigDecimal.valueOf(baseMinor).multiply(BigDecimal.valueOf(numerator))
+                        .divide(BigDecimal.valueOf(denominator), 0, RoundingMode.HALF_UP)
+                        .longValueExact();
+            }
+            return denominator == 1 ? product : divideHalfUp(product, denominator);
+        }
+    }
+}
@@ -7,23 +7,38 @@ import com.hotel.entity.RoomType;
 import com.hotel.entity.User;
 import com.hotel.repository.HotelRepository;
 import com.hotel.repository.RoomRepository;
+import com.hotel.repository.RoomTypeRateRepository;
 import com.hotel.repository.RoomTypeRepository;
 import com.hotel.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class HotelService {
 
+        private static final int MAX_RATE_NIGHTS = 730;
+
         private final HotelRepository hotelRepository;
         private final RoomTypeRepository roomTypeRepository;
         private final RoomRepository roomRepository;
         private final UserRepository userRepository;
+        private final RoomTypeInventoryService roomTypeInventoryService;
+        private final RoomPriceCache roomPriceCache;
+        private final RoomTypeRateRepository roomTypeRateRepository;
+        private final RateCalendarCache rateCalendarCache;
+        private final PricingEngine pricingEngine;
 
         @Transactional
         public HotelDto.HotelResponse createHotel(HotelDto.HotelRequest request, String username) {
@@ -66,7 +81,7 @@ public class HotelService {
                                 .name(request.getName())
                                 .description(request.getDescription())
                                 .capacity(request.getCapacity())
-                                .basePrice(request.getPriceUsd()) // Fallback/Legacy
+                                .basePrice(basePrice(request))
                                 .priceKrw(request.getPriceKrw())
                                 .priceUsd(request.getPriceUsd())
                                 .pricePhp(request.getPricePhp())
@@ -86,6 +101,7 @@ public class HotelService {
                                 .build();
 
                 Room saved = roomRepository.save(room);
+                roomTypeInventoryService.adjustCapacity(roomTypeId, 1);
                 return mapToRoomResponse(saved);
         }
 
@@ -120,12 +136,13 @@ public class HotelService {
                 roomType.setName(request.getName());
                 roomType.setDescription(request.getDescription());
                 roomType.setCapacity(request.getCapacity());
-                roomType.setBasePrice(request.getPriceUsd()); // Fallback/Legacy update
+                roomType.setBasePrice(basePrice(request));
                 roomType.setPriceKrw(request.getPriceKrw());
                 roomType.setPriceUsd(request.getPriceUsd());
                 roomType.setPricePhp(request.getPricePhp());
 
                 RoomType saved = roomTypeRepository.save(roomType);
+                roomPriceCache.invalidateAfterCompletion();
                 return mapToRoomTypeResponse(saved);
         }
 
@@ -140,9 +157,99 @@ public class HotelService {
                 room.setRoomNumber(request.getRoomNumber());
 
                 Room saved = roomRepository.save(room);
+                roomPriceCache.invalidateAfterCompletion();
                 return mapToRoomResponse(saved);
         }
 
+        /**
+         * Sets the nightly rate of every night in {@code [from, to)}, optionally
+         * only on some days of the week, with one statement per request.
+         *
+         * @return the resulting nightly rates of the range
+         */
+        @Transactional
+        public List<HotelDto.NightlyRateResponse> updateRates(Long roomTypeId, HotelDto.RateRequest request,
+                        String username) {
+                RoomType roomType = roomTypeRepository.findById(roomTypeId).orElseThrow();
+                if (!roomType.getHotel().getOwner().getUsername().equals(username)) {
+                        throw new RuntimeException("Not authorized to update this room type");
+                }
+                validateRateRange(request.getFrom(), request.getTo());
+                if (Stream.of(request.getPriceKrw(), request.getPriceUsd(), request.getPricePhp())
+                                .anyMatch(price -> price != null && price.signum() < 0)) {
+                        throw new RuntimeException("Rates cannot be negative.");
+                }
+
+                List<Integer> isoDaysOfWeek = (request.getDaysOfWeek() == null || request.getDaysOfWeek().isEmpty()
+                                ? Arrays.stream(DayOfWeek.values())
+                                : request.getDaysOfWeek().stream())
+                                .map(DayOfWeek::getValue)
+                                .distinct()
+                                .toList();
+                if (request.getPriceKrw() == null && request.getPriceUsd() == null && request.getPricePhp() == null) {
+                        roomTypeRateRepository.deleteRange(roomTypeId, request.getFrom(), request.getTo(),
+                                        isoDaysOfWeek);
+                } else {
+                        roomTypeRateRepository.upsertRange(roomTypeId, request.getFrom(), request.getTo(),
+                                        isoDaysOfWeek, request.getPriceKrw(), request.getPriceUsd(),
+                                        request.getPricePhp());
+                }
+                rateCalendarCache.invalidateAfterCompletion(roomTypeId);
+                return mapToNightlyRates(roomType, request.getFrom(), request.getTo());
+        }
+
+        @Transactional(readOnly = true)
+        public List<HotelDto.NightlyRateResponse> getRates(Long roomTypeId, LocalDate from, LocalDate to,
+                        String username) {
+                RoomType roomType = roomTypeRepository.findById(roomTypeId).orElseThrow();
+                if (!roomType.getHotel().getOwner().getUsername().equals(username)) {
+                        throw new RuntimeException("Not authorized to access this room type");
+                }
+                validateRateRange(from, to);
+                return mapToNightlyRates(roomType, from, to);
+        }
+
+        private void validateRateRange(LocalDate from, LocalDate to) {
+                if (from == null || to == null || !to.isAfter(from)) {
+                        throw new RuntimeException("A date range with 'to' after 'from' is required.");
+                }
+                if (ChronoUnit.DAYS.between(from, to) > MAX_RATE_NIGHTS) {
+                        throw new RuntimeException("A rate range can span at most " + MAX_RATE_NIGHTS + " nights.");
+                }
+        }
+
+        private List<HotelDto.NightlyRateResponse> mapToNightlyRates(RoomType roomType, LocalDate from,
+                        LocalDate to) {
+                RateCalendar calendar = rateCalendarCache.get(roomType.getId());
+                List<HotelDto.NightlyRateResponse> rates = new ArrayList<>();
+                for (LocalDate date = from; date.isBefore(to); date = date.plusDays(1)) {
+                        rates.add(HotelDto.NightlyRateResponse.builder()
+                                        .date(date)
+                                        .priceKrw(nightlyRate(calendar, PricingCurrency.KRW, roomType, date))
+                                        .priceUsd(nightlyRate(calendar, PricingCurrency.USD, roomType, date))
+                                        .pricePhp(nightlyRate(calendar, PricingCurrency.PHP, roomType, date))
+                                        .build());
+                }
+                return rates;
+        }
+
+        private BigDecimal nightlyRate(RateCalendar calendar, PricingCurrency currency, RoomType roomType,
+                        LocalDate date) {
+                return currency.toAmount(pricingEngine.nightlyRate(roomType, currency, calendar, date));
+        }
+
+        /**
+         * The price every other currency is converted from, in USD. Older
+         * clients only send {@code priceUsd}.
+         */
+        private static BigDecimal basePrice(HotelDto.RoomTypeRequest request) {
+                BigDecimal basePrice = request.getBasePrice() != null ? request.getBasePrice() : request.getPriceUsd();
+                if (basePrice == null || basePrice.signum() < 0) {
+                        throw new RuntimeException("A base price in USD is required.");
+                }
+                return basePrice;
+        }
+
         private HotelDto.HotelResponse mapToHotelResponse(Hotel hotel) {
                 return HotelDto.HotelResponse.builder()
                                 .id(hotel.getId())
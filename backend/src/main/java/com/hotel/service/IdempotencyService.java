@@ -0,0 +1,176 @@
+package com.hotel.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.dto.ReservationDto;
+import com.hotel.entity.IdempotencyKey;
+import com.hotel.repository.IdempotencyKeyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates reservation creation by the client's {@code Idempotency-Key}.
+ * <p>
+ * A key is claimed in {@code idempotency_keys} inside the same transaction
+ * that creates the reservation, so a retry either sees the stored response
+ * or waits for the first attempt to finish. Completed responses are also
+ * kept in a bounded LRU cache, and concurrent duplicates on this node wait on
+ * the first execution instead of queueing on the database. Failed attempts
+ * are not stored and may be retried with the same key.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionHours;
+
+    private final Map<String, StoredResponse> cache;
+    private final ConcurrentHashMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${hotel.idempotency.cache-size:10000}") int cacheSize,
+            @Value("${hotel.idempotency.retention-hours:24}") int retentionHours) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionHours = retentionHours;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Runs {@code createReservation} once per {@code (username, key)} and
+     * returns its response to every repeat of the same request.
+     */
+    public ReservationDto.ReservationResponse createReservation(String username, String key,
+            ReservationDto.CreateReservationRequest request,
+            Supplier<ReservationDto.ReservationResponse> createReservation) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters.");
+        }
+        String cacheKey = username + ":" + key;
+        String requestHash = hash(request);
+
+        StoredResponse cached = cached(cacheKey);
+        if (cached != null)
+            return cached.responseFor(requestHash);
+
+        CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(cacheKey, execution);
+        if (running != null)
+            return await(running).responseFor(requestHash);
+
+        try {
+            StoredResponse stored = transactionTemplate.execute(status -> {
+                if (idempotencyKeyRepository.claim(username, key, requestHash, LocalDateTime.now()) == 0) {
+                    IdempotencyKey existing = idempotencyKeyRepository
+                            .findById(new IdempotencyKey.Key(username, key))
+                            .orElseThrow();
+                    return new StoredResponse(existing.getRequestHash(), read(existing.getResponseBody()));
+                }
+                ReservationDto.ReservationResponse response = createReservation.get();
+                idempotencyKeyRepository.complete(username, key, response.getId(), write(response));
+                return new StoredResponse(requestHash, response);
+            });
+            synchronized (cache) {
+                cache.put(cacheKey, stored);
+            }
+            execution.complete(stored);
+            return stored.responseFor(requestHash);
+        } catch (RuntimeException e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, execution);
+        }
+    }
+
+    @Transactional
+    @Scheduled(cron = "${hotel.idempotency.cleanup-cron:0 15 * * * *}")
+    public int deleteExpiredKeys() {
+        int deleted = idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            log.info("Deleted {} expired idempotency keys", deleted);
+        }
+        return deleted;
+    }
+
+    private StoredResponse cached(String cacheKey) {
+        synchronized (cache) {
+            return cache.get(cacheKey);
+        }
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw e;
+        }
+    }
+
+    private String hash(ReservationDto.CreateReservationRequest request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot hash reservation request", e);
+        }
+    }
+
+    private String write(ReservationDto.ReservationResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot store reservation response", e);
+        }
+    }
+
+    private ReservationDto.ReservationResponse read(String body) {
+        try {
+            return objectMapper.readValue(body, ReservationDto.ReservationResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read stored reservation response", e);
+        }
+    }
+
+    private record StoredResponse(String requestHash, ReservationDto.ReservationResponse response) {
+        ReservationDto.ReservationResponse responseFor(String requestHash) {
+            if (!this.requestHash.equals(requestHash)) {
+                throw new RuntimeException("Idempotency-Key was already used for a different request.");
+            }
+            return response;
+        }
+    }
+}
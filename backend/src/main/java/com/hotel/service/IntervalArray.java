@@ -0,0 +1,193 @@
+package com.hotel.service;
+
+import java.util.Arrays;
+
+/**
+ * Immutable half-open intervals {@code [start, end)} with an id each, sorted
+ * by start. Backs the {@link OccupancyIndex} room timelines and the
+ * {@link WaitlistIndex}.
+ * <p>
+ * The sorted array doubles as an implicit balanced search tree: the interval
+ * at the midpoint of a range is the root of that range, and
+ * {@code maxEnds[i]} is the latest end in the subtree rooted at {@code i}.
+ * Subtrees ending before a query are skipped, so finding the {@code k}
+ * overlaps of a query costs {@code O(k log n)} however the intervals nest.
+ * Updates copy the arrays.
+ */
+final class IntervalArray {
+
+    static final IntervalArray EMPTY = new IntervalArray(new long[0], new long[0], new long[0]);
+
+    private final long[] ids;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+
+    private IntervalArray(long[] ids, long[] starts, long[] ends) {
+        this.ids = ids;
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnds = new long[starts.length];
+        fillMaxEnds(0, starts.length);
+    }
+
+    int size() {
+        return starts.length;
+    }
+
+    long id(int i) {
+        return ids[i];
+    }
+
+    long start(int i) {
+        return starts[i];
+    }
+
+    long end(int i) {
+        return ends[i];
+    }
+
+    /**
+     * Same predicate as the database: {@code start < to AND end > from}.
+     */
+    boolean overlaps(long from, long to) {
+        int lo = 0;
+        int hi = size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (maxEnds[mid] <= from)
+                return false;
+            if (starts[mid] >= to) {
+                hi = mid;
+                continue;
+            }
+            // Everything up to mid starts before to, so any late enough end there overlaps
+            if (ends[mid] > from || (lo < mid && maxEnds[(lo + mid) >>> 1] > from))
+                return true;
+            lo = mid + 1;
+        }
+        return false;
+    }
+
+    /** Ids of the intervals with {@code start < to AND end > from}, ascending. */
+    long[] overlapping(long from, long to) {
+        long[] matches = new long[size()];
+        int count = collect(0, size(), from, to, matches, 0);
+        long[] result = Arrays.copyOf(matches, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Returns a copy with {@code [start, end)} under {@code id}, replacing
+     * any interval already stored under it.
+     */
+    IntervalArray with(long id, long start, long end) {
+        IntervalArray base = without(id);
+        int n = base.size();
+        int pos = base.lastStartBefore(start + 1) + 1; // after equal starts
+        long[] newIds = new long[n + 1];
+        long[] newStarts = new long[n + 1];
+        long[] newEnds = new long[n + 1];
+        System.arraycopy(base.ids, 0, newIds, 0, pos);
+        System.arraycopy(base.starts, 0, newStarts, 0, pos);
+        System.arraycopy(base.ends, 0, newEnds, 0, pos);
+        newIds[pos] = id;
+        newStarts[pos] = start;
+        newEnds[pos] = end;
+        System.arraycopy(base.ids, pos, newIds, pos + 1, n - pos);
+        System.arraycopy(base.starts, pos, newStarts, pos + 1, n - pos);
+        System.arraycopy(base.ends, pos, newEnds, pos + 1, n - pos);
+        return new IntervalArray(newIds, newStarts, newEnds);
+    }
+
+    IntervalArray without(long id) {
+        int idx = -1;
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) {
+                idx = i;
+                break;
+            }
+        }
+        if (idx < 0)
+            return this;
+        int n = size();
+        long[] newIds = new long[n - 1];
+        long[] newStarts = new long[n - 1];
+        long[] newEnds = new long[n - 1];
+        System.arraycopy(ids, 0, newIds, 0, idx);
+        System.arraycopy(starts, 0, newStarts, 0, idx);
+        System.arraycopy(ends, 0, newEnds, 0, idx);
+        System.arraycopy(ids, idx + 1, newIds, idx, n - idx - 1);
+        System.arraycopy(starts, idx + 1, newStarts, idx, n - idx - 1);
+        System.arraycopy(ends, idx + 1, newEnds, idx, n - idx - 1);
+        return new IntervalArray(newIds, newStarts, newEnds);
+    }
+
+    /** Returns a copy without the intervals ending at or before {@code time}. */
+    IntervalArray endingAfter(long time) {
+        int kept = 0;
+        for (long end : ends) {
+            if (end > time)
+                kept++;
+        }
+        if (kept == size())
+            return this;
+        long[] newIds = new long[kept];
+        long[] newStarts = new long[kept];
+        long[] newEnds = new long[kept];
+        int next = 0;
+        for (int i = 0; i < size(); i++) {
+            if (ends[i] > time) {
+                newIds[next] = ids[i];
+                newStarts[next] = starts[i];
+                newEnds[next] = ends[i];
+                next++;
+            }
+        }
+        return new IntervalArray(newIds, newStarts, newEnds);
+    }
+
+    long estimatedBytes() {
+        // Object header + 4 array refs, 4 array headers, 4 longs per interval
+        return 32 + 4 * 16 + (long) size() * 4 * Long.BYTES;
+    }
+
+    /** Computes {@code maxEnds} for the subtree over {@code [lo, hi)} and returns its latest end. */
+    private long fillMaxEnds(int lo, int hi) {
+        if (lo >= hi)
+            return Long.MIN_VALUE;
+        int mid = (lo + hi) >>> 1;
+        long max = Math.max(ends[mid], Math.max(fillMaxEnds(lo, mid), fillMaxEnds(mid + 1, hi)));
+        maxEnds[mid] = max;
+        return max;
+    }
+
+    private int collect(int lo, int hi, long from, long to, long[] matches, int count) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (maxEnds[mid] <= from)
+                return count;
+            count = collect(lo, mid, from, to, matches, count);
+            if (starts[mid] >= to)
+                return count;
+            if (ends[mid] > from)
+                matches[count++] = ids[mid];
+            lo = mid + 1;
+        }
+        return count;
+    }
+
+    /**
+     * Index of the last interval whose start is strictly before {@code time}, or -1.
+     */
+    private int lastStartBefore(long time) {
+        int idx = Arrays.binarySearch(starts, time);
+        if (idx >= 0) {
+            while (idx > 0 && starts[idx - 1] == time)
+                idx--;
+            return idx - 1;
+        }
+        return -idx - 2;
+    }
+}
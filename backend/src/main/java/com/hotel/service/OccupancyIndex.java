@@ -0,0 +1,349 @@
+package com.hotel.service;
+
+import com.hotel.dto.OccupancyIndexDto;
+import com.hotel.dto.RoomOccupancyDto;
+import com.hotel.entity.Reservation;
+import com.hotel.entity.Room;
+import com.hotel.repository.ReservationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In-process occupancy index keyed by room id. Each room holds a compact,
+ * copy-on-write timeline of its non-cancelled stays so overlap questions are
+ * answered with a binary search instead of a query.
+ * <p>
+ * The index only sees bookings made through this process, so it is opt-in
+ * ({@code hotel.occupancy-index.enabled}) and meant for single-node
+ * deployments. Stays that ended before the horizon are not indexed; callers
+ * fall back to the database for ranges that start before it. A nightly prune
+ * moves the horizon forward so past stays do not pile up over uptime.
+ */
+@Slf4j
+@Component
+public class OccupancyIndex {
+
+    private static final int DRIFT_SAMPLE_SIZE = 20;
+
+    private final ReservationRepository reservationRepository;
+    private final boolean enabled;
+    private final int retentionDays;
+    private final Clock clock;
+    private final Counter driftCounter;
+
+    private final Object writeLock = new Object();
+    private volatile Map<Long, IntervalArray> timelines = new ConcurrentHashMap<>();
+    private volatile LocalDateTime horizon;
+    private volatile LocalDateTime builtAt;
+    private volatile boolean ready;
+    // Non-null while a rebuild is loading its snapshot; updates are replayed onto the new map
+    private List<Consumer<Map<Long, IntervalArray>>> replayLog;
+
+    @Autowired
+    public OccupancyIndex(ReservationRepository reservationRepository,
+            MeterRegistry meterRegistry,
+            @Value("${hotel.occupancy-index.enabled:false}") boolean enabled,
+            @Value("${hotel.occupancy-index.retention-days:1}") int retentionDays) {
+        this(reservationRepository, meterRegistry, enabled, retentionDays, Clock.systemDefaultZone());
+    }
+
+    OccupancyIndex(ReservationRepository reservationRepository,
+            MeterRegistry meterRegistry,
+            boolean enabled,
+            int retentionDays,
+            Clock clock) {
+        this.reservationRepository = reservationRepository;
+        this.enabled = enabled;
+        this.retentionDays = retentionDays;
+        this.clock = clock;
+
+        Gauge.builder("hotel.occupancy.index.rooms", this, index -> index.timelines.size())
+                .description("Rooms tracked by the occupancy index")
+                .register(meterRegistry);
+        Gauge.builder("hotel.occupancy.index.intervals", this, OccupancyIndex::intervalCount)
+                .description("Stays tracked by the occupancy index")
+                .register(meterRegistry);
+        Gauge.builder("hotel.occupancy.index.memory", this, OccupancyIndex::estimatedBytes)
+                .description("Estimated heap used by the occupancy index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.driftCounter = Counter.builder("hotel.occupancy.index.drift")
+                .description("Rooms found out of sync with the database by consistency checks")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * True when the index can answer overlap questions for stays starting at
+     * {@code checkIn}.
+     */
+    public boolean covers(LocalDateTime checkIn) {
+        LocalDateTime currentHorizon = horizon;
+        return ready && currentHorizon != null && !checkIn.isBefore(currentHorizon);
+    }
+
+    public boolean isOccupied(Long roomId, LocalDateTime checkIn, LocalDateTime checkOut) {
+        IntervalArray timeline = timelines.get(roomId);
+        return timeline != null && timeline.overlaps(toSeconds(checkIn), toSeconds(checkOut));
+    }
+
+    /**
+     * Records the current state of a reservation. Inside a transaction the
+     * change is applied after commit so rolled-back bookings never show up.
+     */
+    public void track(Reservation reservation) {
+        if (!enabled)
+            return;
+
+        Long reservationId = reservation.getId();
+        boolean occupies = reservation.getStatus() != Reservation.ReservationStatus.CANCELLED;
+        long start = toSeconds(reservation.getCheckInTime());
+        long end = toSeconds(reservation.getCheckOutTime());
+        List<Long> roomIds = reservation.getRooms() == null ? List.of()
+                : reservation.getRooms().stream().map(Room::getId).toList();
+
+        Consumer<Map<Long, IntervalArray>> update = map -> {
+            for (Long roomId : roomIds) {
+                if (occupies) {
+                    map.compute(roomId, (id, timeline) -> timeline == null
+                            ? IntervalArray.EMPTY.with(reservationId, start, end)
+                            : timeline.with(reservationId, start, end));
+                } else {
+                    map.computeIfPresent(roomId, (id, timeline) -> {
+                        IntervalArray updated = timeline.without(reservationId);
+                        return updated.size() == 0 ? null : updated;
+                    });
+                }
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(update);
+                }
+            });
+        } else {
+            apply(update);
+        }
+    }
+
+    /**
+     * Reloads the whole index from the reservations tables.
+     */
+    public synchronized void rebuild() {
+        synchronized (writeLock) {
+            replayLog = new ArrayList<>();
+        }
+        LocalDateTime newHorizon = currentHorizon();
+        Map<Long, IntervalArray> fresh;
+        try {
+            fresh = load(newHorizon);
+        } catch (RuntimeException e) {
+            synchronized (writeLock) {
+                replayLog = null;
+            }
+            throw e;
+        }
+        synchronized (writeLock) {
+            replayLog.forEach(update -> update.accept(fresh));
+            replayLog = null;
+            timelines = fresh;
+            horizon = newHorizon;
+            builtAt = LocalDateTime.now(clock);
+            ready = true;
+        }
+        log.info("Occupancy index built: {} rooms, {} stays, ~{} bytes", fresh.size(), intervalCount(),
+                estimatedBytes());
+    }
+
+    /**
+     * Moves the horizon up to {@code retention-days} before today and drops
+     * the stays that ended before it.
+     *
+     * @return number of stays dropped
+     */
+    @Scheduled(cron = "${hotel.occupancy-index.prune-cron:0 5 0 * * *}")
+    public synchronized long prune() {
+        LocalDateTime newHorizon = currentHorizon();
+        if (!ready || !newHorizon.isAfter(horizon))
+            return 0;
+        // Raised first, so ranges before the new horizon go to the database while stays are dropped
+        horizon = newHorizon;
+        long cutoff = toSeconds(newHorizon);
+        long dropped = 0;
+        synchronized (writeLock) {
+            for (Long roomId : timelines.keySet()) {
+                IntervalArray timeline = timelines.get(roomId);
+                IntervalArray kept = timeline.endingAfter(cutoff);
+                if (kept == timeline)
+                    continue;
+                dropped += timeline.size() - kept.size();
+                if (kept.size() == 0)
+                    timelines.remove(roomId);
+                else
+                    timelines.put(roomId, kept);
+            }
+        }
+        log.info("Occupancy index pruned: {} stays ended before {}", dropped, newHorizon);
+        return dropped;
+    }
+
+    /**
+     * Compares the index with a fresh snapshot of the database and reports
+     * rooms whose stays differ. With {@code repair} the index is rebuilt when
+     * drift is found.
+     */
+    public OccupancyIndexDto.DriftReport verify(boolean repair) {
+        if (!ready) {
+            throw new RuntimeException("Occupancy index is not built");
+        }
+        Map<Long, IntervalArray> expected = load(horizon);
+        Map<Long, IntervalArray> actual = timelines;
+
+        Set<Long> roomIds = new HashSet<>(expected.keySet());
+        roomIds.addAll(actual.keySet());
+
+        int drifted = 0;
+        long missing = 0;
+        long stale = 0;
+        List<Long> sample = new ArrayList<>();
+        for (Long roomId : roomIds) {
+            Set<Stay> expectedStays = stays(expected.get(roomId));
+            Set<Stay> actualStays = stays(actual.get(roomId));
+            if (expectedStays.equals(actualStays))
+                continue;
+
+            drifted++;
+            if (sample.size() < DRIFT_SAMPLE_SIZE)
+                sample.add(roomId);
+            missing += expectedStays.stream().filter(stay -> !actualStays.contains(stay)).count();
+            stale += actualStays.stream().filter(stay -> !expectedStays.contains(stay)).count();
+        }
+
+        if (drifted > 0) {
+            driftCounter.increment(drifted);
+            log.warn("Occupancy index drift: {} rooms, {} missing, {} stale stays", drifted, missing, stale);
+            if (repair)
+                rebuild();
+        }
+
+        return OccupancyIndexDto.DriftReport.builder()
+                .checkedRooms(roomIds.size())
+                .driftedRooms(drifted)
+                .missingIntervals(missing)
+                .staleIntervals(stale)
+                .driftedRoomIds(sample)
+                .repaired(repair && drifted > 0)
+                .checkedAt(LocalDateTime.now(clock))
+                .build();
+    }
+
+    public OccupancyIndexDto.Stats stats() {
+        return OccupancyIndexDto.Stats.builder()
+                .enabled(enabled)
+                .ready(ready)
+                .rooms(timelines.size())
+                .intervals(intervalCount())
+                .estimatedBytes(estimatedBytes())
+                .horizon(horizon)
+                .builtAt(builtAt)
+                .build();
+    }
+
+    long intervalCount() {
+        long count = 0;
+        for (IntervalArray timeline : timelines.values())
+            count += timeline.size();
+        return count;
+    }
+
+    long estimatedBytes() {
+        // ConcurrentHashMap node + boxed key per room, plus the timeline arrays
+        long bytes = 0;
+        for (IntervalArray timeline : timelines.values())
+            bytes += 48 + timeline.estimatedBytes();
+        return bytes;
+    }
+
+    private LocalDateTime currentHorizon() {
+        return LocalDate.now(clock).minusDays(retentionDays).atStartOfDay();
+    }
+
+    private void apply(Consumer<Map<Long, IntervalArray>> update) {
+        synchronized (writeLock) {
+            update.accept(timelines);
+            if (replayLog != null)
+                replayLog.add(update);
+        }
+    }
+
+    private Map<Long, IntervalArray> load(LocalDateTime since) {
+        Map<Long, List<RoomOccupancyDto>> byRoom = new HashMap<>();
+        for (RoomOccupancyDto row : reservationRepository.findRoomOccupancySince(since)) {
+            byRoom.computeIfAbsent(row.getRoomId(), id -> new ArrayList<>()).add(row);
+        }
+        Map<Long, IntervalArray> result = new ConcurrentHashMap<>(Math.max(16, byRoom.size() * 2));
+        byRoom.forEach((roomId, rows) -> result.put(roomId, timeline(rows)));
+        return result;
+    }
+
+    private static IntervalArray timeline(List<RoomOccupancyDto> rows) {
+        IntervalArray timeline = IntervalArray.EMPTY;
+        for (RoomOccupancyDto row : rows) {
+            timeline = timeline.with(row.getReservationId(), toSeconds(row.getCheckInTime()),
+                    toSeconds(row.getCheckOutTime()));
+        }
+        return timeline;
+    }
+
+    private static Set<Stay> stays(IntervalArray timeline) {
+        if (timeline == null)
+            return Set.of();
+        Set<Stay> stays = new HashSet<>();
+        for (int i = 0; i < timeline.size(); i++)
+            stays.add(new Stay(timeline.id(i), timeline.start(i), timeline.end(i)));
+        return stays;
+    }
+
+    static long toSeconds(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private record Stay(long reservationId, long start, long end) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.hotel.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * An itemised price for one hotel's rooms over a stay, in minor units of
+ * {@link #currency()}. {@code discount} and {@code total} are each rounded
+ * half-up from the exact values, as the database used to round them.
+ */
+public record PriceQuote(PricingCurrency currency, long nights, List<Line> lines, long subtotal,
+        String discountPolicyName, long discount, long total) {
+
+    public BigDecimal subtotalAmount() {
+        return currency.toAmount(subtotal);
+    }
+
+    public BigDecimal discountAmount() {
+        return currency.toAmount(discount);
+    }
+
+    public BigDecimal totalAmount() {
+        return currency.toAmount(total);
+    }
+
+    /**
+     * One room: its standard nightly rate, and the amount for the stay with
+     * any calendar overrides applied.
+     */
+    public record Line(Long roomId, String roomNumber, Long roomTypeId, long nightlyRate, long amount) {
+    }
+}
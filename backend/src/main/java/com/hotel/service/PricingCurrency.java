@@ -0,0 +1,131 @@
+package com.hotel.service;
+
+import com.hotel.entity.RoomType;
+import com.hotel.entity.RoomTypeRate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A currency a stay can be priced in. Amounts are handled as {@code long}
+ * minor units (cents, centavos; whole won for KRW).
+ * <p>
+ * KRW, USD and PHP have their own {@link RoomType} and {@link RoomTypeRate}
+ * columns, which override the converted base price when set. Any other ISO
+ * currency is priced from the base price through {@link FxRates}. Instances
+ * are interned per code, so they can be compared with {@code ==}.
+ */
+public final class PricingCurrency {
+
+    private static final Map<String, PricingCurrency> CURRENCIES = new ConcurrentHashMap<>();
+
+    public static final PricingCurrency KRW = register("KRW", 0, RoomType::getPriceKrw, RoomTypeRate::getPriceKrw);
+    public static final PricingCurrency USD = register("USD", 1, RoomType::getPriceUsd, RoomTypeRate::getPriceUsd);
+    public static final PricingCurrency PHP = register("PHP", 2, RoomType::getPricePhp, RoomTypeRate::getPricePhp);
+
+    private static final List<PricingCurrency> WITH_COLUMNS = List.of(KRW, USD, PHP);
+
+    private final String code;
+    private final int fractionDigits;
+    private final int columnIndex;
+    private final Function<RoomType, BigDecimal> nightlyRate;
+    private final Function<RoomTypeRate, BigDecimal> calendarRate;
+
+    private PricingCurrency(String code, int columnIndex, Function<RoomType, BigDecimal> nightlyRate,
+            Function<RoomTypeRate, BigDecimal> calendarRate) {
+        this.code = code;
+        this.fractionDigits = Currency.getInstance(code).getDefaultFractionDigits();
+        this.columnIndex = columnIndex;
+        this.nightlyRate = nightlyRate;
+        this.calendarRate = calendarRate;
+    }
+
+    private static PricingCurrency register(String code, int columnIndex, Function<RoomType, BigDecimal> nightlyRate,
+            Function<RoomTypeRate, BigDecimal> calendarRate) {
+        PricingCurrency currency = new PricingCurrency(code, columnIndex, nightlyRate, calendarRate);
+        CURRENCIES.put(code, currency);
+        return currency;
+    }
+
+    /**
+     * Looks up an ISO 4217 code, case-insensitively. Missing, unknown and
+     * pseudo currencies resolve to USD; whether a rate exists for the result
+     * is up to {@link FxRates#resolve}.
+     */
+    public static PricingCurrency of(String code) {
+        if (code == null)
+            return USD;
+        String normalized = code.trim().toUpperCase(Locale.ROOT);
+        PricingCurrency currency = CURRENCIES.get(normalized);
+        if (currency != null)
+            return currency;
+        try {
+            if (Currency.getInstance(normalized).getDefaultFractionDigits() < 0)
+                return USD;
+        } catch (IllegalArgumentException e) {
+            return USD;
+        }
+        return CURRENCIES.computeIfAbsent(normalized, c -> new PricingCurrency(c, -1, null, null));
+    }
+
+    /** Currencies with their own price columns, in column index order. */
+    public static List<PricingCurrency> withColumns() {
+        return WITH_COLUMNS;
+    }
+
+    public String code() {
+        return code;
+    }
+
+    public int fractionDigits() {
+        return fractionDigits;
+    }
+
+    public boolean hasColumns() {
+        return columnIndex >= 0;
+    }
+
+    /** Position in {@link #withColumns()}, or -1. */
+    int columnIndex() {
+        return columnIndex;
+    }
+
+    /** The room type's own nightly rate in this currency, or {@code null} to convert the base price. */
+    public BigDecimal columnRate(RoomType roomType) {
+        return nightlyRate != null ? nightlyRate.apply(roomType) : null;
+    }
+
+    /** The date's override in this currency, or {@code null} for the standard rate. */
+    public BigDecimal calendarRate(RoomTypeRate rate) {
+        return calendarRate != null ? calendarRate.apply(rate) : null;
+    }
+
+    public long toMinor(BigDecimal amount) {
+        return amount.setScale(fractionDigits, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public BigDecimal toAmount(long minor) {
+        return BigDecimal.valueOf(minor, fractionDigits);
+    }
+
+    /**
+     * Converts hundredths of a currency unit to minor units, rounding half
+     * up. Exact for any amount stored with two decimals.
+     */
+    public long fromHundredths(long hundredths) {
+        if (fractionDigits >= 2)
+            return Math.multiplyExact(hundredths, FxRates.POWERS_OF_TEN[fractionDigits - 2]);
+        return FxRates.divideHalfUp(hundredths, FxRates.POWERS_OF_TEN[2 - fractionDigits]);
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
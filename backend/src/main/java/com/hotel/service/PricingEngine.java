@@ -0,0 +1,139 @@
+package com.hotel.service;
+
+import com.hotel.entity.Room;
+import com.hotel.entity.RoomType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prices stays in {@code long} minor units. Nights are counted by calendar
+ * date with a minimum of one, each room is charged the nightly rates of its
+ * type's {@link RateCalendar} in the requested currency, and the hotel's best
+ * {@link DiscountEvaluator discount} is taken off the subtotal, never below
+ * zero.
+ * <p>
+ * A room type's standard rate in a currency is its own price column when set,
+ * otherwise the base price converted with the current {@link FxRates}.
+ * Currencies without columns are priced in the base currency, calendar
+ * included, and each room's amount is converted.
+ */
+@Component
+@RequiredArgsConstructor
+public class PricingEngine {
+
+    private final FxRateService fxRateService;
+
+    /** The currency a request for {@code code} is priced in. */
+    public PricingCurrency currency(String code) {
+        return fxRateService.current().resolve(code);
+    }
+
+    /** Prices the stay at the standard rates only. */
+    public PriceQuote quote(String currency, LocalDateTime checkIn, LocalDateTime checkOut, List<Room> rooms,
+            DiscountEvaluator discounts) {
+        return quote(currency, checkIn, checkOut, rooms, discounts, Map.of());
+    }
+
+    /**
+     * @param calendars rate calendars keyed by room type id; types without one
+     *                  are charged their standard rate every night
+     */
+    public PriceQuote quote(String currency, LocalDateTime checkIn, LocalDateTime checkOut, List<Room> rooms,
+            DiscountEvaluator discounts, Map<Long, RateCalendar> calendars) {
+        FxRates fx = fxRateService.current();
+        PricingCurrency pricingCurrency = fx.resolve(currency);
+        LocalDate firstNight = checkIn.toLocalDate();
+        long nights = Math.max(1, ChronoUnit.DAYS.between(firstNight, checkOut.toLocalDate()));
+        LocalDate endOfStay = firstNight.plusDays(nights);
+
+        List<PriceQuote.Line> lines = new ArrayList<>(rooms.size());
+        long subtotal = 0;
+        for (Room room : rooms) {
+            RoomType roomType = room.getRoomType();
+            long nightlyRate = standardRate(roomType, pricingCurrency, fx);
+            long amount = stayTotal(roomType, pricingCurrency,
+                    calendars.getOrDefault(roomType.getId(), RateCalendar.EMPTY), firstNight, endOfStay, fx);
+            lines.add(new PriceQuote.Line(room.getId(), room.getRoomNumber(), roomType.getId(),
+                    nightlyRate, amount));
+            subtotal = Math.addExact(subtotal, amount);
+        }
+
+        DiscountEvaluator.AppliedDiscount applied = discounts.evaluate(subtotal, nights, pricingCurrency);
+        if (applied == null)
+            return new PriceQuote(pricingCurrency, nights, lines, subtotal, null, 0, subtotal);
+
+        long scaledTotal = Math.multiplyExact(subtotal, DiscountEvaluator.SCALE) - applied.scaledAmount();
+        return new PriceQuote(pricingCurrency, nights, lines, subtotal, applied.policyName(),
+                roundScaled(applied.scaledAmount()), scaledTotal > 0 ? roundScaled(scaledTotal) : 0);
+    }
+
+    /** Nightly rate without calendar overrides, in minor units of {@code currency}. */
+    public long standardRate(RoomType roomType, PricingCurrency currency) {
+        return standardRate(roomType, currency, fxRateService.current());
+    }
+
+    /** Sum of the nightly rates for the nights {@code [from, to)}, in minor units of {@code currency}. */
+    public long stayTotal(RoomType roomType, PricingCurrency currency, RateCalendar calendar, LocalDate from,
+            LocalDate to) {
+        return stayTotal(roomType, currency, calendar, from, to, fxRateService.current());
+    }
+
+    public long nightlyRate(RoomType roomType, PricingCurrency currency, RateCalendar calendar, LocalDate night) {
+        return stayTotal(roomType, currency, calendar, night, night.plusDays(1));
+    }
+
+    /**
+     * Prices a room type for search results, reading one FX snapshot for all
+     * currencies.
+     */
+    public SearchPrices searchPrices(RoomType roomType, RateCalendar calendar, LocalDate from, LocalDate to,
+            PricingCurrency currency) {
+        FxRates fx = fxRateService.current();
+        PricingCurrency krw = PricingCurrency.KRW;
+        PricingCurrency usd = PricingCurrency.USD;
+        PricingCurrency php = PricingCurrency.PHP;
+        return new SearchPrices(
+                krw.toAmount(standardRate(roomType, krw, fx)),
+                usd.toAmount(standardRate(roomType, usd, fx)),
+                php.toAmount(standardRate(roomType, php, fx)),
+                krw.toAmount(stayTotal(roomType, krw, calendar, from, to, fx)),
+                usd.toAmount(stayTotal(roomType, usd, calendar, from, to, fx)),
+                php.toAmount(stayTotal(roomType, php, calendar, from, to, fx)),
+                currency.code(),
+                currency.toAmount(stayTotal(roomType, currency, calendar, from, to, fx)));
+    }
+
+    private static long standardRate(RoomType roomType, PricingCurrency currency, FxRates fx) {
+        BigDecimal columnRate = currency.columnRate(roomType);
+        if (columnRate != null)
+            return currency.toMinor(columnRate);
+        return rate(fx, currency).convert(FxRates.BASE.toMinor(roomType.getBasePrice()));
+    }
+
+    private static long stayTotal(RoomType roomType, PricingCurrency currency, RateCalendar calendar,
+            LocalDate from, LocalDate to, FxRates fx) {
+        if (currency.hasColumns())
+            return calendar.total(currency, standardRate(roomType, currency, fx), from, to);
+        long baseTotal = calendar.total(FxRates.BASE, standardRate(roomType, FxRates.BASE, fx), from, to);
+        return rate(fx, currency).convert(baseTotal);
+    }
+
+    private static FxRates.Rate rate(FxRates fx, PricingCurrency currency) {
+        FxRates.Rate rate = fx.rate(currency);
+        if (rate == null)
+            throw new RuntimeException("No exchange rate for " + currency + ".");
+        return rate;
+    }
+
+    private static long roundScaled(long scaled) {
+        return (scaled + DiscountEvaluator.SCALE / 2) / DiscountEvaluator.SCALE;
+    }
+}
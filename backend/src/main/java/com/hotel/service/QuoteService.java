@@ -0,0 +1,105 @@
+package com.hotel.service;
+
+import com.hotel.dto.ReservationDto;
+import com.hotel.entity.Room;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prices a stay without booking it. Deliberately not transactional: rooms,
+ * discount policies and rate calendars come from {@link RoomPriceCache},
+ * {@link DiscountPolicyCache} and {@link RateCalendarCache}, so a warm quote
+ * does not touch the database.
+ * Availability is not checked.
+ */
+@Service
+@RequiredArgsConstructor
+public class QuoteService {
+
+    private final RoomPriceCache roomPriceCache;
+    private final DiscountPolicyCache discountPolicyCache;
+    private final RateCalendarCache rateCalendarCache;
+    private final PricingEngine pricingEngine;
+
+    public ReservationDto.QuoteResponse quote(List<Long> roomIds, LocalDateTime checkIn, LocalDateTime checkOut,
+            String currency) {
+        if (roomIds == null || roomIds.isEmpty())
+            throw new RuntimeException("At least one room is required.");
+        if (checkIn == null || checkOut == null)
+            throw new RuntimeException("Check-in and check-out times are required.");
+        if (!checkOut.isAfter(checkIn))
+            throw new RuntimeException("Check-out time must be after check-in time.");
+
+        List<Long> distinctRoomIds = roomIds.stream().distinct().toList();
+        Map<Long, Room> rooms = roomPriceCache.getAll(distinctRoomIds);
+        Map<Long, List<Room>> roomsByHotelId = new LinkedHashMap<>();
+        for (Long roomId : distinctRoomIds) {
+            Room room = rooms.get(roomId);
+            if (room == null)
+                throw new RuntimeException("Room " + roomId + " not found.");
+            roomsByHotelId.computeIfAbsent(room.getRoomType().getHotel().getId(), id -> new ArrayList<>()).add(room);
+        }
+
+        Map<Long, RateCalendar> calendars = rateCalendarCache.getAll(rooms.values().stream()
+                .map(room -> room.getRoomType().getId()).toList());
+        List<ReservationDto.HotelQuote> hotels = new ArrayList<>();
+        PricingCurrency pricingCurrency = pricingEngine.currency(currency);
+        long nights = 0;
+        long total = 0;
+        for (Map.Entry<Long, List<Room>> hotel : roomsByHotelId.entrySet()) {
+            PriceQuote quote = pricingEngine.quote(pricingCurrency.code(), checkIn, checkOut, hotel.getValue(),
+                    discountPolicyCache.get(hotel.getKey()), calendars);
+            nights = quote.nights();
+            total += quote.total();
+            hotels.add(toHotelQuote(hotel.getKey(), checkIn.toLocalDate(), quote, hotel.getValue(), calendars));
+        }
+
+        return ReservationDto.QuoteResponse.builder()
+                .currency(pricingCurrency.code())
+                .checkInTime(checkIn)
+                .checkOutTime(checkOut)
+                .nights(nights)
+                .hotels(hotels)
+                .totalPrice(pricingCurrency.toAmount(total))
+                .build();
+    }
+
+    private ReservationDto.HotelQuote toHotelQuote(Long hotelId, LocalDate firstNight, PriceQuote quote,
+            List<Room> rooms, Map<Long, RateCalendar> calendars) {
+        PricingCurrency currency = quote.currency();
+        List<ReservationDto.NightlyQuote> nightly = new ArrayList<>();
+        for (int night = 0; night < quote.nights(); night++) {
+            LocalDate date = firstNight.plusDays(night);
+            long nightlyAmount = 0;
+            for (Room room : rooms) {
+                nightlyAmount += pricingEngine.nightlyRate(room.getRoomType(), currency,
+                        calendars.getOrDefault(room.getRoomType().getId(), RateCalendar.EMPTY), date);
+            }
+            nightly.add(new ReservationDto.NightlyQuote(date, currency.toAmount(nightlyAmount)));
+        }
+
+        return ReservationDto.HotelQuote.builder()
+                .hotelId(hotelId)
+                .rooms(quote.lines().stream()
+                        .map(line -> ReservationDto.RoomQuote.builder()
+                                .roomId(line.roomId())
+                                .roomNumber(line.roomNumber())
+                                .nightlyRate(currency.toAmount(line.nightlyRate()))
+                                .amount(currency.toAmount(line.amount()))
+                                .build())
+                        .toList())
+                .nightly(nightly)
+                .subtotal(quote.subtotalAmount())
+                .discountPolicyName(quote.discountPolicyName())
+                .discountPrice(quote.discountAmount())
+                .totalPrice(quote.totalAmount())
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.hotel.service;
+
+import com.hotel.entity.RoomTypeRate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * One room type's nightly rate overrides, compiled for range sums. Override
+ * nights are kept sorted with per-currency prefix sums of their rates and of
+ * how many nights are overridden. The price of any stay is then two binary
+ * searches: overridden nights cost their prefix-sum difference, the rest the
+ * standard rate. Immutable, so a compiled calendar can be shared.
+ */
+public final class RateCalendar {
+
+    public static final RateCalendar EMPTY = compile(List.of());
+
+    /** Override nights as epoch days, ascending. */
+    private final long[] nights;
+    /** Per currency column index: sum of the rates of the first {@code i} nights, in minor units. */
+    private final long[][] rateSums;
+    /** Per currency column index: how many of the first {@code i} nights override that currency. */
+    private final int[][] overrideCounts;
+
+    private RateCalendar(long[] nights, long[][] rateSums, int[][] overrideCounts) {
+        this.nights = nights;
+        this.rateSums = rateSums;
+        this.overrideCounts = overrideCounts;
+    }
+
+    /** Compiles rates of a single room type, in any order. */
+    public static RateCalendar compile(List<RoomTypeRate> rates) {
+        List<RoomTypeRate> sorted = rates.stream()
+                .sorted(Comparator.comparing(RoomTypeRate::getStayDate))
+                .toList();
+        List<PricingCurrency> currencies = PricingCurrency.withColumns();
+        long[] nights = new long[sorted.size()];
+        long[][] rateSums = new long[currencies.size()][sorted.size() + 1];
+        int[][] overrideCounts = new int[currencies.size()][sorted.size() + 1];
+
+        for (int i = 0; i < sorted.size(); i++) {
+            nights[i] = sorted.get(i).getStayDate().toEpochDay();
+            for (PricingCurrency currency : currencies) {
+                int c = currency.columnIndex();
+                BigDecimal rate = currency.calendarRate(sorted.get(i));
+                rateSums[c][i + 1] = Math.addExact(rateSums[c][i], rate != null ? currency.toMinor(rate) : 0);
+                overrideCounts[c][i + 1] = overrideCounts[c][i] + (rate != null ? 1 : 0);
+            }
+        }
+        return new RateCalendar(nights, rateSums, overrideCounts);
+    }
+
+    public boolean isEmpty() {
+        return nights.length == 0;
+    }
+
+    /**
+     * Sum of the nightly rates for the nights {@code [from, to)}, in minor
+     * units of {@code currency}. Overrides exist only for currencies with
+     * their own columns; any other currency is charged the standard rate.
+     *
+     * @param standardRate rate of nights without an override
+     */
+    public long total(PricingCurrency currency, long standardRate, LocalDate from, LocalDate to) {
+        long nightCount = to.toEpochDay() - from.toEpochDay();
+        if (nightCount <= 0)
+            return 0;
+        if (!currency.hasColumns())
+            return Math.multiplyExact(standardRate, nightCount);
+        int c = currency.columnIndex();
+        int lo = firstIndexAtOrAfter(from.toEpochDay());
+        int hi = firstIndexAtOrAfter(to.toEpochDay());
+        long overridden = overrideCounts[c][hi] - overrideCounts[c][lo];
+        return Math.addExact(Math.multiplyExact(standardRate, nightCount - overridden),
+                rateSums[c][hi] - rateSums[c][lo]);
+    }
+
+    /** Rate of a single night, in minor units of {@code currency}. */
+    public long rate(PricingCurrency currency, long standardRate, LocalDate night) {
+        return total(currency, standardRate, night, night.plusDays(1));
+    }
+
+    private int firstIndexAtOrAfter(long epochDay) {
+        int index = Arrays.binarySearch(nights, epochDay);
+        return index >= 0 ? index : -index - 1;
+    }
+}
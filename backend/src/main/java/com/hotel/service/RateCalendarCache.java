@@ -0,0 +1,68 @@
+package com.hotel.service;
+
+import com.hotel.entity.RoomTypeRate;
+import com.hotel.repository.RoomTypeRateRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled {@link RateCalendar}s per room type, so pricing a stay does not
+ * read {@code room_type_rates}. Misses are loaded in one query.
+ * <p>
+ * Works like {@link DiscountPolicyCache}: {@link HotelService} invalidates a
+ * room type when the transaction that changed its rates completes, the type
+ * bypasses the cache inside that transaction, and entries expire after
+ * {@code ttl-minutes} for changes made on other nodes.
+ */
+@Component
+public class RateCalendarCache {
+
+    private final RoomTypeRateRepository rateRepository;
+    private final TransactionAwareCache<Long, RateCalendar> cache;
+
+    public RateCalendarCache(RoomTypeRateRepository rateRepository,
+            MeterRegistry meterRegistry,
+            @Value("${hotel.rate.cache-ttl-minutes:10}") long ttlMinutes) {
+        this.rateRepository = rateRepository;
+        this.cache = new TransactionAwareCache<>(meterRegistry, "hotel.rate.calendar.cache", ttlMinutes);
+    }
+
+    /**
+     * @return a calendar for every requested room type, {@link RateCalendar#EMPTY}
+     *         when it has no overrides
+     */
+    public Map<Long, RateCalendar> getAll(Collection<Long> roomTypeIds) {
+        return cache.getAll(roomTypeIds, this::load);
+    }
+
+    public RateCalendar get(Long roomTypeId) {
+        return getAll(List.of(roomTypeId)).get(roomTypeId);
+    }
+
+    /**
+     * Drops the room type's calendar once the current transaction commits or
+     * rolls back, or right away when there is none.
+     */
+    public void invalidateAfterCompletion(Long roomTypeId) {
+        cache.invalidateAfterCompletion(roomTypeId);
+    }
+
+    private Map<Long, RateCalendar> load(List<Long> roomTypeIds) {
+        Map<Long, List<RoomTypeRate>> ratesByType = new HashMap<>();
+        rateRepository.findByRoomTypeIdIn(roomTypeIds)
+                .forEach(rate -> ratesByType.computeIfAbsent(rate.getRoomTypeId(), id -> new ArrayList<>()).add(rate));
+        Map<Long, RateCalendar> calendars = new HashMap<>();
+        for (Long roomTypeId : roomTypeIds) {
+            List<RoomTypeRate> rates = ratesByType.get(roomTypeId);
+            calendars.put(roomTypeId, rates != null ? RateCalendar.compile(rates) : RateCalendar.EMPTY);
+        }
+        return calendars;
+    }
+}
@@ -0,0 +1,32 @@
+package com.hotel.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position in a reservation listing ordered by {@code (checkInTime, id)}:
+ * the last reservation of the page already returned. Clients get it as an
+ * opaque URL-safe token and send it back for the next page.
+ */
+public record ReservationCursor(LocalDateTime checkInTime, long id) {
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((checkInTime + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** @return the position, or {@code null} for the first page */
+    public static ReservationCursor decode(String token) {
+        if (token == null || token.isBlank())
+            return null;
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf('|');
+            return new ReservationCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor.");
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.hotel.service;
+
+import com.hotel.dto.ReservationDto;
+import com.hotel.entity.Reservation;
+import com.hotel.entity.Room;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Server-sent events for the manager screens: every open screen subscribes
+ * to its hotel and is pushed reservations as they are created, checked in,
+ * checked out or cancelled, once the change has committed. Events are sent
+ * from a single background thread, so a slow client never holds up a
+ * booking. Subscribers are held in memory; like the room holds, this
+ * assumes a single node.
+ */
+@Slf4j
+@Component
+public class ReservationEventStream {
+
+    public enum EventType {
+        CREATED, CONFIRMED, CANCELLED, CHECKED_IN, CHECKED_OUT
+    }
+
+    private final Map<Long, Set<SseEmitter>> emittersByHotel = new ConcurrentHashMap<>();
+    private final ExecutorService sender;
+    private final long timeoutMillis;
+
+    public ReservationEventStream(MeterRegistry meterRegistry,
+            @Value("${hotel.reservation.events.timeout-ms:1800000}") long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+        this.sender = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "reservation-events");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("hotel.reservation.events.subscribers", this, ReservationEventStream::subscriberCount)
+                .description("Open manager event streams")
+                .register(meterRegistry);
+    }
+
+    /** Opens a stream of the hotel's reservation events; clients reconnect when it times out. */
+    public SseEmitter subscribe(Long hotelId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Set<SseEmitter> emitters = emittersByHotel.computeIfAbsent(hotelId, id -> new CopyOnWriteArraySet<>());
+        emitters.add(emitter);
+        Runnable remove = () -> emitters.remove(emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+        return emitter;
+    }
+
+    /**
+     * Sends the reservation to the subscribers of each of its hotels after
+     * the current transaction commits. The event is built right away, while
+     * the rooms can still be loaded.
+     */
+    public void publishAfterCommit(EventType type, Reservation reservation) {
+        Map<Long, ReservationDto.ReservationEvent> events = new HashMap<>();
+        for (Room room : reservation.getRooms()) {
+            Long hotelId = room.getRoomType().getHotel().getId();
+            if (emittersByHotel.containsKey(hotelId))
+                events.computeIfAbsent(hotelId, id -> toEvent(type, id, reservation));
+        }
+        if (events.isEmpty())
+            return;
+
+        Runnable send = () -> sender.execute(() -> events.forEach(this::send));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send.run();
+                }
+            });
+        } else {
+            send.run();
+        }
+    }
+
+    /** Keeps idle streams open through proxies and drops clients that went away. */
+    @Scheduled(fixedDelayString = "${hotel.reservation.events.heartbeat-ms:30000}")
+    public void heartbeat() {
+        if (emittersByHotel.isEmpty())
+            return;
+        sender.execute(() -> emittersByHotel.forEach((hotelId, emitters) -> emitters.forEach(emitter -> {
+            try {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                emitters.remove(emitter);
+            }
+        })));
+    }
+
+    public int subscriberCount() {
+        return emittersByHotel.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdown();
+        emittersByHotel.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+    }
+
+    private void send(Long hotelId, ReservationDto.ReservationEvent event) {
+        Set<SseEmitter> emitters = emittersByHotel.getOrDefault(hotelId, Set.of());
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .name(event.getType())
+                        .id(String.valueOf(event.getReservationId()))
+                        .data(event, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping reservation event stream of hotel {}", hotelId, e);
+                emitters.remove(emitter);
+            }
+        }
+    }
+
+    private static ReservationDto.ReservationEvent toEvent(EventType type, Long hotelId, Reservation reservation) {
+        return ReservationDto.ReservationEvent.builder()
+                .type(type.name())
+                .hotelId(hotelId)
+                .reservationId(reservation.getId())
+                .status(reservation.getStatus().name())
+                .checkInTime(reservation.getCheckInTime())
+                .checkOutTime(reservation.getCheckOutTime())
+                .actualCheckInTime(reservation.getActualCheckInTime())
+                .actualCheckOutTime(reservation.getActualCheckOutTime())
+                .roomNumbers(reservation.getRooms().stream()
+                        .filter(room -> hotelId.equals(room.getRoomType().getHotel().getId()))
+                        .sorted(Comparator.comparing(Room::getRoomNumber))
+                        .map(Room::getRoomNumber)
+                        .toList())
+                .build();
+    }
+}
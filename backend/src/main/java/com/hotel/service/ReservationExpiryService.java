@@ -0,0 +1,180 @@
+package com.hotel.service;
+
+import com.hotel.entity.Hotel;
+import com.hotel.entity.Reservation;
+import com.hotel.entity.Room;
+import com.hotel.entity.RoomType;
+import com.hotel.repository.JobLeaseRepository;
+import com.hotel.repository.ReservationJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Cancels reservations left PENDING longer than {@code pending-ttl-minutes},
+ * so unpaid bookings stop blocking rooms. Each batch is one
+ * {@code UPDATE ... RETURNING} over at most {@code batch-size} rows in its own
+ * short transaction, together with releasing the inventory of the cancelled
+ * stays; the freed rooms are offered to the waitlist and the cancellations
+ * pushed to the manager screens after commit. A lease
+ * in {@code job_leases} keeps other nodes from running the job at the same
+ * time.
+ */
+@Slf4j
+@Service
+public class ReservationExpiryService {
+
+    static final String LEASE_NAME = "reservation-expiry";
+    static final String UPDATED_BY = "system";
+
+    private final ReservationJdbcRepository reservationJdbcRepository;
+    private final JobLeaseRepository jobLeaseRepository;
+    private final RoomTypeInventoryService roomTypeInventoryService;
+    private final OccupancyIndex occupancyIndex;
+    private final WaitlistService waitlistService;
+    private final ReservationEventStream reservationEventStream;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration pendingTtl;
+    private final int batchSize;
+    private final Duration leaseDuration;
+    private final String owner;
+
+    private final Counter expiredCounter;
+    private final DistributionSummary expiredPerRun;
+
+    public ReservationExpiryService(ReservationJdbcRepository reservationJdbcRepository,
+            JobLeaseRepository jobLeaseRepository,
+            RoomTypeInventoryService roomTypeInventoryService,
+            OccupancyIndex occupancyIndex,
+            WaitlistService waitlistService,
+            ReservationEventStream reservationEventStream,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${hotel.reservation.expiry.enabled:false}") boolean enabled,
+            @Value("${hotel.reservation.expiry.pending-ttl-minutes:1440}") long pendingTtlMinutes,
+            @Value("${hotel.reservation.expiry.batch-size:500}") int batchSize,
+            @Value("${hotel.reservation.expiry.lease-seconds:300}") long leaseSeconds) {
+        this.reservationJdbcRepository = reservationJdbcRepository;
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.roomTypeInventoryService = roomTypeInventoryService;
+        this.occupancyIndex = occupancyIndex;
+        this.waitlistService = waitlistService;
+        this.reservationEventStream = reservationEventStream;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.pendingTtl = Duration.ofMinutes(pendingTtlMinutes);
+        this.batchSize = batchSize;
+        this.leaseDuration = Duration.ofSeconds(leaseSeconds);
+        this.owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+        this.expiredCounter = Counter.builder("hotel.reservations.expired")
+                .description("PENDING reservations cancelled after their TTL")
+                .register(meterRegistry);
+        this.expiredPerRun = DistributionSummary.builder("hotel.reservations.expired.per.run")
+                .description("PENDING reservations cancelled by one run of the expiry job")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${hotel.reservation.expiry.interval-ms:60000}",
+            initialDelayString = "${hotel.reservation.expiry.interval-ms:60000}")
+    public void scheduledExpiry() {
+        if (enabled)
+            expirePending();
+    }
+
+    /**
+     * Runs batches until one comes back short. Does nothing while another
+     * node holds the lease; the lease is extended before every batch, so a
+     * run that outlives it stops instead of overlapping a new one.
+     *
+     * @return number of reservations cancelled
+     */
+    public int expirePending() {
+        if (!jobLeaseRepository.tryAcquire(LEASE_NAME, owner, leaseDuration)) {
+            log.debug("Reservation expiry is running on another node");
+            return 0;
+        }
+
+        LocalDateTime createdBefore = LocalDateTime.now().minus(pendingTtl);
+        int total = 0;
+        try {
+            int expired;
+            do {
+                expired = transactionTemplate.execute(status -> expireBatch(createdBefore));
+                total += expired;
+            } while (expired == batchSize && jobLeaseRepository.tryAcquire(LEASE_NAME, owner, leaseDuration));
+        } finally {
+            jobLeaseRepository.release(LEASE_NAME, owner);
+            expiredPerRun.record(total);
+        }
+        if (total > 0) {
+            log.info("Expired {} PENDING reservations created before {}", total, createdBefore);
+        }
+        return total;
+    }
+
+    private int expireBatch(LocalDateTime createdBefore) {
+        List<ReservationJdbcRepository.ExpiredReservation> expired = reservationJdbcRepository
+                .expirePending(createdBefore, batchSize, UPDATED_BY);
+
+        // One inventory release per distinct stay, in a fixed order
+        Map<Stay, Map<Long, Integer>> roomsByStay = new TreeMap<>(
+                Comparator.comparing(Stay::checkInTime).thenComparing(Stay::checkOutTime));
+        for (ReservationJdbcRepository.ExpiredReservation reservation : expired) {
+            Map<Long, Integer> roomsByType = roomsByStay.computeIfAbsent(
+                    new Stay(reservation.checkInTime(), reservation.checkOutTime()), stay -> new HashMap<>());
+            reservation.rooms()
+                    .forEach(room -> roomsByType.merge(room.roomTypeId(), 1, Integer::sum));
+            Reservation cancelled = cancelled(reservation);
+            occupancyIndex.track(cancelled);
+            reservationEventStream.publishAfterCommit(ReservationEventStream.EventType.CANCELLED, cancelled);
+        }
+        roomsByStay.forEach((stay, roomsByType) -> {
+            roomTypeInventoryService.release(roomsByType, stay.checkInTime(), stay.checkOutTime());
+            roomsByType.keySet().forEach(roomTypeId -> waitlistService.matchAfterCommit(roomTypeId,
+                    stay.checkInTime(), stay.checkOutTime()));
+        });
+
+        expiredCounter.increment(expired.size());
+        return expired.size();
+    }
+
+    private static Reservation cancelled(ReservationJdbcRepository.ExpiredReservation reservation) {
+        return Reservation.builder()
+                .id(reservation.id())
+                .status(Reservation.ReservationStatus.CANCELLED)
+                .checkInTime(reservation.checkInTime())
+                .checkOutTime(reservation.checkOutTime())
+                .rooms(reservation.rooms().stream()
+                        .map(room -> Room.builder()
+                                .id(room.id())
+                                .roomNumber(room.roomNumber())
+                                .roomType(RoomType.builder()
+                                        .id(room.roomTypeId())
+                                        .hotel(Hotel.builder().id(room.hotelId()).build())
+                                        .build())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    private record Stay(LocalDateTime checkInTime, LocalDateTime checkOutTime) {
+    }
+}
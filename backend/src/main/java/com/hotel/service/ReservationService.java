@@ -6,20 +6,29 @@ import com.hotel.dto.HotelDto;
 import com.hotel.entity.Hotel;
 import com.hotel.entity.Reservation;
 import com.hotel.entity.Room;
+import com.hotel.entity.RoomType;
 import com.hotel.entity.User;
 import com.hotel.repository.HotelRepository;
+import com.hotel.repository.ReservationJdbcRepository;
 import com.hotel.repository.ReservationRepository;
 import com.hotel.repository.RoomRepository;
 import com.hotel.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
@@ -27,37 +36,142 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ReservationService {
 
+    private static final int MAX_BULK_ITEMS = 500;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ReservationRepository reservationRepository;
     private final RoomRepository roomRepository;
     private final UserRepository userRepository;
 
     private final HotelRepository hotelRepository;
-    private final com.hotel.repository.DiscountPolicyRepository discountPolicyRepository;
+    private final DiscountPolicyCache discountPolicyCache;
+    private final AvailabilityService availabilityService;
+    private final OccupancyIndex occupancyIndex;
+    private final RoomTypeInventoryService roomTypeInventoryService;
+    private final RoomLockManager roomLockManager;
+    private final RoomHoldService roomHoldService;
+    private final ReservationJdbcRepository reservationJdbcRepository;
+    private final PricingEngine pricingEngine;
+    private final RateCalendarCache rateCalendarCache;
+    private final WaitlistService waitlistService;
+    private final SettlementRollupService settlementRollupService;
+    private final ReservationEventStream reservationEventStream;
+
+    /**
+     * @param currency the currency of {@code stayPrice}; any other than KRW,
+     *                 USD, PHP or one with an FX rate falls back to USD
+     */
+    @Transactional(readOnly = true)
+    public List<ReservationDto.AvailableRoomResponse> searchAvailableRooms(LocalDateTime checkIn,
+            LocalDateTime checkOut,
+            Integer guests, String currency) {
+        List<ReservationDto.AvailableRoomResponse> rooms = availabilityService.searchAvailableRooms(checkIn,
+                checkOut);
+        Set<Long> heldRoomIds = roomHoldService.findHeldRoomIds(
+                rooms.stream().map(ReservationDto.AvailableRoomResponse::getRoomId).toList(),
+                checkIn, checkOut);
+        if (!heldRoomIds.isEmpty()) {
+            rooms = rooms.stream()
+                    .filter(room -> !heldRoomIds.contains(room.getRoomId()))
+                    .toList();
+        }
+
+        LocalDate from = RoomTypeInventoryService.firstNight(checkIn);
+        LocalDate to = RoomTypeInventoryService.endOfStay(checkIn, checkOut);
+        PricingCurrency pricingCurrency = pricingEngine.currency(currency);
+        Map<Long, RateCalendar> calendars = rateCalendarCache.getAll(rooms.stream()
+                .map(ReservationDto.AvailableRoomResponse::getRoomTypeId).toList());
+        // Rooms of a type share their prices, so each type is priced once
+        Map<Long, SearchPrices> pricesByType = new HashMap<>();
+        for (ReservationDto.AvailableRoomResponse room : rooms) {
+            SearchPrices prices = pricesByType.get(room.getRoomTypeId());
+            if (prices == null) {
+                prices = searchPrices(room.getRoomTypeId(), room.getPrice(), room.getPriceKrw(),
+                        room.getPriceUsd(), room.getPricePhp(), calendars, from, to, pricingCurrency);
+                pricesByType.put(room.getRoomTypeId(), prices);
+            }
+            room.setPriceKrw(prices.priceKrw());
+            room.setPriceUsd(prices.priceUsd());
+            room.setPricePhp(prices.pricePhp());
+            room.setStayPriceKrw(prices.stayPriceKrw());
+            room.setStayPriceUsd(prices.stayPriceUsd());
+            room.setStayPricePhp(prices.stayPricePhp());
+            room.setCurrency(prices.currency());
+            room.setStayPrice(prices.stayPrice());
+        }
+        return rooms;
+    }
 
+    /**
+     * @param currency the currency of {@code stayPrice}, resolved like in
+     *                 {@link #searchAvailableRooms}
+     */
     @Transactional(readOnly = true)
-    public List<ReservationDto.AvailableRoomResponse> searchAvailableRooms(java.time.LocalDateTime checkIn,
-            java.time.LocalDateTime checkOut,
-            Integer guests) {
-        List<Room> allRooms = roomRepository.findAll();
-        List<ReservationDto.AvailableRoomResponse> availableRooms = new ArrayList<>();
-
-        for (Room room : allRooms) {
-            if (isRoomAvailable(room.getId(), checkIn, checkOut, false)) { // Check standard availability
-                availableRooms.add(ReservationDto.AvailableRoomResponse.builder()
-                        .hotelId(room.getRoomType().getHotel().getId())
-                        .hotelName(room.getRoomType().getHotel().getName())
-                        .roomId(room.getId())
-                        .roomNumber(room.getRoomNumber())
-                        .roomType(room.getRoomType().getName())
-                        .capacity(room.getRoomType().getCapacity())
-                        .price(room.getRoomType().getBasePrice()) // Deprecated
-                        .priceKrw(room.getRoomType().getPriceKrw())
-                        .priceUsd(room.getRoomType().getPriceUsd())
-                        .pricePhp(room.getRoomType().getPricePhp())
-                        .build());
+    public List<ReservationDto.AvailableRoomTypeResponse> searchAvailableRoomTypes(LocalDateTime checkIn,
+            LocalDateTime checkOut,
+            Integer guests, String currency) {
+        List<ReservationDto.AvailableRoomTypeResponse> types = withoutHeldRooms(
+                availabilityService.searchAvailableRoomTypes(checkIn, checkOut), checkIn, checkOut);
+
+        LocalDate from = RoomTypeInventoryService.firstNight(checkIn);
+        LocalDate to = RoomTypeInventoryService.endOfStay(checkIn, checkOut);
+        PricingCurrency pricingCurrency = pricingEngine.currency(currency);
+        Map<Long, RateCalendar> calendars = rateCalendarCache.getAll(types.stream()
+                .map(ReservationDto.AvailableRoomTypeResponse::getRoomTypeId).toList());
+        for (ReservationDto.AvailableRoomTypeResponse type : types) {
+            SearchPrices prices = searchPrices(type.getRoomTypeId(), type.getPrice(), type.getPriceKrw(),
+                    type.getPriceUsd(), type.getPricePhp(), calendars, from, to, pricingCurrency);
+            type.setPriceKrw(prices.priceKrw());
+            type.setPriceUsd(prices.priceUsd());
+            type.setPricePhp(prices.pricePhp());
+            type.setStayPriceKrw(prices.stayPriceKrw());
+            type.setStayPriceUsd(prices.stayPriceUsd());
+            type.setStayPricePhp(prices.stayPricePhp());
+            type.setCurrency(prices.currency());
+            type.setStayPrice(prices.stayPrice());
+        }
+        return types;
+    }
+
+    /**
+     * Takes rooms under a live hold out of the per-type counts, as
+     * {@link #searchAvailableRooms} drops them from its list. Types left
+     * without a room are omitted.
+     */
+    private List<ReservationDto.AvailableRoomTypeResponse> withoutHeldRooms(
+            List<ReservationDto.AvailableRoomTypeResponse> types, LocalDateTime checkIn, LocalDateTime checkOut) {
+        Set<Long> heldRoomIds = new HashSet<>(roomHoldService.findHeldRoomIds(checkIn, checkOut));
+        if (heldRoomIds.isEmpty())
+            return types;
+        // A held room that is also booked for the stay is not in the counts
+        heldRoomIds.removeAll(availabilityService.findUnavailableRoomIds(heldRoomIds, checkIn, checkOut));
+        Map<Long, Long> heldByType = roomRepository.findAllById(heldRoomIds).stream()
+                .collect(Collectors.groupingBy(room -> room.getRoomType().getId(), Collectors.counting()));
+
+        List<ReservationDto.AvailableRoomTypeResponse> bookable = new ArrayList<>();
+        for (ReservationDto.AvailableRoomTypeResponse type : types) {
+            long available = type.getAvailableCount() - heldByType.getOrDefault(type.getRoomTypeId(), 0L);
+            if (available > 0) {
+                type.setAvailableCount(available);
+                bookable.add(type);
             }
         }
-        return availableRooms;
+        return bookable;
+    }
+
+    private SearchPrices searchPrices(Long roomTypeId, BigDecimal basePrice, BigDecimal priceKrw,
+            BigDecimal priceUsd, BigDecimal pricePhp, Map<Long, RateCalendar> calendars, LocalDate from,
+            LocalDate to, PricingCurrency currency) {
+        RoomType roomType = RoomType.builder()
+                .id(roomTypeId)
+                .basePrice(basePrice)
+                .priceKrw(priceKrw)
+                .priceUsd(priceUsd)
+                .pricePhp(pricePhp)
+                .build();
+        return pricingEngine.searchPrices(roomType, calendars.getOrDefault(roomTypeId, RateCalendar.EMPTY),
+                from, to, currency);
     }
 
     @Transactional
@@ -65,110 +179,216 @@ public class ReservationService {
             String username) {
         User user = userRepository.findByUsername(username).orElseThrow();
 
+        // Serialize bookings per room: in-process stripes first, then row locks for other nodes.
+        // Both are held until commit, so the conflict check below sees every earlier booking.
+        roomLockManager.lockUntilCompletion(request.getRoomIds());
+        roomRepository.lockAllById(request.getRoomIds());
+
         List<HotelRoomDto> rooms = roomRepository.findHotelRoomsAllById(
                 request.getRoomIds());
 
-        // Validate availability for ALL rooms
+        // Validate availability for ALL rooms in a single query, even with a hold: holds live on one node,
+        // so another node may have booked the rooms since. A hold only keeps out other holds.
+        Set<Long> unavailableRoomIds = new HashSet<>(availabilityService.findUnavailableRoomIds(
+                request.getRoomIds(), request.getCheckInTime(), request.getCheckOutTime()));
+        if (request.getHoldId() != null) {
+            roomHoldService.convert(request.getHoldId(), username, request.getRoomIds(),
+                    request.getCheckInTime(), request.getCheckOutTime());
+            waitlistService.markBooked(request.getHoldId());
+        } else {
+            unavailableRoomIds.addAll(roomHoldService.findHeldRoomIds(request.getRoomIds(),
+                    request.getCheckInTime(), request.getCheckOutTime()));
+        }
         for (HotelRoomDto room : rooms) {
-            if (!isRoomAvailable(room.getRoom().getId(), request.getCheckInTime(), request.getCheckOutTime(),
-                    request.isLateCheckout())) {
+            if (unavailableRoomIds.contains(room.getRoom().getId())) {
                 throw new RuntimeException(
                         "Room " + room.getRoom().getRoomNumber() + " is not available for the selected dates.");
             }
         }
 
+        // Claim per-night room type inventory; fails the booking if any night is sold out
+        roomTypeInventoryService.reserve(rooms.stream()
+                .collect(Collectors.groupingBy(dto -> dto.getRoom().getRoomType().getId(),
+                        Collectors.summingInt(dto -> 1))),
+                request.getCheckInTime(), request.getCheckOutTime());
+
         Map<Long, List<HotelRoomDto>> roomsByHotelId = rooms.stream()
                 .collect(Collectors.groupingBy(
                         dto -> dto.getHotel().getId()));
 
         AtomicReference<Long> firstSavedId = new AtomicReference<>(0l);
         roomsByHotelId.forEach((hotelId, roomList) -> {
-            // Calculate total price based on NIGHTS (Dates)
-            BigDecimal totalPrice = BigDecimal.ZERO;
-            long nights = java.time.temporal.ChronoUnit.DAYS.between(
-                    request.getCheckInTime().toLocalDate(),
-                    request.getCheckOutTime().toLocalDate());
-
-            if (nights < 1)
-                nights = 1; // Minimum 1 night
-
-            for (HotelRoomDto room : roomList) {
-                BigDecimal pricePerNight;
-                String currency = request.getCurrency();
-                if ("KRW".equalsIgnoreCase(currency)) {
-                    pricePerNight = room.getRoom().getRoomType().getPriceKrw();
-                } else if ("PHP".equalsIgnoreCase(currency)) {
-                    pricePerNight = room.getRoom().getRoomType().getPricePhp();
-                } else {
-                    pricePerNight = room.getRoom().getRoomType().getPriceUsd(); // Default to USD
-                }
+            Reservation saved = reservationRepository.save(buildReservation(user, request, hotelId, roomList));
+            occupancyIndex.track(saved);
+            reservationEventStream.publishAfterCommit(ReservationEventStream.EventType.CREATED, saved);
+            firstSavedId.set(saved.getId());
+        });
 
-                if (pricePerNight == null) {
-                    pricePerNight = room.getRoom().getRoomType().getBasePrice();
-                }
+        return mapToReservationResponse(
+                reservationRepository.findById(firstSavedId.get())
+                        .orElseThrow());
+    }
+
+    /**
+     * Books many independent stays in one transaction. All room/date pairs
+     * are checked with one set-based query and the reservations are written
+     * in JDBC batches. A stay that conflicts, is held or is sold out is
+     * reported as failed without aborting the others.
+     */
+    @Transactional
+    public ReservationDto.BulkReservationResponse createReservations(ReservationDto.BulkReservationRequest request,
+            String username) {
+        List<ReservationDto.CreateReservationRequest> items = request.getReservations() != null
+                ? request.getReservations()
+                : List.of();
+        if (items.size() > MAX_BULK_ITEMS) {
+            throw new RuntimeException("A bulk request can contain at most " + MAX_BULK_ITEMS + " reservations.");
+        }
+        List<ReservationDto.BulkReservationResult> results = createReservations(items,
+                java.util.Collections.nCopies(items.size(), username));
+
+        int succeeded = (int) results.stream().filter(ReservationDto.BulkReservationResult::isSuccess).count();
+        return ReservationDto.BulkReservationResponse.builder()
+                .succeeded(succeeded)
+                .failed(items.size() - succeeded)
+                .results(results)
+                .build();
+    }
 
-                BigDecimal roomPrice = pricePerNight.multiply(BigDecimal.valueOf(nights));
-                totalPrice = totalPrice.add(roomPrice);
+    /**
+     * Books stays for possibly different guests in one transaction, the
+     * {@code i}-th stay for the {@code i}-th username. Used by bulk booking
+     * and by the {@link BookingSequencer} to apply a batch of queued
+     * bookings; failed stays are reported per position.
+     */
+    @Transactional
+    public List<ReservationDto.BulkReservationResult> createReservations(
+            List<ReservationDto.CreateReservationRequest> items, List<String> usernames) {
+        Map<String, User> users = new HashMap<>();
+        for (String username : new HashSet<>(usernames)) {
+            users.put(username, userRepository.findByUsername(username).orElseThrow());
+        }
+
+        ReservationDto.BulkReservationResult[] results = new ReservationDto.BulkReservationResult[items.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            String error = validateStay(items.get(i));
+            if (error != null)
+                results[i] = bulkFailure(i, error);
+            else
+                valid.add(i);
+        }
+
+        // Lock every room of the batch once, in id order, exactly like a single booking
+        Set<Long> allRoomIds = valid.stream()
+                .flatMap(i -> items.get(i).getRoomIds().stream())
+                .collect(Collectors.toCollection(TreeSet::new));
+        Map<Long, HotelRoomDto> roomsById = new HashMap<>();
+        if (!allRoomIds.isEmpty()) {
+            roomLockManager.lockUntilCompletion(allRoomIds);
+            roomRepository.lockAllById(allRoomIds);
+            roomRepository.findHotelRoomsAllById(new ArrayList<>(allRoomIds))
+                    .forEach(dto -> roomsById.put(dto.getRoom().getId(), dto));
+        }
+
+        List<ReservationDto.CreateReservationRequest> stays = valid.stream().map(items::get).toList();
+        Map<Integer, Set<Long>> conflicts = stays.isEmpty() ? Map.of()
+                : availabilityService.findUnavailableRoomIds(stays);
+
+        // Inventory nights for the whole batch are locked once, so items can be claimed one by one
+        if (!stays.isEmpty()) {
+            roomTypeInventoryService.lockNights(
+                    roomsById.values().stream().map(dto -> dto.getRoom().getRoomType().getId())
+                            .collect(Collectors.toSet()),
+                    stays.stream().map(ReservationDto.CreateReservationRequest::getCheckInTime)
+                            .min(LocalDateTime::compareTo).orElseThrow(),
+                    stays.stream().map(ReservationDto.CreateReservationRequest::getCheckOutTime)
+                            .max(LocalDateTime::compareTo).orElseThrow());
+        }
+
+        Map<Long, List<ReservationDto.CreateReservationRequest>> bookedInBatch = new HashMap<>();
+        Map<Integer, List<Reservation>> reservationsByItem = new HashMap<>();
+        List<Reservation> toInsert = new ArrayList<>();
+
+        for (int v = 0; v < stays.size(); v++) {
+            int index = valid.get(v);
+            ReservationDto.CreateReservationRequest item = stays.get(v);
+            User user = users.get(usernames.get(index));
+            List<Long> roomIds = item.getRoomIds().stream().distinct().toList();
+
+            Long missingRoomId = roomIds.stream().filter(id -> !roomsById.containsKey(id)).findFirst().orElse(null);
+            if (missingRoomId != null) {
+                results[index] = bulkFailure(index, "Room " + missingRoomId + " not found.");
+                continue;
             }
+            List<HotelRoomDto> rooms = roomIds.stream().map(roomsById::get).toList();
 
-            // Apply Discount Logic
-            List<com.hotel.entity.DiscountPolicy> policies = discountPolicyRepository.findByHotelId(hotelId);
-            BigDecimal discountAmount = BigDecimal.ZERO;
-            String appliedPolicyName = null;
-
-            com.hotel.entity.DiscountPolicy bestPolicy = null;
-            BigDecimal maxDiscount = BigDecimal.ZERO;
-
-            for (com.hotel.entity.DiscountPolicy policy : policies) {
-                if (paymentEligibleForDiscount(nights, policy.getMinDays())) {
-                    BigDecimal currentDiscount = BigDecimal.ZERO;
-                    if (policy.getType() == com.hotel.entity.DiscountPolicy.DiscountType.PERCENTAGE) {
-                        if (policy.getDiscountRate() != null) {
-                            currentDiscount = totalPrice.multiply(policy.getDiscountRate())
-                                    .divide(BigDecimal.valueOf(100));
-                        }
-                    } else if (policy.getType() == com.hotel.entity.DiscountPolicy.DiscountType.FIXED_AMOUNT) {
-                        if (policy.getDiscountAmount() != null) {
-                            currentDiscount = policy.getDiscountAmount().multiply(BigDecimal.valueOf(nights));
-                        }
-                    }
-
-                    if (currentDiscount.compareTo(maxDiscount) > 0) {
-                        maxDiscount = currentDiscount;
-                        bestPolicy = policy;
-                    }
-                }
+            Set<Long> unavailable = new HashSet<>(conflicts.getOrDefault(v, Set.of()));
+            if (item.getHoldId() == null) {
+                unavailable.addAll(roomHoldService.findHeldRoomIds(roomIds, item.getCheckInTime(),
+                        item.getCheckOutTime()));
+            }
+            roomIds.stream()
+                    .filter(id -> bookedInBatch.getOrDefault(id, List.of()).stream()
+                            .anyMatch(other -> other.getCheckInTime().isBefore(item.getCheckOutTime())
+                                    && other.getCheckOutTime().isAfter(item.getCheckInTime())))
+                    .forEach(unavailable::add);
+            if (!unavailable.isEmpty()) {
+                results[index] = bulkFailure(index, "Room " + rooms.stream()
+                        .filter(dto -> unavailable.contains(dto.getRoom().getId()))
+                        .map(dto -> dto.getRoom().getRoomNumber())
+                        .findFirst().orElseThrow() + " is not available for the selected dates.");
+                continue;
             }
 
-            if (bestPolicy != null) {
-                discountAmount = maxDiscount;
-                appliedPolicyName = bestPolicy.getName();
-                totalPrice = totalPrice.subtract(discountAmount);
-                if (totalPrice.compareTo(BigDecimal.ZERO) < 0) {
-                    totalPrice = BigDecimal.ZERO;
+            Map<Long, Integer> roomsByType = rooms.stream()
+                    .collect(Collectors.groupingBy(dto -> dto.getRoom().getRoomType().getId(),
+                            Collectors.summingInt(dto -> 1)));
+            if (!roomTypeInventoryService.tryReserve(roomsByType, item.getCheckInTime(), item.getCheckOutTime())) {
+                results[index] = bulkFailure(index, "Room type is sold out for the selected dates.");
+                continue;
+            }
+            if (item.getHoldId() != null) {
+                try {
+                    roomHoldService.convert(item.getHoldId(), user.getUsername(), roomIds, item.getCheckInTime(),
+                            item.getCheckOutTime());
+                    waitlistService.markBooked(item.getHoldId());
+                } catch (RuntimeException e) {
+                    roomTypeInventoryService.release(roomsByType, item.getCheckInTime(), item.getCheckOutTime());
+                    results[index] = bulkFailure(index, e.getMessage());
+                    continue;
                 }
             }
 
-            Reservation reservation = Reservation.builder()
-                    .user(user)
-                    .checkInTime(request.getCheckInTime())
-                    .checkOutTime(request.getCheckOutTime())
-                    .isLateCheckout(request.isLateCheckout())
-                    .status(Reservation.ReservationStatus.PENDING)
-                    .totalPrice(totalPrice)
-                    .currency(request.getCurrency() != null ? request.getCurrency() : "USD")
-                    .discountPrice(discountAmount)
-                    .discountPolicyName(appliedPolicyName)
-                    .rooms(roomList.stream().map(HotelRoomDto::getRoom).toList())
-                    .build();
-
-            Reservation saved = reservationRepository.save(reservation);
-            firstSavedId.set(saved.getId());
-        });
+            roomIds.forEach(id -> bookedInBatch.computeIfAbsent(id, k -> new ArrayList<>()).add(item));
+            List<Reservation> reservations = new ArrayList<>();
+            rooms.stream()
+                    .collect(Collectors.groupingBy(dto -> dto.getHotel().getId()))
+                    .forEach((hotelId, roomList) -> reservations.add(buildReservation(user, item, hotelId, roomList)));
+            reservationsByItem.put(index, reservations);
+            toInsert.addAll(reservations);
+        }
 
-        return mapToReservationResponse(
-                reservationRepository.findById(firstSavedId.get())
-                        .orElseThrow());
+        reservationJdbcRepository.insertAll(toInsert);
+        toInsert.forEach(occupancyIndex::track);
+        toInsert.forEach(reservation -> reservationEventStream.publishAfterCommit(
+                ReservationEventStream.EventType.CREATED, reservation));
+
+        reservationsByItem.forEach((index, reservations) -> results[index] = ReservationDto.BulkReservationResult
+                .builder()
+                .index(index)
+                .success(true)
+                .reservationIds(reservations.stream().map(Reservation::getId).toList())
+                .totalPrice(reservations.stream().map(Reservation::getTotalPrice)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add))
+                .build());
+        return List.of(results);
+    }
+
+    @Transactional(readOnly = true)
+    public ReservationDto.ReservationResponse getReservation(Long reservationId) {
+        return mapToReservationResponse(reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new RuntimeException("Reservation not found")));
     }
 
     @Transactional(readOnly = true)
@@ -179,18 +399,72 @@ public class ReservationService {
                 .collect(Collectors.toList());
     }
 
-    private boolean isRoomAvailable(Long roomId, java.time.LocalDateTime checkIn, java.time.LocalDateTime checkOut,
-            boolean isLateCheckout) {
-        // 1. Check strict overlap with LocalDateTime
-        List<Reservation> conflicts = reservationRepository.findConflictingReservations(roomId, checkIn, checkOut);
-        if (!conflicts.isEmpty())
-            return false;
-        return true;
+    /** The guest's reservations, latest check-in first. */
+    @Transactional(readOnly = true)
+    public ReservationDto.ReservationPage getMyReservations(String username, String cursor, Integer size) {
+        User user = userRepository.findByUsername(username).orElseThrow();
+        ReservationCursor after = ReservationCursor.decode(cursor);
+        int pageSize = pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Long> ids = after == null
+                ? reservationRepository.findPageIdsByUserId(user.getId(), limit)
+                : reservationRepository.findPageIdsByUserIdBefore(user.getId(), after.checkInTime(), after.id(),
+                        limit);
+        return toPage(ids, pageSize);
+    }
+
+    @Transactional
+    public ReservationDto.ReservationResponse confirm(Long reservationId, String username) {
+        Reservation reservation = reservationRepository.findByIdForUpdate(reservationId)
+                .orElseThrow(() -> new RuntimeException("Reservation not found"));
+
+        validateReservationAccess(reservation, username);
+
+        if (reservation.getStatus() != Reservation.ReservationStatus.PENDING) {
+            throw new RuntimeException("Only pending reservations can be confirmed");
+        }
+
+        reservation.setStatus(Reservation.ReservationStatus.CONFIRMED);
+        Reservation saved = reservationRepository.save(reservation);
+        reservationEventStream.publishAfterCommit(ReservationEventStream.EventType.CONFIRMED, saved);
+        return mapToReservationResponse(saved);
+    }
+
+    /**
+     * Cancels a pending or confirmed reservation on behalf of its guest or
+     * the hotel, frees its inventory and, after commit, offers the freed
+     * rooms to the waitlist.
+     */
+    @Transactional
+    public ReservationDto.ReservationResponse cancel(Long reservationId, String username) {
+        Reservation reservation = reservationRepository.findByIdForUpdate(reservationId)
+                .orElseThrow(() -> new RuntimeException("Reservation not found"));
+
+        if (!reservation.getUser().getUsername().equals(username)) {
+            validateReservationAccess(reservation, username);
+        }
+
+        if (reservation.getStatus() != Reservation.ReservationStatus.PENDING &&
+                reservation.getStatus() != Reservation.ReservationStatus.CONFIRMED) {
+            throw new RuntimeException("Only pending or confirmed reservations can be cancelled");
+        }
+
+        reservation.setStatus(Reservation.ReservationStatus.CANCELLED);
+        Map<Long, Integer> roomsByType = new HashMap<>();
+        reservation.getRooms().forEach(room -> roomsByType.merge(room.getRoomType().getId(), 1, Integer::sum));
+        roomTypeInventoryService.release(roomsByType, reservation.getCheckInTime(), reservation.getCheckOutTime());
+
+        Reservation saved = reservationRepository.save(reservation);
+        occupancyIndex.track(saved);
+        roomsByType.keySet().forEach(roomTypeId -> waitlistService.matchAfterCommit(roomTypeId,
+                saved.getCheckInTime(), saved.getCheckOutTime()));
+        reservationEventStream.publishAfterCommit(ReservationEventStream.EventType.CANCELLED, saved);
+        return mapToReservationResponse(saved);
     }
 
     @Transactional
     public ReservationDto.ReservationResponse checkIn(Long reservationId, String username) {
-        Reservation reservation = reservationRepository.findById(reservationId)
+        Reservation reservation = reservationRepository.findByIdForUpdate(reservationId)
                 .orElseThrow(() -> new RuntimeException("Reservation not found"));
 
         validateReservationAccess(reservation, username);
@@ -201,14 +475,18 @@ public class ReservationService {
         }
 
         reservation.setStatus(Reservation.ReservationStatus.CHECKED_IN);
-        reservation.setActualCheckInTime(java.time.LocalDateTime.now());
+        reservation.setActualCheckInTime(LocalDateTime.now());
 
-        return mapToReservationResponse(reservationRepository.save(reservation));
+        Reservation saved = reservationRepository.save(reservation);
+        occupancyIndex.track(saved);
+        reservationEventStream.publishAfterCommit(ReservationEventStream.EventType.CHECKED_IN, saved);
+        return mapToReservationResponse(saved);
     }
 
     @Transactional
     public ReservationDto.ReservationResponse checkOut(Long reservationId, String username) {
-        Reservation reservation = reservationRepository.findById(reservationId)
+        // Locked so two concurrent check-outs cannot both roll the stay into the settlement
+        Reservation reservation = reservationRepository.findByIdForUpdate(reservationId)
                 .orElseThrow(() -> new RuntimeException("Reservation not found"));
 
         validateReservationAccess(reservation, username);
@@ -218,9 +496,13 @@ public class ReservationService {
         }
 
         reservation.setStatus(Reservation.ReservationStatus.CHECKED_OUT);
-        reservation.setActualCheckOutTime(java.time.LocalDateTime.now());
+        reservation.setActualCheckOutTime(LocalDateTime.now());
 
-        return mapToReservationResponse(reservationRepository.save(reservation));
+        Reservation saved = reservationRepository.save(reservation);
+        occupancyIndex.track(saved);
+        settlementRollupService.recordCheckOut(saved);
+        reservationEventStream.publishAfterCommit(ReservationEventStream.EventType.CHECKED_OUT, saved);
+        return mapToReservationResponse(saved);
     }
 
     @Transactional(readOnly = true)
@@ -229,8 +511,8 @@ public class ReservationService {
         validateHotelAccess(hotelId, username);
 
         // Start of day to End of day
-        java.time.LocalDateTime start = startDate.atStartOfDay();
-        java.time.LocalDateTime end = endDate.atTime(23, 59, 59);
+        LocalDateTime start = startDate.atStartOfDay();
+        LocalDateTime end = endDate.atTime(23, 59, 59);
 
         List<Reservation> reservations = reservationRepository.findSettlementReservations(hotelId, start, end);
         return reservations.stream()
@@ -238,6 +520,63 @@ public class ReservationService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Settlement sums by currency, discount policy and day, computed by the
+     * database in one query; the response size depends on the number of
+     * days and policies, not of reservations.
+     */
+    @Transactional(readOnly = true)
+    public ReservationDto.SettlementSummary getSettlementSummary(Long hotelId, LocalDate startDate,
+            LocalDate endDate, String username) {
+        validateHotelAccess(hotelId, username);
+
+        List<ReservationDto.SettlementTotal> byCurrency = new ArrayList<>();
+        List<ReservationDto.SettlementPolicyTotal> byDiscountPolicy = new ArrayList<>();
+        List<ReservationDto.SettlementTotal> byDay = new ArrayList<>();
+        for (ReservationJdbcRepository.SettlementGroup group : reservationJdbcRepository.summarizeSettlement(hotelId,
+                startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay())) {
+            switch (group.grouping()) {
+                case POLICY -> byDiscountPolicy.add(ReservationDto.SettlementPolicyTotal.builder()
+                        .currency(group.currency())
+                        .discountPolicyName(group.discountPolicyName())
+                        .gross(group.gross())
+                        .discount(group.discount())
+                        .count(group.count())
+                        .build());
+                case DAY -> byDay.add(toSettlementTotal(group));
+                case CURRENCY -> byCurrency.add(toSettlementTotal(group));
+            }
+        }
+        return ReservationDto.SettlementSummary.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .byCurrency(byCurrency)
+                .byDiscountPolicy(byDiscountPolicy)
+                .byDay(byDay)
+                .build();
+    }
+
+    private static ReservationDto.SettlementTotal toSettlementTotal(ReservationJdbcRepository.SettlementGroup group) {
+        return ReservationDto.SettlementTotal.builder()
+                .date(group.date())
+                .currency(group.currency())
+                .gross(group.gross())
+                .discount(group.discount())
+                .count(group.count())
+                .build();
+    }
+
+    /**
+     * Settlement totals per day and currency from the {@code settlement_daily}
+     * rollup; {@link #getSettlement} still lists the reservations themselves.
+     */
+    @Transactional(readOnly = true)
+    public ReservationDto.SettlementTotals getSettlementTotals(Long hotelId, LocalDate startDate,
+            LocalDate endDate, String username) {
+        validateHotelAccess(hotelId, username);
+        return settlementRollupService.getTotals(hotelId, startDate, endDate);
+    }
+
     @Transactional(readOnly = true)
     public List<ReservationDto.ReservationResponse> getManagerReservations(Long hotelId, LocalDate date,
             String username) {
@@ -246,16 +585,22 @@ public class ReservationService {
         if (date == null)
             date = LocalDate.now();
 
-        // Query for the whole day
-        java.time.LocalDateTime start = date.atStartOfDay();
-        java.time.LocalDateTime end = date.atTime(23, 59, 59);
+        // Arriving, in-house or departing: every stay overlapping the day
+        LocalDateTime start = date.atStartOfDay();
+        LocalDateTime end = date.plusDays(1).atStartOfDay();
 
-        List<Reservation> reservations = reservationRepository.findManagerReservations(hotelId, start, end);
-        return reservations.stream()
+        return findInOrder(reservationRepository.findManagerDayIds(hotelId, start, end)).stream()
                 .map(this::mapToReservationResponse)
                 .collect(Collectors.toList());
     }
 
+    /** Opens a live stream of the hotel's reservation changes for the manager screen. */
+    @Transactional(readOnly = true)
+    public SseEmitter subscribeManagerEvents(Long hotelId, String username) {
+        validateHotelAccess(hotelId, username);
+        return reservationEventStream.subscribe(hotelId);
+    }
+
     private void validateReservationAccess(Reservation reservation, String username) {
         // Assume all rooms in reservation belong to same hotel (simplification)
         // Or check all.
@@ -266,7 +611,7 @@ public class ReservationService {
         validateHotelAccess(hotelId, username);
     }
 
-    private void validateHotelAccess(Long hotelId, String username) {
+    void validateHotelAccess(Long hotelId, String username) {
         User user = userRepository.findByUsername(username).orElseThrow();
         if (user.getRole() == User.Role.ADMIN)
             return;
@@ -277,6 +622,66 @@ public class ReservationService {
         }
     }
 
+    /** Page of {@link #getManagerReservations(Long, LocalDate, String)}, in check-in order. */
+    @Transactional(readOnly = true)
+    public ReservationDto.ReservationPage getManagerReservations(Long hotelId, LocalDate date, String username,
+            String cursor, Integer size) {
+        validateHotelAccess(hotelId, username);
+
+        if (date == null)
+            date = LocalDate.now();
+        LocalDateTime start = date.atStartOfDay();
+        LocalDateTime end = date.plusDays(1).atStartOfDay();
+
+        ReservationCursor after = ReservationCursor.decode(cursor);
+        int pageSize = pageSize(size);
+        List<Long> ids = after == null
+                ? reservationRepository.findManagerDayPageIds(hotelId, start, end, pageSize + 1)
+                : reservationRepository.findManagerDayPageIdsAfter(hotelId, start, end, after.checkInTime(),
+                        after.id(), pageSize + 1);
+        return toPage(ids, pageSize);
+    }
+
+    private static int pageSize(Integer size) {
+        if (size == null)
+            return DEFAULT_PAGE_SIZE;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new RuntimeException("Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        return size;
+    }
+
+    /**
+     * Loads the reservations of a page of ids in one query and keeps the
+     * order of the ids. One id beyond {@code size} means there is a next page.
+     */
+    private ReservationDto.ReservationPage toPage(List<Long> ids, int size) {
+        List<Long> pageIds = ids.size() > size ? ids.subList(0, size) : ids;
+        List<ReservationDto.ReservationResponse> content = findInOrder(pageIds).stream()
+                .map(this::mapToReservationResponse)
+                .toList();
+
+        String nextCursor = null;
+        if (ids.size() > size) {
+            ReservationDto.ReservationResponse last = content.get(content.size() - 1);
+            nextCursor = new ReservationCursor(last.getCheckInTime(), last.getId()).encode();
+        }
+        return ReservationDto.ReservationPage.builder()
+                .content(content)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /** Loads the reservations with their guest and rooms in one query, in the order of {@code ids}. */
+    private List<Reservation> findInOrder(List<Long> ids) {
+        if (ids.isEmpty())
+            return List.of();
+        Map<Long, Reservation> byId = new HashMap<>();
+        for (Reservation reservation : reservationRepository.findWithGuestAndRoomsByIdIn(ids))
+            byId.put(reservation.getId(), reservation);
+        return ids.stream().map(byId::get).toList();
+    }
+
     private ReservationDto.ReservationResponse mapToReservationResponse(Reservation reservation) {
         return ReservationDto.ReservationResponse.builder()
                 .id(reservation.getId())
@@ -314,9 +719,48 @@ public class ReservationService {
                 .build();
     }
 
-    private boolean paymentEligibleForDiscount(long nights, Integer minDays) {
-        if (minDays == null)
-            return true;
-        return nights >= minDays;
+    private String validateStay(ReservationDto.CreateReservationRequest item) {
+        if (item == null || item.getRoomIds() == null || item.getRoomIds().isEmpty())
+            return "At least one room is required.";
+        if (item.getCheckInTime() == null || item.getCheckOutTime() == null)
+            return "Check-in and check-out times are required.";
+        if (!item.getCheckOutTime().isAfter(item.getCheckInTime()))
+            return "Check-out time must be after check-in time.";
+        return null;
+    }
+
+    private ReservationDto.BulkReservationResult bulkFailure(int index, String error) {
+        return ReservationDto.BulkReservationResult.builder()
+                .index(index)
+                .success(false)
+                .error(error)
+                .build();
+    }
+
+    /**
+     * Prices the rooms of one hotel for the stay and applies the hotel's best
+     * discount policy. The reservation is not saved.
+     */
+    private Reservation buildReservation(User user, ReservationDto.CreateReservationRequest request, Long hotelId,
+            List<HotelRoomDto> roomList) {
+        List<Room> rooms = roomList.stream().map(HotelRoomDto::getRoom)
+                .collect(Collectors.toCollection(ArrayList::new));
+        PriceQuote quote = pricingEngine.quote(request.getCurrency(), request.getCheckInTime(),
+                request.getCheckOutTime(), rooms,
+                discountPolicyCache.get(hotelId),
+                rateCalendarCache.getAll(rooms.stream().map(room -> room.getRoomType().getId()).toList()));
+
+        return Reservation.builder()
+                .user(user)
+                .checkInTime(request.getCheckInTime())
+                .checkOutTime(request.getCheckOutTime())
+                .isLateCheckout(request.isLateCheckout())
+                .status(Reservation.ReservationStatus.PENDING)
+                .totalPrice(quote.totalAmount())
+                .currency(quote.currency().code())
+                .discountPrice(quote.discountAmount())
+                .discountPolicyName(quote.discountPolicyName())
+                .rooms(rooms)
+                .build();
     }
 }
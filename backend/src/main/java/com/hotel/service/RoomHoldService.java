@@ -0,0 +1,330 @@
+package com.hotel.service;
+
+import com.hotel.dto.ReservationDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Short-lived holds on specific rooms while a guest completes checkout.
+ * <p>
+ * Holds live in memory only: a concurrent map by id, a per-room view for
+ * overlap checks and a hashed timer wheel that drops them once their TTL has
+ * passed. A hold is taken under the same in-process room locks as a booking
+ * and keeps other holds on this node off its rooms. Other nodes never see
+ * it, so converting it into a reservation still runs the database conflict
+ * check under the row locks.
+ */
+@Slf4j
+@Service
+public class RoomHoldService {
+
+    private static final int WHEEL_SLOTS = 512;
+
+    private final AvailabilityService availabilityService;
+    private final RoomLockManager roomLockManager;
+    private final Clock clock;
+    private final long ttlMillis;
+
+    private final ConcurrentHashMap<String, Hold> holds = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<Hold>> holdsByRoom = new ConcurrentHashMap<>();
+    private final ExpiryWheel wheel;
+
+    private final Counter createdCounter;
+    private final Counter convertedCounter;
+    private final Counter releasedCounter;
+    private final Counter expiredCounter;
+
+    @Autowired
+    public RoomHoldService(AvailabilityService availabilityService,
+            RoomLockManager roomLockManager,
+            MeterRegistry meterRegistry,
+            @Value("${hotel.hold.ttl-minutes:10}") long ttlMinutes,
+            @Value("${hotel.hold.tick-ms:1000}") long tickMillis) {
+        this(availabilityService, roomLockManager, meterRegistry, ttlMinutes, tickMillis, Clock.systemDefaultZone());
+    }
+
+    RoomHoldService(AvailabilityService availabilityService,
+            RoomLockManager roomLockManager,
+            MeterRegistry meterRegistry,
+            long ttlMinutes,
+            long tickMillis,
+            Clock clock) {
+        this.availabilityService = availabilityService;
+        this.roomLockManager = roomLockManager;
+        this.clock = clock;
+        this.ttlMillis = ttlMinutes * 60_000;
+        this.wheel = new ExpiryWheel(tickMillis, WHEEL_SLOTS, clock.millis());
+
+        Gauge.builder("hotel.room.holds.active", holds, Map::size)
+                .description("Room holds that have not expired, been converted or released")
+                .register(meterRegistry);
+        this.createdCounter = holdCounter(meterRegistry, "hotel.room.holds.created", "Room holds taken");
+        this.convertedCounter = holdCounter(meterRegistry, "hotel.room.holds.converted",
+                "Room holds converted into reservations");
+        this.releasedCounter = holdCounter(meterRegistry, "hotel.room.holds.released",
+                "Room holds released by the guest");
+        this.expiredCounter = holdCounter(meterRegistry, "hotel.room.holds.expired",
+                "Room holds dropped after their TTL");
+    }
+
+    private static Counter holdCounter(MeterRegistry meterRegistry, String name, String description) {
+        return Counter.builder(name).description(description).register(meterRegistry);
+    }
+
+    /**
+     * Holds {@code roomIds} for the stay if neither a reservation nor another
+     * hold overlaps it. A guest's own holds count too: converting two
+     * overlapping holds would double book.
+     */
+    @Transactional(readOnly = true)
+    public ReservationDto.HoldResponse hold(ReservationDto.CreateHoldRequest request, String username) {
+        if (request.getRoomIds() == null || request.getRoomIds().isEmpty()) {
+            throw new RuntimeException("At least one room is required.");
+        }
+        if (request.getCheckInTime() == null || request.getCheckOutTime() == null
+                || !request.getCheckOutTime().isAfter(request.getCheckInTime())) {
+            throw new RuntimeException("Check-out time must be after check-in time.");
+        }
+
+        // Same locks as a booking, so no reservation or hold can slip in between the checks and the insert
+        roomLockManager.lockUntilCompletion(request.getRoomIds());
+
+        Set<Long> unavailable = new HashSet<>(availabilityService.findUnavailableRoomIds(request.getRoomIds(),
+                request.getCheckInTime(), request.getCheckOutTime()));
+        unavailable.addAll(findHeldRoomIds(request.getRoomIds(), request.getCheckInTime(),
+                request.getCheckOutTime()));
+        if (!unavailable.isEmpty()) {
+            throw new RuntimeException("Rooms " + unavailable + " are not available for the selected dates.");
+        }
+
+        long expiresAt = clock.millis() + ttlMillis;
+        Hold hold = new Hold(UUID.randomUUID().toString(), username, Set.copyOf(request.getRoomIds()),
+                request.getCheckInTime(), request.getCheckOutTime(), expiresAt);
+        holds.put(hold.id, hold);
+        for (Long roomId : hold.roomIds) {
+            // Add inside the map operation: an expiry emptying the same set may otherwise drop it from the map
+            holdsByRoom.compute(roomId, (id, roomHolds) -> {
+                Set<Hold> updated = roomHolds == null ? ConcurrentHashMap.newKeySet() : roomHolds;
+                updated.add(hold);
+                return updated;
+            });
+        }
+        wheel.schedule(hold);
+        createdCounter.increment();
+
+        return toResponse(hold);
+    }
+
+    /**
+     * Validates that {@code holdId} belongs to {@code username} and covers
+     * exactly the requested rooms and stay. The hold is dropped once the
+     * surrounding transaction commits; on rollback it stays until its TTL.
+     * Callers must hold the room locks and check the rooms against
+     * reservations themselves.
+     */
+    public void convert(String holdId, String username, Collection<Long> roomIds, LocalDateTime checkIn,
+            LocalDateTime checkOut) {
+        Hold hold = holds.get(holdId);
+        if (hold == null || hold.isExpired(clock.millis())) {
+            throw new RuntimeException("Hold not found or expired.");
+        }
+        if (!hold.username.equals(username)) {
+            throw new RuntimeException("Hold belongs to another user.");
+        }
+        if (!hold.roomIds.equals(Set.copyOf(roomIds)) || !hold.checkIn.equals(checkIn)
+                || !hold.checkOut.equals(checkOut)) {
+            throw new RuntimeException("Reservation does not match the held rooms and dates.");
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (remove(hold))
+                    convertedCounter.increment();
+            }
+        });
+    }
+
+    public void release(String holdId, String username) {
+        Hold hold = holds.get(holdId);
+        if (hold == null) {
+            throw new RuntimeException("Hold not found or expired.");
+        }
+        if (!hold.username.equals(username)) {
+            throw new RuntimeException("Hold belongs to another user.");
+        }
+        if (remove(hold))
+            releasedCounter.increment();
+    }
+
+    /**
+     * Whether {@code holdId} is still open: not expired, converted, released
+     * or lost with a restart.
+     */
+    public boolean isActive(String holdId) {
+        Hold hold = holds.get(holdId);
+        return hold != null && !hold.isExpired(clock.millis());
+    }
+
+    /**
+     * Returns the subset of {@code roomIds} with an unexpired hold for a stay
+     * overlapping {@code [checkIn, checkOut)}.
+     */
+    public Set<Long> findHeldRoomIds(Collection<Long> roomIds, LocalDateTime checkIn, LocalDateTime checkOut) {
+        if (holdsByRoom.isEmpty())
+            return Set.of();
+        long now = clock.millis();
+        return roomIds.stream()
+                .filter(roomId -> holdsByRoom.getOrDefault(roomId, Set.of()).stream()
+                        .anyMatch(hold -> !hold.isExpired(now)
+                                && hold.checkIn.isBefore(checkOut)
+                                && hold.checkOut.isAfter(checkIn)))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Returns every room with an unexpired hold for a stay overlapping
+     * {@code [checkIn, checkOut)}.
+     */
+    public Set<Long> findHeldRoomIds(LocalDateTime checkIn, LocalDateTime checkOut) {
+        return findHeldRoomIds(holdsByRoom.keySet(), checkIn, checkOut);
+    }
+
+    /**
+     * Advances the timer wheel and frees every hold whose TTL has passed.
+     *
+     * @return number of holds expired by this tick
+     */
+    @Scheduled(fixedDelayString = "${hotel.hold.tick-ms:1000}")
+    public int expireHolds() {
+        int expired = 0;
+        for (Hold hold : wheel.advance(clock.millis())) {
+            if (remove(hold)) {
+                expiredCounter.increment();
+                expired++;
+            }
+        }
+        if (expired > 0) {
+            log.debug("Expired {} room holds", expired);
+        }
+        return expired;
+    }
+
+    private boolean remove(Hold hold) {
+        if (!holds.remove(hold.id, hold))
+            return false;
+        for (Long roomId : hold.roomIds) {
+            holdsByRoom.computeIfPresent(roomId, (id, roomHolds) -> {
+                roomHolds.remove(hold);
+                return roomHolds.isEmpty() ? null : roomHolds;
+            });
+        }
+        return true;
+    }
+
+    private ReservationDto.HoldResponse toResponse(Hold hold) {
+        return ReservationDto.HoldResponse.builder()
+                .holdId(hold.id)
+                .roomIds(new ArrayList<>(hold.roomIds))
+                .checkInTime(hold.checkIn)
+                .checkOutTime(hold.checkOut)
+                .expiresAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(hold.expiresAt), clock.getZone()))
+                .build();
+    }
+
+    private static final class Hold {
+        final String id;
+        final String username;
+        final Set<Long> roomIds;
+        final LocalDateTime checkIn;
+        final LocalDateTime checkOut;
+        final long expiresAt;
+
+        Hold(String id, String username, Set<Long> roomIds, LocalDateTime checkIn, LocalDateTime checkOut,
+                long expiresAt) {
+            this.id = id;
+            this.username = username;
+            this.roomIds = roomIds;
+            this.checkIn = checkIn;
+            this.checkOut = checkOut;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+
+    /**
+     * Hashed timer wheel: a hold sits in the slot of the tick it expires on,
+     * so each tick only looks at one slot. Holds further out than one turn of
+     * the wheel share a slot with nearer ones and are skipped until due.
+     */
+    static final class ExpiryWheel {
+        private final long tickMillis;
+        private final List<ConcurrentLinkedQueue<Hold>> slots;
+        private long currentTick;
+
+        ExpiryWheel(long tickMillis, int slotCount, long nowMillis) {
+            this.tickMillis = tickMillis;
+            this.slots = new ArrayList<>(slotCount);
+            for (int i = 0; i < slotCount; i++)
+                slots.add(new ConcurrentLinkedQueue<>());
+            this.currentTick = nowMillis / tickMillis;
+        }
+
+        void schedule(Hold hold) {
+            long tick = (hold.expiresAt + tickMillis - 1) / tickMillis;
+            slots.get(slotOf(tick)).add(hold);
+        }
+
+        synchronized List<Hold> advance(long nowMillis) {
+            long targetTick = nowMillis / tickMillis;
+            // After a long pause one full turn visits every slot
+            long fromTick = Math.max(currentTick, targetTick - slots.size() + 1);
+            List<Hold> due = new ArrayList<>();
+            for (long tick = fromTick; tick <= targetTick; tick++) {
+                ConcurrentLinkedQueue<Hold> slot = slots.get(slotOf(tick));
+                int pending = slot.size();
+                for (int i = 0; i < pending; i++) {
+                    Hold hold = slot.poll();
+                    if (hold == null)
+                        break;
+                    if (hold.isExpired(nowMillis))
+                        due.add(hold);
+                    else
+                        slot.add(hold);
+                }
+            }
+            currentTick = targetTick + 1;
+            return due;
+        }
+
+        private int slotOf(long tick) {
+            return (int) Math.floorMod(tick, (long) slots.size());
+        }
+    }
+}
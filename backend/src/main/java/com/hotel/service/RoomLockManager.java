@@ -0,0 +1,84 @@
+package com.hotel.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped in-process locks keyed by room id. Bookings for the same rooms on
+ * this node queue here rather than on database row locks, which takes the
+ * lock contention out of PostgreSQL; the {@code SELECT ... FOR UPDATE} that
+ * follows keeps the guarantee across nodes. The stripes are taken inside the
+ * booking's transaction, so a waiting booking still holds its pooled
+ * connection.
+ * <p>
+ * Locks are held until the surrounding transaction completes, so the next
+ * booking for a room always sees the previous one committed.
+ */
+@Component
+public class RoomLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+
+    public RoomLockManager(@Value("${hotel.booking.lock-stripes:1024}") int stripeCount,
+            @Value("${hotel.booking.lock-timeout-ms:5000}") long timeoutMillis) {
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++)
+            stripes[i] = new ReentrantLock();
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Locks the stripes of {@code roomIds} in ascending order and releases them
+     * after the current transaction commits or rolls back.
+     */
+    public void lockUntilCompletion(Collection<Long> roomIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Room locks require an active transaction");
+        }
+
+        int[] indexes = roomIds.stream()
+                .mapToInt(this::stripeOf)
+                .distinct()
+                .sorted()
+                .toArray();
+
+        int acquired = 0;
+        try {
+            for (int index : indexes) {
+                if (!stripes[index].tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw new RuntimeException("Rooms are busy, please try again.");
+                }
+                acquired++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for room locks");
+        } finally {
+            if (acquired < indexes.length)
+                unlock(indexes, acquired);
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                unlock(indexes, indexes.length);
+            }
+        });
+    }
+
+    private void unlock(int[] indexes, int count) {
+        for (int i = count - 1; i >= 0; i--)
+            stripes[indexes[i]].unlock();
+    }
+
+    private int stripeOf(Long roomId) {
+        return Math.floorMod(Long.hashCode(roomId), stripes.length);
+    }
+}
@@ -0,0 +1,72 @@
+package com.hotel.service;
+
+import com.hotel.entity.Hotel;
+import com.hotel.entity.Room;
+import com.hotel.entity.RoomType;
+import com.hotel.repository.RoomRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Detached room and room type snapshots for pricing quotes, so a warm quote
+ * reads nothing from the database. Misses are loaded in one query.
+ * <p>
+ * {@link HotelService} clears the cache once the transaction that changed a
+ * room or room type completes, and the cache is bypassed inside that
+ * transaction. Entries also expire after {@code ttl-minutes} for changes made on
+ * other nodes. Bookings keep pricing the locked entities, not these
+ * snapshots.
+ */
+@Component
+public class RoomPriceCache {
+
+    private final RoomRepository roomRepository;
+    private final TransactionAwareCache<Long, Room> cache;
+
+    public RoomPriceCache(RoomRepository roomRepository,
+            MeterRegistry meterRegistry,
+            @Value("${hotel.quote.room-cache-ttl-minutes:10}") long ttlMinutes) {
+        this.roomRepository = roomRepository;
+        this.cache = new TransactionAwareCache<>(meterRegistry, "hotel.room.price.cache", ttlMinutes);
+    }
+
+    /**
+     * @return snapshots of the rooms that exist, keyed by id
+     */
+    public Map<Long, Room> getAll(Collection<Long> roomIds) {
+        return cache.getAll(roomIds, this::load);
+    }
+
+    /** Clears the cache once the current transaction completes, or right away. */
+    public void invalidateAfterCompletion() {
+        cache.invalidateAllAfterCompletion();
+    }
+
+    private Map<Long, Room> load(List<Long> roomIds) {
+        Map<Long, Room> rooms = new HashMap<>();
+        for (RoomRepository.RoomPriceRow row : roomRepository.findRoomPrices(roomIds))
+            rooms.put(row.getRoomId(), snapshot(row));
+        return rooms;
+    }
+
+    private static Room snapshot(RoomRepository.RoomPriceRow row) {
+        return Room.builder()
+                .id(row.getRoomId())
+                .roomNumber(row.getRoomNumber())
+                .roomType(RoomType.builder()
+                        .id(row.getRoomTypeId())
+                        .hotel(Hotel.builder().id(row.getHotelId()).build())
+                        .basePrice(row.getBasePrice())
+                        .priceKrw(row.getPriceKrw())
+                        .priceUsd(row.getPriceUsd())
+                        .pricePhp(row.getPricePhp())
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,135 @@
+package com.hotel.service;
+
+import com.hotel.repository.RoomTypeInventoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Keeps the per-night {@code room_type_inventory} counters in step with
+ * bookings. Every change is a single guarded row update inside the caller's
+ * transaction, so a sold-out night fails the booking instead of overbooking.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RoomTypeInventoryService {
+
+    private final RoomTypeInventoryRepository inventoryRepository;
+
+    /**
+     * Books rooms per room type for the nights of the stay.
+     *
+     * @param roomsByType number of rooms booked, keyed by room type id
+     */
+    @Transactional
+    public void reserve(Map<Long, Integer> roomsByType, LocalDateTime checkIn, LocalDateTime checkOut) {
+        LocalDate from = firstNight(checkIn);
+        LocalDate to = endOfStay(checkIn, checkOut);
+        int nights = (int) ChronoUnit.DAYS.between(from, to);
+
+        // Fixed order so concurrent multi-type bookings lock rows in the same sequence
+        new TreeMap<>(roomsByType).forEach((roomTypeId, count) -> {
+            inventoryRepository.insertMissingNights(roomTypeId, from, to);
+            int updated = inventoryRepository.reserve(roomTypeId, from, to, count);
+            if (updated != nights) {
+                throw new RuntimeException("Room type " + roomTypeId + " is sold out for the selected dates.");
+            }
+        });
+    }
+
+    /**
+     * Row-locks every night of {@code roomTypeIds} between check-in and
+     * check-out, creating missing nights first. A batch takes these locks once
+     * up front, in a fixed order, and then claims capacity item by item with
+     * {@link #tryReserve}.
+     */
+    @Transactional
+    public void lockNights(Collection<Long> roomTypeIds, LocalDateTime checkIn, LocalDateTime checkOut) {
+        if (roomTypeIds.isEmpty())
+            return;
+        LocalDate from = firstNight(checkIn);
+        LocalDate to = endOfStay(checkIn, checkOut);
+        new TreeSet<>(roomTypeIds).forEach(roomTypeId -> inventoryRepository.insertMissingNights(roomTypeId, from, to));
+        inventoryRepository.lockNights(roomTypeIds, from, to);
+    }
+
+    /**
+     * Like {@link #reserve}, but returns {@code false} and leaves the counters
+     * untouched when any night is sold out, so the caller's transaction stays
+     * usable. The nights must already be locked by {@link #lockNights}.
+     */
+    @Transactional
+    public boolean tryReserve(Map<Long, Integer> roomsByType, LocalDateTime checkIn, LocalDateTime checkOut) {
+        LocalDate from = firstNight(checkIn);
+        LocalDate to = endOfStay(checkIn, checkOut);
+        long nights = ChronoUnit.DAYS.between(from, to);
+
+        Map<Long, Integer> sorted = new TreeMap<>(roomsByType);
+        for (Map.Entry<Long, Integer> type : sorted.entrySet()) {
+            if (inventoryRepository.countNightsWithCapacity(type.getKey(), from, to, type.getValue()) != nights)
+                return false;
+        }
+        sorted.forEach((roomTypeId, count) -> inventoryRepository.reserve(roomTypeId, from, to, count));
+        return true;
+    }
+
+    @Transactional
+    public void release(Map<Long, Integer> roomsByType, LocalDateTime checkIn, LocalDateTime checkOut) {
+        LocalDate from = firstNight(checkIn);
+        LocalDate to = endOfStay(checkIn, checkOut);
+        new TreeMap<>(roomsByType)
+                .forEach((roomTypeId, count) -> inventoryRepository.release(roomTypeId, from, to, count));
+    }
+
+    /**
+     * A room was added to or removed from a type; future nights already
+     * tracked get the new capacity.
+     */
+    @Transactional
+    public void adjustCapacity(Long roomTypeId, int delta) {
+        inventoryRepository.adjustTotal(roomTypeId, LocalDate.now(), delta);
+    }
+
+    /**
+     * Recomputes tonight and every future night from reservations and rooms.
+     *
+     * @return number of rows that were missing or had drifted
+     */
+    @Transactional
+    @Scheduled(cron = "${hotel.inventory.reconcile-cron:0 30 3 * * *}")
+    public int reconcile() {
+        LocalDate from = LocalDate.now();
+        int inserted = inventoryRepository.insertMissingFromReservations(from);
+        // Waits for in-flight bookings, so the recount below includes every one that touched these nights
+        inventoryRepository.lockNightsFrom(from);
+        int corrected = inventoryRepository.correctDrift(from);
+        if (inserted + corrected > 0) {
+            log.warn("Room type inventory reconciled: {} rows missing, {} rows drifted", inserted, corrected);
+        }
+        return inserted + corrected;
+    }
+
+    static LocalDate firstNight(LocalDateTime checkIn) {
+        return checkIn.toLocalDate();
+    }
+
+    /**
+     * Exclusive end night. Same-day stays count as one night, like pricing.
+     */
+    static LocalDate endOfStay(LocalDateTime checkIn, LocalDateTime checkOut) {
+        LocalDate from = checkIn.toLocalDate();
+        LocalDate to = checkOut.toLocalDate();
+        return to.isAfter(from) ? to : from.plusDays(1);
+    }
+}
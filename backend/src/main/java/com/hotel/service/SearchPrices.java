@@ -0,0 +1,13 @@
+package com.hotel.service;
+
+import java.math.BigDecimal;
+
+/**
+ * What search results show for one room type: the standard nightly rate and
+ * the whole stay in each currency with price columns, and the stay in the
+ * requested currency. Computed once per room type and shared by its rooms.
+ */
+public record SearchPrices(BigDecimal priceKrw, BigDecimal priceUsd, BigDecimal pricePhp,
+        BigDecimal stayPriceKrw, BigDecimal stayPriceUsd, BigDecimal stayPricePhp,
+        String currency, BigDecimal stayPrice) {
+}
@@ -0,0 +1,189 @@
+package com.hotel.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hotel.dto.ReservationDto;
+import com.hotel.repository.ReservationJdbcRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Writes the settlement of a hotel as CSV or NDJSON straight to an output
+ * stream, one reservation per line, while the rows are read from a database
+ * cursor. Unlike {@link ReservationService#getSettlement}, nothing is
+ * collected, so memory use does not grow with the date range.
+ */
+@Service
+public class SettlementExportService {
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Format of(String format) {
+            if (format == null)
+                return CSV;
+            try {
+                return valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unsupported export format: " + format);
+            }
+        }
+    }
+
+    private static final String CSV_HEADER = "id,checkInTime,checkOutTime,actualCheckInTime,actualCheckOutTime,"
+            + "lateCheckout,guestName,guestEmail,roomNumbers,currency,totalPrice,discountPrice,discountPolicyName";
+
+    private final ReservationJdbcRepository reservationJdbcRepository;
+    private final ReservationService reservationService;
+    private final ObjectWriter rowWriter;
+    private final int fetchSize;
+
+    public SettlementExportService(ReservationJdbcRepository reservationJdbcRepository,
+            ReservationService reservationService,
+            ObjectMapper objectMapper,
+            @Value("${hotel.settlement.export.fetch-size:1000}") int fetchSize) {
+        this.reservationJdbcRepository = reservationJdbcRepository;
+        this.reservationService = reservationService;
+        // The response stream is flushed and closed by Spring, not per row
+        this.rowWriter = objectMapper.writerFor(ReservationDto.SettlementRow.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n");
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Checks the request before the response is committed, so a bad range or
+     * a foreign hotel still gets an error status instead of a cut-off body.
+     */
+    @Transactional(readOnly = true)
+    public void validate(Long hotelId, LocalDate startDate, LocalDate endDate, String username) {
+        if (endDate.isBefore(startDate)) {
+            throw new RuntimeException("End date must not be before start date.");
+        }
+        reservationService.validateHotelAccess(hotelId, username);
+    }
+
+    /**
+     * Streams the reservations checked out between {@code startDate} and
+     * {@code endDate}, inclusive. Runs in its own read-only transaction,
+     * which also keeps the cursor open, on whatever thread writes the
+     * response.
+     */
+    @Transactional(readOnly = true)
+    public void write(Long hotelId, LocalDate startDate, LocalDate endDate, Format format, OutputStream out)
+            throws IOException {
+        try {
+            if (format == Format.CSV) {
+                writeCsv(hotelId, startDate, endDate, out);
+            } else {
+                writeNdjson(hotelId, startDate, endDate, out);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeCsv(Long hotelId, LocalDate startDate, LocalDate endDate, OutputStream out)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        stream(hotelId, startDate, endDate, row -> {
+            try {
+                writer.write(toCsv(row));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    private void writeNdjson(Long hotelId, LocalDate startDate, LocalDate endDate, OutputStream out)
+            throws IOException {
+        boolean[] any = { false };
+        try (SequenceWriter sequence = rowWriter.writeValues(out)) {
+            stream(hotelId, startDate, endDate, row -> {
+                try {
+                    sequence.write(row);
+                    any[0] = true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        // The separator only goes between rows; end the last line too
+        if (any[0])
+            out.write('\n');
+    }
+
+    private void stream(Long hotelId, LocalDate startDate, LocalDate endDate,
+            Consumer<ReservationDto.SettlementRow> handler) {
+        reservationJdbcRepository.streamSettlement(hotelId, startDate.atStartOfDay(), endDate.atTime(23, 59, 59),
+                fetchSize, handler);
+    }
+
+    static String toCsv(ReservationDto.SettlementRow row) {
+        StringBuilder line = new StringBuilder(160);
+        line.append(row.getId()).append(',');
+        append(line, row.getCheckInTime()).append(',');
+        append(line, row.getCheckOutTime()).append(',');
+        append(line, row.getActualCheckInTime()).append(',');
+        append(line, row.getActualCheckOutTime()).append(',');
+        line.append(row.isLateCheckout()).append(',');
+        appendText(line, row.getGuestName()).append(',');
+        appendText(line, row.getGuestEmail()).append(',');
+        appendText(line, row.getRoomNumbers()).append(',');
+        appendText(line, row.getCurrency()).append(',');
+        append(line, row.getTotalPrice() != null ? row.getTotalPrice().toPlainString() : null).append(',');
+        append(line, row.getDiscountPrice() != null ? row.getDiscountPrice().toPlainString() : null).append(',');
+        appendText(line, row.getDiscountPolicyName());
+        return line.toString();
+    }
+
+    private static StringBuilder append(StringBuilder line, Object value) {
+        return value != null ? line.append(value) : line;
+    }
+
+    /** RFC 4180: fields holding a separator, quote or line break are quoted, with quotes doubled. */
+    private static StringBuilder appendText(StringBuilder line, String value) {
+        if (value == null)
+            return line;
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0)
+            return line.append(value);
+        return line.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
@@ -0,0 +1,100 @@
+package com.hotel.service;
+
+import com.hotel.dto.ReservationDto;
+import com.hotel.entity.Reservation;
+import com.hotel.repository.SettlementDailyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the {@code settlement_daily} rollup in step with check-outs, so
+ * settlement totals for any range are read from one row per day and
+ * currency instead of the raw reservations. The rollup can be rebuilt from
+ * the reservations for a range of days.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SettlementRollupService {
+
+    private static final String DEFAULT_CURRENCY = "USD";
+
+    private final SettlementDailyRepository settlementDailyRepository;
+
+    /** Adds a reservation checked out in the current transaction. */
+    public void recordCheckOut(Reservation reservation) {
+        Set<Long> hotelIds = reservation.getRooms().stream()
+                .map(room -> room.getRoomType().getHotel().getId())
+                .collect(Collectors.toSet());
+        settlementDailyRepository.add(hotelIds,
+                reservation.getActualCheckOutTime().toLocalDate(),
+                reservation.getCurrency() != null ? reservation.getCurrency() : DEFAULT_CURRENCY,
+                orZero(reservation.getTotalPrice()),
+                orZero(reservation.getDiscountPrice()));
+    }
+
+    @Transactional
+    public ReservationDto.SettlementRebuildResponse rebuild(LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        int rows = settlementDailyRepository.rebuild(startDate, endDate);
+        log.info("Settlement rollup rebuilt for {} to {}: {} rows", startDate, endDate, rows);
+        return ReservationDto.SettlementRebuildResponse.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .rows(rows)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public ReservationDto.SettlementTotals getTotals(Long hotelId, LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        List<ReservationDto.SettlementTotal> days = new ArrayList<>();
+        Map<String, ReservationDto.SettlementTotal> byCurrency = new TreeMap<>();
+        for (SettlementDailyRepository.Day day : settlementDailyRepository.findByHotel(hotelId, startDate,
+                endDate)) {
+            days.add(ReservationDto.SettlementTotal.builder()
+                    .date(day.date())
+                    .currency(day.currency())
+                    .gross(day.gross())
+                    .discount(day.discount())
+                    .count(day.count())
+                    .build());
+            ReservationDto.SettlementTotal total = byCurrency.computeIfAbsent(day.currency(),
+                    currency -> ReservationDto.SettlementTotal.builder()
+                            .currency(currency)
+                            .gross(BigDecimal.ZERO)
+                            .discount(BigDecimal.ZERO)
+                            .build());
+            total.setGross(total.getGross().add(day.gross()));
+            total.setDiscount(total.getDiscount().add(day.discount()));
+            total.setCount(total.getCount() + day.count());
+        }
+        return ReservationDto.SettlementTotals.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .totals(new ArrayList<>(byCurrency.values()))
+                .days(days)
+                .build();
+    }
+
+    private static void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new RuntimeException("End date must not be before start date.");
+        }
+    }
+
+    private static BigDecimal orZero(BigDecimal amount) {
+        return amount != null ? amount : BigDecimal.ZERO;
+    }
+}
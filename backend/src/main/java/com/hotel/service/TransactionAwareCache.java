@@ -0,0 +1,160 @@
+package com.hotel.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * In-memory cache behind {@link DiscountPolicyCache}, {@link RateCalendarCache}
+ * and {@link RoomPriceCache}.
+ * <p>
+ * Invalidations take effect when the writing transaction commits or rolls
+ * back. Until then the invalidated keys bypass the cache inside that
+ * transaction, so uncommitted data is never shared, and a load that raced
+ * with an invalidation is not stored. Entries also expire after the TTL,
+ * which bounds staleness when another node changed the data.
+ */
+final class TransactionAwareCache<K, V> {
+
+    private final long ttlNanos;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    /** Bumped on every invalidation; a load that raced with one is not stored. */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * @param metricPrefix prefix of the {@code .hits}, {@code .misses} and
+     *                     {@code .size} meters
+     */
+    TransactionAwareCache(MeterRegistry meterRegistry, String metricPrefix, long ttlMinutes) {
+        this.ttlNanos = TimeUnit.MINUTES.toNanos(ttlMinutes);
+        this.hits = meterRegistry.counter(metricPrefix + ".hits");
+        this.misses = meterRegistry.counter(metricPrefix + ".misses");
+        Gauge.builder(metricPrefix + ".size", entries, Map::size).register(meterRegistry);
+    }
+
+    V get(K key, Function<K, V> loader) {
+        return getAll(List.of(key), missing -> Map.of(key, loader.apply(key))).get(key);
+    }
+
+    /**
+     * Returns the values of {@code keys}, loading every miss with one call to
+     * {@code loader}. Keys the loader has no value for are absent.
+     */
+    Map<K, V> getAll(Collection<K> keys, Function<List<K>, Map<K, V>> loader) {
+        Changes<K> changes = changes();
+        long now = System.nanoTime();
+        Map<K, V> values = new HashMap<>();
+        List<K> missing = new ArrayList<>();
+        for (K key : new LinkedHashSet<>(keys)) {
+            Entry<V> entry = changes != null && changes.contains(key) ? null : entries.get(key);
+            if (entry != null && now - entry.loadedAt() < ttlNanos)
+                values.put(key, entry.value());
+            else
+                missing.add(key);
+        }
+        hits.increment(values.size());
+        if (missing.isEmpty())
+            return values;
+
+        misses.increment(missing.size());
+        long loadedGeneration = generation.get();
+        Map<K, V> loaded = loader.apply(missing);
+        boolean store = generation.get() == loadedGeneration;
+        loaded.forEach((key, value) -> {
+            values.put(key, value);
+            if (store && (changes == null || !changes.contains(key)))
+                entries.put(key, new Entry<>(value, now));
+        });
+        return values;
+    }
+
+    /**
+     * Drops {@code key} once the current transaction commits or rolls back,
+     * or right away when there is none.
+     */
+    void invalidateAfterCompletion(K key) {
+        Changes<K> changes = bindChanges();
+        if (changes == null)
+            invalidate(key);
+        else
+            changes.keys.add(key);
+    }
+
+    /** Like {@link #invalidateAfterCompletion(Object)}, for every key. */
+    void invalidateAllAfterCompletion() {
+        Changes<K> changes = bindChanges();
+        if (changes == null)
+            invalidateAll();
+        else
+            changes.all = true;
+    }
+
+    private void invalidate(K key) {
+        generation.incrementAndGet();
+        entries.remove(key);
+    }
+
+    private void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Changes<K> changes() {
+        return (Changes<K>) TransactionSynchronizationManager.getResource(this);
+    }
+
+    /** The current transaction's changes, registered on first use; {@code null} outside of one. */
+    private Changes<K> bindChanges() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+            return null;
+        Changes<K> changes = changes();
+        if (changes == null) {
+            Changes<K> bound = new Changes<>();
+            TransactionSynchronizationManager.bindResource(this, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TransactionAwareCache.this);
+                    if (bound.all)
+                        invalidateAll();
+                    else
+                        bound.keys.forEach(TransactionAwareCache.this::invalidate);
+                }
+            });
+            changes = bound;
+        }
+        return changes;
+    }
+
+    private static final class Changes<K> {
+        final Set<K> keys = new HashSet<>();
+        boolean all;
+
+        boolean contains(K key) {
+            return all || keys.contains(key);
+        }
+    }
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+}
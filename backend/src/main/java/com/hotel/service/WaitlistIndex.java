@@ -0,0 +1,89 @@
+package com.hotel.service;
+
+import com.hotel.entity.WaitlistEntry;
+import com.hotel.repository.WaitlistEntryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory interval index over the stays of WAITING waitlist entries, per
+ * room type, so a cancellation finds the entries it could satisfy without
+ * scanning the waitlist. Built from the database on startup and updated
+ * after each commit; like the room holds it serves, it assumes a single
+ * node.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WaitlistIndex {
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+
+    private final Map<Long, IntervalArray> rangesByRoomType = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        rangesByRoomType.clear();
+        List<WaitlistEntry> waiting = waitlistEntryRepository.findWaitingSince(LocalDateTime.now());
+        waiting.forEach(this::apply);
+        log.info("Waitlist index built: {} entries", waiting.size());
+    }
+
+    /**
+     * Records the current state of an entry: indexed while WAITING, dropped
+     * otherwise. Inside a transaction the change is applied after commit.
+     */
+    public void track(WaitlistEntry entry) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(entry);
+                }
+            });
+        } else {
+            apply(entry);
+        }
+    }
+
+    /**
+     * Ids of the waiting entries for {@code roomTypeId} whose stay overlaps
+     * {@code [from, to)}, oldest first.
+     */
+    public long[] overlapping(Long roomTypeId, LocalDateTime from, LocalDateTime to) {
+        IntervalArray ranges = rangesByRoomType.get(roomTypeId);
+        return ranges == null ? new long[0] : ranges.overlapping(toSeconds(from), toSeconds(to));
+    }
+
+    public int size() {
+        return rangesByRoomType.values().stream().mapToInt(IntervalArray::size).sum();
+    }
+
+    private synchronized void apply(WaitlistEntry entry) {
+        Long roomTypeId = entry.getRoomType().getId();
+        if (entry.getStatus() == WaitlistEntry.Status.WAITING) {
+            rangesByRoomType.compute(roomTypeId, (id, ranges) -> (ranges == null ? IntervalArray.EMPTY : ranges)
+                    .with(entry.getId(), toSeconds(entry.getCheckInTime()), toSeconds(entry.getCheckOutTime())));
+        } else {
+            rangesByRoomType.computeIfPresent(roomTypeId, (id, ranges) -> {
+                IntervalArray updated = ranges.without(entry.getId());
+                return updated.size() == 0 ? null : updated;
+            });
+        }
+    }
+
+    private static long toSeconds(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,266 @@
+package com.hotel.service;
+
+import com.hotel.dto.ReservationDto;
+import com.hotel.entity.Room;
+import com.hotel.entity.RoomType;
+import com.hotel.entity.User;
+import com.hotel.entity.WaitlistEntry;
+import com.hotel.repository.RoomRepository;
+import com.hotel.repository.RoomTypeRepository;
+import com.hotel.repository.UserRepository;
+import com.hotel.repository.WaitlistEntryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Waitlist for sold-out room types. Whenever rooms of a type are freed, or a
+ * guest joins, the waiting entries whose stays overlap the freed range are
+ * looked up in the {@link WaitlistIndex} and, oldest first, offered a
+ * {@link RoomHoldService hold} on a room that is free for their whole stay.
+ * The guest then books with that hold before it expires. Offers whose hold
+ * expired, or was lost with a restart, are swept to EXPIRED and the room
+ * goes to the next waiting entry.
+ */
+@Slf4j
+@Service
+public class WaitlistService {
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final WaitlistIndex waitlistIndex;
+    private final RoomRepository roomRepository;
+    private final RoomTypeRepository roomTypeRepository;
+    private final UserRepository userRepository;
+    private final AvailabilityService availabilityService;
+    private final RoomHoldService roomHoldService;
+    private final TransactionTemplate offerTransaction;
+    private final Counter offeredCounter;
+    private final Counter expiredCounter;
+
+    public WaitlistService(WaitlistEntryRepository waitlistEntryRepository,
+            WaitlistIndex waitlistIndex,
+            RoomRepository roomRepository,
+            RoomTypeRepository roomTypeRepository,
+            UserRepository userRepository,
+            AvailabilityService availabilityService,
+            RoomHoldService roomHoldService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.waitlistIndex = waitlistIndex;
+        this.roomRepository = roomRepository;
+        this.roomTypeRepository = roomTypeRepository;
+        this.userRepository = userRepository;
+        this.availabilityService = availabilityService;
+        this.roomHoldService = roomHoldService;
+        // Each offer commits on its own, so one failed hold does not undo the others
+        this.offerTransaction = new TransactionTemplate(transactionManager);
+        this.offerTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.offeredCounter = Counter.builder("hotel.waitlist.offers")
+                .description("Waitlist entries offered a room hold")
+                .register(meterRegistry);
+        this.expiredCounter = Counter.builder("hotel.waitlist.offers.expired")
+                .description("Waitlist offers whose hold lapsed before the guest booked")
+                .register(meterRegistry);
+    }
+
+    @Transactional
+    public ReservationDto.WaitlistResponse join(ReservationDto.WaitlistRequest request, String username) {
+        if (request.getRoomTypeId() == null) {
+            throw new RuntimeException("A room type is required.");
+        }
+        if (request.getCheckInTime() == null || request.getCheckOutTime() == null
+                || !request.getCheckOutTime().isAfter(request.getCheckInTime())) {
+            throw new RuntimeException("Check-out time must be after check-in time.");
+        }
+        if (request.getCheckInTime().isBefore(LocalDateTime.now())) {
+            throw new RuntimeException("Check-in time must be in the future.");
+        }
+        RoomType roomType = roomTypeRepository.findById(request.getRoomTypeId())
+                .orElseThrow(() -> new RuntimeException("Room type not found"));
+        User user = userRepository.findByUsername(username).orElseThrow();
+
+        WaitlistEntry entry = waitlistEntryRepository.save(WaitlistEntry.builder()
+                .user(user)
+                .roomType(roomType)
+                .checkInTime(request.getCheckInTime())
+                .checkOutTime(request.getCheckOutTime())
+                .status(WaitlistEntry.Status.WAITING)
+                .build());
+        waitlistIndex.track(entry);
+        // A room may have been freed since the guest saw the type sold out
+        matchAfterCommit(roomType.getId(), entry.getCheckInTime(), entry.getCheckOutTime());
+        return toResponse(entry);
+    }
+
+    @Transactional
+    public void leave(Long entryId, String username) {
+        WaitlistEntry entry = waitlistEntryRepository.findByIdForUpdate(entryId)
+                .orElseThrow(() -> new RuntimeException("Waitlist entry not found"));
+        if (!entry.getUser().getUsername().equals(username)) {
+            throw new RuntimeException("Waitlist entry belongs to another user.");
+        }
+        if (entry.getStatus() == WaitlistEntry.Status.CANCELLED)
+            return;
+        if (entry.getHoldId() != null) {
+            try {
+                roomHoldService.release(entry.getHoldId(), username);
+            } catch (RuntimeException e) {
+                // Already booked or expired
+            }
+        }
+        entry.setStatus(WaitlistEntry.Status.CANCELLED);
+        waitlistIndex.track(waitlistEntryRepository.save(entry));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReservationDto.WaitlistResponse> getMyEntries(String username) {
+        User user = userRepository.findByUsername(username).orElseThrow();
+        return waitlistEntryRepository.findByUserId(user.getId()).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    /**
+     * Marks the entry offered under {@code holdId}, if any, as booked. Runs in
+     * the booking's transaction, so an offer is never swept as expired once
+     * its hold was converted.
+     */
+    @Transactional
+    public void markBooked(String holdId) {
+        waitlistEntryRepository.findByHoldIdForUpdate(holdId)
+                .filter(entry -> entry.getStatus() == WaitlistEntry.Status.OFFERED)
+                .ifPresent(entry -> {
+                    entry.setStatus(WaitlistEntry.Status.BOOKED);
+                    waitlistEntryRepository.save(entry);
+                });
+    }
+
+    /**
+     * Expires the offers whose hold is gone without a booking and offers the
+     * rooms they held to the next waiting entries.
+     *
+     * @return number of offers expired
+     */
+    @Scheduled(fixedDelayString = "${hotel.waitlist.offer-sweep-ms:60000}")
+    public int expireOffers() {
+        int expired = 0;
+        for (Long entryId : waitlistEntryRepository.findOfferedIds()) {
+            try {
+                WaitlistEntry entry = offerTransaction.execute(status -> expireOffer(entryId));
+                if (entry != null) {
+                    expired++;
+                    match(entry.getRoomType().getId(), entry.getCheckInTime(), entry.getCheckOutTime());
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not expire the offer of waitlist entry {}", entryId, e);
+            }
+        }
+        return expired;
+    }
+
+    private WaitlistEntry expireOffer(long entryId) {
+        // Under the row lock a converting booking has either committed BOOKED or not yet removed the hold
+        WaitlistEntry entry = waitlistEntryRepository.findByIdForUpdate(entryId).orElse(null);
+        if (entry == null || entry.getStatus() != WaitlistEntry.Status.OFFERED
+                || roomHoldService.isActive(entry.getHoldId()))
+            return null;
+        entry.setStatus(WaitlistEntry.Status.EXPIRED);
+        waitlistIndex.track(waitlistEntryRepository.save(entry));
+        expiredCounter.increment();
+        log.info("Waitlist entry {} offer under hold {} expired", entryId, entry.getHoldId());
+        return entry;
+    }
+
+    /**
+     * Offers holds to the entries overlapping {@code [from, to)} once the
+     * current transaction commits, or right away outside of one.
+     */
+    public void matchAfterCommit(Long roomTypeId, LocalDateTime from, LocalDateTime to) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    match(roomTypeId, from, to);
+                }
+            });
+        } else {
+            match(roomTypeId, from, to);
+        }
+    }
+
+    /**
+     * @return number of entries offered a hold
+     */
+    public int match(Long roomTypeId, LocalDateTime from, LocalDateTime to) {
+        int offered = 0;
+        for (long entryId : waitlistIndex.overlapping(roomTypeId, from, to)) {
+            try {
+                if (Boolean.TRUE.equals(offerTransaction.execute(status -> offer(entryId))))
+                    offered++;
+            } catch (RuntimeException e) {
+                log.warn("Could not offer a hold to waitlist entry {}", entryId, e);
+            }
+        }
+        return offered;
+    }
+
+    private boolean offer(long entryId) {
+        WaitlistEntry entry = waitlistEntryRepository.findByIdForUpdate(entryId).orElse(null);
+        if (entry == null || entry.getStatus() != WaitlistEntry.Status.WAITING)
+            return false;
+
+        List<Long> roomIds = roomRepository.findByRoomTypeId(entry.getRoomType().getId()).stream()
+                .map(Room::getId)
+                .sorted()
+                .toList();
+        Set<Long> unavailable = new HashSet<>(availabilityService.findUnavailableRoomIds(roomIds,
+                entry.getCheckInTime(), entry.getCheckOutTime()));
+        unavailable.addAll(roomHoldService.findHeldRoomIds(roomIds, entry.getCheckInTime(),
+                entry.getCheckOutTime()));
+        Long roomId = roomIds.stream().filter(id -> !unavailable.contains(id)).findFirst().orElse(null);
+        if (roomId == null)
+            return false;
+
+        ReservationDto.HoldResponse hold = roomHoldService.hold(ReservationDto.CreateHoldRequest.builder()
+                .roomIds(List.of(roomId))
+                .checkInTime(entry.getCheckInTime())
+                .checkOutTime(entry.getCheckOutTime())
+                .build(), entry.getUser().getUsername());
+        entry.setStatus(WaitlistEntry.Status.OFFERED);
+        entry.setOfferedRoom(roomRepository.getReferenceById(roomId));
+        entry.setHoldId(hold.getHoldId());
+        entry.setOfferedAt(LocalDateTime.now());
+        waitlistIndex.track(waitlistEntryRepository.save(entry));
+        offeredCounter.increment();
+        log.info("Waitlist entry {} offered room {} under hold {}", entryId, roomId, hold.getHoldId());
+        return true;
+    }
+
+    private ReservationDto.WaitlistResponse toResponse(WaitlistEntry entry) {
+        return ReservationDto.WaitlistResponse.builder()
+                .id(entry.getId())
+                .roomTypeId(entry.getRoomType().getId())
+                .roomType(entry.getRoomType().getName())
+                .checkInTime(entry.getCheckInTime())
+                .checkOutTime(entry.getCheckOutTime())
+                .status(entry.getStatus().name())
+                .offeredRoomId(entry.getOfferedRoom() != null ? entry.getOfferedRoom().getId() : null)
+                .holdId(entry.getHoldId())
+                .offeredAt(entry.getOfferedAt())
+                .build();
+    }
+}
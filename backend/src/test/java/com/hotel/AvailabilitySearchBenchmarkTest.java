@@ -0,0 +1,162 @@
+package com.hotel;
+
+import com.hotel.dto.ReservationDto;
+import com.hotel.entity.Hotel;
+import com.hotel.entity.Room;
+import com.hotel.entity.RoomType;
+import com.hotel.entity.User;
+import com.hotel.repository.HotelRepository;
+import com.hotel.repository.ReservationRepository;
+import com.hotel.repository.RoomRepository;
+import com.hotel.repository.RoomTypeRepository;
+import com.hotel.repository.UserRepository;
+import com.hotel.service.AvailabilityService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the legacy per-room availability loop with the set-based engine on
+ * a seeded catalog of 10k rooms. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+public class AvailabilitySearchBenchmarkTest {
+
+        private static final int HOTELS = 10;
+        private static final int ROOM_TYPES_PER_HOTEL = 10;
+        private static final int ROOMS_PER_TYPE = 100;
+
+        @Autowired
+        private AvailabilityService availabilityService;
+        @Autowired
+        private UserRepository userRepository;
+        @Autowired
+        private HotelRepository hotelRepository;
+        @Autowired
+        private RoomTypeRepository roomTypeRepository;
+        @Autowired
+        private RoomRepository roomRepository;
+        @Autowired
+        private ReservationRepository reservationRepository;
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+        @Autowired
+        private EntityManager entityManager;
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        private LocalDateTime checkIn;
+        private LocalDateTime checkOut;
+        private int bookedRooms;
+
+        @BeforeEach
+        void setUp() {
+                User owner = userRepository.save(User.builder()
+                                .username("bench_owner")
+                                .password("password")
+                                .role(User.Role.OWNER)
+                                .build());
+
+                List<Object[]> roomRows = new ArrayList<>();
+                for (int h = 0; h < HOTELS; h++) {
+                        Hotel hotel = hotelRepository.save(Hotel.builder()
+                                        .name("Bench Hotel " + h)
+                                        .owner(owner)
+                                        .build());
+                        for (int t = 0; t < ROOM_TYPES_PER_HOTEL; t++) {
+                                RoomType roomType = roomTypeRepository.save(RoomType.builder()
+                                                .hotel(hotel)
+                                                .name("Type " + t)
+                                                .capacity(2)
+                                                .basePrice(BigDecimal.valueOf(100))
+                                                .priceUsd(BigDecimal.valueOf(100))
+                                                .build());
+                                for (int r = 0; r < ROOMS_PER_TYPE; r++) {
+                                        roomRows.add(new Object[] { roomType.getId(), h + "-" + t + "-" + r });
+                                }
+                        }
+                }
+                entityManager.flush();
+                jdbcTemplate.batchUpdate("INSERT INTO rooms (room_type_id, room_number) VALUES (?, ?)", roomRows);
+
+                checkIn = LocalDate.now().plusDays(30).atTime(15, 0);
+                checkOut = checkIn.plusDays(2).withHour(11);
+
+                // Every third room already has an overlapping stay
+                List<Long> roomIds = jdbcTemplate.queryForList("SELECT id FROM rooms ORDER BY id", Long.class);
+                List<Object[]> links = new ArrayList<>();
+                for (int i = 0; i < roomIds.size(); i += 3) {
+                        Long reservationId = jdbcTemplate.queryForObject("""
+                                        INSERT INTO reservations (user_id, check_in_time, check_out_time,
+                                            is_late_checkout, status, total_price, currency)
+                                        VALUES (?, ?, ?, false, 'PENDING', 200, 'USD') RETURNING id
+                                        """, Long.class, owner.getId(), checkIn.minusDays(1), checkIn.plusDays(1));
+                        links.add(new Object[] { reservationId, roomIds.get(i) });
+                }
+                jdbcTemplate.batchUpdate("INSERT INTO reservation_rooms (reservation_id, room_id) VALUES (?, ?)",
+                                links);
+                bookedRooms = links.size();
+        }
+
+        @Test
+        void setBasedSearchUsesOneQuery() {
+                Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+                int totalRooms = (int) roomRepository.count();
+
+                entityManager.clear();
+                statistics.clear();
+                long start = System.nanoTime();
+                int legacyResults = legacySearch();
+                long legacyNanos = System.nanoTime() - start;
+                long legacyQueries = statistics.getPrepareStatementCount();
+
+                entityManager.clear();
+                statistics.clear();
+                start = System.nanoTime();
+                List<ReservationDto.AvailableRoomResponse> result = availabilityService.searchAvailableRooms(checkIn,
+                                checkOut);
+                long engineNanos = System.nanoTime() - start;
+                long engineQueries = statistics.getPrepareStatementCount();
+
+                System.out.printf("rooms=%d booked=%d%n", totalRooms, bookedRooms);
+                System.out.printf("legacy loop : %6d queries %8.1f ms%n", legacyQueries, legacyNanos / 1e6);
+                System.out.printf("anti-join   : %6d queries %8.1f ms%n", engineQueries, engineNanos / 1e6);
+
+                assertThat(result).hasSize(legacyResults);
+                assertThat(result).hasSize(totalRooms - bookedRooms);
+                assertThat(engineQueries).isEqualTo(1);
+        }
+
+        /**
+         * The search as it was implemented before the set-based engine.
+         */
+        private int legacySearch() {
+                int available = 0;
+                for (Room room : roomRepository.findAll()) {
+                        if (reservationRepository.findConflictingReservations(room.getId(), checkIn, checkOut)
+                                        .isEmpty()) {
+                                room.getRoomType().getHotel().getName();
+                                available++;
+                        }
+                }
+                return available;
+        }
+}
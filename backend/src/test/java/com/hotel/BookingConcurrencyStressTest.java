@@ -0,0 +1,179 @@
+package com.hotel;
+
+import com.hotel.dto.ReservationDto;
+import com.hotel.entity.Hotel;
+import com.hotel.entity.Room;
+import com.hotel.entity.RoomType;
+import com.hotel.entity.User;
+import com.hotel.repository.HotelRepository;
+import com.hotel.repository.RoomRepository;
+import com.hotel.repository.RoomTypeRepository;
+import com.hotel.repository.UserRepository;
+import com.hotel.service.ReservationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fires thousands of concurrent bookings at a handful of rooms and checks
+ * that no room ends up with overlapping stays. Commits for real, so it is
+ * not transactional and cleans up after itself. Run with
+ * {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+public class BookingConcurrencyStressTest {
+
+        private static final int ROOMS = 5;
+        private static final int THREADS = 16;
+        private static final int BOOKINGS = 2000;
+        private static final int WINDOW_DAYS = 90;
+
+        @Autowired
+        private ReservationService reservationService;
+        @Autowired
+        private UserRepository userRepository;
+        @Autowired
+        private HotelRepository hotelRepository;
+        @Autowired
+        private RoomTypeRepository roomTypeRepository;
+        @Autowired
+        private RoomRepository roomRepository;
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        private final List<Long> roomIds = new ArrayList<>();
+        private User owner;
+        private User guest;
+        private Hotel hotel;
+        private RoomType roomType;
+        private LocalDate firstDay;
+
+        @BeforeEach
+        void setUp() {
+                owner = userRepository.save(User.builder()
+                                .username("stress_owner")
+                                .password("password")
+                                .role(User.Role.OWNER)
+                                .build());
+                guest = userRepository.save(User.builder()
+                                .username("stress_guest")
+                                .password("password")
+                                .role(User.Role.USER)
+                                .fullName("Stress Guest")
+                                .build());
+                hotel = hotelRepository.save(Hotel.builder()
+                                .name("Stress Hotel")
+                                .owner(owner)
+                                .build());
+                roomType = roomTypeRepository.save(RoomType.builder()
+                                .hotel(hotel)
+                                .name("Standard")
+                                .capacity(2)
+                                .basePrice(BigDecimal.valueOf(100))
+                                .priceUsd(BigDecimal.valueOf(100))
+                                .build());
+                for (int i = 0; i < ROOMS; i++) {
+                        Room room = roomRepository.save(Room.builder()
+                                        .roomType(roomType)
+                                        .roomNumber("S" + i)
+                                        .build());
+                        roomIds.add(room.getId());
+                }
+                firstDay = LocalDate.now().plusDays(400);
+        }
+
+        @AfterEach
+        void tearDown() {
+                jdbcTemplate.update("""
+                                DELETE FROM reservation_rooms WHERE room_id IN
+                                    (SELECT id FROM rooms WHERE room_type_id = ?)
+                                """, roomType.getId());
+                jdbcTemplate.update("DELETE FROM reservations WHERE user_id = ?", guest.getId());
+                jdbcTemplate.update("DELETE FROM room_type_inventory WHERE room_type_id = ?", roomType.getId());
+                jdbcTemplate.update("DELETE FROM rooms WHERE room_type_id = ?", roomType.getId());
+                jdbcTemplate.update("DELETE FROM room_types WHERE id = ?", roomType.getId());
+                jdbcTemplate.update("DELETE FROM hotels WHERE id = ?", hotel.getId());
+                jdbcTemplate.update("DELETE FROM users WHERE id IN (?, ?)", owner.getId(), guest.getId());
+        }
+
+        @Test
+        void concurrentBookingsNeverOverlap() throws Exception {
+                AtomicInteger booked = new AtomicInteger();
+                AtomicInteger rejected = new AtomicInteger();
+                AtomicInteger failed = new AtomicInteger(); // Anything other than a clean conflict
+                ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+                long start = System.nanoTime();
+                for (int i = 0; i < BOOKINGS; i++) {
+                        executor.submit(() -> {
+                                ThreadLocalRandom random = ThreadLocalRandom.current();
+                                LocalDate checkIn = firstDay.plusDays(random.nextInt(WINDOW_DAYS));
+                                List<Long> rooms = random.nextInt(4) == 0
+                                                ? List.of(roomIds.get(random.nextInt(ROOMS)),
+                                                                roomIds.get(random.nextInt(ROOMS)))
+                                                : List.of(roomIds.get(random.nextInt(ROOMS)));
+                                try {
+                                        reservationService.createReservation(
+                                                        ReservationDto.CreateReservationRequest.builder()
+                                                                        .roomIds(rooms.stream().distinct().toList())
+                                                                        .checkInTime(checkIn.atTime(13, 0))
+                                                                        .checkOutTime(checkIn
+                                                                                        .plusDays(1 + random.nextInt(3))
+                                                                                        .atTime(11, 0))
+                                                                        .currency("USD")
+                                                                        .build(),
+                                                        guest.getUsername());
+                                        booked.incrementAndGet();
+                                } catch (RuntimeException e) {
+                                        String message = String.valueOf(e.getMessage());
+                                        if (message.contains("not available") || message.contains("sold out")) {
+                                                rejected.incrementAndGet();
+                                        } else {
+                                                failed.incrementAndGet();
+                                                e.printStackTrace();
+                                        }
+                                }
+                        });
+                }
+                executor.shutdown();
+                assertThat(executor.awaitTermination(10, TimeUnit.MINUTES)).isTrue();
+                double seconds = (System.nanoTime() - start) / 1e9;
+
+                Integer overlaps = jdbcTemplate.queryForObject("""
+                                SELECT COUNT(*)
+                                FROM reservation_rooms a
+                                JOIN reservations ra ON ra.id = a.reservation_id
+                                JOIN reservation_rooms b ON b.room_id = a.room_id AND b.reservation_id > a.reservation_id
+                                JOIN reservations rb ON rb.id = b.reservation_id
+                                WHERE a.room_id IN (SELECT id FROM rooms WHERE room_type_id = ?)
+                                  AND ra.status <> 'CANCELLED' AND rb.status <> 'CANCELLED'
+                                  AND ra.check_in_time < rb.check_out_time
+                                  AND ra.check_out_time > rb.check_in_time
+                                """, Integer.class, roomType.getId());
+
+                System.out.printf("attempts=%d booked=%d rejected=%d failed=%d threads=%d%n", BOOKINGS,
+                                booked.get(), rejected.get(), failed.get(), THREADS);
+                System.out.printf("throughput: %.1f attempts/s over %.2f s%n", BOOKINGS / seconds, seconds);
+
+                assertThat(booked.get()).isPositive();
+                assertThat(failed.get()).isZero();
+                assertThat(overlaps).isZero();
+        }
+}
@@ -0,0 +1,170 @@
+package com.hotel;
+
+import com.hotel.dto.ReservationDto;
+import com.hotel.entity.Hotel;
+import com.hotel.entity.Room;
+import com.hotel.entity.RoomType;
+import com.hotel.entity.User;
+import com.hotel.repository.HotelRepository;
+import com.hotel.repository.RoomRepository;
+import com.hotel.repository.RoomTypeRepository;
+import com.hotel.repository.UserRepository;
+import com.hotel.service.BookingSequencer;
+import com.hotel.service.ReservationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Flash sale on one hotel: every thread books a different room of the same
+ * type for the same night, so all bookings contend for the same inventory
+ * rows. Runs the current synchronous path and the per-hotel sequencer on
+ * separate nights and prints throughput and latency for both. Commits for
+ * real, so it is not transactional and cleans up after itself. Run with
+ * {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+public class BookingSequencerLoadTest {
+
+        private static final int ROOMS = 400;
+        private static final int THREADS = 32;
+
+        @Autowired
+        private ReservationService reservationService;
+        @Autowired
+        private UserRepository userRepository;
+        @Autowired
+        private HotelRepository hotelRepository;
+        @Autowired
+        private RoomTypeRepository roomTypeRepository;
+        @Autowired
+        private RoomRepository roomRepository;
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        private final List<Long> roomIds = new ArrayList<>();
+        private User owner;
+        private User guest;
+        private Hotel hotel;
+        private RoomType roomType;
+        private LocalDate saleDay;
+
+        @BeforeEach
+        void setUp() {
+                owner = userRepository.save(User.builder()
+                                .username("sale_owner")
+                                .password("password")
+                                .role(User.Role.OWNER)
+                                .build());
+                guest = userRepository.save(User.builder()
+                                .username("sale_guest")
+                                .password("password")
+                                .role(User.Role.USER)
+                                .fullName("Sale Guest")
+                                .build());
+                hotel = hotelRepository.save(Hotel.builder()
+                                .name("Flash Sale Hotel")
+                                .owner(owner)
+                                .build());
+                roomType = roomTypeRepository.save(RoomType.builder()
+                                .hotel(hotel)
+                                .name("Standard")
+                                .capacity(2)
+                                .basePrice(BigDecimal.valueOf(100))
+                                .priceUsd(BigDecimal.valueOf(100))
+                                .build());
+                for (int i = 0; i < ROOMS; i++) {
+                        Room room = roomRepository.save(Room.builder()
+                                        .roomType(roomType)
+                                        .roomNumber("F" + i)
+                                        .build());
+                        roomIds.add(room.getId());
+                }
+                saleDay = LocalDate.now().plusDays(500);
+        }
+
+        @AfterEach
+        void tearDown() {
+                jdbcTemplate.update("""
+                                DELETE FROM reservation_rooms WHERE room_id IN
+                                    (SELECT id FROM rooms WHERE room_type_id = ?)
+                                """, roomType.getId());
+                jdbcTemplate.update("DELETE FROM reservations WHERE user_id = ?", guest.getId());
+                jdbcTemplate.update("DELETE FROM room_type_inventory WHERE room_type_id = ?", roomType.getId());
+                jdbcTemplate.update("DELETE FROM rooms WHERE room_type_id = ?", roomType.getId());
+                jdbcTemplate.update("DELETE FROM room_types WHERE id = ?", roomType.getId());
+                jdbcTemplate.update("DELETE FROM hotels WHERE id = ?", hotel.getId());
+                jdbcTemplate.update("DELETE FROM users WHERE id IN (?, ?)", owner.getId(), guest.getId());
+        }
+
+        @Test
+        void sequencerVersusSynchronousBooking() throws Exception {
+                BookingSequencer sequencer = new BookingSequencer(reservationService, roomRepository,
+                                new SimpleMeterRegistry(), true, 16, 60_000, 300_000);
+
+                // Warm-up on a night of its own, so neither run pays for class loading and pool growth
+                run("warm-up", saleDay.minusDays(2), reservationService::createReservation);
+                run("synchronous", saleDay, reservationService::createReservation);
+                run("sequencer", saleDay.plusDays(2), sequencer::createReservation);
+        }
+
+        private void run(String name, LocalDate night,
+                        BiFunction<ReservationDto.CreateReservationRequest, String, ReservationDto.ReservationResponse> book)
+                        throws InterruptedException {
+                AtomicInteger next = new AtomicInteger();
+                AtomicInteger failed = new AtomicInteger();
+                long[] latencies = new long[ROOMS];
+                ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+                long start = System.nanoTime();
+                for (int t = 0; t < THREADS; t++) {
+                        executor.submit(() -> {
+                                int i;
+                                while ((i = next.getAndIncrement()) < ROOMS) {
+                                        long begin = System.nanoTime();
+                                        try {
+                                                book.apply(ReservationDto.CreateReservationRequest.builder()
+                                                                .roomIds(List.of(roomIds.get(i)))
+                                                                .checkInTime(night.atTime(15, 0))
+                                                                .checkOutTime(night.plusDays(1).atTime(11, 0))
+                                                                .currency("USD")
+                                                                .build(), guest.getUsername());
+                                        } catch (RuntimeException e) {
+                                                failed.incrementAndGet();
+                                                e.printStackTrace();
+                                        }
+                                        latencies[i] = System.nanoTime() - begin;
+                                }
+                        });
+                }
+                executor.shutdown();
+                assertThat(executor.awaitTermination(10, TimeUnit.MINUTES)).isTrue();
+                double seconds = (System.nanoTime() - start) / 1e9;
+
+                Arrays.sort(latencies);
+                System.out.printf("%-11s bookings=%d failed=%d threads=%d throughput=%.1f/s p50=%.1fms p99=%.1fms%n",
+                                name, ROOMS, failed.get(), THREADS, ROOMS / seconds,
+                                latencies[ROOMS / 2] / 1e6, latencies[ROOMS * 99 / 100] / 1e6);
+
+                assertThat(failed.get()).isZero();
+        }
+}
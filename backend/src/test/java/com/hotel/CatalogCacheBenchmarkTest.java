@@ -0,0 +1,202 @@
+package com.hotel;
+
+import com.hotel.dto.ReservationDto;
+import com.hotel.entity.Hotel;
+import com.hotel.entity.Room;
+import com.hotel.entity.RoomType;
+import com.hotel.entity.User;
+import com.hotel.repository.HotelRepository;
+import com.hotel.repository.RoomRepository;
+import com.hotel.repository.RoomTypeRepository;
+import com.hotel.repository.UserRepository;
+import com.hotel.service.HotelService;
+import com.hotel.service.ReservationService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the statements that search, the owner's catalog listing and
+ * bookings (create and confirm) send to the database, first with the
+ * second-level cache emptied before every operation, as if it were off, then
+ * with it warm. Commits for real, so it is not transactional and cleans up
+ * after itself. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class CatalogCacheBenchmarkTest {
+
+        private static final int HOTELS = 5;
+        private static final int ROOM_TYPES_PER_HOTEL = 4;
+        private static final int ROOMS_PER_TYPE = 10;
+        private static final int BOOKINGS = 20;
+
+        @Autowired
+        private ReservationService reservationService;
+        @Autowired
+        private HotelService hotelService;
+        @Autowired
+        private UserRepository userRepository;
+        @Autowired
+        private HotelRepository hotelRepository;
+        @Autowired
+        private RoomTypeRepository roomTypeRepository;
+        @Autowired
+        private RoomRepository roomRepository;
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        private final List<Long> hotelIds = new ArrayList<>();
+        private final List<Long> roomIds = new ArrayList<>();
+        private User owner;
+        private User guest;
+        private LocalDate firstDay;
+
+        @BeforeEach
+        void setUp() {
+                owner = userRepository.save(User.builder()
+                                .username("cache_bench_owner")
+                                .password("password")
+                                .role(User.Role.OWNER)
+                                .build());
+                guest = userRepository.save(User.builder()
+                                .username("cache_bench_guest")
+                                .password("password")
+                                .role(User.Role.USER)
+                                .fullName("Cache Bench Guest")
+                                .build());
+                for (int h = 0; h < HOTELS; h++) {
+                        Hotel hotel = hotelRepository.save(Hotel.builder()
+                                        .name("Cache Bench Hotel " + h)
+                                        .owner(owner)
+                                        .build());
+                        hotelIds.add(hotel.getId());
+                        for (int t = 0; t < ROOM_TYPES_PER_HOTEL; t++) {
+                                RoomType roomType = roomTypeRepository.save(RoomType.builder()
+                                                .hotel(hotel)
+                                                .name("Type " + t)
+                                                .capacity(2)
+                                                .basePrice(BigDecimal.valueOf(100))
+                                                .priceUsd(BigDecimal.valueOf(100))
+                                                .build());
+                                for (int r = 0; r < ROOMS_PER_TYPE; r++) {
+                                        roomIds.add(roomRepository.save(Room.builder()
+                                                        .roomType(roomType)
+                                                        .roomNumber(h + "-" + t + "-" + r)
+                                                        .build()).getId());
+                                }
+                        }
+                }
+                firstDay = LocalDate.now().plusDays(500);
+        }
+
+        @AfterEach
+        void tearDown() {
+                jdbcTemplate.update("""
+                                DELETE FROM reservation_rooms WHERE reservation_id IN
+                                    (SELECT id FROM reservations WHERE user_id = ?)
+                                """, guest.getId());
+                jdbcTemplate.update("DELETE FROM reservations WHERE user_id = ?", guest.getId());
+                for (Long hotelId : hotelIds) {
+                        jdbcTemplate.update("""
+                                        DELETE FROM room_type_inventory WHERE room_type_id IN
+                                            (SELECT id FROM room_types WHERE hotel_id = ?)
+                                        """, hotelId);
+                        jdbcTemplate.update("""
+                                        DELETE FROM rooms WHERE room_type_id IN
+                                            (SELECT id FROM room_types WHERE hotel_id = ?)
+                                        """, hotelId);
+                        jdbcTemplate.update("DELETE FROM room_types WHERE hotel_id = ?", hotelId);
+                        jdbcTemplate.update("DELETE FROM hotels WHERE id = ?", hotelId);
+                }
+                jdbcTemplate.update("DELETE FROM users WHERE id IN (?, ?)", owner.getId(), guest.getId());
+                entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        }
+
+        @Test
+        void warmCacheSavesRoundTrips() {
+                SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+                Statistics statistics = sessionFactory.getStatistics();
+
+                Pass cold = run(sessionFactory, 0, true);
+                run(sessionFactory, 1, false); // warm-up
+                Pass warm = run(sessionFactory, 2, false);
+
+                System.out.printf("hotels=%d rooms=%d bookings per pass=%d%n", HOTELS, roomIds.size(), BOOKINGS);
+                System.out.printf("%-8s %22s %22s %22s %10s%n", "", "search", "catalog", "booking", "L2 hits");
+                cold.print("cold");
+                warm.print("warm");
+
+                assertThat(warm.search().statements()).isLessThanOrEqualTo(cold.search().statements());
+                assertThat(warm.catalog().statements()).isLessThan(cold.catalog().statements());
+                assertThat(warm.booking().statements()).isLessThan(cold.booking().statements());
+        }
+
+        private Pass run(SessionFactory sessionFactory, int pass, boolean cold) {
+                Statistics statistics = sessionFactory.getStatistics();
+                Runnable evict = cold ? sessionFactory.getCache()::evictAllRegions : () -> {
+                };
+                LocalDate checkIn = firstDay.plusDays(pass * 10L);
+
+                statistics.clear();
+                evict.run();
+                Measurement search = measure(statistics, () -> reservationService.searchAvailableRooms(
+                                checkIn.atTime(13, 0), checkIn.plusDays(2).atTime(11, 0), 2, "USD"));
+                evict.run();
+                Measurement catalog = measure(statistics, () -> hotelService.getMyHotels(owner.getUsername()));
+                Measurement booking = measure(statistics, () -> {
+                        for (int i = 0; i < BOOKINGS; i++) {
+                                evict.run();
+                                ReservationDto.ReservationResponse created = reservationService.createReservation(
+                                                ReservationDto.CreateReservationRequest.builder()
+                                                                .roomIds(List.of(roomIds.get(i * roomIds.size() / BOOKINGS)))
+                                                                .checkInTime(checkIn.atTime(13, 0))
+                                                                .checkOutTime(checkIn.plusDays(2).atTime(11, 0))
+                                                                .currency("USD")
+                                                                .build(),
+                                                guest.getUsername());
+                                reservationService.confirm(created.getId(), owner.getUsername());
+                        }
+                });
+                return new Pass(search, catalog, booking, statistics.getSecondLevelCacheHitCount());
+        }
+
+        private static Measurement measure(Statistics statistics, Runnable action) {
+                long statements = statistics.getPrepareStatementCount();
+                long start = System.nanoTime();
+                action.run();
+                return new Measurement(statistics.getPrepareStatementCount() - statements,
+                                (System.nanoTime() - start) / 1e6);
+        }
+
+        private record Measurement(long statements, double millis) {
+
+                String format() {
+                        return String.format("%6d queries %7.1f ms", statements, millis);
+                }
+        }
+
+        private record Pass(Measurement search, Measurement catalog, Measurement booking, long hits) {
+
+                void print(String label) {
+                        System.out.printf("%-8s %22s %22s %22s %10d%n", label, search.format(), catalog.format(),
+                                        booking.format(), hits);
+                }
+        }
+}
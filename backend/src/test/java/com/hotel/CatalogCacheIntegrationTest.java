@@ -0,0 +1,182 @@
+package com.hotel;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.hotel.dto.HotelDto;
+import com.hotel.dto.ReservationDto;
+import com.hotel.entity.Hotel;
+import com.hotel.entity.Room;
+import com.hotel.entity.RoomType;
+import com.hotel.entity.User;
+import com.hotel.repository.HotelRepository;
+import com.hotel.repository.RoomRepository;
+import com.hotel.repository.RoomTypeRepository;
+import com.hotel.repository.UserRepository;
+import com.hotel.service.HotelService;
+import com.hotel.service.ReservationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.cache.CacheManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Entities reach the second-level cache only once their transaction
+ * commits, so this test is not transactional and cleans up after itself.
+ */
+@SpringBootTest
+public class CatalogCacheIntegrationTest {
+
+    @Autowired
+    private ReservationService reservationService;
+    @Autowired
+    private HotelService hotelService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private HotelRepository hotelRepository;
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private CacheManager catalogCacheManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache cache;
+    private User owner;
+    private User guest;
+    private Hotel hotel;
+    private RoomType roomType;
+    private Room room;
+
+    @BeforeEach
+    void setUp() {
+        cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        owner = userRepository.save(User.builder()
+                .username("cache_owner")
+                .password("password")
+                .role(User.Role.OWNER)
+                .build());
+        guest = userRepository.save(User.builder()
+                .username("cache_guest")
+                .password("password")
+                .fullName("Cache Guest")
+                .role(User.Role.USER)
+                .build());
+        hotel = hotelRepository.save(Hotel.builder()
+                .name("Cache Hotel")
+                .owner(owner)
+                .build());
+        roomType = roomTypeRepository.save(RoomType.builder()
+                .hotel(hotel)
+                .name("Standard")
+                .capacity(2)
+                .basePrice(BigDecimal.valueOf(100))
+                .priceUsd(BigDecimal.valueOf(100))
+                .build());
+        room = roomRepository.save(Room.builder().roomType(roomType).roomNumber("101").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("""
+                DELETE FROM reservation_rooms WHERE room_id IN
+                    (SELECT id FROM rooms WHERE room_type_id = ?)
+                """, roomType.getId());
+        jdbcTemplate.update("DELETE FROM reservations WHERE user_id = ?", guest.getId());
+        jdbcTemplate.update("DELETE FROM room_type_inventory WHERE room_type_id = ?", roomType.getId());
+        jdbcTemplate.update("DELETE FROM rooms WHERE room_type_id = ?", roomType.getId());
+        jdbcTemplate.update("DELETE FROM room_types WHERE id = ?", roomType.getId());
+        jdbcTemplate.update("DELETE FROM hotels WHERE id = ?", hotel.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE id IN (?, ?)", owner.getId(), guest.getId());
+        // Plain JDBC bypasses Hibernate, so the deleted rows are still cached
+        cache.evictAllRegions();
+    }
+
+    @Test
+    void catalogEntitiesAreServedFromTheCache() {
+        cache.evictAllRegions();
+        double misses = cacheGets("room-types", "miss");
+        double hits = cacheGets("room-types", "hit");
+
+        roomTypeRepository.findById(roomType.getId()).orElseThrow();
+        assertThat(cache.containsEntity(RoomType.class, roomType.getId())).isTrue();
+        roomTypeRepository.findById(roomType.getId()).orElseThrow();
+
+        assertThat(cacheGets("room-types", "miss")).isGreaterThan(misses);
+        assertThat(cacheGets("room-types", "hit")).isEqualTo(hits + 1);
+    }
+
+    @Test
+    void bookingKeepsTheCatalogCached() {
+        transactionTemplate.executeWithoutResult(status -> roomRepository.findById(room.getId()).orElseThrow()
+                .getRoomType().getHotel().getName());
+        assertThat(cache.containsEntity(Hotel.class, hotel.getId())).isTrue();
+
+        LocalDate day = LocalDate.now().plusDays(40);
+        reservationService.createReservation(ReservationDto.CreateReservationRequest.builder()
+                .roomIds(List.of(room.getId()))
+                .checkInTime(day.atTime(13, 0))
+                .checkOutTime(day.plusDays(2).atTime(11, 0))
+                .currency("USD")
+                .build(), guest.getUsername());
+
+        // The inventory update is native; it must not have emptied the catalog regions
+        assertThat(cache.containsEntity(Room.class, room.getId())).isTrue();
+        assertThat(cache.containsEntity(RoomType.class, roomType.getId())).isTrue();
+        assertThat(cache.containsEntity(Hotel.class, hotel.getId())).isTrue();
+    }
+
+    @Test
+    void addingARoomEvictsTheCachedCollection() {
+        assertThat(roomNumbers()).containsExactly("101");
+        assertThat(cache.containsCollection(RoomType.class.getName() + ".rooms", roomType.getId())).isTrue();
+
+        hotelService.addRoom(roomType.getId(), HotelDto.RoomRequest.builder().roomNumber("102").build());
+
+        assertThat(roomNumbers()).containsExactlyInAnyOrder("101", "102");
+    }
+
+    @Test
+    void regionsAreSizedFromConfiguration() {
+        @SuppressWarnings("unchecked")
+        CaffeineConfiguration<Object, Object> rooms = catalogCacheManager.getCache("rooms")
+                .getConfiguration(CaffeineConfiguration.class);
+
+        assertThat(rooms.getMaximumSize()).hasValue(200000);
+        assertThat(rooms.getExpireAfterWrite()).isPresent();
+        assertThat(meterRegistry.find("cache.evictions").tag("cache", "rooms").functionCounter()).isNotNull();
+    }
+
+    private List<String> roomNumbers() {
+        return transactionTemplate.execute(status -> roomTypeRepository.findById(roomType.getId()).orElseThrow()
+                .getRooms().stream()
+                .map(Room::getRoomNumber)
+                .toList());
+    }
+
+    private double cacheGets(String region, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", region).tag("result", result).functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,122 @@
+package com.hotel;
+
+import com.hotel.dto.FxRateDto;
+import com.hotel.dto.ReservationDto;
+import com.hotel.entity.Hotel;
+import com.hotel.entity.Room;
+import com.hotel.entity.RoomType;
+import com.hotel.entity.User;
+import com.hotel.repository.HotelRepository;
+import com.hotel.repository.RoomRepository;
+import com.hotel.repository.RoomTypeRepository;
+import com.hotel.repository.UserRepository;
+import com.hotel.service.FxRateService;
+import com.hotel.service.QuoteService;
+import com.hotel.service.ReservationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+public class FxRateIntegrationTest {
+
+    @Autowired
+    private FxRateService fxRateService;
+    @Autowired
+    private QuoteService quoteService;
+    @Autowired
+    private ReservationService reservationService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private HotelRepository hotelRepository;
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+
+    private RoomType roomType;
+    private Room room;
+    private LocalDateTime checkIn;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(User.builder()
+                .username("fx_owner")
+                .password("password")
+                .role(User.Role.OWNER)
+                .build());
+        Hotel hotel = hotelRepository.save(Hotel.builder()
+                .name("FX Hotel")
+                .owner(owner)
+                .build());
+        // Only a USD price, so every other currency is converted
+        roomType = roomTypeRepository.save(RoomType.builder()
+                .hotel(hotel)
+                .name("Standard")
+                .capacity(2)
+                .basePrice(new BigDecimal("120.00"))
+                .build());
+        room = roomRepository.save(Room.builder().roomType(roomType).roomNumber("101").build());
+        checkIn = LocalDateTime.now().plusDays(90).withHour(15).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @AfterTransaction
+    void restoreRates() {
+        fxRateService.refresh();
+    }
+
+    @Test
+    void seededRates_ShouldPriceRoomTypesWithoutCurrencyColumns() {
+        ReservationDto.AvailableRoomTypeResponse type = searchRoomType("KRW");
+
+        assertEquals(0, new BigDecimal("156000").compareTo(type.getPriceKrw()));
+        assertEquals(0, new BigDecimal("6600").compareTo(type.getPricePhp()));
+        assertEquals(0, new BigDecimal("312000").compareTo(type.getStayPrice()));
+        assertEquals("KRW", type.getCurrency());
+    }
+
+    @Test
+    void updateRate_ShouldPriceQuotesAndSearchInTheNewCurrency() {
+        assertEquals("USD", quoteService.quote(List.of(room.getId()), checkIn, checkIn.plusDays(2), "EUR")
+                .getCurrency());
+
+        FxRateDto request = new FxRateDto();
+        request.setUnitsPerBase(new BigDecimal("0.9137"));
+        fxRateService.updateRate("eur", request);
+        fxRateService.refresh();
+
+        ReservationDto.QuoteResponse quote = quoteService.quote(List.of(room.getId()), checkIn,
+                checkIn.plusDays(2), "EUR");
+        assertEquals("EUR", quote.getCurrency());
+        assertEquals(0, new BigDecimal("219.29").compareTo(quote.getTotalPrice()));
+        assertEquals(0, new BigDecimal("219.29").compareTo(searchRoomType("EUR").getStayPrice()));
+    }
+
+    @Test
+    void updateRate_ShouldRejectTheBaseCurrencyAndInvalidRates() {
+        FxRateDto request = new FxRateDto();
+        request.setUnitsPerBase(BigDecimal.TEN);
+        assertThrows(RuntimeException.class, () -> fxRateService.updateRate("USD", request));
+        assertThrows(RuntimeException.class, () -> fxRateService.updateRate("XYZ", request));
+
+        request.setUnitsPerBase(BigDecimal.ZERO);
+        assertThrows(RuntimeException.class, () -> fxRateService.updateRate("EUR", request));
+    }
+
+    private ReservationDto.AvailableRoomTypeResponse searchRoomType(String currency) {
+        return reservationService.searchAvailableRoomTypes(checkIn, checkIn.plusDays(2), 1, currency).stream()
+                .filter(t -> t.getRoomTypeId().equals(roomType.getId()))
+                .findFirst().orElseThrow();
+    }
+}
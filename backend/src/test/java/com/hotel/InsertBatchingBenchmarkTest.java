@@ -0,0 +1,235 @@
+package com.hotel;
+
+import com.hotel.entity.AccessLog;
+import com.hotel.entity.BaseEntity;
+import com.hotel.entity.Hotel;
+import com.hotel.entity.Room;
+import com.hotel.entity.RoomType;
+import com.hotel.entity.User;
+import com.hotel.repository.AccessLogRepository;
+import com.hotel.repository.HotelRepository;
+import com.hotel.repository.RoomRepository;
+import com.hotel.repository.RoomTypeRepository;
+import com.hotel.repository.UserRepository;
+import com.hotel.service.AccessLogWriter;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.SessionEventListener;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput of bulk room creation and access logging through
+ * Hibernate, with the rooms mapped the way they were before the switch
+ * (an identity key, so every row is its own {@code INSERT} and id read-back)
+ * against the pooled sequence that lets Hibernate batch them, and access
+ * logs saved one transaction each against the buffered writer. JDBC
+ * statements and batches are counted by a Hibernate session listener.
+ * Commits for real, so it is not transactional and cleans up after itself.
+ * Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session.events.auto="
+                + "com.hotel.InsertBatchingBenchmarkTest$JdbcCounter")
+public class InsertBatchingBenchmarkTest {
+
+        private static final int ROOMS = 5000;
+        private static final int ACCESS_LOGS = 2000;
+        private static final String URL_PREFIX = "/bench/insert-batching/";
+
+        @Autowired
+        private UserRepository userRepository;
+        @Autowired
+        private HotelRepository hotelRepository;
+        @Autowired
+        private RoomTypeRepository roomTypeRepository;
+        @Autowired
+        private RoomRepository roomRepository;
+        @Autowired
+        private AccessLogRepository accessLogRepository;
+        @Autowired
+        private AccessLogWriter accessLogWriter;
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+        @Autowired
+        private TransactionTemplate transactionTemplate;
+        @Autowired
+        private EntityManager entityManager;
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        private User owner;
+        private Hotel hotel;
+        private RoomType roomType;
+
+        @BeforeEach
+        void setUp() {
+                owner = userRepository.save(User.builder()
+                                .username("batch_bench_owner")
+                                .password("password")
+                                .role(User.Role.OWNER)
+                                .build());
+                hotel = hotelRepository.save(Hotel.builder()
+                                .name("Batch Bench Hotel")
+                                .owner(owner)
+                                .build());
+                roomType = roomTypeRepository.save(RoomType.builder()
+                                .hotel(hotel)
+                                .name("Standard")
+                                .capacity(2)
+                                .basePrice(BigDecimal.valueOf(100))
+                                .priceUsd(BigDecimal.valueOf(100))
+                                .build());
+        }
+
+        @AfterEach
+        void tearDown() {
+                jdbcTemplate.update("DELETE FROM access_logs WHERE url LIKE ?", URL_PREFIX + "%");
+                jdbcTemplate.update("DELETE FROM rooms WHERE room_type_id = ?", roomType.getId());
+                jdbcTemplate.update("DELETE FROM room_types WHERE id = ?", roomType.getId());
+                jdbcTemplate.update("DELETE FROM hotels WHERE id = ?", hotel.getId());
+                jdbcTemplate.update("DELETE FROM users WHERE id = ?", owner.getId());
+                entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        }
+
+        @Test
+        void batchedInsertsBeatRowByRowInserts() {
+                // one untimed pass each so both paths run JIT-compiled
+                measure(ROOMS, count -> saveIdentityRooms("WI", count));
+                measure(ROOMS, count -> saveRooms("WS", count));
+                Result identityRooms = measure(ROOMS, count -> saveIdentityRooms("I", count));
+                Result sequenceRooms = measure(ROOMS, count -> saveRooms("S", count));
+                Result legacyLogs = measure(ACCESS_LOGS, count -> {
+                        for (int i = 0; i < count; i++)
+                                accessLogRepository.save(accessLog(i));
+                });
+                Result bufferedLogs = measure(ACCESS_LOGS, count -> {
+                        for (int i = 0; i < count; i++)
+                                accessLogWriter.append(accessLog(i));
+                        accessLogWriter.flush();
+                });
+
+                System.out.printf("%-28s %10s %10s %10s %14s%n", "", "statements", "batches", "ms", "rows/s");
+                identityRooms.print("rooms, IDENTITY");
+                sequenceRooms.print("rooms, pooled SEQUENCE");
+                legacyLogs.print("access logs, per request");
+                bufferedLogs.print("access logs, buffered");
+
+                assertThat(roomRepository.findByRoomTypeId(roomType.getId())).hasSize(4 * ROOMS);
+                assertThat(identityRooms.statements()).isGreaterThanOrEqualTo(ROOMS);
+                assertThat(sequenceRooms.statements() + sequenceRooms.batches()).isLessThan(ROOMS / 10);
+                assertThat(bufferedLogs.statements() + bufferedLogs.batches()).isLessThan(ACCESS_LOGS / 10);
+        }
+
+        /** Saved through Hibernate like {@link #saveRooms}, with the identity mapping rooms had before. */
+        private void saveIdentityRooms(String prefix, int count) {
+                transactionTemplate.executeWithoutResult(status -> {
+                        for (int i = 0; i < count; i++)
+                                entityManager.persist(new IdentityRoom(roomType.getId(), prefix + i));
+                });
+        }
+
+        private void saveRooms(String prefix, int count) {
+                transactionTemplate.executeWithoutResult(status -> {
+                        List<Room> rooms = new ArrayList<>(count);
+                        for (int i = 0; i < count; i++)
+                                rooms.add(Room.builder().roomType(roomType).roomNumber(prefix + i).build());
+                        roomRepository.saveAll(rooms);
+                });
+        }
+
+        private static AccessLog accessLog(int i) {
+                return AccessLog.builder()
+                                .method("GET")
+                                .url(URL_PREFIX + i)
+                                .status(200)
+                                .clientIp("127.0.0.1")
+                                .timestamp(LocalDateTime.now())
+                                .build();
+        }
+
+        /**
+         * Times {@code insert} and counts the single statements and batches
+         * Hibernate sends meanwhile, on any thread.
+         */
+        private static Result measure(int rows, Consumer<Integer> insert) {
+                long statements = JdbcCounter.STATEMENTS.get();
+                long batches = JdbcCounter.BATCHES.get();
+                long start = System.nanoTime();
+                insert.accept(rows);
+                long nanos = System.nanoTime() - start;
+                return new Result(JdbcCounter.STATEMENTS.get() - statements, JdbcCounter.BATCHES.get() - batches,
+                                rows, nanos / 1e6);
+        }
+
+        private record Result(long statements, long batches, int rows, double millis) {
+
+                void print(String label) {
+                        System.out.printf("%-28s %10d %10d %10.1f %14.0f%n", label, statements, batches, millis,
+                                        rows / (millis / 1000));
+                }
+        }
+
+        /** Registered on every Hibernate session of this context. */
+        public static class JdbcCounter implements SessionEventListener {
+                private static final long serialVersionUID = 1L;
+
+                static final AtomicLong STATEMENTS = new AtomicLong();
+                static final AtomicLong BATCHES = new AtomicLong();
+
+                @Override
+                public void jdbcExecuteStatementStart() {
+                        STATEMENTS.incrementAndGet();
+                }
+
+                @Override
+                public void jdbcExecuteBatchStart() {
+                        BATCHES.incrementAndGet();
+                }
+        }
+
+        /** The rooms table as mapped before it moved to a pooled sequence. */
+        @Entity(name = "BenchmarkIdentityRoom")
+        @Table(name = "rooms")
+        static class IdentityRoom extends BaseEntity {
+                @Id
+                @GeneratedValue(strategy = GenerationType.IDENTITY)
+                private Long id;
+
+                @Column(name = "room_type_id", nullable = false)
+                private Long roomTypeId;
+
+                @Column(nullable = false)
+                private String roomNumber;
+
+                protected IdentityRoom() {
+                }
+
+                IdentityRoom(Long roomTypeId, String roomNumber) {
+                        this.roomTypeId = roomTypeId;
+                        this.roomNumber = roomNumber;
+                }
+        }
+}
@@ -0,0 +1,179 @@
+package com.hotel;
+
+import com.hotel.dto.ReservationDto;
+import com.hotel.entity.Hotel;
+import com.hotel.entity.Reservation;
+import com.hotel.entity.Room;
+import com.hotel.entity.RoomType;
+import com.hotel.entity.User;
+import com.hotel.repository.HotelRepository;
+import com.hotel.repository.ReservationRepository;
+import com.hotel.repository.RoomRepository;
+import com.hotel.repository.RoomTypeRepository;
+import com.hotel.repository.UserRepository;
+import com.hotel.service.ReservationEventStream;
+import com.hotel.service.ReservationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class ManagerDayIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ReservationService reservationService;
+    @Autowired
+    private ReservationEventStream reservationEventStream;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private HotelRepository hotelRepository;
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private User owner;
+    private User guest;
+    private Hotel hotel;
+    private Room room;
+    private Room otherHotelRoom;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder()
+                .username("day_owner")
+                .password("password")
+                .role(User.Role.OWNER)
+                .build());
+        guest = userRepository.save(User.builder()
+                .username("day_guest")
+                .password("password")
+                .role(User.Role.USER)
+                .build());
+        hotel = hotelRepository.save(Hotel.builder().name("Day Hotel").owner(owner).build());
+        room = roomRepository.save(Room.builder().roomType(roomType(hotel)).roomNumber("101").build());
+        Hotel otherHotel = hotelRepository.save(Hotel.builder().name("Other Hotel").owner(owner).build());
+        otherHotelRoom = roomRepository.save(Room.builder().roomType(roomType(otherHotel)).roomNumber("201").build());
+        day = LocalDate.now().plusDays(20);
+    }
+
+    @Test
+    void dayViewHasTheStaysArrivingInHouseOrDepartingThatDay() {
+        Reservation departing = save(room, day.minusDays(2).atTime(15, 0), day.atTime(11, 0),
+                Reservation.ReservationStatus.CHECKED_IN);
+        Reservation inHouse = save(room, day.minusDays(1).atTime(15, 0), day.plusDays(1).atTime(11, 0),
+                Reservation.ReservationStatus.CHECKED_IN);
+        Reservation arriving = save(room, day.atTime(15, 0), day.plusDays(2).atTime(11, 0),
+                Reservation.ReservationStatus.CONFIRMED);
+        // Left before the day, arrives after it, cancelled, or in another hotel
+        save(room, day.minusDays(5).atTime(15, 0), day.minusDays(1).atTime(11, 0),
+                Reservation.ReservationStatus.CHECKED_OUT);
+        save(room, day.plusDays(1).atTime(15, 0), day.plusDays(3).atTime(11, 0),
+                Reservation.ReservationStatus.PENDING);
+        save(room, day.atTime(15, 0), day.plusDays(1).atTime(11, 0), Reservation.ReservationStatus.CANCELLED);
+        save(otherHotelRoom, day.atTime(15, 0), day.plusDays(1).atTime(11, 0),
+                Reservation.ReservationStatus.CONFIRMED);
+        reservationRepository.flush();
+
+        List<ReservationDto.ReservationResponse> view = reservationService.getManagerReservations(hotel.getId(),
+                day, owner.getUsername());
+
+        assertEquals(List.of(departing.getId(), inHouse.getId(), arriving.getId()),
+                view.stream().map(ReservationDto.ReservationResponse::getId).toList());
+    }
+
+    @Test
+    @WithMockUser(username = "day_owner", roles = "OWNER")
+    void streamPushesReservationChangesOfTheHotel() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/api/reservations/manager/stream")
+                .param("hotelId", hotel.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+        assertTrue(reservationEventStream.subscriberCount() > 0);
+
+        Reservation checkedIn = Reservation.builder()
+                .id(42L)
+                .status(Reservation.ReservationStatus.CHECKED_IN)
+                .checkInTime(day.atTime(15, 0))
+                .checkOutTime(day.plusDays(1).atTime(11, 0))
+                .rooms(List.of(room, otherHotelRoom))
+                .build();
+        // Outside of a transaction the event goes out right away
+        CompletableFuture.runAsync(() -> reservationEventStream.publishAfterCommit(
+                ReservationEventStream.EventType.CHECKED_IN, checkedIn)).join();
+
+        String body = awaitContent(response, "roomNumbers");
+        assertTrue(body.contains("event:CHECKED_IN"), body);
+        assertTrue(body.contains("\"reservationId\":42"), body);
+        assertTrue(body.contains("\"roomNumbers\":[\"101\"]"), body);
+    }
+
+    @Test
+    @WithMockUser(username = "day_guest", roles = "OWNER")
+    void streamIsOnlyOpenedForTheHotelsOwner() throws Exception {
+        mockMvc.perform(get("/api/reservations/manager/stream")
+                .param("hotelId", hotel.getId().toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String body = response.getContentAsString();
+        while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            body = response.getContentAsString();
+        }
+        return body;
+    }
+
+    private RoomType roomType(Hotel owner) {
+        return roomTypeRepository.save(RoomType.builder()
+                .hotel(owner)
+                .name("Standard")
+                .capacity(2)
+                .basePrice(BigDecimal.valueOf(100))
+                .priceUsd(BigDecimal.valueOf(100))
+                .build());
+    }
+
+    private Reservation save(Room reservedRoom, LocalDateTime checkIn, LocalDateTime checkOut,
+            Reservation.ReservationStatus status) {
+        return reservationRepository.save(Reservation.builder()
+                .user(guest)
+                .rooms(new ArrayList<>(List.of(reservedRoom)))
+                .checkInTime(checkIn)
+                .checkOutTime(checkOut)
+                .status(status)
+                .totalPrice(BigDecimal.valueOf(100))
+                .currency("USD")
+                .build());
+    }
+}
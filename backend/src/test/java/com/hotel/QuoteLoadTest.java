@@ -0,0 +1,185 @@
+package com.hotel;
+
+import com.hotel.entity.DiscountPolicy;
+import com.hotel.entity.Hotel;
+import com.hotel.entity.Room;
+import com.hotel.entity.RoomType;
+import com.hotel.entity.User;
+import com.hotel.repository.DiscountPolicyRepository;
+import com.hotel.repository.HotelRepository;
+import com.hotel.repository.RoomRepository;
+import com.hotel.repository.RoomTypeRepository;
+import com.hotel.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives {@code GET /api/reservations/quote} over HTTP at a fixed arrival
+ * rate and reports latency percentiles. Latency is measured from each
+ * request's scheduled start, so a stalled server cannot hide queueing.
+ * Commits for real, so it is not transactional and cleans up after
+ * itself. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+                // Per-request DEBUG logging from the local profile would dominate the measurement
+                "spring.jpa.show-sql=false",
+                "logging.level.org.springframework.security=INFO",
+                "logging.level.com.hotel=INFO",
+                "logging.level.org.hibernate.SQL=INFO",
+                "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO" })
+public class QuoteLoadTest {
+
+        private static final int RATE_PER_SECOND = 2000;
+        private static final int WARMUP_SECONDS = 5;
+        private static final int SECONDS = 10;
+        private static final int ROOMS = 50;
+        private static final double TARGET_P99_MILLIS = 5.0;
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private UserRepository userRepository;
+        @Autowired
+        private HotelRepository hotelRepository;
+        @Autowired
+        private RoomTypeRepository roomTypeRepository;
+        @Autowired
+        private RoomRepository roomRepository;
+        @Autowired
+        private DiscountPolicyRepository discountPolicyRepository;
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        private final List<Long> roomIds = new ArrayList<>();
+        private User owner;
+        private Hotel hotel;
+        private RoomType roomType;
+
+        @BeforeEach
+        void setUp() {
+                owner = userRepository.save(User.builder()
+                                .username("quote_owner")
+                                .password("password")
+                                .role(User.Role.OWNER)
+                                .build());
+                hotel = hotelRepository.save(Hotel.builder()
+                                .name("Quote Hotel")
+                                .owner(owner)
+                                .build());
+                roomType = roomTypeRepository.save(RoomType.builder()
+                                .hotel(hotel)
+                                .name("Standard")
+                                .capacity(2)
+                                .basePrice(BigDecimal.valueOf(100))
+                                .priceUsd(BigDecimal.valueOf(100))
+                                .priceKrw(BigDecimal.valueOf(130_000))
+                                .build());
+                for (int i = 0; i < ROOMS; i++) {
+                        roomIds.add(roomRepository.save(Room.builder()
+                                        .roomType(roomType)
+                                        .roomNumber("Q" + i)
+                                        .build()).getId());
+                }
+                for (int i = 0; i < 4; i++) {
+                        discountPolicyRepository.save(DiscountPolicy.builder()
+                                        .hotel(hotel)
+                                        .name("Stay " + (i * 3) + "+")
+                                        .minDays(i * 3)
+                                        .type(DiscountPolicy.DiscountType.PERCENTAGE)
+                                        .discountRate(BigDecimal.valueOf(5 + i * 5))
+                                        .build());
+                }
+        }
+
+        @AfterEach
+        void tearDown() {
+                jdbcTemplate.update("DELETE FROM discount_policies WHERE hotel_id = ?", hotel.getId());
+                jdbcTemplate.update("DELETE FROM rooms WHERE room_type_id = ?", roomType.getId());
+                jdbcTemplate.update("DELETE FROM room_types WHERE id = ?", roomType.getId());
+                jdbcTemplate.update("DELETE FROM hotels WHERE id = ?", hotel.getId());
+                jdbcTemplate.update("DELETE FROM users WHERE id = ?", owner.getId());
+        }
+
+        @Test
+        void quoteLatencyAtFixedRate() throws Exception {
+                HttpClient client = HttpClient.newBuilder()
+                                .executor(Executors.newFixedThreadPool(16))
+                                .build();
+
+                run(client, "warm-up", WARMUP_SECONDS);
+                double p99 = run(client, "quote", SECONDS);
+
+                assertThat(p99).isLessThan(TARGET_P99_MILLIS);
+        }
+
+        /** @return p99 latency in milliseconds */
+        private double run(HttpClient client, String name, int seconds) throws Exception {
+                int total = RATE_PER_SECOND * seconds;
+                long intervalNanos = TimeUnit.SECONDS.toNanos(1) / RATE_PER_SECOND;
+                long[] latencies = new long[total];
+                AtomicInteger failed = new AtomicInteger();
+                List<CompletableFuture<?>> requests = new ArrayList<>(total);
+                LocalDate firstNight = LocalDate.now().plusDays(30);
+
+                long start = System.nanoTime();
+                for (int i = 0; i < total; i++) {
+                        long scheduled = start + i * intervalNanos;
+                        long wait = scheduled - System.nanoTime();
+                        if (wait > 0)
+                                LockSupport.parkNanos(wait);
+
+                        LocalDate checkIn = firstNight.plusDays(i % 60);
+                        String uri = "http://localhost:" + port + "/api/reservations/quote"
+                                        + "?roomIds=" + roomIds.get(i % ROOMS) + "," + roomIds.get((i + 1) % ROOMS)
+                                        + "&checkInTime=" + checkIn.atTime(15, 0)
+                                        + "&checkOutTime=" + checkIn.plusDays(1 + i % 10).atTime(11, 0)
+                                        + "&currency=" + (i % 2 == 0 ? "USD" : "KRW");
+                        int index = i;
+                        requests.add(client.sendAsync(HttpRequest.newBuilder(URI.create(uri)).GET().build(),
+                                        HttpResponse.BodyHandlers.discarding())
+                                        .whenComplete((response, error) -> {
+                                                latencies[index] = System.nanoTime() - scheduled;
+                                                if (error != null || response.statusCode() != 200)
+                                                        failed.incrementAndGet();
+                                        }));
+                }
+                CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new))
+                                .exceptionally(e -> null)
+                                .get(5, TimeUnit.MINUTES);
+                double elapsed = (System.nanoTime() - start) / 1e9;
+
+                Arrays.sort(latencies);
+                double p50 = latencies[total / 2] / 1e6;
+                double p99 = latencies[total * 99 / 100] / 1e6;
+                System.out.printf("%-7s requests=%d failed=%d rate=%.0f/s p50=%.2fms p99=%.2fms max=%.2fms%n", name,
+                                total, failed.get(), total / elapsed, p50, p99, latencies[total - 1] / 1e6);
+
+                assertThat(failed.get()).isZero();
+                return p99;
+        }
+}
@@ -0,0 +1,149 @@
+package com.hotel;
+
+import com.hotel.dto.HotelDto;
+import com.hotel.dto.ReservationDto;
+import com.hotel.entity.Hotel;
+import com.hotel.entity.Room;
+import com.hotel.entity.RoomType;
+import com.hotel.entity.User;
+import com.hotel.repository.HotelRepository;
+import com.hotel.repository.RoomRepository;
+import com.hotel.repository.RoomTypeRepository;
+import com.hotel.repository.UserRepository;
+import com.hotel.service.HotelService;
+import com.hotel.service.ReservationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+public class RateCalendarIntegrationTest {
+
+    @Autowired
+    private HotelService hotelService;
+    @Autowired
+    private ReservationService reservationService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private HotelRepository hotelRepository;
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+
+    private RoomType roomType;
+    private Room room;
+    private LocalDate friday;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(User.builder()
+                .username("rate_owner")
+                .password("password")
+                .role(User.Role.OWNER)
+                .build());
+        userRepository.save(User.builder()
+                .username("rate_guest")
+                .password("password")
+                .role(User.Role.USER)
+                .fullName("Rate Guest")
+                .build());
+        Hotel hotel = hotelRepository.save(Hotel.builder()
+                .name("Rate Hotel")
+                .owner(owner)
+                .build());
+        roomType = roomTypeRepository.save(RoomType.builder()
+                .hotel(hotel)
+                .name("Standard")
+                .capacity(2)
+                .basePrice(BigDecimal.valueOf(100))
+                .priceUsd(BigDecimal.valueOf(100))
+                .priceKrw(BigDecimal.valueOf(130_000))
+                .build());
+        room = roomRepository.save(Room.builder().roomType(roomType).roomNumber("101").build());
+        friday = LocalDate.now().plusDays(60).with(TemporalAdjusters.next(DayOfWeek.FRIDAY));
+    }
+
+    @Test
+    void weekendRates_ShouldPriceBookingAndSearch() {
+        setWeekendRate("150.00");
+
+        ReservationDto.ReservationResponse reservation = reservationService.createReservation(
+                ReservationDto.CreateReservationRequest.builder()
+                        .roomIds(List.of(room.getId()))
+                        .checkInTime(friday.atTime(15, 0))
+                        .checkOutTime(friday.plusDays(3).atTime(11, 0))
+                        .currency("USD")
+                        .build(),
+                "rate_guest");
+        // Friday at the standard rate, Saturday and Sunday at the weekend rate
+        assertEquals(0, new BigDecimal("400").compareTo(reservation.getTotalPrice()));
+
+        ReservationDto.AvailableRoomTypeResponse type = reservationService
+                .searchAvailableRoomTypes(friday.plusDays(7).atTime(15, 0), friday.plusDays(10).atTime(11, 0), 1,
+                        null)
+                .stream()
+                .filter(t -> t.getRoomTypeId().equals(roomType.getId()))
+                .findFirst().orElseThrow();
+        assertEquals(0, new BigDecimal("400").compareTo(type.getStayPriceUsd()));
+        assertEquals(0, new BigDecimal("390000").compareTo(type.getStayPriceKrw()));
+    }
+
+    @Test
+    void updateRates_ShouldKeepOtherCurrenciesAndResetWhenAllPricesAreNull() {
+        setWeekendRate("150.00");
+        hotelService.updateRates(roomType.getId(), HotelDto.RateRequest.builder()
+                .from(friday)
+                .to(friday.plusDays(14))
+                .priceKrw(BigDecimal.valueOf(200_000))
+                .build(), "rate_owner");
+
+        List<HotelDto.NightlyRateResponse> rates = hotelService.getRates(roomType.getId(), friday,
+                friday.plusDays(2), "rate_owner");
+        assertEquals(0, new BigDecimal("100").compareTo(rates.get(0).getPriceUsd()));
+        assertEquals(0, new BigDecimal("150").compareTo(rates.get(1).getPriceUsd()));
+        assertEquals(0, new BigDecimal("200000").compareTo(rates.get(0).getPriceKrw()));
+
+        List<HotelDto.NightlyRateResponse> reset = hotelService.updateRates(roomType.getId(),
+                HotelDto.RateRequest.builder()
+                        .from(friday)
+                        .to(friday.plusDays(14))
+                        .build(),
+                "rate_owner");
+        assertEquals(14, reset.size());
+        assertTrue(reset.stream().allMatch(rate -> rate.getPriceUsd().compareTo(BigDecimal.valueOf(100)) == 0
+                && rate.getPriceKrw().compareTo(BigDecimal.valueOf(130_000)) == 0));
+    }
+
+    @Test
+    void updateRates_ShouldRejectOtherOwners() {
+        assertThrows(RuntimeException.class, () -> hotelService.updateRates(roomType.getId(),
+                HotelDto.RateRequest.builder()
+                        .from(friday)
+                        .to(friday.plusDays(1))
+                        .priceUsd(BigDecimal.ONE)
+                        .build(),
+                "rate_guest"));
+    }
+
+    private void setWeekendRate(String priceUsd) {
+        hotelService.updateRates(roomType.getId(), HotelDto.RateRequest.builder()
+                .from(friday)
+                .to(friday.plusDays(14))
+                .daysOfWeek(List.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY))
+                .priceUsd(new BigDecimal(priceUsd))
+                .build(), "rate_owner");
+    }
+}
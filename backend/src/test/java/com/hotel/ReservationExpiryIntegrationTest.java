@@ -0,0 +1,162 @@
+package com.hotel;
+
+import com.hotel.dto.ReservationDto;
+import com.hotel.entity.Hotel;
+import com.hotel.entity.Room;
+import com.hotel.entity.RoomType;
+import com.hotel.entity.RoomTypeInventory;
+import com.hotel.entity.User;
+import com.hotel.repository.HotelRepository;
+import com.hotel.repository.RoomRepository;
+import com.hotel.repository.RoomTypeInventoryRepository;
+import com.hotel.repository.RoomTypeRepository;
+import com.hotel.repository.UserRepository;
+import com.hotel.service.ReservationEventStream;
+import com.hotel.service.ReservationExpiryService;
+import com.hotel.service.ReservationService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = "hotel.reservation.expiry.batch-size=1")
+@Transactional
+public class ReservationExpiryIntegrationTest {
+
+    @Autowired
+    private ReservationExpiryService reservationExpiryService;
+    @Autowired
+    private ReservationService reservationService;
+    @Autowired
+    private RoomTypeInventoryRepository inventoryRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private HotelRepository hotelRepository;
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+    @SpyBean
+    private ReservationEventStream reservationEventStream;
+
+    private RoomType roomType;
+    private Room room101;
+    private Room room102;
+    private Room room103;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(User.builder()
+                .username("expiry_owner")
+                .password("password")
+                .role(User.Role.OWNER)
+                .build());
+        userRepository.save(User.builder()
+                .username("expiry_guest")
+                .password("password")
+                .role(User.Role.USER)
+                .fullName("Expiry Guest")
+                .build());
+        Hotel hotel = hotelRepository.save(Hotel.builder()
+                .name("Expiry Hotel")
+                .owner(owner)
+                .build());
+        roomType = roomTypeRepository.save(RoomType.builder()
+                .hotel(hotel)
+                .name("Standard")
+                .capacity(2)
+                .basePrice(BigDecimal.valueOf(100))
+                .build());
+        room101 = roomRepository.save(Room.builder().roomType(roomType).roomNumber("101").build());
+        room102 = roomRepository.save(Room.builder().roomType(roomType).roomNumber("102").build());
+        room103 = roomRepository.save(Room.builder().roomType(roomType).roomNumber("103").build());
+        day = LocalDate.now().plusDays(45);
+    }
+
+    @Test
+    void expirePending_ShouldCancelStalePendingReservationsAndReleaseInventory() {
+        Long stale = book(room101);
+        Long confirmed = book(room102);
+        Long fresh = book(room103);
+        reservationService.confirm(confirmed, "expiry_owner");
+        entityManager.flush();
+        age(stale);
+        age(confirmed);
+
+        // Batches of one: the run keeps going until a batch comes back short
+        assertTrue(reservationExpiryService.expirePending() >= 1);
+
+        assertEquals("CANCELLED", status(stale));
+        assertEquals("CONFIRMED", status(confirmed));
+        assertEquals("PENDING", status(fresh));
+        // The manager screens hear about it like any other cancellation
+        verify(reservationEventStream).publishAfterCommit(eq(ReservationEventStream.EventType.CANCELLED),
+                argThat(reservation -> reservation.getId().equals(stale)
+                        && reservation.getRooms().size() == 1
+                        && reservation.getRooms().get(0).getRoomNumber().equals("101")
+                        && reservation.getRooms().get(0).getRoomType().getHotel().getId()
+                                .equals(roomType.getHotel().getId())));
+        entityManager.clear();
+        List<RoomTypeInventory> nights = inventoryRepository
+                .findByRoomTypeIdAndStayDateBetweenOrderByStayDate(roomType.getId(), day, day.plusDays(1));
+        assertTrue(nights.stream().allMatch(n -> n.getBooked() == 2));
+        assertThrows(RuntimeException.class, () -> reservationService.checkIn(stale, "expiry_owner"));
+        // The room can be booked again
+        book(room101);
+    }
+
+    @Test
+    void expirePending_ShouldSkipRunWhileAnotherNodeHoldsTheLease() {
+        Long stale = book(room101);
+        entityManager.flush();
+        age(stale);
+        jdbcTemplate.update("INSERT INTO job_leases (name, owner, lease_until) "
+                + "VALUES ('reservation-expiry', 'other-node', LOCALTIMESTAMP + INTERVAL '5 minutes') "
+                + "ON CONFLICT (name) DO UPDATE SET owner = EXCLUDED.owner, lease_until = EXCLUDED.lease_until");
+
+        assertEquals(0, reservationExpiryService.expirePending());
+        assertEquals("PENDING", status(stale));
+
+        jdbcTemplate.update("UPDATE job_leases SET lease_until = LOCALTIMESTAMP - INTERVAL '1 second'");
+        assertTrue(reservationExpiryService.expirePending() >= 1);
+        assertEquals("CANCELLED", status(stale));
+    }
+
+    private Long book(Room room) {
+        return reservationService.createReservation(ReservationDto.CreateReservationRequest.builder()
+                .roomIds(List.of(room.getId()))
+                .checkInTime(day.atTime(15, 0))
+                .checkOutTime(day.plusDays(2).atTime(11, 0))
+                .currency("USD")
+                .build(), "expiry_guest").getId();
+    }
+
+    private void age(Long reservationId) {
+        jdbcTemplate.update("UPDATE reservations SET created_at = created_at - INTERVAL '2 days' WHERE id = ?",
+                reservationId);
+    }
+
+    private String status(Long reservationId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM reservations WHERE id = ?", String.class,
+                reservationId);
+    }
+}
@@ -1,5 +1,6 @@
 package com.hotel;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hotel.dto.HotelDto;
 import com.hotel.dto.ReservationDto;
@@ -22,12 +23,14 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -222,6 +225,200 @@ public class ReservationIntegrationTest {
                 // Let's verify if Manager2 CAN see Hotel A's data. If so, I need to fix it.
         }
 
+        @Test
+        void testRoomTypeSearchCountsRemainingInventory() throws Exception {
+                RoomType rtA = roomA101.getRoomType();
+                createRoom(rtA, "102");
+                createRoom(rtA, "103");
+
+                ReservationDto.CreateReservationRequest req = ReservationDto.CreateReservationRequest.builder()
+                                .roomIds(List.of(roomA101.getId()))
+                                .checkInTime(LocalDate.now().plusDays(40).atTime(13, 0))
+                                .checkOutTime(LocalDate.now().plusDays(42).atTime(11, 0))
+                                .currency("USD")
+                                .build();
+                mockMvc.perform(post("/api/reservations")
+                                .header("Authorization", getToken(user1))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(req)))
+                                .andExpect(status().isOk());
+
+                mockMvc.perform(get("/api/reservations/search/room-types")
+                                .param("checkInTime", LocalDate.now().plusDays(41).atTime(13, 0).toString())
+                                .param("checkOutTime", LocalDate.now().plusDays(43).atTime(11, 0).toString())
+                                .param("guestCount", "2"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[?(@.roomTypeId == " + rtA.getId() + ")].availableCount")
+                                                .value(2))
+                                .andExpect(jsonPath("$[?(@.roomTypeId == " + rtA.getId() + ")].priceUsd")
+                                                .value(100.0));
+        }
+
+        @Test
+        void testIdempotencyKeyReturnsFirstReservationOnRetry() throws Exception {
+                ReservationDto.CreateReservationRequest req = ReservationDto.CreateReservationRequest.builder()
+                                .roomIds(List.of(roomA101.getId()))
+                                .checkInTime(LocalDate.now().plusDays(80).atTime(13, 0))
+                                .checkOutTime(LocalDate.now().plusDays(81).atTime(11, 0))
+                                .currency("USD")
+                                .build();
+
+                String first = mockMvc.perform(post("/api/reservations")
+                                .header("Authorization", getToken(user1))
+                                .header("Idempotency-Key", "retry-1")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(req)))
+                                .andExpect(status().isOk())
+                                .andReturn().getResponse().getContentAsString();
+                Long reservationId = objectMapper.readValue(first, ReservationDto.ReservationResponse.class).getId();
+
+                // Without the key this retry would fail: the room is now taken
+                mockMvc.perform(post("/api/reservations")
+                                .header("Authorization", getToken(user1))
+                                .header("Idempotency-Key", "retry-1")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(req)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.id").value(reservationId));
+
+                mockMvc.perform(get("/api/reservations")
+                                .header("Authorization", getToken(user1)))
+                                .andExpect(jsonPath("$.length()").value(1));
+        }
+
+        @Test
+        void testBulkReservationReportsEachItem() throws Exception {
+                Room roomA102 = createRoom(roomA101.getRoomType(), "102");
+                LocalDate day = LocalDate.now().plusDays(70);
+
+                ReservationDto.CreateReservationRequest existing = stay(roomA102, day.plusDays(5), day.plusDays(6));
+                mockMvc.perform(post("/api/reservations")
+                                .header("Authorization", getToken(user2))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(existing)))
+                                .andExpect(status().isOk());
+
+                ReservationDto.BulkReservationRequest bulk = ReservationDto.BulkReservationRequest.builder()
+                                .reservations(List.of(
+                                                stay(roomA101, day, day.plusDays(2)),
+                                                // Overlaps the first item of this batch
+                                                stay(roomA101, day.plusDays(1), day.plusDays(3)),
+                                                stay(roomA102, day, day.plusDays(2)),
+                                                // Overlaps the reservation made above
+                                                stay(roomA102, day.plusDays(5), day.plusDays(6)),
+                                                // Back-to-back with the first item
+                                                stay(roomA101, day.plusDays(2), day.plusDays(3))))
+                                .build();
+
+                MvcResult result = mockMvc.perform(post("/api/reservations/bulk")
+                                .header("Authorization", getToken(user1))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(bulk)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.succeeded").value(3))
+                                .andExpect(jsonPath("$.failed").value(2))
+                                .andExpect(jsonPath("$.results[0].success").value(true))
+                                .andExpect(jsonPath("$.results[0].totalPrice").value(200.0))
+                                .andExpect(jsonPath("$.results[1].success").value(false))
+                                .andExpect(jsonPath("$.results[1].error").value(
+                                                "Room 101 is not available for the selected dates."))
+                                .andExpect(jsonPath("$.results[2].success").value(true))
+                                .andExpect(jsonPath("$.results[3].success").value(false))
+                                .andExpect(jsonPath("$.results[4].success").value(true))
+                                .andReturn();
+
+                // Ids come from Hibernate's pool, not a block of 50 per row from the column default
+                JsonNode results = objectMapper.readTree(result.getResponse().getContentAsString()).get("results");
+                long firstId = results.get(0).get("reservationIds").get(0).asLong();
+                assertEquals(firstId + 1, results.get(2).get("reservationIds").get(0).asLong());
+                assertEquals(firstId + 2, results.get(4).get("reservationIds").get(0).asLong());
+
+                mockMvc.perform(get("/api/reservations")
+                                .header("Authorization", getToken(user1)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.length()").value(3))
+                                .andExpect(jsonPath("$[0].rooms[0].hotel.name").value("Hotel A"));
+        }
+
+        private ReservationDto.CreateReservationRequest stay(Room room, LocalDate from, LocalDate to) {
+                return ReservationDto.CreateReservationRequest.builder()
+                                .roomIds(List.of(room.getId()))
+                                .checkInTime(from.atTime(13, 0))
+                                .checkOutTime(to.atTime(11, 0))
+                                .currency("USD")
+                                .build();
+        }
+
+        @Test
+        void testHoldBlocksOtherGuestsUntilConverted() throws Exception {
+                ReservationDto.CreateHoldRequest holdRequest = ReservationDto.CreateHoldRequest.builder()
+                                .roomIds(List.of(roomA101.getId()))
+                                .checkInTime(LocalDate.now().plusDays(50).atTime(13, 0))
+                                .checkOutTime(LocalDate.now().plusDays(51).atTime(11, 0))
+                                .build();
+                String holdJson = mockMvc.perform(post("/api/reservations/holds")
+                                .header("Authorization", getToken(user1))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(holdRequest)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.expiresAt").isNotEmpty())
+                                .andReturn().getResponse().getContentAsString();
+                String holdId = objectMapper.readValue(holdJson, ReservationDto.HoldResponse.class).getHoldId();
+
+                ReservationDto.CreateReservationRequest req = ReservationDto.CreateReservationRequest.builder()
+                                .roomIds(holdRequest.getRoomIds())
+                                .checkInTime(holdRequest.getCheckInTime())
+                                .checkOutTime(holdRequest.getCheckOutTime())
+                                .currency("USD")
+                                .build();
+
+                // Held rooms are neither searchable nor bookable by anyone else
+                mockMvc.perform(get("/api/reservations/search")
+                                .param("checkInTime", holdRequest.getCheckInTime().toString())
+                                .param("checkOutTime", holdRequest.getCheckOutTime().toString())
+                                .param("guestCount", "2"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[?(@.roomId == " + roomA101.getId() + ")]").isEmpty());
+                mockMvc.perform(post("/api/reservations")
+                                .header("Authorization", getToken(user2))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(req)))
+                                .andExpect(status().isBadRequest());
+
+                req.setHoldId(holdId);
+                mockMvc.perform(post("/api/reservations")
+                                .header("Authorization", getToken(user1))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(req)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.status").value("PENDING"));
+
+                // The test transaction never commits, so release the hold explicitly
+                mockMvc.perform(delete("/api/reservations/holds/" + holdId)
+                                .header("Authorization", getToken(user1)))
+                                .andExpect(status().isNoContent());
+        }
+
+        @Test
+        void testQuoteMatchesBookingWithoutCreatingReservation() throws Exception {
+                long reservations = reservationRepository.count();
+
+                mockMvc.perform(get("/api/reservations/quote")
+                                .param("roomIds", roomA101.getId().toString())
+                                .param("checkInTime", LocalDate.now().plusDays(3).atTime(13, 0).toString())
+                                .param("checkOutTime", LocalDate.now().plusDays(5).atTime(11, 0).toString())
+                                .param("currency", "USD"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.nights").value(2))
+                                .andExpect(jsonPath("$.hotels[0].hotelId").value(hotelA.getId()))
+                                .andExpect(jsonPath("$.hotels[0].rooms[0].nightlyRate").value(100.0))
+                                .andExpect(jsonPath("$.hotels[0].nightly.length()").value(2))
+                                .andExpect(jsonPath("$.hotels[0].discountPolicyName").doesNotExist())
+                                .andExpect(jsonPath("$.totalPrice").value(200.0));
+
+                assertEquals(reservations, reservationRepository.count());
+        }
+
         @Test
         void testManagerAccessControl() throws Exception {
                 // Setup a checked-out reservation for Hotel A
@@ -0,0 +1,173 @@
+package com.hotel;
+
+import com.hotel.dto.ReservationDto;
+import com.hotel.entity.Hotel;
+import com.hotel.entity.Reservation;
+import com.hotel.entity.Room;
+import com.hotel.entity.RoomType;
+import com.hotel.entity.User;
+import com.hotel.repository.HotelRepository;
+import com.hotel.repository.ReservationRepository;
+import com.hotel.repository.RoomRepository;
+import com.hotel.repository.RoomTypeRepository;
+import com.hotel.repository.UserRepository;
+import com.hotel.service.ReservationService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+public class ReservationPageIntegrationTest {
+
+    private static final int RESERVATIONS = 23;
+
+    @Autowired
+    private ReservationService reservationService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private HotelRepository hotelRepository;
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private User guest;
+    private Hotel hotel;
+    private LocalDate today;
+    private List<Reservation> reservations;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder()
+                .username("page_owner")
+                .password("password")
+                .role(User.Role.OWNER)
+                .build());
+        guest = userRepository.save(User.builder()
+                .username("page_guest")
+                .password("password")
+                .role(User.Role.USER)
+                .build());
+        hotel = hotelRepository.save(Hotel.builder()
+                .name("Page Hotel")
+                .owner(owner)
+                .build());
+        RoomType roomType = roomTypeRepository.save(RoomType.builder()
+                .hotel(hotel)
+                .name("Standard")
+                .capacity(2)
+                .basePrice(BigDecimal.valueOf(100))
+                .priceUsd(BigDecimal.valueOf(100))
+                .build());
+        today = LocalDate.now();
+
+        // Three reservations share each check-in time, so pages split ties on id; all are in-house on day 8
+        reservations = new ArrayList<>();
+        for (int i = 0; i < RESERVATIONS; i++) {
+            Room room = roomRepository.save(Room.builder().roomType(roomType).roomNumber("P" + i).build());
+            LocalDateTime checkIn = today.atTime(15, 0).plusDays(i / 3);
+            reservations.add(reservationRepository.save(Reservation.builder()
+                    .user(guest)
+                    .rooms(new ArrayList<>(List.of(room)))
+                    .checkInTime(checkIn)
+                    .checkOutTime(today.plusDays(10).atTime(11, 0))
+                    .status(Reservation.ReservationStatus.CONFIRMED)
+                    .totalPrice(BigDecimal.valueOf(100))
+                    .currency("USD")
+                    .build()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void myReservationsPageLatestCheckInFirst() {
+        List<Long> expected = reservations.stream()
+                .sorted(Comparator.comparing(Reservation::getCheckInTime).thenComparing(Reservation::getId)
+                        .reversed())
+                .map(Reservation::getId)
+                .toList();
+
+        assertThat(readAll(cursor -> reservationService.getMyReservations(guest.getUsername(), cursor, 5)))
+                .containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void managerReservationsPageInCheckInOrder() {
+        List<Long> expected = reservations.stream()
+                .sorted(Comparator.comparing(Reservation::getCheckInTime).thenComparing(Reservation::getId))
+                .map(Reservation::getId)
+                .toList();
+
+        assertThat(readAll(cursor -> reservationService.getManagerReservations(hotel.getId(), today.plusDays(8),
+                owner.getUsername(), cursor, 4))).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void deepPagesCostTheSameAsTheFirst() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        ReservationDto.ReservationPage first = reservationService.getMyReservations(guest.getUsername(), null, 5);
+        long firstQueries = statistics.getPrepareStatementCount();
+
+        ReservationDto.ReservationPage page = first;
+        for (int i = 0; i < 3; i++)
+            page = reservationService.getMyReservations(guest.getUsername(), page.getNextCursor(), 5);
+        entityManager.clear();
+        statistics.clear();
+        ReservationDto.ReservationPage deep = reservationService.getMyReservations(guest.getUsername(),
+                page.getNextCursor(), 5);
+
+        assertThat(deep.getContent()).hasSize(3);
+        assertThat(deep.getNextCursor()).isNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(firstQueries);
+    }
+
+    @Test
+    void rejectsInvalidCursorsAndSizes() {
+        assertThrows(RuntimeException.class,
+                () -> reservationService.getMyReservations(guest.getUsername(), "not a cursor", 5));
+        assertThrows(RuntimeException.class,
+                () -> reservationService.getMyReservations(guest.getUsername(), null, 0));
+        assertThrows(RuntimeException.class,
+                () -> reservationService.getMyReservations(guest.getUsername(), null, 101));
+    }
+
+    private List<Long> readAll(Function<String, ReservationDto.ReservationPage> read) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            ReservationDto.ReservationPage page = read.apply(cursor);
+            page.getContent().forEach(response -> ids.add(response.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+}
@@ -0,0 +1,159 @@
+package com.hotel;
+
+import com.hotel.dto.ReservationDto;
+import com.hotel.entity.Hotel;
+import com.hotel.entity.Reservation;
+import com.hotel.entity.Room;
+import com.hotel.entity.RoomType;
+import com.hotel.entity.User;
+import com.hotel.repository.HotelRepository;
+import com.hotel.repository.ReservationRepository;
+import com.hotel.repository.RoomRepository;
+import com.hotel.repository.RoomTypeRepository;
+import com.hotel.repository.UserRepository;
+import com.hotel.service.ReservationService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The reservation list reads must not issue a query per row: each one is
+ * measured with Hibernate statistics for a few reservations and again for
+ * many, every one in its own room type, and the counts must match.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+public class ReservationQueryCountIntegrationTest {
+
+    @Autowired
+    private ReservationService reservationService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private HotelRepository hotelRepository;
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private User guest;
+    private Hotel hotel;
+    private LocalDate today;
+    private int roomCount;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder()
+                .username("count_owner")
+                .password("password")
+                .role(User.Role.OWNER)
+                .build());
+        guest = userRepository.save(User.builder()
+                .username("count_guest")
+                .password("password")
+                .fullName("Count Guest")
+                .role(User.Role.USER)
+                .build());
+        hotel = hotelRepository.save(Hotel.builder()
+                .name("Count Hotel")
+                .owner(owner)
+                .build());
+        today = LocalDate.now();
+    }
+
+    @Test
+    void myReservationsUseConstantQueries() {
+        assertConstantQueries(() -> reservationService.getMyReservations(guest.getUsername()));
+    }
+
+    @Test
+    void managerReservationsUseConstantQueries() {
+        assertConstantQueries(() -> reservationService.getManagerReservations(hotel.getId(), today,
+                owner.getUsername()));
+    }
+
+    @Test
+    void settlementUsesConstantQueries() {
+        assertConstantQueries(() -> reservationService.getSettlement(hotel.getId(), today, today,
+                owner.getUsername()));
+    }
+
+    private void assertConstantQueries(Supplier<List<ReservationDto.ReservationResponse>> read) {
+        addCheckedOutReservations(2);
+        long fewQueries = countQueries(read, 2);
+
+        addCheckedOutReservations(10);
+        long manyQueries = countQueries(read, 12);
+
+        assertThat(manyQueries).isEqualTo(fewQueries);
+    }
+
+    private long countQueries(Supplier<List<ReservationDto.ReservationResponse>> read, int expectedRows) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<ReservationDto.ReservationResponse> responses = read.get();
+
+        assertThat(responses).hasSize(expectedRows);
+        assertThat(responses).allSatisfy(response -> {
+            assertThat(response.getGuestName()).isEqualTo("Count Guest");
+            assertThat(response.getRooms()).hasSize(1);
+            assertThat(response.getRooms().get(0).getHotel().getName()).isEqualTo("Count Hotel");
+        });
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void addCheckedOutReservations(int count) {
+        Hotel managed = hotelRepository.getReferenceById(hotel.getId());
+        User user = userRepository.getReferenceById(guest.getId());
+        LocalDateTime checkIn = today.atTime(0, 30);
+        for (int i = 0; i < count; i++) {
+            RoomType roomType = roomTypeRepository.save(RoomType.builder()
+                    .hotel(managed)
+                    .name("Type " + roomCount)
+                    .capacity(2)
+                    .basePrice(BigDecimal.valueOf(100))
+                    .priceUsd(BigDecimal.valueOf(100))
+                    .build());
+            Room room = roomRepository.save(Room.builder()
+                    .roomType(roomType)
+                    .roomNumber(String.valueOf(100 + roomCount++))
+                    .build());
+            reservationRepository.save(Reservation.builder()
+                    .user(user)
+                    .rooms(new ArrayList<>(List.of(room)))
+                    .checkInTime(checkIn)
+                    .checkOutTime(checkIn.plusHours(10))
+                    .actualCheckInTime(checkIn)
+                    .actualCheckOutTime(checkIn.plusHours(9))
+                    .status(Reservation.ReservationStatus.CHECKED_OUT)
+                    .totalPrice(BigDecimal.valueOf(100))
+                    .currency("USD")
+                    .build());
+        }
+    }
+}
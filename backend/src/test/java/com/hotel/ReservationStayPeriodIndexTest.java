@@ -0,0 +1,183 @@
+package com.hotel;
+
+import com.hotel.entity.Hotel;
+import com.hotel.entity.Reservation;
+import com.hotel.entity.Room;
+import com.hotel.entity.RoomType;
+import com.hotel.entity.User;
+import com.hotel.repository.HotelRepository;
+import com.hotel.repository.ReservationRepository;
+import com.hotel.repository.RoomRepository;
+import com.hotel.repository.RoomTypeRepository;
+import com.hotel.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+public class ReservationStayPeriodIndexTest {
+
+    private static final String STAY_PERIOD_INDEX = "idx_reservations_stay_period";
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private HotelRepository hotelRepository;
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Room room101;
+    private Room room102;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(User.builder()
+                .username("period_owner")
+                .password("password")
+                .role(User.Role.OWNER)
+                .build());
+        User guest = userRepository.save(User.builder()
+                .username("period_guest")
+                .password("password")
+                .role(User.Role.USER)
+                .build());
+        Hotel hotel = hotelRepository.save(Hotel.builder()
+                .name("Period Hotel")
+                .owner(owner)
+                .build());
+        RoomType roomType = roomTypeRepository.save(RoomType.builder()
+                .hotel(hotel)
+                .name("Standard")
+                .capacity(2)
+                .basePrice(BigDecimal.valueOf(100))
+                .build());
+        room101 = roomRepository.save(Room.builder().roomType(roomType).roomNumber("101").build());
+        room102 = roomRepository.save(Room.builder().roomType(roomType).roomNumber("102").build());
+
+        day = LocalDate.now().plusDays(60);
+        reservationRepository.save(Reservation.builder()
+                .user(guest)
+                .rooms(new ArrayList<>(List.of(room101)))
+                .checkInTime(day.atTime(13, 0))
+                .checkOutTime(day.plusDays(2).atTime(11, 0))
+                .status(Reservation.ReservationStatus.CONFIRMED)
+                .totalPrice(BigDecimal.valueOf(200))
+                .currency("USD")
+                .build());
+        entityManager.flush();
+
+        // Years of past stays, so the planner weighs a room's whole history against the overlap index
+        entityManager.createNativeQuery("""
+                INSERT INTO reservations (user_id, check_in_time, check_out_time, is_late_checkout, status,
+                                          total_price, currency, use_yn)
+                SELECT :userId, d, d + INTERVAL '1 day', false, 'CHECKED_OUT', 100, 'USD', 'Y'
+                FROM generate_series(CAST(:from AS timestamp), CAST(:to AS timestamp), INTERVAL '1 day') AS g(d)
+                """)
+                .setParameter("userId", guest.getId())
+                .setParameter("from", LocalDate.now().minusYears(3).atTime(13, 0))
+                .setParameter("to", LocalDate.now().minusDays(2).atTime(13, 0))
+                .executeUpdate();
+        entityManager.createNativeQuery("""
+                INSERT INTO reservation_rooms (reservation_id, room_id)
+                SELECT id, CASE WHEN id % 2 = 0 THEN :room101 ELSE :room102 END
+                FROM reservations WHERE user_id = :userId AND status = 'CHECKED_OUT'
+                """)
+                .setParameter("userId", guest.getId())
+                .setParameter("room101", room101.getId())
+                .setParameter("room102", room102.getId())
+                .executeUpdate();
+        entityManager.createNativeQuery("ANALYZE reservations").executeUpdate();
+        entityManager.createNativeQuery("ANALYZE reservation_rooms").executeUpdate();
+    }
+
+    @Test
+    void conflictingRoomIds_ShouldUseHalfOpenStayPeriod() {
+        List<Long> roomIds = List.of(room101.getId(), room102.getId());
+
+        assertEquals(List.of(room101.getId()), reservationRepository.findConflictingRoomIds(roomIds,
+                day.plusDays(1).atTime(13, 0), day.plusDays(3).atTime(11, 0)));
+        // Check-out at 11:00 and the next check-in at 13:00 do not overlap
+        assertTrue(reservationRepository.findConflictingRoomIds(roomIds,
+                day.plusDays(2).atTime(13, 0), day.plusDays(3).atTime(11, 0)).isEmpty());
+        assertTrue(reservationRepository.findConflictingRoomIds(roomIds,
+                day.minusDays(1).atTime(13, 0), day.atTime(11, 0)).isEmpty());
+    }
+
+    @Test
+    void availableRooms_ShouldSkipOverlappingRooms() {
+        List<Long> available = roomRepository.findAvailableRooms(day.atTime(13, 0), day.plusDays(1).atTime(11, 0))
+                .stream()
+                .map(RoomRepository.AvailableRoomRow::getRoomId)
+                .toList();
+
+        assertFalse(available.contains(room101.getId()));
+        assertTrue(available.contains(room102.getId()));
+    }
+
+    @Test
+    void conflictQueries_ShouldUseStayPeriodIndex() throws Exception {
+        String conflictingRoomIds = nativeSql(ReservationRepository.class, "findConflictingRoomIds",
+                Collection.class, LocalDateTime.class, LocalDateTime.class);
+        String conflictingReservations = nativeSql(ReservationRepository.class, "findConflictingReservations",
+                Long.class, LocalDateTime.class, LocalDateTime.class);
+
+        assertTrue(explain(conflictingRoomIds, "roomIds", List.of(room101.getId(), room102.getId()))
+                .contains(STAY_PERIOD_INDEX));
+        assertTrue(explain(conflictingReservations, "roomId", room101.getId()).contains(STAY_PERIOD_INDEX));
+    }
+
+    @Test
+    void availabilitySearch_ShouldUseStayPeriodIndex() throws Exception {
+        String availableRooms = nativeSql(RoomRepository.class, "findAvailableRooms",
+                LocalDateTime.class, LocalDateTime.class);
+
+        assertTrue(explain(availableRooms, null, null).contains(STAY_PERIOD_INDEX));
+    }
+
+    private String nativeSql(Class<?> repository, String method, Class<?>... parameterTypes) throws Exception {
+        return repository.getMethod(method, parameterTypes)
+                .getAnnotation(org.springframework.data.jpa.repository.Query.class)
+                .value();
+    }
+
+    /**
+     * Plans the query with sequential scans priced out, the way the planner
+     * sees a populated table; the test tables are still too small for it to
+     * prefer an index on its own.
+     */
+    private String explain(String sql, String extraName, Object extraValue) {
+        entityManager.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+        Query query = entityManager.createNativeQuery("EXPLAIN " + sql)
+                .setParameter("checkInTime", day.atTime(13, 0))
+                .setParameter("checkOutTime", day.plusDays(1).atTime(11, 0));
+        if (extraName != null) {
+            query.setParameter(extraName, extraValue);
+        }
+        StringBuilder plan = new StringBuilder();
+        for (Object line : query.getResultList()) {
+            plan.append(line).append('\n');
+        }
+        return plan.toString();
+    }
+}
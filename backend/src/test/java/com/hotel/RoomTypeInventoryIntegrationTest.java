@@ -0,0 +1,171 @@
+package com.hotel;
+
+import com.hotel.dto.ReservationDto;
+import com.hotel.entity.Hotel;
+import com.hotel.entity.Room;
+import com.hotel.entity.RoomType;
+import com.hotel.entity.RoomTypeInventory;
+import com.hotel.entity.User;
+import com.hotel.repository.HotelRepository;
+import com.hotel.repository.RoomRepository;
+import com.hotel.repository.RoomTypeInventoryRepository;
+import com.hotel.repository.RoomTypeRepository;
+import com.hotel.repository.UserRepository;
+import com.hotel.service.ReservationService;
+import com.hotel.service.RoomHoldService;
+import com.hotel.service.RoomTypeInventoryService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+public class RoomTypeInventoryIntegrationTest {
+
+    @Autowired
+    private ReservationService reservationService;
+    @Autowired
+    private RoomTypeInventoryService roomTypeInventoryService;
+    @Autowired
+    private RoomHoldService roomHoldService;
+    @Autowired
+    private RoomTypeInventoryRepository inventoryRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private HotelRepository hotelRepository;
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private RoomType roomType;
+    private Room room101;
+    private Room room102;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(User.builder()
+                .username("inventory_owner")
+                .password("password")
+                .role(User.Role.OWNER)
+                .build());
+        userRepository.save(User.builder()
+                .username("inventory_guest")
+                .password("password")
+                .role(User.Role.USER)
+                .fullName("Inventory Guest")
+                .build());
+        Hotel hotel = hotelRepository.save(Hotel.builder()
+                .name("Inventory Hotel")
+                .owner(owner)
+                .build());
+        roomType = roomTypeRepository.save(RoomType.builder()
+                .hotel(hotel)
+                .name("Standard")
+                .capacity(2)
+                .basePrice(BigDecimal.valueOf(100))
+                .priceUsd(BigDecimal.valueOf(100))
+                .build());
+        room101 = roomRepository.save(Room.builder().roomType(roomType).roomNumber("101").build());
+        room102 = roomRepository.save(Room.builder().roomType(roomType).roomNumber("102").build());
+        day = LocalDate.now().plusDays(60);
+    }
+
+    @Test
+    void createReservation_ShouldBookEveryNightOfTheStay() {
+        book(room101, day, day.plusDays(2));
+
+        List<RoomTypeInventory> nights = inventoryRepository
+                .findByRoomTypeIdAndStayDateBetweenOrderByStayDate(roomType.getId(), day, day.plusDays(2));
+        assertEquals(2, nights.size());
+        assertTrue(nights.stream().allMatch(n -> n.getBooked() == 1 && n.getTotal() == 2));
+    }
+
+    @Test
+    void createReservation_ShouldFail_WhenNightIsSoldOut() {
+        book(room101, day, day.plusDays(1));
+        // Drop capacity behind the booking path's back: the row guard must refuse the next one
+        roomTypeInventoryService.adjustCapacity(roomType.getId(), -1);
+
+        assertThrows(RuntimeException.class, () -> book(room102, day, day.plusDays(1)));
+    }
+
+    @Test
+    void reconcile_ShouldRepairDriftFromReservations() {
+        book(room101, day, day.plusDays(3));
+        entityManager.flush();
+        entityManager.createNativeQuery(
+                "UPDATE room_type_inventory SET booked = 0 WHERE room_type_id = :id AND stay_date = :day")
+                .setParameter("id", roomType.getId())
+                .setParameter("day", day.plusDays(1))
+                .executeUpdate();
+
+        assertTrue(roomTypeInventoryService.reconcile() >= 1);
+        entityManager.clear();
+
+        RoomTypeInventory repaired = inventoryRepository
+                .findById(new RoomTypeInventory.Key(roomType.getId(), day.plusDays(1)))
+                .orElseThrow();
+        assertEquals(1, repaired.getBooked());
+    }
+
+    @Test
+    void searchAvailableRoomTypes_ShouldCountOnlyRoomsFreeForTheWholeStay() {
+        // Every night still has a room left, but no single room is free for both
+        book(room101, day, day.plusDays(1));
+        book(room102, day.plusDays(1), day.plusDays(2));
+        entityManager.flush();
+
+        assertTrue(availableCount(day, day.plusDays(2)).isEmpty());
+        assertEquals(List.of(1L), availableCount(day.plusDays(1), day.plusDays(2)));
+    }
+
+    @Test
+    void searchAvailableRoomTypes_ShouldNotCountHeldRooms() {
+        String holdId = roomHoldService.hold(ReservationDto.CreateHoldRequest.builder()
+                .roomIds(List.of(room101.getId()))
+                .checkInTime(day.atTime(13, 0))
+                .checkOutTime(day.plusDays(2).atTime(11, 0))
+                .build(), "inventory_guest").getHoldId();
+        try {
+            assertEquals(List.of(1L), availableCount(day.plusDays(1), day.plusDays(3)));
+            assertEquals(List.of(2L), availableCount(day.plusDays(2), day.plusDays(3)));
+
+            book(room102, day.plusDays(2), day.plusDays(3));
+            entityManager.flush();
+            assertTrue(availableCount(day.plusDays(1), day.plusDays(3)).isEmpty());
+        } finally {
+            roomHoldService.release(holdId, "inventory_guest");
+        }
+    }
+
+    private List<Long> availableCount(LocalDate checkIn, LocalDate checkOut) {
+        return reservationService.searchAvailableRoomTypes(checkIn.atTime(13, 0), checkOut.atTime(11, 0), 2, "USD")
+                .stream()
+                .filter(type -> type.getRoomTypeId().equals(roomType.getId()))
+                .map(ReservationDto.AvailableRoomTypeResponse::getAvailableCount)
+                .toList();
+    }
+
+    private void book(Room room, LocalDate checkIn, LocalDate checkOut) {
+        reservationService.createReservation(ReservationDto.CreateReservationRequest.builder()
+                .roomIds(List.of(room.getId()))
+                .checkInTime(checkIn.atTime(13, 0))
+                .checkOutTime(checkOut.atTime(11, 0))
+                .currency("USD")
+                .build(), "inventory_guest");
+    }
+}
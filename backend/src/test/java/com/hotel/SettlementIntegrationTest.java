@@ -1,31 +1,40 @@
 package com.hotel;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hotel.dto.HotelDto;
 import com.hotel.dto.HotelRoomDto;
 import com.hotel.dto.ReservationDto;
 import com.hotel.entity.*;
 import com.hotel.repository.*;
+import com.hotel.service.SettlementExportService;
+import com.hotel.service.SettlementRollupService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -48,6 +57,12 @@ public class SettlementIntegrationTest {
         private ReservationRepository reservationRepository;
         @Autowired
         private PasswordEncoder passwordEncoder;
+        @Autowired
+        private SettlementExportService settlementExportService;
+        @Autowired
+        private SettlementRollupService settlementRollupService;
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
 
         private User owner;
         private User user1;
@@ -192,6 +207,192 @@ public class SettlementIntegrationTest {
                 assertThat(totalB).isEqualByComparingTo("200.00");
         }
 
+        @Test
+        @WithMockUser(username = "owner_settle", roles = "OWNER")
+        void testSettlementTotalsFromRollup() throws Exception {
+                LocalDate today = LocalDate.now();
+                createReservation(user1, roomA1, today, today.plusDays(1), "USD");
+                createReservation(user2, roomA2, today, today.plusDays(2), "USD");
+                createReservation(user1, roomB1, today, today.plusDays(1), "KRW");
+                checkInAndOutAll();
+
+                // Check-out added each reservation to its hotel's day
+                ReservationDto.SettlementTotals totalsA = getTotals(hotelA, today, today);
+                assertThat(totalsA.getTotals()).hasSize(1);
+                assertThat(totalsA.getTotals().get(0).getCurrency()).isEqualTo("USD");
+                assertThat(totalsA.getTotals().get(0).getGross()).isEqualByComparingTo("300.00");
+                assertThat(totalsA.getTotals().get(0).getCount()).isEqualTo(2);
+                assertThat(totalsA.getDays()).extracting(ReservationDto.SettlementTotal::getDate)
+                                .containsExactly(today);
+
+                ReservationDto.SettlementTotals totalsB = getTotals(hotelB, today.minusDays(7), today);
+                assertThat(totalsB.getTotals()).extracting(ReservationDto.SettlementTotal::getCurrency)
+                                .containsExactly("KRW");
+                assertThat(getTotals(hotelB, today.minusDays(7), today.minusDays(1)).getTotals()).isEmpty();
+
+                // A rebuild recomputes the rollup from the reservations
+                reservationRepository.flush();
+                jdbcTemplate.update("UPDATE settlement_daily SET gross = 0, reservation_count = 9 WHERE hotel_id = ?",
+                                hotelA.getId());
+                ReservationDto.SettlementRebuildResponse rebuilt = settlementRollupService.rebuild(today, today);
+                assertThat(rebuilt.getRows()).isGreaterThanOrEqualTo(2);
+                ReservationDto.SettlementTotal rebuiltA = getTotals(hotelA, today, today).getTotals().get(0);
+                assertThat(rebuiltA.getGross()).isEqualByComparingTo("300.00");
+                assertThat(rebuiltA.getCount()).isEqualTo(2);
+        }
+
+        @Test
+        @WithMockUser(username = "owner_settle", roles = "OWNER")
+        void testSettlementSummary() throws Exception {
+                LocalDate today = LocalDate.now();
+                createReservation(user1, roomA1, today, today.plusDays(1), "USD");
+                createReservation(user2, roomA2, today, today.plusDays(2), "USD");
+                createReservation(user1, roomB1, today, today.plusDays(1), "USD");
+                Reservation discounted = reservationRepository.findAll().stream()
+                                .filter(r -> r.getRooms().get(0).getId().equals(roomA2.getId()))
+                                .findFirst().orElseThrow();
+                discounted.setDiscountPolicyName("Long stay");
+                discounted.setDiscountPrice(new BigDecimal("20.00"));
+                reservationRepository.save(discounted);
+                checkInAndOutAll();
+                // The summary is computed over JDBC, past the persistence context
+                reservationRepository.flush();
+
+                MvcResult result = mockMvc.perform(get("/api/reservations/settlement/summary")
+                                .param("hotelId", hotelA.getId().toString())
+                                .param("startDate", today.minusDays(30).toString())
+                                .param("endDate", today.toString()))
+                                .andExpect(status().isOk())
+                                .andReturn();
+                String body = result.getResponse().getContentAsString();
+                ReservationDto.SettlementSummary summary = objectMapper.readValue(body,
+                                ReservationDto.SettlementSummary.class);
+
+                assertThat(summary.getByCurrency()).hasSize(1);
+                ReservationDto.SettlementTotal usd = summary.getByCurrency().get(0);
+                assertThat(usd.getCurrency()).isEqualTo("USD");
+                assertThat(usd.getGross()).isEqualByComparingTo("300.00");
+                assertThat(usd.getDiscount()).isEqualByComparingTo("20.00");
+                assertThat(usd.getCount()).isEqualTo(2);
+
+                assertThat(summary.getByDiscountPolicy())
+                                .extracting(ReservationDto.SettlementPolicyTotal::getDiscountPolicyName,
+                                                ReservationDto.SettlementPolicyTotal::getCount)
+                                .containsExactly(tuple(null, 1), tuple("Long stay", 1));
+
+                assertThat(summary.getByDay()).hasSize(1);
+                assertThat(summary.getByDay().get(0).getDate()).isEqualTo(today);
+                assertThat(summary.getByDay().get(0).getGross()).isEqualByComparingTo("300.00");
+                assertThat(body.length()).isLessThan(1024);
+        }
+
+        @Test
+        @WithMockUser(username = "user1_settle", roles = "OWNER")
+        void testSettlementTotalsRejectOtherOwners() throws Exception {
+                LocalDate today = LocalDate.now();
+                mockMvc.perform(get("/api/reservations/settlement/totals")
+                                .param("hotelId", hotelA.getId().toString())
+                                .param("startDate", today.toString())
+                                .param("endDate", today.toString()))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @WithMockUser(username = "owner_settle", roles = "OWNER")
+        void testSettlementExport() throws Exception {
+                LocalDate today = LocalDate.now();
+                createReservation(user1, roomA1, today, today.plusDays(1), "USD");
+                createReservation(user2, roomA2, today, today.plusDays(2), "USD");
+                createReservation(user1, roomB1, today, today.plusDays(1), "USD");
+                checkInAndOutAll();
+                // The export reads over JDBC, past the persistence context
+                reservationRepository.flush();
+
+                // CSV: header plus one line per Hotel A reservation
+                ByteArrayOutputStream csv = new ByteArrayOutputStream();
+                settlementExportService.write(hotelA.getId(), today, today, SettlementExportService.Format.CSV, csv);
+                String[] lines = csv.toString(StandardCharsets.UTF_8).split("\n");
+                assertThat(lines).hasSize(3);
+                assertThat(lines[0]).startsWith("id,checkInTime,");
+                assertThat(lines[1] + lines[2]).contains(",101,USD,100.00,").contains(",102,USD,200.00,");
+
+                // NDJSON: one object per line, totals match the settlement endpoint
+                ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+                settlementExportService.write(hotelA.getId(), today, today, SettlementExportService.Format.NDJSON,
+                                ndjson);
+                String body = ndjson.toString(StandardCharsets.UTF_8);
+                assertThat(body).endsWith("\n");
+                BigDecimal total = BigDecimal.ZERO;
+                for (String line : body.split("\n")) {
+                        JsonNode row = objectMapper.readTree(line);
+                        assertThat(row.get("actualCheckOutTime").isNull()).isFalse();
+                        total = total.add(row.get("totalPrice").decimalValue());
+                }
+                assertThat(total).isEqualByComparingTo("300.00");
+
+                // Nothing checked out yesterday
+                ByteArrayOutputStream empty = new ByteArrayOutputStream();
+                settlementExportService.write(hotelB.getId(), today.minusDays(1), today.minusDays(1),
+                                SettlementExportService.Format.NDJSON, empty);
+                assertThat(empty.size()).isZero();
+        }
+
+        @Test
+        @WithMockUser(username = "owner_settle", roles = "OWNER")
+        void testSettlementExportEndpointStreams() throws Exception {
+                LocalDate today = LocalDate.now();
+                mockMvc.perform(get("/api/reservations/settlement/export")
+                                .param("hotelId", hotelA.getId().toString())
+                                .param("startDate", today.toString())
+                                .param("endDate", today.toString())
+                                .param("format", "ndjson"))
+                                .andExpect(status().isOk())
+                                .andExpect(request().asyncStarted())
+                                .andExpect(header().string("Content-Disposition",
+                                                "attachment; filename=\"settlement-" + hotelA.getId() + "-" + today
+                                                                + "-" + today + ".ndjson\""));
+
+                mockMvc.perform(get("/api/reservations/settlement/export")
+                                .param("hotelId", hotelA.getId().toString())
+                                .param("startDate", today.toString())
+                                .param("endDate", today.toString())
+                                .param("format", "xml"))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @WithMockUser(username = "user1_settle", roles = "OWNER")
+        void testSettlementExportRejectsOtherOwners() throws Exception {
+                LocalDate today = LocalDate.now();
+                mockMvc.perform(get("/api/reservations/settlement/export")
+                                .param("hotelId", hotelA.getId().toString())
+                                .param("startDate", today.toString())
+                                .param("endDate", today.toString()))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(request().asyncNotStarted());
+        }
+
+        private ReservationDto.SettlementTotals getTotals(Hotel hotel, LocalDate startDate, LocalDate endDate)
+                        throws Exception {
+                MvcResult result = mockMvc.perform(get("/api/reservations/settlement/totals")
+                                .param("hotelId", hotel.getId().toString())
+                                .param("startDate", startDate.toString())
+                                .param("endDate", endDate.toString()))
+                                .andExpect(status().isOk())
+                                .andReturn();
+                return objectMapper.readValue(result.getResponse().getContentAsString(),
+                                ReservationDto.SettlementTotals.class);
+        }
+
+        private void checkInAndOutAll() throws Exception {
+                for (Reservation res : reservationRepository.findAll()) {
+                        mockMvc.perform(put("/api/reservations/" + res.getId() + "/check-in"))
+                                        .andExpect(status().isOk());
+                        mockMvc.perform(put("/api/reservations/" + res.getId() + "/check-out"))
+                                        .andExpect(status().isOk());
+                }
+        }
+
         private void createReservation(User user, Room room, LocalDate checkIn, LocalDate checkOut, String currency)
                         throws Exception {
                 BigDecimal pricePerNight = room.getRoomType().getPriceUsd();
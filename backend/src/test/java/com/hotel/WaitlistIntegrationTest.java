@@ -0,0 +1,133 @@
+package com.hotel;
+
+import com.hotel.dto.ReservationDto;
+import com.hotel.entity.Hotel;
+import com.hotel.entity.Room;
+import com.hotel.entity.RoomType;
+import com.hotel.entity.RoomTypeInventory;
+import com.hotel.entity.User;
+import com.hotel.repository.HotelRepository;
+import com.hotel.repository.RoomRepository;
+import com.hotel.repository.RoomTypeInventoryRepository;
+import com.hotel.repository.RoomTypeRepository;
+import com.hotel.repository.UserRepository;
+import com.hotel.service.ReservationService;
+import com.hotel.service.WaitlistService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+public class WaitlistIntegrationTest {
+
+    @Autowired
+    private ReservationService reservationService;
+    @Autowired
+    private WaitlistService waitlistService;
+    @Autowired
+    private RoomTypeInventoryRepository inventoryRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private HotelRepository hotelRepository;
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private RoomType roomType;
+    private Room room;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(User.builder()
+                .username("waitlist_owner")
+                .password("password")
+                .role(User.Role.OWNER)
+                .build());
+        for (String username : List.of("waitlist_guest", "waitlist_other")) {
+            userRepository.save(User.builder()
+                    .username(username)
+                    .password("password")
+                    .role(User.Role.USER)
+                    .fullName("Waitlist Guest")
+                    .build());
+        }
+        Hotel hotel = hotelRepository.save(Hotel.builder()
+                .name("Waitlist Hotel")
+                .owner(owner)
+                .build());
+        roomType = roomTypeRepository.save(RoomType.builder()
+                .hotel(hotel)
+                .name("Suite")
+                .capacity(2)
+                .basePrice(BigDecimal.valueOf(300))
+                .build());
+        room = roomRepository.save(Room.builder().roomType(roomType).roomNumber("901").build());
+        day = LocalDate.now().plusDays(30);
+    }
+
+    @Test
+    void cancel_ShouldReleaseInventoryAndFreeTheRoom() {
+        Long reservationId = book("waitlist_guest").getId();
+
+        assertThrows(RuntimeException.class, () -> reservationService.cancel(reservationId, "waitlist_other"));
+        ReservationDto.ReservationResponse cancelled = reservationService.cancel(reservationId, "waitlist_guest");
+
+        assertEquals("CANCELLED", cancelled.getStatus());
+        entityManager.flush();
+        entityManager.clear();
+        List<RoomTypeInventory> nights = inventoryRepository
+                .findByRoomTypeIdAndStayDateBetweenOrderByStayDate(roomType.getId(), day, day.plusDays(1));
+        assertTrue(nights.stream().allMatch(n -> n.getBooked() == 0));
+        assertThrows(RuntimeException.class, () -> reservationService.cancel(reservationId, "waitlist_guest"));
+        assertNotNull(book("waitlist_other").getId());
+    }
+
+    @Test
+    void hotelOwner_ShouldBeAbleToCancel() {
+        Long reservationId = book("waitlist_guest").getId();
+
+        assertEquals("CANCELLED", reservationService.cancel(reservationId, "waitlist_owner").getStatus());
+    }
+
+    @Test
+    void joinAndLeave_ShouldTrackTheEntry() {
+        book("waitlist_guest");
+        ReservationDto.WaitlistResponse entry = waitlistService.join(ReservationDto.WaitlistRequest.builder()
+                .roomTypeId(roomType.getId())
+                .checkInTime(day.atTime(15, 0))
+                .checkOutTime(day.plusDays(2).atTime(11, 0))
+                .build(), "waitlist_other");
+
+        assertEquals("WAITING", entry.getStatus());
+        assertEquals(List.of(entry.getId()), waitlistService.getMyEntries("waitlist_other").stream()
+                .map(ReservationDto.WaitlistResponse::getId).toList());
+        assertThrows(RuntimeException.class, () -> waitlistService.leave(entry.getId(), "waitlist_guest"));
+
+        waitlistService.leave(entry.getId(), "waitlist_other");
+        assertEquals("CANCELLED", waitlistService.getMyEntries("waitlist_other").get(0).getStatus());
+    }
+
+    private ReservationDto.ReservationResponse book(String username) {
+        return reservationService.createReservation(ReservationDto.CreateReservationRequest.builder()
+                .roomIds(List.of(room.getId()))
+                .checkInTime(day.atTime(15, 0))
+                .checkOutTime(day.plusDays(2).atTime(11, 0))
+                .currency("USD")
+                .build(), username);
+    }
+}
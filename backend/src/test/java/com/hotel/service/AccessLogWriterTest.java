@@ -0,0 +1,85 @@
+package com.hotel.service;
+
+import com.hotel.entity.AccessLog;
+import com.hotel.repository.AccessLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccessLogWriterTest {
+
+        @Mock
+        private AccessLogRepository accessLogRepository;
+        @Mock
+        private PlatformTransactionManager transactionManager;
+
+        private SimpleMeterRegistry meterRegistry;
+        private AccessLogWriter writer;
+
+        @BeforeEach
+        void setUp() {
+                meterRegistry = new SimpleMeterRegistry();
+                writer = new AccessLogWriter(accessLogRepository, transactionManager, meterRegistry, 2);
+        }
+
+        @Test
+        void flush_ShouldSaveBufferedLogsTogether() {
+                writer.append(log("/api/a"));
+                writer.append(log("/api/b"));
+
+                assertEquals(2, writer.flush());
+
+                @SuppressWarnings("unchecked")
+                ArgumentCaptor<List<AccessLog>> saved = ArgumentCaptor.forClass(List.class);
+                verify(accessLogRepository).saveAll(saved.capture());
+                assertEquals(List.of("/api/a", "/api/b"), saved.getValue().stream().map(AccessLog::getUrl).toList());
+                assertEquals(2.0, meterRegistry.get("hotel.access.logs.written").counter().count());
+                assertEquals(0, writer.flush());
+        }
+
+        @Test
+        void append_ShouldDropLogs_WhenBufferIsFull() {
+                writer.append(log("/api/a"));
+                writer.append(log("/api/b"));
+                writer.append(log("/api/c"));
+
+                assertEquals(1.0, meterRegistry.get("hotel.access.logs.dropped").counter().count());
+                assertEquals(2, writer.flush());
+        }
+
+        @Test
+        void flush_ShouldDropBatch_WhenSaveFails() {
+                when(accessLogRepository.saveAll(any())).thenThrow(new RuntimeException("down"));
+                writer.append(log("/api/a"));
+
+                assertEquals(0, writer.flush());
+
+                assertEquals(1.0, meterRegistry.get("hotel.access.logs.dropped").counter().count());
+                assertEquals(0.0, meterRegistry.get("hotel.access.logs.written").counter().count());
+        }
+
+        @Test
+        void flush_ShouldNotTouchTheDatabase_WhenNothingIsBuffered() {
+                assertEquals(0, writer.flush());
+
+                verify(accessLogRepository, never()).saveAll(any());
+        }
+
+        private static AccessLog log(String url) {
+                return AccessLog.builder().method("GET").url(url).status(200).build();
+        }
+}
@@ -0,0 +1,160 @@
+package com.hotel.service;
+
+import com.hotel.dto.ReservationDto;
+import com.hotel.repository.RoomRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingSequencerTest {
+
+        @Mock
+        private ReservationService reservationService;
+        @Mock
+        private RoomRepository roomRepository;
+
+        private SimpleMeterRegistry meterRegistry;
+        private BookingSequencer sequencer;
+
+        @BeforeEach
+        void setUp() {
+                meterRegistry = new SimpleMeterRegistry();
+                sequencer = new BookingSequencer(reservationService, roomRepository, meterRegistry, true, 16, 5000,
+                                0);
+                when(roomRepository.findHotelIdsByRoomIds(any())).thenReturn(List.of(7L));
+                lenient().when(reservationService.getReservation(anyLong()))
+                                .thenAnswer(invocation -> ReservationDto.ReservationResponse.builder()
+                                                .id(invocation.getArgument(0))
+                                                .build());
+        }
+
+        @AfterEach
+        void tearDown() {
+                sequencer.shutdown();
+        }
+
+        @Test
+        void createReservation_ShouldReturnBookingAppliedByWriter() {
+                when(reservationService.createReservations(anyList(), anyList()))
+                                .thenReturn(List.of(success(0, 42L)));
+
+                ReservationDto.ReservationResponse response = sequencer.createReservation(request(1L), "guest1");
+
+                assertEquals(42L, response.getId());
+                assertEquals(1L, meterRegistry.get("hotel.booking.batch.size").tag("hotel", "7").summary().count());
+        }
+
+        @Test
+        void createReservation_ShouldFailWithItemError() {
+                when(reservationService.createReservations(anyList(), anyList())).thenReturn(List.of(
+                                ReservationDto.BulkReservationResult.builder()
+                                                .index(0)
+                                                .success(false)
+                                                .error("Room 101 is not available for the selected dates.")
+                                                .build()));
+
+                RuntimeException e = assertThrows(RuntimeException.class,
+                                () -> sequencer.createReservation(request(1L), "guest1"));
+                assertEquals("Room 101 is not available for the selected dates.", e.getMessage());
+        }
+
+        @Test
+        void evictIdleQueues_ShouldDropTheQueueAndItsMeters() throws Exception {
+                when(reservationService.createReservations(anyList(), anyList()))
+                                .thenReturn(List.of(success(0, 42L)));
+                sequencer.createReservation(request(1L), "guest1");
+
+                // The writer clears its draining flag just after completing the booking
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (sequencer.evictIdleQueues() == 0 && System.nanoTime() < deadline)
+                        Thread.sleep(5);
+
+                assertNull(meterRegistry.find("hotel.booking.queue.depth").gauge());
+                assertNull(meterRegistry.find("hotel.booking.batch.size").summary());
+                assertNull(meterRegistry.find("hotel.booking.queue.wait").timer());
+
+                // The hotel's next booking gets a fresh queue
+                assertEquals(42L, sequencer.createReservation(request(2L), "guest2").getId());
+                assertNotNull(meterRegistry.find("hotel.booking.queue.depth").tag("hotel", "7").gauge());
+        }
+
+        @Test
+        void queuedBookings_ShouldBeAppliedTogether() throws Exception {
+                CountDownLatch firstBatchStarted = new CountDownLatch(1);
+                CountDownLatch release = new CountDownLatch(1);
+                List<Integer> batchSizes = new ArrayList<>();
+                when(reservationService.createReservations(anyList(), anyList())).thenAnswer(invocation -> {
+                        List<?> items = invocation.getArgument(0);
+                        synchronized (batchSizes) {
+                                batchSizes.add(items.size());
+                        }
+                        firstBatchStarted.countDown();
+                        release.await(5, TimeUnit.SECONDS);
+                        List<ReservationDto.BulkReservationResult> results = new ArrayList<>();
+                        for (int i = 0; i < items.size(); i++)
+                                results.add(success(i, 100L + i));
+                        return results;
+                });
+
+                ExecutorService executor = Executors.newFixedThreadPool(5);
+                try {
+                        List<Future<ReservationDto.ReservationResponse>> bookings = new ArrayList<>();
+                        bookings.add(executor.submit(() -> sequencer.createReservation(request(1L), "guest1")));
+                        assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+                        // Queued behind the running batch, so the writer picks them up together
+                        for (long room = 2; room <= 5; room++) {
+                                long roomId = room;
+                                bookings.add(executor.submit(() -> sequencer.createReservation(request(roomId),
+                                                "guest" + roomId)));
+                        }
+                        while (meterRegistry.get("hotel.booking.queue.depth").gauge().value() < 4)
+                                Thread.sleep(5);
+                        release.countDown();
+
+                        for (Future<ReservationDto.ReservationResponse> booking : bookings)
+                                assertNotNull(booking.get(5, TimeUnit.SECONDS).getId());
+                        assertEquals(List.of(1, 4), batchSizes);
+                } finally {
+                        executor.shutdownNow();
+                }
+        }
+
+        private ReservationDto.CreateReservationRequest request(Long roomId) {
+                return ReservationDto.CreateReservationRequest.builder()
+                                .roomIds(List.of(roomId))
+                                .checkInTime(LocalDateTime.of(2026, 3, 1, 13, 0))
+                                .checkOutTime(LocalDateTime.of(2026, 3, 2, 11, 0))
+                                .build();
+        }
+
+        private ReservationDto.BulkReservationResult success(int index, Long reservationId) {
+                return ReservationDto.BulkReservationResult.builder()
+                                .index(index)
+                                .success(true)
+                                .reservationIds(List.of(reservationId))
+                                .totalPrice(BigDecimal.valueOf(100))
+                                .build();
+        }
+}
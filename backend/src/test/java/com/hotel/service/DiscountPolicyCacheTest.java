@@ -0,0 +1,101 @@
+package com.hotel.service;
+
+import com.hotel.entity.DiscountPolicy;
+import com.hotel.repository.DiscountPolicyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DiscountPolicyCacheTest {
+
+        @Mock
+        private DiscountPolicyRepository discountPolicyRepository;
+
+        private SimpleMeterRegistry meterRegistry;
+        private DiscountPolicyCache cache;
+
+        @BeforeEach
+        void setUp() {
+                meterRegistry = new SimpleMeterRegistry();
+                cache = new DiscountPolicyCache(discountPolicyRepository, meterRegistry, 10);
+        }
+
+        @AfterEach
+        void tearDown() {
+                if (TransactionSynchronizationManager.isSynchronizationActive())
+                        TransactionSynchronizationManager.clearSynchronization();
+                TransactionSynchronizationManager.getResourceMap().keySet()
+                                .forEach(TransactionSynchronizationManager::unbindResourceIfPossible);
+        }
+
+        @Test
+        void get_ShouldQueryOncePerHotel() {
+                when(discountPolicyRepository.findByHotelId(1L)).thenReturn(List.of(policy("10%", "10")));
+
+                for (int i = 0; i < 3; i++)
+                        assertFalse(cache.get(1L).isEmpty());
+
+                verify(discountPolicyRepository, times(1)).findByHotelId(1L);
+                assertEquals(2.0, meterRegistry.get("hotel.discount.cache.hits").counter().count());
+                assertEquals(1.0, meterRegistry.get("hotel.discount.cache.misses").counter().count());
+        }
+
+        @Test
+        void invalidateAfterCompletion_ShouldReloadOnlyAfterTransactionEnds() {
+                when(discountPolicyRepository.findByHotelId(1L)).thenReturn(List.of());
+                assertTrue(cache.get(1L).isEmpty());
+
+                TransactionSynchronizationManager.initSynchronization();
+                cache.invalidateAfterCompletion(1L);
+                // The writing transaction sees its own policies, without caching them
+                when(discountPolicyRepository.findByHotelId(1L)).thenReturn(List.of(policy("10%", "10")));
+                assertFalse(cache.get(1L).isEmpty());
+
+                List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager
+                                .getSynchronizations();
+                TransactionSynchronizationManager.clearSynchronization();
+                synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+                assertFalse(cache.get(1L).isEmpty());
+                assertFalse(cache.get(1L).isEmpty());
+                verify(discountPolicyRepository, times(3)).findByHotelId(1L);
+        }
+
+        @Test
+        void get_ShouldNotStoreLoadThatRacedWithInvalidation() {
+                when(discountPolicyRepository.findByHotelId(1L)).thenAnswer(invocation -> {
+                        // A policy change commits while this load is reading the old rows
+                        cache.invalidateAfterCompletion(1L);
+                        return List.of();
+                });
+
+                cache.get(1L);
+                cache.get(1L);
+
+                verify(discountPolicyRepository, times(2)).findByHotelId(1L);
+        }
+
+        private static DiscountPolicy policy(String name, String rate) {
+                return DiscountPolicy.builder()
+                                .name(name)
+                                .minDays(1)
+                                .type(DiscountPolicy.DiscountType.PERCENTAGE)
+                                .discountRate(new BigDecimal(rate))
+                                .build();
+        }
+}
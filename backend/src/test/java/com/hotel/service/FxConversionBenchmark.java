@@ -0,0 +1,59 @@
+package com.hotel.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+
+/**
+ * Converts search-sized batches of base prices to PHP with a precompiled
+ * {@link FxRates.Rate} and with {@code BigDecimal} arithmetic on the stored
+ * rate. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class FxConversionBenchmark {
+
+        private static final int WARMUP_ROUNDS = 5;
+        private static final int ROUNDS = 10;
+        private static final int CONVERSIONS_PER_ROUND = 1_000_000;
+
+        private static final BigDecimal UNITS_PER_BASE = new BigDecimal("56.4125");
+
+        /** Keeps the JIT from dropping the work. */
+        private long sink;
+
+        @Test
+        void precompiledRateVersusBigDecimal() {
+                PricingCurrency php = PricingCurrency.PHP;
+                FxRates.Rate rate = FxRates.of(Map.of(php.code(), UNITS_PER_BASE)).rate(php);
+                long[] prices = new long[1024];
+                for (int i = 0; i < prices.length; i++)
+                        prices[i] = 5_000 + i * 37L;
+
+                double bigDecimal = measure("BigDecimal", i -> php.toMinor(FxRates.BASE.toAmount(prices[i & 1023])
+                                .multiply(UNITS_PER_BASE).setScale(php.fractionDigits(), RoundingMode.HALF_UP)));
+                double precompiled = measure("precompiled rate", i -> rate.convert(prices[i & 1023]));
+
+                System.out.printf("speed-up: %.1fx (sink %d)%n", bigDecimal / precompiled, sink);
+        }
+
+        private double measure(String name, java.util.function.IntToLongFunction convert) {
+                for (int round = 0; round < WARMUP_ROUNDS; round++)
+                        run(convert);
+                double best = Double.MAX_VALUE;
+                for (int round = 0; round < ROUNDS; round++)
+                        best = Math.min(best, run(convert));
+                System.out.printf("%-16s %8.1f ns/conversion (best of %d rounds of %d)%n", name, best, ROUNDS,
+                                CONVERSIONS_PER_ROUND);
+                return best;
+        }
+
+        private double run(java.util.function.IntToLongFunction convert) {
+                long start = System.nanoTime();
+                for (int i = 0; i < CONVERSIONS_PER_ROUND; i++)
+                        sink += convert.applyAsLong(i);
+                return (double) (System.nanoTime() - start) / CONVERSIONS_PER_ROUND;
+        }
+}
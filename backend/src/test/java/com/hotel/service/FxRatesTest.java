@@ -0,0 +1,50 @@
+package com.hotel.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FxRatesTest {
+
+        private static final String[] CODES = { "KRW", "PHP", "EUR", "JPY", "KWD", "GBP" };
+
+        @Test
+        void of_ShouldAlwaysHaveTheBaseAndSkipInvalidRates() {
+                FxRates fx = FxRates.of(Map.of("USD", new BigDecimal("2"), "EUR", BigDecimal.ZERO,
+                                "XXX", BigDecimal.TEN, "PHP", new BigDecimal("55")));
+
+                assertEquals(1234L, fx.rate(FxRates.BASE).convert(1234L));
+                assertNull(fx.rate(PricingCurrency.of("EUR")));
+                assertEquals(2, fx.rates().size());
+                assertSame(PricingCurrency.USD, fx.resolve("EUR"));
+                assertSame(PricingCurrency.KRW, fx.resolve("krw"));
+                assertSame(PricingCurrency.USD, fx.resolve(null));
+        }
+
+        /** Random rates and amounts converted with longs and with {@code BigDecimal}. */
+        @Test
+        void convert_ShouldMatchBigDecimalRoundedHalfUp() {
+                Random random = new Random(20260402L);
+                for (int run = 0; run < 20_000; run++) {
+                        PricingCurrency currency = PricingCurrency.of(CODES[random.nextInt(CODES.length)]);
+                        BigDecimal unitsPerBase = BigDecimal.valueOf(1 + random.nextInt(2_000_000_000),
+                                        random.nextInt(9));
+                        long baseMinor = random.nextInt(10) == 0 ? Long.MAX_VALUE / (1 + random.nextInt(1_000))
+                                        : random.nextInt(100_000_000);
+                        FxRates.Rate rate = FxRates.of(Map.of(currency.code(), unitsPerBase)).rate(currency);
+
+                        BigDecimal expected = FxRates.BASE.toAmount(baseMinor).multiply(unitsPerBase)
+                                        .setScale(currency.fractionDigits(), RoundingMode.HALF_UP);
+                        String context = "run " + run + ": " + baseMinor + " at " + unitsPerBase + " " + currency;
+                        if (expected.unscaledValue().bitLength() > 63)
+                                assertThrows(ArithmeticException.class, () -> rate.convert(baseMinor), context);
+                        else
+                                assertEquals(expected, currency.toAmount(rate.convert(baseMinor)), context);
+                }
+        }
+}
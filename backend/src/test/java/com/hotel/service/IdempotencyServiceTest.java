@@ -0,0 +1,181 @@
+package com.hotel.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hotel.dto.ReservationDto;
+import com.hotel.entity.IdempotencyKey;
+import com.hotel.repository.IdempotencyKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+        @Mock
+        private IdempotencyKeyRepository idempotencyKeyRepository;
+        @Mock
+        private PlatformTransactionManager transactionManager;
+
+        private ObjectMapper objectMapper;
+        private IdempotencyService idempotencyService;
+        private ReservationDto.CreateReservationRequest request;
+        private AtomicInteger executions;
+
+        @BeforeEach
+        void setUp() {
+                objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+                lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+                idempotencyService = new IdempotencyService(idempotencyKeyRepository, objectMapper,
+                                transactionManager, 100, 24);
+                request = ReservationDto.CreateReservationRequest.builder()
+                                .roomIds(List.of(1L))
+                                .checkInTime(LocalDateTime.of(2026, 3, 1, 13, 0))
+                                .checkOutTime(LocalDateTime.of(2026, 3, 2, 11, 0))
+                                .build();
+                executions = new AtomicInteger();
+        }
+
+        @Test
+        void repeat_ShouldReturnStoredResponseWithoutRunningAgain() {
+                when(idempotencyKeyRepository.claim(eq("guest"), eq("key-1"), anyString(), any())).thenReturn(1);
+
+                ReservationDto.ReservationResponse first = idempotencyService.createReservation("guest", "key-1",
+                                request, this::create);
+                ReservationDto.ReservationResponse second = idempotencyService.createReservation("guest", "key-1",
+                                request, this::create);
+
+                assertEquals(1, executions.get());
+                assertEquals(first.getId(), second.getId());
+        }
+
+        @Test
+        void repeat_ShouldFail_WhenRequestDiffers() {
+                when(idempotencyKeyRepository.claim(eq("guest"), eq("key-1"), anyString(), any())).thenReturn(1);
+                idempotencyService.createReservation("guest", "key-1", request, this::create);
+
+                request.setRoomIds(List.of(2L));
+
+                assertThrows(RuntimeException.class,
+                                () -> idempotencyService.createReservation("guest", "key-1", request, this::create));
+                assertEquals(1, executions.get());
+        }
+
+        @Test
+        void claimedElsewhere_ShouldReturnResponseFromDatabase() throws Exception {
+                when(idempotencyKeyRepository.claim(eq("guest"), eq("key-1"), anyString(), any())).thenReturn(1);
+                ReservationDto.ReservationResponse stored = idempotencyService.createReservation("guest", "key-1",
+                                request, this::create);
+
+                String requestHash = claimedHash();
+
+                // A fresh node: empty cache, the key was completed by another instance
+                IdempotencyService otherNode = new IdempotencyService(idempotencyKeyRepository, objectMapper,
+                                transactionManager, 100, 24);
+                when(idempotencyKeyRepository.claim(eq("guest"), eq("key-1"), anyString(), any())).thenReturn(0);
+                when(idempotencyKeyRepository.findById(new IdempotencyKey.Key("guest", "key-1")))
+                                .thenReturn(Optional.of(IdempotencyKey.builder()
+                                                .requestHash(requestHash)
+                                                .responseBody(objectMapper.writeValueAsString(stored))
+                                                .build()));
+
+                ReservationDto.ReservationResponse replayed = otherNode.createReservation("guest", "key-1", request,
+                                this::create);
+
+                assertEquals(1, executions.get());
+                assertEquals(stored.getId(), replayed.getId());
+        }
+
+        @Test
+        void failure_ShouldNotBeRemembered() {
+                when(idempotencyKeyRepository.claim(eq("guest"), eq("key-1"), anyString(), any())).thenReturn(1);
+
+                assertThrows(RuntimeException.class, () -> idempotencyService.createReservation("guest", "key-1",
+                                request, () -> {
+                                        throw new RuntimeException("Room 101 is not available");
+                                }));
+
+                assertNotNull(idempotencyService.createReservation("guest", "key-1", request, this::create));
+                assertEquals(1, executions.get());
+        }
+
+        @Test
+        void concurrentDuplicates_ShouldShareOneExecution() throws Exception {
+                when(idempotencyKeyRepository.claim(eq("guest"), eq("key-1"), anyString(), any())).thenReturn(1);
+                CountDownLatch started = new CountDownLatch(1);
+                CountDownLatch release = new CountDownLatch(1);
+
+                ExecutorService executor = Executors.newFixedThreadPool(4);
+                try {
+                        Future<ReservationDto.ReservationResponse> first = executor.submit(
+                                        () -> idempotencyService.createReservation("guest", "key-1", request, () -> {
+                                                started.countDown();
+                                                await(release);
+                                                return create();
+                                        }));
+                        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+                        List<Future<ReservationDto.ReservationResponse>> duplicates = List.of(
+                                        executor.submit(() -> idempotencyService.createReservation("guest", "key-1",
+                                                        request, this::create)),
+                                        executor.submit(() -> idempotencyService.createReservation("guest", "key-1",
+                                                        request, this::create)));
+                        release.countDown();
+
+                        Long id = first.get(5, TimeUnit.SECONDS).getId();
+                        for (Future<ReservationDto.ReservationResponse> duplicate : duplicates) {
+                                assertEquals(id, duplicate.get(5, TimeUnit.SECONDS).getId());
+                        }
+                        assertEquals(1, executions.get());
+                } finally {
+                        executor.shutdownNow();
+                }
+        }
+
+        private ReservationDto.ReservationResponse create() {
+                return ReservationDto.ReservationResponse.builder()
+                                .id((long) executions.incrementAndGet())
+                                .checkInTime(request.getCheckInTime())
+                                .checkOutTime(request.getCheckOutTime())
+                                .status("PENDING")
+                                .build();
+        }
+
+        private String claimedHash() {
+                ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+                verify(idempotencyKeyRepository).claim(eq("guest"), eq("key-1"), hash.capture(),
+                                any());
+                return hash.getValue();
+        }
+
+        private static void await(CountDownLatch latch) {
+                try {
+                        latch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                }
+        }
+}
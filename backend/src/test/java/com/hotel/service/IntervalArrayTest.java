@@ -0,0 +1,53 @@
+package com.hotel.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalArrayTest {
+
+        /** Random intervals and queries answered by the array and by a scan. */
+        @Test
+        void queries_ShouldMatchLinearScan() {
+                Random random = new Random(20260517L);
+                for (int run = 0; run < 2_000; run++) {
+                        IntervalArray intervals = IntervalArray.EMPTY;
+                        List<long[]> entries = new ArrayList<>();
+                        int count = random.nextInt(40);
+                        for (long id = 1; id <= count; id++) {
+                                long start = random.nextInt(100);
+                                long end = start + 1 + random.nextInt(random.nextInt(10) == 0 ? 80 : 8);
+                                intervals = intervals.with(id, start, end);
+                                entries.add(new long[] { id, start, end });
+                        }
+                        for (int removed = random.nextInt(5); removed > 0 && !entries.isEmpty(); removed--) {
+                                long[] entry = entries.remove(random.nextInt(entries.size()));
+                                intervals = intervals.without(entry[0]);
+                        }
+
+                        long from = random.nextInt(110);
+                        long to = from + 1 + random.nextInt(10);
+                        long[] expected = entries.stream()
+                                        .filter(entry -> entry[1] < to && entry[2] > from)
+                                        .mapToLong(entry -> entry[0])
+                                        .sorted()
+                                        .toArray();
+                        assertArrayEquals(expected, intervals.overlapping(from, to), "run " + run);
+                        assertEquals(expected.length > 0, intervals.overlaps(from, to), "run " + run);
+                }
+        }
+
+        @Test
+        void with_ShouldReplaceTheIntervalOfAnId() {
+                IntervalArray intervals = IntervalArray.EMPTY.with(1L, 0, 100).with(2L, 10, 20).with(1L, 50, 60);
+
+                assertEquals(2, intervals.size());
+                assertArrayEquals(new long[] { 2L }, intervals.overlapping(0, 30));
+                assertFalse(intervals.overlaps(20, 50));
+                assertTrue(intervals.overlaps(59, 70));
+        }
+}
@@ -0,0 +1,84 @@
+package com.hotel.service;
+
+import com.hotel.entity.DiscountPolicy;
+import com.hotel.entity.Room;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * The {@code BigDecimal} pricing loop {@link PricingEngine} replaced, kept
+ * verbatim as the reference for its property tests and benchmark.
+ */
+final class LegacyPricing {
+
+    record Result(BigDecimal totalPrice, BigDecimal discountPrice, String discountPolicyName) {
+    }
+
+    private LegacyPricing() {
+    }
+
+    static Result price(String currency, LocalDateTime checkIn, LocalDateTime checkOut, List<Room> roomList,
+            List<DiscountPolicy> policies) {
+        BigDecimal totalPrice = BigDecimal.ZERO;
+        long nights = ChronoUnit.DAYS.between(checkIn.toLocalDate(), checkOut.toLocalDate());
+
+        if (nights < 1)
+            nights = 1;
+
+        for (Room room : roomList) {
+            BigDecimal pricePerNight;
+            if ("KRW".equalsIgnoreCase(currency)) {
+                pricePerNight = room.getRoomType().getPriceKrw();
+            } else if ("PHP".equalsIgnoreCase(currency)) {
+                pricePerNight = room.getRoomType().getPricePhp();
+            } else {
+                pricePerNight = room.getRoomType().getPriceUsd();
+            }
+
+            if (pricePerNight == null) {
+                pricePerNight = room.getRoomType().getBasePrice();
+            }
+
+            totalPrice = totalPrice.add(pricePerNight.multiply(BigDecimal.valueOf(nights)));
+        }
+
+        BigDecimal discountAmount = BigDecimal.ZERO;
+        String appliedPolicyName = null;
+        DiscountPolicy bestPolicy = null;
+        BigDecimal maxDiscount = BigDecimal.ZERO;
+
+        for (DiscountPolicy policy : policies) {
+            if (policy.getMinDays() == null || nights >= policy.getMinDays()) {
+                BigDecimal currentDiscount = BigDecimal.ZERO;
+                if (policy.getType() == DiscountPolicy.DiscountType.PERCENTAGE) {
+                    if (policy.getDiscountRate() != null) {
+                        currentDiscount = totalPrice.multiply(policy.getDiscountRate())
+                                .divide(BigDecimal.valueOf(100));
+                    }
+                } else if (policy.getType() == DiscountPolicy.DiscountType.FIXED_AMOUNT) {
+                    if (policy.getDiscountAmount() != null) {
+                        currentDiscount = policy.getDiscountAmount().multiply(BigDecimal.valueOf(nights));
+                    }
+                }
+
+                if (currentDiscount.compareTo(maxDiscount) > 0) {
+                    maxDiscount = currentDiscount;
+                    bestPolicy = policy;
+                }
+            }
+        }
+
+        if (bestPolicy != null) {
+            discountAmount = maxDiscount;
+            appliedPolicyName = bestPolicy.getName();
+            totalPrice = totalPrice.subtract(discountAmount);
+            if (totalPrice.compareTo(BigDecimal.ZERO) < 0) {
+                totalPrice = BigDecimal.ZERO;
+            }
+        }
+        return new Result(totalPrice, discountAmount, appliedPolicyName);
+    }
+}
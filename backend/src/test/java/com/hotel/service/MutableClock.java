@@ -0,0 +1,34 @@
+package com.hotel.service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/** UTC clock that tests move forward by hand. */
+class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+                this.now = now;
+        }
+
+        void advanceSeconds(long seconds) {
+                now = now.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+                return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+                return this;
+        }
+
+        @Override
+        public Instant instant() {
+                return now;
+        }
+}
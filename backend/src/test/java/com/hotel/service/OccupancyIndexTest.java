@@ -0,0 +1,138 @@
+package com.hotel.service;
+
+import com.hotel.dto.OccupancyIndexDto;
+import com.hotel.dto.RoomOccupancyDto;
+import com.hotel.entity.Reservation;
+import com.hotel.entity.Room;
+import com.hotel.repository.ReservationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OccupancyIndexTest {
+
+        @Mock
+        private ReservationRepository reservationRepository;
+
+        private SimpleMeterRegistry meterRegistry;
+        private OccupancyIndex index;
+        private LocalDate day;
+
+        @BeforeEach
+        void setUp() {
+                meterRegistry = new SimpleMeterRegistry();
+                index = new OccupancyIndex(reservationRepository, meterRegistry, true, 1);
+                day = LocalDate.now().plusDays(10);
+        }
+
+        @Test
+        void rebuild_ShouldAnswerOverlapsLikeTheDatabase() {
+                when(reservationRepository.findRoomOccupancySince(any())).thenReturn(List.of(
+                                new RoomOccupancyDto(1L, 10L, day.atTime(13, 0), day.plusDays(2).atTime(11, 0))));
+
+                index.rebuild();
+
+                assertTrue(index.covers(day.atTime(13, 0)));
+                assertTrue(index.isOccupied(1L, day.plusDays(1).atTime(13, 0), day.plusDays(3).atTime(11, 0)));
+                // Check-out at 11:00 and the next check-in at 13:00 do not overlap
+                assertFalse(index.isOccupied(1L, day.plusDays(2).atTime(13, 0), day.plusDays(3).atTime(11, 0)));
+                assertFalse(index.isOccupied(1L, day.minusDays(1).atTime(13, 0), day.atTime(11, 0)));
+                assertFalse(index.isOccupied(2L, day.atTime(13, 0), day.plusDays(1).atTime(11, 0)));
+        }
+
+        @Test
+        void isOccupied_ShouldSeeLongStayBehindShorterLaterOne() {
+                // Legacy double booking: a short stay starts inside a long one
+                when(reservationRepository.findRoomOccupancySince(any())).thenReturn(List.of(
+                                new RoomOccupancyDto(1L, 10L, day.atTime(13, 0), day.plusDays(10).atTime(11, 0)),
+                                new RoomOccupancyDto(1L, 11L, day.plusDays(1).atTime(13, 0),
+                                                day.plusDays(2).atTime(11, 0))));
+
+                index.rebuild();
+
+                assertTrue(index.isOccupied(1L, day.plusDays(5).atTime(13, 0), day.plusDays(6).atTime(11, 0)));
+        }
+
+        @Test
+        void prune_ShouldAdvanceHorizonAndDropEndedStays() {
+                MutableClock clock = new MutableClock(Instant.parse("2026-01-10T12:00:00Z"));
+                index = new OccupancyIndex(reservationRepository, meterRegistry, true, 1, clock);
+                LocalDate today = LocalDate.of(2026, 1, 10);
+                when(reservationRepository.findRoomOccupancySince(any())).thenReturn(List.of(
+                                new RoomOccupancyDto(1L, 10L, today.minusDays(1).atTime(13, 0), today.atTime(11, 0)),
+                                new RoomOccupancyDto(1L, 11L, today.plusDays(2).atTime(13, 0),
+                                                today.plusDays(3).atTime(11, 0)),
+                                new RoomOccupancyDto(2L, 12L, today.minusDays(1).atTime(13, 0), today.atTime(11, 0))));
+                index.rebuild();
+                assertEquals(0, index.prune());
+
+                clock.advanceSeconds(2 * 24 * 3600);
+
+                assertEquals(2, index.prune());
+                assertEquals(1, index.stats().getIntervals());
+                assertEquals(1, index.stats().getRooms());
+                assertEquals(today.plusDays(1).atStartOfDay(), index.stats().getHorizon());
+                assertFalse(index.covers(today.atTime(13, 0)));
+                assertTrue(index.isOccupied(1L, today.plusDays(2).atTime(13, 0), today.plusDays(3).atTime(11, 0)));
+        }
+
+        @Test
+        void track_ShouldAddAndReleaseStays() {
+                when(reservationRepository.findRoomOccupancySince(any())).thenReturn(List.of());
+                index.rebuild();
+
+                Reservation reservation = reservation(20L, 1L, Reservation.ReservationStatus.PENDING);
+                index.track(reservation);
+                assertTrue(index.isOccupied(1L, day.atTime(13, 0), day.plusDays(1).atTime(11, 0)));
+                assertEquals(1, index.stats().getIntervals());
+                assertTrue(meterRegistry.get("hotel.occupancy.index.memory").gauge().value() > 0);
+
+                reservation.setStatus(Reservation.ReservationStatus.CANCELLED);
+                index.track(reservation);
+                assertFalse(index.isOccupied(1L, day.atTime(13, 0), day.plusDays(1).atTime(11, 0)));
+                assertEquals(0, index.stats().getRooms());
+        }
+
+        @Test
+        void verify_ShouldReportAndRepairDrift() {
+                List<RoomOccupancyDto> rows = new ArrayList<>();
+                when(reservationRepository.findRoomOccupancySince(any())).thenAnswer(i -> List.copyOf(rows));
+                index.rebuild();
+
+                // A booking written behind the index's back
+                rows.add(new RoomOccupancyDto(3L, 30L, day.atTime(13, 0), day.plusDays(1).atTime(11, 0)));
+
+                OccupancyIndexDto.DriftReport report = index.verify(true);
+
+                assertEquals(1, report.getDriftedRooms());
+                assertEquals(1, report.getMissingIntervals());
+                assertEquals(List.of(3L), report.getDriftedRoomIds());
+                assertTrue(report.isRepaired());
+                assertTrue(index.isOccupied(3L, day.atTime(13, 0), day.plusDays(1).atTime(11, 0)));
+                assertEquals(0, index.verify(false).getDriftedRooms());
+        }
+
+        private Reservation reservation(Long id, Long roomId, Reservation.ReservationStatus status) {
+                return Reservation.builder()
+                                .id(id)
+                                .checkInTime(day.atTime(13, 0))
+                                .checkOutTime(day.plusDays(1).atTime(11, 0))
+                                .status(status)
+                                .rooms(List.of(Room.builder().id(roomId).build()))
+                                .build();
+        }
+}
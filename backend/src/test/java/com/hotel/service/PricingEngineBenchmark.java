@@ -0,0 +1,87 @@
+package com.hotel.service;
+
+import com.hotel.entity.DiscountPolicy;
+import com.hotel.entity.Room;
+import com.hotel.entity.RoomType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Prices the same stays with the legacy {@code BigDecimal} loop and with
+ * {@link PricingEngine} on a compiled {@link DiscountEvaluator}, as a
+ * booking sees it: policies loaded once per hotel. Run with
+ * {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class PricingEngineBenchmark {
+
+        private static final int WARMUP_ROUNDS = 5;
+        private static final int ROUNDS = 10;
+        private static final int QUOTES_PER_ROUND = 200_000;
+
+        private final PricingEngine pricingEngine = PricingEngineTest.pricingEngine();
+
+        /** Keeps the JIT from dropping the work. */
+        private long sink;
+
+        @Test
+        void pricingEngineVersusBigDecimalLoop() {
+                List<Room> rooms = new ArrayList<>();
+                for (long i = 0; i < 3; i++) {
+                        rooms.add(Room.builder()
+                                        .id(i)
+                                        .roomNumber("10" + i)
+                                        .roomType(RoomType.builder()
+                                                        .id(i)
+                                                        .basePrice(BigDecimal.valueOf(12_050 + i * 1_000, 2))
+                                                        .priceUsd(BigDecimal.valueOf(12_050 + i * 1_000, 2))
+                                                        .pricePhp(BigDecimal.valueOf(675_000 + i * 10_000, 2))
+                                                        .build())
+                                        .build());
+                }
+                List<DiscountPolicy> policies = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                        policies.add(DiscountPolicy.builder()
+                                        .name("Policy " + i)
+                                        .minDays(i * 2)
+                                        .type(i % 2 == 0 ? DiscountPolicy.DiscountType.PERCENTAGE
+                                                        : DiscountPolicy.DiscountType.FIXED_AMOUNT)
+                                        .discountRate(BigDecimal.valueOf(250 + i * 125, 2))
+                                        .discountAmount(BigDecimal.valueOf(500 + i * 300, 2))
+                                        .build());
+                }
+                String[] currencies = { "USD", "PHP", "KRW" };
+                LocalDateTime checkIn = LocalDateTime.of(2026, 3, 1, 15, 0);
+                DiscountEvaluator discounts = DiscountEvaluator.compile(policies);
+
+                double legacy = measure("BigDecimal loop", i -> LegacyPricing.price(currencies[i % 3], checkIn,
+                                checkIn.plusDays(1 + i % 14), rooms, policies).totalPrice().hashCode());
+                double engine = measure("pricing engine", i -> pricingEngine.quote(currencies[i % 3], checkIn,
+                                checkIn.plusDays(1 + i % 14), rooms, discounts).total());
+
+                System.out.printf("speed-up: %.1fx (sink %d)%n", legacy / engine, sink);
+        }
+
+        private double measure(String name, java.util.function.IntToLongFunction quote) {
+                for (int round = 0; round < WARMUP_ROUNDS; round++)
+                        run(quote);
+                double best = Double.MAX_VALUE;
+                for (int round = 0; round < ROUNDS; round++)
+                        best = Math.min(best, run(quote));
+                System.out.printf("%-16s %8.1f ns/quote (best of %d rounds of %d)%n", name, best, ROUNDS,
+                                QUOTES_PER_ROUND);
+                return best;
+        }
+
+        private double run(java.util.function.IntToLongFunction quote) {
+                long start = System.nanoTime();
+                for (int i = 0; i < QUOTES_PER_ROUND; i++)
+                        sink += quote.applyAsLong(i);
+                return (double) (System.nanoTime() - start) / QUOTES_PER_ROUND;
+        }
+}
@@ -0,0 +1,227 @@
+package com.hotel.service;
+
+import com.hotel.entity.DiscountPolicy;
+import com.hotel.entity.FxRate;
+import com.hotel.entity.Room;
+import com.hotel.entity.RoomType;
+import com.hotel.repository.FxRateRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PricingEngineTest {
+
+        private static final String[] CURRENCIES = { "USD", "KRW", "PHP", "usd", "EUR", null };
+
+        private final PricingEngine pricingEngine = pricingEngine();
+
+        /** An engine over the seeded rates: 1 USD = 1300 KRW = 55 PHP. */
+        static PricingEngine pricingEngine() {
+                return pricingEngine(Map.of("KRW", new BigDecimal("1300"), "PHP", new BigDecimal("55")));
+        }
+
+        static PricingEngine pricingEngine(Map<String, BigDecimal> unitsPerBase) {
+                FxRateRepository fxRateRepository = mock(FxRateRepository.class);
+                when(fxRateRepository.findAll()).thenReturn(unitsPerBase.entrySet().stream().map(rate -> {
+                        FxRate fxRate = new FxRate();
+                        fxRate.setCurrency(rate.getKey());
+                        fxRate.setUnitsPerBase(rate.getValue());
+                        return fxRate;
+                }).toList());
+                FxRateService fxRateService = new FxRateService(fxRateRepository);
+                fxRateService.refresh();
+                return new PricingEngine(fxRateService);
+        }
+
+        @Test
+        void quote_ShouldItemiseRoomsAndApplyBestPolicy() {
+                List<Room> rooms = List.of(room(1L, "101", "100.00"), room(2L, "102", "150.50"));
+                DiscountEvaluator discounts = DiscountEvaluator.compile(List.of(
+                                percentage("Weekly 20%", 7, "20"),
+                                percentage("Long stay 10%", 3, "10"),
+                                fixedAmount("Welcome", 1, "5")));
+
+                PriceQuote quote = pricingEngine.quote("USD", LocalDateTime.of(2026, 3, 1, 15, 0),
+                                LocalDateTime.of(2026, 3, 5, 11, 0), rooms, discounts);
+
+                assertEquals(4, quote.nights());
+                assertEquals(List.of(40000L, 60200L), quote.lines().stream().map(PriceQuote.Line::amount).toList());
+                assertEquals(15050L, quote.lines().get(1).nightlyRate());
+                assertEquals(100200L, quote.subtotal());
+                assertEquals("Long stay 10%", quote.discountPolicyName());
+                assertEquals(new BigDecimal("100.20"), quote.discountAmount());
+                assertEquals(new BigDecimal("901.80"), quote.totalAmount());
+        }
+
+        @Test
+        void quote_ShouldUseWholeWonForKrw() {
+                PriceQuote quote = pricingEngine.quote("KRW", LocalDateTime.of(2026, 3, 1, 15, 0),
+                                LocalDateTime.of(2026, 3, 2, 11, 0), List.of(room(1L, "101", "100.00")),
+                                DiscountEvaluator.NONE);
+
+                assertEquals(120000L, quote.total());
+                assertEquals(new BigDecimal("120000"), quote.totalAmount());
+        }
+
+        @Test
+        void quote_ShouldConvertBasePriceWhenCurrencyColumnIsEmpty() {
+                Room room = Room.builder()
+                                .id(1L)
+                                .roomNumber("101")
+                                .roomType(RoomType.builder().id(1L).basePrice(new BigDecimal("80.50")).build())
+                                .build();
+
+                PriceQuote krw = pricingEngine.quote("KRW", LocalDateTime.of(2026, 3, 1, 15, 0),
+                                LocalDateTime.of(2026, 3, 3, 11, 0), List.of(room), DiscountEvaluator.NONE);
+                PriceQuote php = pricingEngine.quote("PHP", LocalDateTime.of(2026, 3, 1, 15, 0),
+                                LocalDateTime.of(2026, 3, 3, 11, 0), List.of(room), DiscountEvaluator.NONE);
+
+                assertEquals(104650L, krw.lines().get(0).nightlyRate());
+                assertEquals(209300L, krw.total());
+                assertEquals(new BigDecimal("8855.00"), php.totalAmount());
+        }
+
+        @Test
+        void quote_ShouldPriceCurrenciesWithoutColumnsFromTheBaseTotal() {
+                PricingEngine engine = pricingEngine(Map.of("EUR", new BigDecimal("0.9137"),
+                                "JPY", new BigDecimal("151.27")));
+                List<Room> rooms = List.of(room(1L, "101", "100.00"), room(2L, "102", "150.50"));
+
+                PriceQuote eur = engine.quote("eur", LocalDateTime.of(2026, 3, 1, 15, 0),
+                                LocalDateTime.of(2026, 3, 4, 11, 0), rooms, DiscountEvaluator.NONE);
+                PriceQuote jpy = engine.quote("JPY", LocalDateTime.of(2026, 3, 1, 15, 0),
+                                LocalDateTime.of(2026, 3, 4, 11, 0), rooms, DiscountEvaluator.NONE);
+
+                assertSame(PricingCurrency.of("EUR"), eur.currency());
+                // 300.00 and 451.50 USD
+                assertEquals(List.of(27411L, 41254L), eur.lines().stream().map(PriceQuote.Line::amount).toList());
+                assertEquals(new BigDecimal("686.65"), eur.totalAmount());
+                assertEquals(List.of(45381L, 68298L), jpy.lines().stream().map(PriceQuote.Line::amount).toList());
+                assertSame(PricingCurrency.USD, pricingEngine.currency("EUR"));
+        }
+
+        /**
+         * Random stays and policy sets priced by both implementations. Every
+         * room has its KRW and PHP columns set, as the legacy loop fell back
+         * to the unconverted base price.
+         */
+        @Test
+        void quote_ShouldMatchLegacyBigDecimalPricing() {
+                Random random = new Random(20260301L);
+                for (int run = 0; run < 20_000; run++) {
+                        String currency = CURRENCIES[random.nextInt(CURRENCIES.length)];
+                        PricingCurrency pricingCurrency = PricingCurrency.of(currency);
+                        LocalDateTime checkIn = LocalDateTime.of(2026, 1, 1, 15, 0).plusDays(random.nextInt(365));
+                        LocalDateTime checkOut = checkIn.plusDays(random.nextInt(31)).withHour(11);
+                        List<Room> rooms = randomRooms(random);
+                        List<DiscountPolicy> policies = randomPolicies(random, pricingCurrency);
+
+                        LegacyPricing.Result expected = LegacyPricing.price(currency, checkIn, checkOut, rooms,
+                                        policies);
+                        PriceQuote actual = pricingEngine.quote(currency, checkIn, checkOut, rooms,
+                                        DiscountEvaluator.compile(policies));
+
+                        String context = "run " + run + ": " + currency + " " + checkIn + " - " + checkOut;
+                        assertEquals(expected.discountPolicyName(), actual.discountPolicyName(), context);
+                        assertEquals(round(expected.totalPrice(), pricingCurrency), actual.totalAmount(), context);
+                        assertEquals(round(expected.discountPrice(), pricingCurrency), actual.discountAmount(),
+                                        context);
+                        assertEquals(actual.subtotal(),
+                                        actual.lines().stream().mapToLong(PriceQuote.Line::amount).sum(), context);
+                }
+        }
+
+        private List<Room> randomRooms(Random random) {
+                List<Room> rooms = new ArrayList<>();
+                int count = 1 + random.nextInt(4);
+                for (int i = 0; i < count; i++) {
+                        rooms.add(Room.builder()
+                                        .id((long) i)
+                                        .roomNumber("R" + i)
+                                        .roomType(RoomType.builder()
+                                                        .id((long) i)
+                                                        .basePrice(cents(random, 100_000))
+                                                        .priceUsd(random.nextInt(5) == 0 ? null
+                                                                        : cents(random, 100_000))
+                                                        .pricePhp(cents(random, 5_000_000))
+                                                        .priceKrw(BigDecimal.valueOf(random.nextInt(500_000)))
+                                                        .build())
+                                        .build());
+                }
+                return rooms;
+        }
+
+        private List<DiscountPolicy> randomPolicies(Random random, PricingCurrency currency) {
+                List<DiscountPolicy> policies = new ArrayList<>();
+                int count = random.nextInt(7);
+                for (int i = 0; i < count; i++) {
+                        Integer minDays = random.nextInt(10) == 0 ? null : random.nextInt(15);
+                        // Ties and missing values are deliberately common
+                        if (random.nextBoolean()) {
+                                BigDecimal rate = random.nextInt(6) == 0 ? null
+                                                : BigDecimal.valueOf(random.nextInt(8) * 500
+                                                                + random.nextInt(2) * random.nextInt(100), 2);
+                                policies.add(policy("P" + i, minDays, DiscountPolicy.DiscountType.PERCENTAGE, rate,
+                                                null));
+                        } else {
+                                BigDecimal amount = random.nextInt(6) == 0 ? null
+                                                : currency == PricingCurrency.KRW
+                                                                ? BigDecimal.valueOf(random.nextInt(20) * 1000)
+                                                                : cents(random, 20_000);
+                                policies.add(policy("F" + i, minDays, DiscountPolicy.DiscountType.FIXED_AMOUNT, null,
+                                                amount));
+                        }
+                }
+                return policies;
+        }
+
+        private static BigDecimal cents(Random random, int bound) {
+                return BigDecimal.valueOf(random.nextInt(bound), 2);
+        }
+
+        private static BigDecimal round(BigDecimal amount, PricingCurrency currency) {
+                return amount.setScale(currency.fractionDigits(), RoundingMode.HALF_UP);
+        }
+
+        private static Room room(Long id, String number, String priceUsd) {
+                return Room.builder()
+                                .id(id)
+                                .roomNumber(number)
+                                .roomType(RoomType.builder()
+                                                .id(id)
+                                                .basePrice(new BigDecimal(priceUsd))
+                                                .priceUsd(new BigDecimal(priceUsd))
+                                                .priceKrw(BigDecimal.valueOf(120000))
+                                                .build())
+                                .build();
+        }
+
+        private static DiscountPolicy percentage(String name, int minDays, String rate) {
+                return policy(name, minDays, DiscountPolicy.DiscountType.PERCENTAGE, new BigDecimal(rate), null);
+        }
+
+        private static DiscountPolicy fixedAmount(String name, int minDays, String amount) {
+                return policy(name, minDays, DiscountPolicy.DiscountType.FIXED_AMOUNT, null, new BigDecimal(amount));
+        }
+
+        private static DiscountPolicy policy(String name, Integer minDays, DiscountPolicy.DiscountType type,
+                        BigDecimal rate, BigDecimal amount) {
+                return DiscountPolicy.builder()
+                                .name(name)
+                                .minDays(minDays)
+                                .type(type)
+                                .discountRate(rate)
+                                .discountAmount(amount)
+                                .build();
+        }
+}
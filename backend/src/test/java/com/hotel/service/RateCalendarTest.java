@@ -0,0 +1,92 @@
+package com.hotel.service;
+
+import com.hotel.entity.RoomTypeRate;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateCalendarTest {
+
+        private static final LocalDate START = LocalDate.of(2026, 1, 1);
+
+        @Test
+        void total_ShouldChargeOverridesAndStandardRateElsewhere() {
+                RateCalendar calendar = RateCalendar.compile(List.of(
+                                rate(START.plusDays(2), null, "150.00", null),
+                                rate(START.plusDays(1), "200000", "180.50", null)));
+
+                // Nights 0..3: standard, override, override, standard
+                assertEquals(10000 + 18050 + 15000 + 10000,
+                                calendar.total(PricingCurrency.USD, 10000, START, START.plusDays(4)));
+                // Only night 1 overrides KRW
+                assertEquals(130000 + 200000 + 130000,
+                                calendar.total(PricingCurrency.KRW, 130000, START, START.plusDays(3)));
+                assertEquals(5500 * 3, calendar.total(PricingCurrency.PHP, 5500, START, START.plusDays(3)));
+                assertEquals(18050, calendar.rate(PricingCurrency.USD, 10000, START.plusDays(1)));
+                assertEquals(0, calendar.total(PricingCurrency.USD, 10000, START, START));
+        }
+
+        @Test
+        void empty_ShouldChargeStandardRateEveryNight() {
+                assertTrue(RateCalendar.EMPTY.isEmpty());
+                assertEquals(10000L * 31, RateCalendar.EMPTY.total(PricingCurrency.USD, 10000, START,
+                                START.plusDays(31)));
+        }
+
+        /** Random calendars and stays, against summing night by night. */
+        @Test
+        void total_ShouldMatchNightByNightSum() {
+                Random random = new Random(20260101L);
+                for (int run = 0; run < 2_000; run++) {
+                        Map<LocalDate, RoomTypeRate> byDate = new HashMap<>();
+                        int overrides = random.nextInt(60);
+                        for (int i = 0; i < overrides; i++) {
+                                LocalDate date = START.plusDays(random.nextInt(120));
+                                byDate.put(date, rate(date, randomPrice(random, 0), randomPrice(random, 2),
+                                                randomPrice(random, 2)));
+                        }
+                        List<RoomTypeRate> rates = new ArrayList<>(byDate.values());
+                        Collections.shuffle(rates, random);
+                        RateCalendar calendar = RateCalendar.compile(rates);
+
+                        LocalDate from = START.minusDays(10).plusDays(random.nextInt(140));
+                        LocalDate to = from.plusDays(random.nextInt(40));
+                        for (PricingCurrency currency : PricingCurrency.withColumns()) {
+                                long standardRate = 1 + random.nextInt(1_000_000);
+                                long expected = 0;
+                                for (LocalDate night = from; night.isBefore(to); night = night.plusDays(1)) {
+                                        RoomTypeRate rate = byDate.get(night);
+                                        BigDecimal override = rate != null ? currency.calendarRate(rate) : null;
+                                        expected += override != null ? currency.toMinor(override) : standardRate;
+                                }
+                                assertEquals(expected, calendar.total(currency, standardRate, from, to),
+                                                "run " + run + ": " + currency + " " + from + " - " + to);
+                        }
+                }
+        }
+
+        private static String randomPrice(Random random, int scale) {
+                if (random.nextInt(4) == 0)
+                        return null;
+                return BigDecimal.valueOf(random.nextInt(10_000_000), scale).toPlainString();
+        }
+
+        private static RoomTypeRate rate(LocalDate date, String krw, String usd, String php) {
+                return RoomTypeRate.builder()
+                                .roomTypeId(1L)
+                                .stayDate(date)
+                                .priceKrw(krw != null ? new BigDecimal(krw) : null)
+                                .priceUsd(usd != null ? new BigDecimal(usd) : null)
+                                .pricePhp(php != null ? new BigDecimal(php) : null)
+                                .build();
+        }
+}
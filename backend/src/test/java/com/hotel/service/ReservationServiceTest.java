@@ -5,6 +5,7 @@ import com.hotel.dto.HotelRoomDto;
 import com.hotel.dto.ReservationDto;
 import com.hotel.entity.*;
 import com.hotel.repository.HotelRepository;
+import com.hotel.repository.ReservationJdbcRepository;
 import com.hotel.repository.ReservationRepository;
 import com.hotel.repository.RoomRepository;
 import com.hotel.repository.UserRepository;
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
@@ -20,10 +22,12 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +41,30 @@ class ReservationServiceTest {
         private UserRepository userRepository;
         @Mock
         private HotelRepository hotelRepository;
+        @Mock
+        private DiscountPolicyCache discountPolicyCache;
+        @Mock
+        private AvailabilityService availabilityService;
+        @Mock
+        private OccupancyIndex occupancyIndex;
+        @Mock
+        private RoomTypeInventoryService roomTypeInventoryService;
+        @Mock
+        private RoomLockManager roomLockManager;
+        @Mock
+        private RoomHoldService roomHoldService;
+        @Mock
+        private ReservationJdbcRepository reservationJdbcRepository;
+        @Spy
+        private PricingEngine pricingEngine = PricingEngineTest.pricingEngine();
+        @Mock
+        private RateCalendarCache rateCalendarCache;
+        @Mock
+        private WaitlistService waitlistService;
+        @Mock
+        private SettlementRollupService settlementRollupService;
+        @Mock
+        private ReservationEventStream reservationEventStream;
 
         @InjectMocks
         private ReservationService reservationService;
@@ -70,15 +98,22 @@ class ReservationServiceTest {
 
         @Test
         void searchAvailableRooms_ShouldReturnRoom_WhenNoConflicts() {
-                when(roomRepository.findAll()).thenReturn(Collections.singletonList(room));
-                when(reservationRepository.findConflictingReservations(anyLong(), any(), any()))
-                                .thenReturn(Collections.emptyList());
+                when(availabilityService.searchAvailableRooms(any(), any()))
+                                .thenReturn(Collections.singletonList(ReservationDto.AvailableRoomResponse.builder()
+                                                .hotelId(1L)
+                                                .roomId(room.getId())
+                                                .roomNumber(room.getRoomNumber())
+                                                .roomTypeId(1L)
+                                                .price(BigDecimal.valueOf(100))
+                                                .build()));
 
                 List<ReservationDto.AvailableRoomResponse> result = reservationService.searchAvailableRooms(
-                                LocalDateTime.now(), LocalDateTime.now().plusDays(1), 2);
+                                LocalDateTime.now(), LocalDateTime.now().plusDays(1), 2, "PHP");
 
                 assertFalse(result.isEmpty());
                 assertEquals("101", result.get(0).getRoomNumber());
+                assertEquals("PHP", result.get(0).getCurrency());
+                assertEquals(0, new BigDecimal("5500").compareTo(result.get(0).getStayPrice()));
         }
 
         @Test
@@ -92,8 +127,9 @@ class ReservationServiceTest {
 
                 when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
                 when(roomRepository.findHotelRoomsAllById(any())).thenReturn(Collections.singletonList(hotelRoomDto));
-                when(reservationRepository.findConflictingReservations(anyLong(), any(), any()))
-                                .thenReturn(Collections.emptyList());
+                when(availabilityService.findUnavailableRoomIds(any(), any(), any()))
+                                .thenReturn(Collections.emptySet());
+                when(discountPolicyCache.get(1L)).thenReturn(DiscountEvaluator.NONE);
                 when(reservationRepository.save(any(Reservation.class))).thenAnswer(i -> {
                         Reservation r = (Reservation) i.getArguments()[0];
                         r.setId(1L);
@@ -131,9 +167,32 @@ class ReservationServiceTest {
 
                 when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
                 when(roomRepository.findHotelRoomsAllById(any())).thenReturn(Collections.singletonList(hotelRoomDto));
-                when(reservationRepository.findConflictingReservations(anyLong(), any(), any()))
-                                .thenReturn(Collections.singletonList(new Reservation()));
+                when(availabilityService.findUnavailableRoomIds(any(), any(), any()))
+                                .thenReturn(Set.of(1L));
 
                 assertThrows(RuntimeException.class, () -> reservationService.createReservation(request, "testuser"));
         }
+
+        @Test
+        void createReservation_ShouldFail_WhenHeldRoomWasBookedElsewhere() {
+                ReservationDto.CreateReservationRequest request = ReservationDto.CreateReservationRequest.builder()
+                                .roomIds(Collections.singletonList(1L))
+                                .checkInTime(LocalDateTime.now())
+                                .checkOutTime(LocalDateTime.now().plusDays(1))
+                                .holdId("hold-1")
+                                .build();
+
+                when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+                when(roomRepository.findHotelRoomsAllById(any())).thenReturn(Collections.singletonList(hotelRoomDto));
+                // Another node booked the room; the hold in this node's memory does not know
+                when(availabilityService.findUnavailableRoomIds(any(), any(), any()))
+                                .thenReturn(Set.of(1L));
+
+                assertThrows(RuntimeException.class, () -> reservationService.createReservation(request, "testuser"));
+
+                verify(roomHoldService).convert("hold-1", "testuser", request.getRoomIds(),
+                                request.getCheckInTime(), request.getCheckOutTime());
+                verify(roomHoldService, never()).findHeldRoomIds(any(), any(), any());
+                verify(reservationRepository, never()).save(any(Reservation.class));
+        }
 }
@@ -0,0 +1,157 @@
+package com.hotel.service;
+
+import com.hotel.dto.ReservationDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoomHoldServiceTest {
+
+        @Mock
+        private AvailabilityService availabilityService;
+        @Mock
+        private RoomLockManager roomLockManager;
+
+        private SimpleMeterRegistry meterRegistry;
+        private MutableClock clock;
+        private RoomHoldService holdService;
+        private LocalDate day;
+
+        @BeforeEach
+        void setUp() {
+                meterRegistry = new SimpleMeterRegistry();
+                clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+                holdService = new RoomHoldService(availabilityService, roomLockManager, meterRegistry, 10, 1000,
+                                clock);
+                day = LocalDate.of(2026, 2, 1);
+        }
+
+        @Test
+        void hold_ShouldBlockOverlappingStaysOnly() {
+                when(availabilityService.findUnavailableRoomIds(any(), any(), any())).thenReturn(Set.of());
+
+                ReservationDto.HoldResponse hold = holdService.hold(request(List.of(1L, 2L), 0, 2), "guest1");
+
+                assertNotNull(hold.getHoldId());
+                assertEquals(Set.of(1L), holdService.findHeldRoomIds(List.of(1L, 3L), day.plusDays(1).atTime(13, 0),
+                                day.plusDays(3).atTime(11, 0)));
+                // Check-out at 11:00 and the next check-in at 13:00 do not overlap
+                assertTrue(holdService.findHeldRoomIds(List.of(1L, 2L), day.plusDays(2).atTime(13, 0),
+                                day.plusDays(3).atTime(11, 0)).isEmpty());
+                assertThrows(RuntimeException.class,
+                                () -> holdService.hold(request(List.of(2L), 1, 2), "guest2"));
+                assertEquals(1.0, meterRegistry.get("hotel.room.holds.active").gauge().value());
+        }
+
+        @Test
+        void hold_ShouldFail_WhenRoomIsBooked() {
+                when(availabilityService.findUnavailableRoomIds(any(), any(), any())).thenReturn(Set.of(1L));
+
+                assertThrows(RuntimeException.class, () -> holdService.hold(request(List.of(1L), 0, 1), "guest1"));
+                assertEquals(0.0, meterRegistry.get("hotel.room.holds.created").counter().count());
+        }
+
+        @Test
+        void expireHolds_ShouldFreeRoomsAfterTtl() {
+                when(availabilityService.findUnavailableRoomIds(any(), any(), any())).thenReturn(Set.of());
+                holdService.hold(request(List.of(1L), 0, 1), "guest1");
+
+                clock.advanceSeconds(9 * 60);
+                assertEquals(0, holdService.expireHolds());
+                assertEquals(Set.of(1L), holdService.findHeldRoomIds(List.of(1L), day.atTime(13, 0),
+                                day.plusDays(1).atTime(11, 0)));
+
+                clock.advanceSeconds(61);
+                assertEquals(1, holdService.expireHolds());
+                assertTrue(holdService.findHeldRoomIds(List.of(1L), day.atTime(13, 0), day.plusDays(1).atTime(11, 0))
+                                .isEmpty());
+                assertEquals(1.0, meterRegistry.get("hotel.room.holds.expired").counter().count());
+                assertEquals(0.0, meterRegistry.get("hotel.room.holds.active").gauge().value());
+
+                // Capacity is free again for the next guest
+                assertNotNull(holdService.hold(request(List.of(1L), 0, 1), "guest2").getHoldId());
+        }
+
+        @Test
+        void expireHolds_ShouldCatchUpAfterLongPause() {
+                when(availabilityService.findUnavailableRoomIds(any(), any(), any())).thenReturn(Set.of());
+                holdService.hold(request(List.of(1L), 0, 1), "guest1");
+
+                // Longer than a full turn of the wheel
+                clock.advanceSeconds(3600);
+
+                assertEquals(1, holdService.expireHolds());
+        }
+
+        @Test
+        void hold_ShouldStayVisible_WhenRacingAnExpiryOnTheSameRoom() throws Exception {
+                when(availabilityService.findUnavailableRoomIds(any(), any(), any())).thenReturn(Set.of());
+                ExecutorService executor = Executors.newFixedThreadPool(2);
+                try {
+                        for (int i = 0; i < 500; i++) {
+                                RoomHoldService service = new RoomHoldService(availabilityService, roomLockManager,
+                                                new SimpleMeterRegistry(), 10, 1000, clock);
+                                service.hold(request(List.of(1L), 0, 1), "guest1");
+                                clock.advanceSeconds(11 * 60);
+
+                                CountDownLatch start = new CountDownLatch(1);
+                                Future<Integer> expired = executor.submit(() -> {
+                                        start.await();
+                                        return service.expireHolds();
+                                });
+                                Future<?> held = executor.submit(() -> {
+                                        start.await();
+                                        return service.hold(request(List.of(1L), 5, 6), "guest2");
+                                });
+                                start.countDown();
+                                assertEquals(1, expired.get(5, TimeUnit.SECONDS));
+                                held.get(5, TimeUnit.SECONDS);
+
+                                assertEquals(Set.of(1L), service.findHeldRoomIds(List.of(1L),
+                                                day.plusDays(5).atTime(13, 0), day.plusDays(6).atTime(11, 0)));
+                        }
+                } finally {
+                        executor.shutdownNow();
+                }
+        }
+
+        @Test
+        void release_ShouldOnlyAllowOwner() {
+                when(availabilityService.findUnavailableRoomIds(any(), any(), any())).thenReturn(Set.of());
+                String holdId = holdService.hold(request(List.of(1L), 0, 1), "guest1").getHoldId();
+
+                assertThrows(RuntimeException.class, () -> holdService.release(holdId, "guest2"));
+                holdService.release(holdId, "guest1");
+
+                assertTrue(holdService.findHeldRoomIds(List.of(1L), day.atTime(13, 0), day.plusDays(1).atTime(11, 0))
+                                .isEmpty());
+                assertEquals(1.0, meterRegistry.get("hotel.room.holds.released").counter().count());
+                assertEquals(0, holdService.expireHolds());
+        }
+
+        private ReservationDto.CreateHoldRequest request(List<Long> roomIds, int fromDay, int toDay) {
+                return ReservationDto.CreateHoldRequest.builder()
+                                .roomIds(roomIds)
+                                .checkInTime(day.plusDays(fromDay).atTime(13, 0))
+                                .checkOutTime(day.plusDays(toDay).atTime(11, 0))
+                                .build();
+        }
+}
@@ -0,0 +1,41 @@
+package com.hotel.service;
+
+import com.hotel.dto.ReservationDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SettlementExportServiceTest {
+
+        @Test
+        void toCsv_ShouldQuoteOnlyFieldsThatNeedIt() {
+                LocalDateTime checkIn = LocalDateTime.of(2026, 3, 1, 15, 0);
+                ReservationDto.SettlementRow row = ReservationDto.SettlementRow.builder()
+                                .id(7L)
+                                .checkInTime(checkIn)
+                                .checkOutTime(checkIn.plusDays(1).withHour(11))
+                                .actualCheckInTime(checkIn)
+                                .actualCheckOutTime(checkIn.plusDays(1).withHour(10))
+                                .guestName("Kim, \"Jay\"")
+                                .guestEmail("jay@example.com")
+                                .roomNumbers("101 102")
+                                .currency("USD")
+                                .totalPrice(new BigDecimal("1E+2"))
+                                .discountPolicyName("Line\nbreak")
+                                .build();
+
+                assertEquals("7,2026-03-01T15:00,2026-03-02T11:00,2026-03-01T15:00,2026-03-02T10:00,false,"
+                                + "\"Kim, \"\"Jay\"\"\",jay@example.com,101 102,USD,100,,\"Line\nbreak\"",
+                                SettlementExportService.toCsv(row));
+        }
+
+        @Test
+        void formatOf_ShouldDefaultToCsvAndRejectUnknownFormats() {
+                assertSame(SettlementExportService.Format.CSV, SettlementExportService.Format.of(null));
+                assertSame(SettlementExportService.Format.NDJSON, SettlementExportService.Format.of(" NDJson "));
+                assertThrows(RuntimeException.class, () -> SettlementExportService.Format.of("xml"));
+        }
+}
@@ -0,0 +1,77 @@
+package com.hotel.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionAwareCacheTest {
+
+        private final Map<Long, String> rows = new HashMap<>();
+        private final AtomicInteger loads = new AtomicInteger();
+
+        private SimpleMeterRegistry meterRegistry;
+        private TransactionAwareCache<Long, String> cache;
+
+        @BeforeEach
+        void setUp() {
+                meterRegistry = new SimpleMeterRegistry();
+                cache = new TransactionAwareCache<>(meterRegistry, "test.cache", 10);
+                rows.put(1L, "one");
+                rows.put(2L, "two");
+        }
+
+        @AfterEach
+        void tearDown() {
+                if (TransactionSynchronizationManager.isSynchronizationActive())
+                        TransactionSynchronizationManager.clearSynchronization();
+                TransactionSynchronizationManager.unbindResourceIfPossible(cache);
+        }
+
+        @Test
+        void getAll_ShouldLoadOnlyMissesAndLeaveOutUnknownKeys() {
+                assertEquals(Map.of(1L, "one"), cache.getAll(List.of(1L), this::load));
+                assertEquals(Map.of(1L, "one", 2L, "two"), cache.getAll(List.of(1L, 2L, 3L), this::load));
+
+                assertEquals(2, loads.get());
+                assertEquals(1.0, meterRegistry.get("test.cache.hits").counter().count());
+                assertEquals(3.0, meterRegistry.get("test.cache.misses").counter().count());
+                assertEquals(2.0, meterRegistry.get("test.cache.size").gauge().value());
+        }
+
+        @Test
+        void invalidateAllAfterCompletion_ShouldBypassEveryKeyUntilTransactionEnds() {
+                cache.getAll(List.of(1L, 2L), this::load);
+
+                TransactionSynchronizationManager.initSynchronization();
+                cache.invalidateAllAfterCompletion();
+                rows.put(2L, "TWO");
+                // The writing transaction sees its own change, without caching it
+                assertEquals("TWO", cache.getAll(List.of(2L), this::load).get(2L));
+
+                List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager
+                                .getSynchronizations();
+                TransactionSynchronizationManager.clearSynchronization();
+                synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+                assertEquals(Map.of(1L, "one", 2L, "TWO"), cache.getAll(List.of(1L, 2L), this::load));
+                assertEquals(Map.of(1L, "one", 2L, "TWO"), cache.getAll(List.of(1L, 2L), this::load));
+                assertEquals(3, loads.get());
+        }
+
+        private Map<Long, String> load(List<Long> keys) {
+                loads.incrementAndGet();
+                Map<Long, String> values = new HashMap<>();
+                keys.stream().filter(rows::containsKey).forEach(key -> values.put(key, rows.get(key)));
+                return values;
+        }
+}
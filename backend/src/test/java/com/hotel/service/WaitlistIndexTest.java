@@ -0,0 +1,58 @@
+package com.hotel.service;
+
+import com.hotel.entity.RoomType;
+import com.hotel.entity.WaitlistEntry;
+import com.hotel.repository.WaitlistEntryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WaitlistIndexTest {
+
+        @Mock
+        private WaitlistEntryRepository waitlistEntryRepository;
+
+        @Test
+        void overlapping_ShouldReturnWaitingEntriesOfTheTypeOldestFirst() {
+                LocalDate day = LocalDate.now().plusDays(10);
+                when(waitlistEntryRepository.findWaitingSince(any())).thenReturn(List.of(
+                                entry(3L, 1L, day.atTime(15, 0), day.plusDays(3).atTime(11, 0)),
+                                entry(1L, 1L, day.plusDays(1).atTime(15, 0), day.plusDays(2).atTime(11, 0)),
+                                entry(2L, 2L, day.atTime(15, 0), day.plusDays(3).atTime(11, 0))));
+                WaitlistIndex index = new WaitlistIndex(waitlistEntryRepository);
+                index.rebuild();
+
+                assertArrayEquals(new long[] { 1L, 3L },
+                                index.overlapping(1L, day.plusDays(1).atTime(15, 0), day.plusDays(2).atTime(11, 0)));
+                // Checking out at 11:00 does not overlap a stay starting that afternoon
+                assertArrayEquals(new long[0],
+                                index.overlapping(1L, day.plusDays(3).atTime(15, 0), day.plusDays(4).atTime(11, 0)));
+
+                WaitlistEntry offered = entry(3L, 1L, day.atTime(15, 0), day.plusDays(3).atTime(11, 0));
+                offered.setStatus(WaitlistEntry.Status.OFFERED);
+                index.track(offered);
+                assertArrayEquals(new long[] { 1L },
+                                index.overlapping(1L, day.atTime(15, 0), day.plusDays(3).atTime(11, 0)));
+                assertEquals(2, index.size());
+        }
+
+        private static WaitlistEntry entry(Long id, Long roomTypeId, LocalDateTime checkIn, LocalDateTime checkOut) {
+                return WaitlistEntry.builder()
+                                .id(id)
+                                .roomType(RoomType.builder().id(roomTypeId).build())
+                                .checkInTime(checkIn)
+                                .checkOutTime(checkOut)
+                                .status(WaitlistEntry.Status.WAITING)
+                                .build();
+        }
+}
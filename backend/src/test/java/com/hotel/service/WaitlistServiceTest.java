@@ -0,0 +1,156 @@
+package com.hotel.service;
+
+import com.hotel.dto.ReservationDto;
+import com.hotel.entity.Room;
+import com.hotel.entity.RoomType;
+import com.hotel.entity.User;
+import com.hotel.entity.WaitlistEntry;
+import com.hotel.repository.RoomRepository;
+import com.hotel.repository.RoomTypeRepository;
+import com.hotel.repository.UserRepository;
+import com.hotel.repository.WaitlistEntryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WaitlistServiceTest {
+
+        @Mock
+        private WaitlistEntryRepository waitlistEntryRepository;
+        @Mock
+        private WaitlistIndex waitlistIndex;
+        @Mock
+        private RoomRepository roomRepository;
+        @Mock
+        private RoomTypeRepository roomTypeRepository;
+        @Mock
+        private UserRepository userRepository;
+        @Mock
+        private AvailabilityService availabilityService;
+        @Mock
+        private RoomHoldService roomHoldService;
+        @Mock
+        private PlatformTransactionManager transactionManager;
+
+        private WaitlistService waitlistService;
+        private LocalDateTime checkIn;
+        private LocalDateTime checkOut;
+
+        @BeforeEach
+        void setUp() {
+                waitlistService = new WaitlistService(waitlistEntryRepository, waitlistIndex, roomRepository,
+                                roomTypeRepository, userRepository, availabilityService, roomHoldService,
+                                transactionManager, new SimpleMeterRegistry());
+                LocalDate day = LocalDate.now().plusDays(20);
+                checkIn = day.atTime(15, 0);
+                checkOut = day.plusDays(2).atTime(11, 0);
+        }
+
+        @Test
+        void match_ShouldHoldTheFreeRoomForTheOldestWaitingEntryOnly() {
+                WaitlistEntry oldest = entry(1L, "first");
+                WaitlistEntry newer = entry(2L, "second");
+                when(waitlistIndex.overlapping(7L, checkIn, checkOut)).thenReturn(new long[] { 1L, 2L });
+                when(waitlistEntryRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(oldest));
+                when(waitlistEntryRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(newer));
+                when(waitlistEntryRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+                when(roomRepository.findByRoomTypeId(7L)).thenReturn(List.of(
+                                Room.builder().id(102L).build(), Room.builder().id(101L).build()));
+                when(roomRepository.getReferenceById(101L)).thenReturn(Room.builder().id(101L).build());
+                when(availabilityService.findUnavailableRoomIds(anyCollection(), eq(checkIn), eq(checkOut)))
+                                .thenReturn(Set.of(102L));
+                // Room 101 is held for the first guest once offered
+                when(roomHoldService.findHeldRoomIds(anyCollection(), eq(checkIn), eq(checkOut)))
+                                .thenReturn(Set.of())
+                                .thenReturn(Set.of(101L));
+                when(roomHoldService.hold(any(), eq("first"))).thenReturn(ReservationDto.HoldResponse.builder()
+                                .holdId("hold-1")
+                                .build());
+
+                assertEquals(1, waitlistService.match(7L, checkIn, checkOut));
+
+                assertEquals(WaitlistEntry.Status.OFFERED, oldest.getStatus());
+                assertEquals("hold-1", oldest.getHoldId());
+                assertEquals(101L, oldest.getOfferedRoom().getId());
+                assertEquals(WaitlistEntry.Status.WAITING, newer.getStatus());
+                verify(roomHoldService, never()).hold(any(), eq("second"));
+                verify(waitlistIndex).track(oldest);
+        }
+
+        @Test
+        void match_ShouldSkipEntriesNoLongerWaiting() {
+                WaitlistEntry cancelled = entry(1L, "first");
+                cancelled.setStatus(WaitlistEntry.Status.CANCELLED);
+                when(waitlistIndex.overlapping(7L, checkIn, checkOut)).thenReturn(new long[] { 1L });
+                when(waitlistEntryRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(cancelled));
+
+                assertEquals(0, waitlistService.match(7L, checkIn, checkOut));
+                verify(roomHoldService, never()).hold(any(), any());
+        }
+
+        @Test
+        void expireOffers_ShouldExpireLapsedOffersAndOfferTheRoomAgain() {
+                WaitlistEntry lapsed = entry(1L, "first");
+                lapsed.setStatus(WaitlistEntry.Status.OFFERED);
+                lapsed.setHoldId("hold-1");
+                WaitlistEntry held = entry(2L, "second");
+                held.setStatus(WaitlistEntry.Status.OFFERED);
+                held.setHoldId("hold-2");
+                when(waitlistEntryRepository.findOfferedIds()).thenReturn(List.of(1L, 2L));
+                when(waitlistEntryRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(lapsed));
+                when(waitlistEntryRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(held));
+                when(waitlistEntryRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+                when(roomHoldService.isActive("hold-1")).thenReturn(false);
+                when(roomHoldService.isActive("hold-2")).thenReturn(true);
+                when(waitlistIndex.overlapping(7L, checkIn, checkOut)).thenReturn(new long[0]);
+
+                assertEquals(1, waitlistService.expireOffers());
+
+                assertEquals(WaitlistEntry.Status.EXPIRED, lapsed.getStatus());
+                assertEquals(WaitlistEntry.Status.OFFERED, held.getStatus());
+                verify(waitlistIndex).overlapping(7L, checkIn, checkOut);
+        }
+
+        @Test
+        void markBooked_ShouldKeepTheOfferFromExpiring() {
+                WaitlistEntry offered = entry(1L, "first");
+                offered.setStatus(WaitlistEntry.Status.OFFERED);
+                offered.setHoldId("hold-1");
+                when(waitlistEntryRepository.findByHoldIdForUpdate("hold-1")).thenReturn(Optional.of(offered));
+
+                waitlistService.markBooked("hold-1");
+
+                assertEquals(WaitlistEntry.Status.BOOKED, offered.getStatus());
+                verify(waitlistEntryRepository).save(offered);
+        }
+
+        private WaitlistEntry entry(Long id, String username) {
+                return WaitlistEntry.builder()
+                                .id(id)
+                                .user(User.builder().username(username).build())
+                                .roomType(RoomType.builder().id(7L).build())
+                                .checkInTime(checkIn)
+                                .checkOutTime(checkOut)
+                                .status(WaitlistEntry.Status.WAITING)
+                                .build();
+        }
+}